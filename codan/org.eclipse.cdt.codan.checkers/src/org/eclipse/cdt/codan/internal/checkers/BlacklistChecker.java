@@ -29,12 +29,12 @@ public class BlacklistChecker extends AbstractIndexAstChecker {
 	public static final String PARAM_BLACKLIST = "blacklist"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		Object[] list = (Object[]) getPreference(getProblemById(ERR_ID, getFile()), PARAM_BLACKLIST);
 		if (list == null || list.length == 0)
-			return;
+			return null;
 		Arrays.sort(list);
-		ast.accept(new ASTVisitor() {
+		return new ASTVisitor() {
 			{
 				shouldVisitNames = true;
 			}
@@ -47,7 +47,7 @@ public class BlacklistChecker extends AbstractIndexAstChecker {
 					reportProblem(ERR_ID, name, completeName);
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
 	}
 
 	private String getBindingQualifiedName(IBinding binding) {
@@ -38,11 +38,11 @@ public class CStyleCastChecker extends AbstractIndexAstChecker {
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		final IProblem pt = getProblemById(ERR_ID, getFile());
 		checkMacro = (boolean) getPreference(pt, PARAM_MACRO);
 		if (ast.getLinkage().getLinkageID() == ILinkage.CPP_LINKAGE_ID) {
-			ast.accept(new ASTVisitor() {
+			return new ASTVisitor() {
 				{
 					shouldVisitExpressions = true;
 				}
@@ -56,7 +56,8 @@ public class CStyleCastChecker extends AbstractIndexAstChecker {
 					}
 					return PROCESS_CONTINUE;
 				}
-			});
+			};
 		}
+		return null;
 	}
 }
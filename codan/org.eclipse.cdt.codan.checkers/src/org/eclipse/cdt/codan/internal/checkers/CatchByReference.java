@@ -49,9 +49,9 @@ public class CatchByReference extends AbstractIndexAstChecker {
 	public static final String PARAM_UNKNOWN_TYPE = "unknown"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		// traverse the ast using the visitor pattern.
-		ast.accept(new OnCatch());
+		return new OnCatch();
 	}
 
 	class OnCatch extends ASTVisitor {
@@ -30,8 +30,8 @@ public class FloatCompareChecker extends AbstractIndexAstChecker {
 	public static final String ERR_ID = "org.eclipse.cdt.codan.internal.checkers.FloatCompareProblem"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new ASTVisitor() {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new ASTVisitor() {
 			{
 				shouldVisitExpressions = true;
 			}
@@ -131,7 +131,7 @@ public class FloatCompareChecker extends AbstractIndexAstChecker {
 				}
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
 	}
 
 	private boolean isFloat(IType type) {
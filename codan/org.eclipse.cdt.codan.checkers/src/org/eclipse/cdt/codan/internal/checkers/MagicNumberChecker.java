@@ -96,12 +96,12 @@ public class MagicNumberChecker extends AbstractIndexAstChecker {
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		final IProblem pt = getProblemById(ERR_ID, getFile());
 		checkArray = (Boolean) getPreference(pt, PARAM_ARRAY);
 		checkOperatorParen = (Boolean) getPreference(pt, PARAM_OPERATOR_PAREN);
 		initExceptions();
-		ast.accept(new ASTVisitor() {
+		return new ASTVisitor() {
 			{
 				shouldVisitExpressions = true;
 			}
@@ -159,7 +159,7 @@ public class MagicNumberChecker extends AbstractIndexAstChecker {
 				}
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
 	}
 
 	/**
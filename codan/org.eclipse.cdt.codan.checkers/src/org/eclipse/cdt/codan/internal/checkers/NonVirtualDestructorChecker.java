@@ -49,9 +49,9 @@ public class NonVirtualDestructorChecker extends AbstractIndexAstChecker {
 	private static HashSet<ICPPClassType> checkedClassTypes = new HashSet<>();
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		// Traverse the AST using the visitor pattern.
-		ast.accept(new OnEachClass());
+		return new OnEachClass();
 	}
 
 	private static ICPPMethod getDestructor(ICPPClassType classType) {
@@ -57,12 +57,12 @@ public class ShallowCopyChecker extends AbstractIndexAstChecker {
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		fOnlyNew = (Boolean) getPreference(getProblemById(PROBLEM_ID, getFile()), PARAM_ONLY_NEW);
 		if (fOnlyNew) {
-			ast.accept(new OnlyNewVisitor());
+			return new OnlyNewVisitor();
 		} else {
-			ast.accept(new AllPtrsVisitor());
+			return new AllPtrsVisitor();
 		}
 	}
 
@@ -39,9 +39,9 @@ public class SuggestedParenthesisChecker extends AbstractIndexAstChecker {
 	public static final String PARAM_NOT = "paramNot"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		// traverse the ast using the visitor pattern.
-		ast.accept(new ExpressionVisitor());
+		return new ExpressionVisitor();
 	}
 
 	class ExpressionVisitor extends ASTVisitor {
@@ -32,8 +32,8 @@ public class SuspiciousSemicolonChecker extends AbstractIndexAstChecker {
 	public static final String PARAM_ALFTER_ELSE = "afterelse"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new ASTVisitor() {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new ASTVisitor() {
 			{
 				shouldVisitStatements = true;
 			}
@@ -54,7 +54,7 @@ public class SuspiciousSemicolonChecker extends AbstractIndexAstChecker {
 				}
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
 	}
 
 	private boolean doNotReportIfElse() {
@@ -52,10 +52,10 @@ public class SwitchCaseChecker extends AbstractIndexAstChecker {
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		final IProblem pt = getProblemById(MISS_DEFAULT_ID, getFile());
 		defaultWithAllEnums = (Boolean) getPreference(pt, PARAM_DEFAULT_ALL_ENUMS);
-		ast.accept(new ASTVisitor() {
+		return new ASTVisitor() {
 			{
 				shouldVisitStatements = true;
 			}
@@ -117,6 +117,6 @@ public class SwitchCaseChecker extends AbstractIndexAstChecker {
 				}
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
 	}
 }
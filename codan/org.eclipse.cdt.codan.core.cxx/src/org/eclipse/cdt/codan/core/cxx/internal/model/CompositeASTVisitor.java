@@ -0,0 +1,681 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.codan.core.cxx.Activator;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTArrayModifier;
+import org.eclipse.cdt.core.dom.ast.IASTAttribute;
+import org.eclipse.cdt.core.dom.ast.IASTAttributeSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTEnumerationSpecifier.IASTEnumerator;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTInitializer;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTParameterDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTPointerOperator;
+import org.eclipse.cdt.core.dom.ast.IASTProblem;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTToken;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IASTTypeId;
+import org.eclipse.cdt.core.dom.ast.c.ICASTDesignator;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCapture;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTClassVirtSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCompositeTypeSpecifier.ICPPASTBaseSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDecltypeSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDesignator;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateParameter;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVirtSpecifier;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Visitor that delivers the nodes of a single traversal of an AST to several visitors. Each
+ * visitor is called for the kinds of nodes it is interested in, as if it traversed the AST by
+ * itself: nodes below a node for which it returned {@link #PROCESS_SKIP} are not delivered to it,
+ * and after it returned {@link #PROCESS_ABORT} it is not called anymore. A visitor that throws
+ * an exception is logged and not called anymore.
+ * <p>
+ * Visitors can only be combined if they agree on the flags that change the traversal itself,
+ * see {@link #combine(List)}.
+ */
+public final class CompositeASTVisitor extends ASTVisitor {
+	private static final int TRANSLATION_UNIT = 0;
+	private static final int NAME = 1;
+	private static final int DECLARATION = 2;
+	private static final int INITIALIZER = 3;
+	private static final int PARAMETER_DECLARATION = 4;
+	private static final int DECLARATOR = 5;
+	private static final int DECL_SPECIFIER = 6;
+	private static final int ARRAY_MODIFIER = 7;
+	private static final int POINTER_OPERATOR = 8;
+	private static final int ATTRIBUTE = 9;
+	private static final int ATTRIBUTE_SPECIFIER = 10;
+	private static final int TOKEN = 11;
+	private static final int EXPRESSION = 12;
+	private static final int STATEMENT = 13;
+	private static final int TYPE_ID = 14;
+	private static final int ENUMERATOR = 15;
+	private static final int PROBLEM = 16;
+	private static final int BASE_SPECIFIER = 17;
+	private static final int NAMESPACE = 18;
+	private static final int TEMPLATE_PARAMETER = 19;
+	private static final int CAPTURE = 20;
+	private static final int C_DESIGNATOR = 21;
+	private static final int CPP_DESIGNATOR = 22;
+	private static final int VIRT_SPECIFIER = 23;
+	private static final int CLASS_VIRT_SPECIFIER = 24;
+	private static final int DECLTYPE_SPECIFIER = 25;
+
+	private final ASTVisitor[] fVisitors;
+	// The node and the kind of node for which a visitor returned PROCESS_SKIP.
+	private final IASTNode[] fSkipNode;
+	private final int[] fSkipKind;
+	private final boolean[] fDone;
+	private int fActive;
+
+	/**
+	 * Groups the given visitors into composite visitors, each of which traverses the AST once.
+	 * Visitors are grouped by the flags that change the traversal of the AST, i.e.
+	 * {@link #includeInactiveNodes} and the flags for implicit names. Visitors that want to
+	 * see ambiguous nodes are not combined with other visitors.
+	 *
+	 * @param visitors the visitors to combine.
+	 * @return the visitors that need to traverse the AST.
+	 */
+	public static List<ASTVisitor> combine(List<ASTVisitor> visitors) {
+		List<ASTVisitor> result = new ArrayList<>();
+		Map<Integer, List<ASTVisitor>> groups = new LinkedHashMap<>();
+		for (ASTVisitor visitor : visitors) {
+			if (visitor.shouldVisitAmbiguousNodes) {
+				result.add(visitor);
+			} else {
+				groups.computeIfAbsent(getTraversalKey(visitor), k -> new ArrayList<>()).add(visitor);
+			}
+		}
+		for (List<ASTVisitor> group : groups.values()) {
+			result.add(group.size() == 1 ? group.get(0) : new CompositeASTVisitor(group));
+		}
+		return result;
+	}
+
+	private static int getTraversalKey(ASTVisitor visitor) {
+		int key = 0;
+		if (visitor.includeInactiveNodes)
+			key |= 0x1;
+		if (visitor.shouldVisitImplicitNames)
+			key |= 0x2;
+		if (visitor.shouldVisitImplicitNameAlternates)
+			key |= 0x4;
+		if (visitor.shouldVisitImplicitDestructorNames)
+			key |= 0x8;
+		return key;
+	}
+
+	/**
+	 * Creates a visitor delivering the nodes to the given visitors, which must agree on the flags
+	 * that change the traversal of the AST.
+	 */
+	public CompositeASTVisitor(List<ASTVisitor> visitors) {
+		fVisitors = visitors.toArray(new ASTVisitor[visitors.size()]);
+		fSkipNode = new IASTNode[fVisitors.length];
+		fSkipKind = new int[fVisitors.length];
+		fDone = new boolean[fVisitors.length];
+		fActive = fVisitors.length;
+		for (ASTVisitor visitor : fVisitors) {
+			assert getTraversalKey(visitor) == getTraversalKey(fVisitors[0]);
+			shouldVisitNames |= visitor.shouldVisitNames;
+			shouldVisitDeclarations |= visitor.shouldVisitDeclarations;
+			shouldVisitInitializers |= visitor.shouldVisitInitializers;
+			shouldVisitParameterDeclarations |= visitor.shouldVisitParameterDeclarations;
+			shouldVisitDeclarators |= visitor.shouldVisitDeclarators;
+			shouldVisitDeclSpecifiers |= visitor.shouldVisitDeclSpecifiers;
+			shouldVisitArrayModifiers |= visitor.shouldVisitArrayModifiers;
+			shouldVisitPointerOperators |= visitor.shouldVisitPointerOperators;
+			shouldVisitAttributes |= visitor.shouldVisitAttributes;
+			shouldVisitTokens |= visitor.shouldVisitTokens;
+			shouldVisitExpressions |= visitor.shouldVisitExpressions;
+			shouldVisitStatements |= visitor.shouldVisitStatements;
+			shouldVisitTypeIds |= visitor.shouldVisitTypeIds;
+			shouldVisitEnumerators |= visitor.shouldVisitEnumerators;
+			shouldVisitTranslationUnit |= visitor.shouldVisitTranslationUnit;
+			shouldVisitProblems |= visitor.shouldVisitProblems;
+			shouldVisitDesignators |= visitor.shouldVisitDesignators;
+			shouldVisitBaseSpecifiers |= visitor.shouldVisitBaseSpecifiers;
+			shouldVisitNamespaces |= visitor.shouldVisitNamespaces;
+			shouldVisitTemplateParameters |= visitor.shouldVisitTemplateParameters;
+			shouldVisitCaptures |= visitor.shouldVisitCaptures;
+			shouldVisitVirtSpecifiers |= visitor.shouldVisitVirtSpecifiers;
+			shouldVisitDecltypeSpecifiers |= visitor.shouldVisitDecltypeSpecifiers;
+		}
+		if (fVisitors.length > 0) {
+			includeInactiveNodes = fVisitors[0].includeInactiveNodes;
+			shouldVisitImplicitNames = fVisitors[0].shouldVisitImplicitNames;
+			shouldVisitImplicitNameAlternates = fVisitors[0].shouldVisitImplicitNameAlternates;
+			shouldVisitImplicitDestructorNames = fVisitors[0].shouldVisitImplicitDestructorNames;
+		}
+	}
+
+	private int dispatchVisit(IASTNode node, int kind) {
+		boolean continued = false;
+		for (int i = 0; i < fVisitors.length; i++) {
+			if (fDone[i] || fSkipNode[i] != null)
+				continue;
+			ASTVisitor visitor = fVisitors[i];
+			if (!isInterested(visitor, kind)) {
+				continued = true;
+				continue;
+			}
+			int result;
+			try {
+				result = visit(visitor, node, kind);
+			} catch (OperationCanceledException e) {
+				throw e;
+			} catch (RuntimeException | StackOverflowError e) {
+				Activator.log(e);
+				result = PROCESS_ABORT;
+			}
+			if (result == PROCESS_SKIP) {
+				fSkipNode[i] = node;
+				fSkipKind[i] = kind;
+			} else if (result == PROCESS_ABORT) {
+				fDone[i] = true;
+				fActive--;
+			} else {
+				continued = true;
+			}
+		}
+		if (fActive == 0)
+			return PROCESS_ABORT;
+		if (!continued) {
+			// Nobody is interested in the children, the node will not be left.
+			clearSkip(node, kind);
+			return PROCESS_SKIP;
+		}
+		return PROCESS_CONTINUE;
+	}
+
+	private int dispatchLeave(IASTNode node, int kind) {
+		for (int i = 0; i < fVisitors.length; i++) {
+			if (fDone[i])
+				continue;
+			if (fSkipNode[i] != null) {
+				if (fSkipNode[i] == node && fSkipKind[i] == kind)
+					fSkipNode[i] = null;
+				continue;
+			}
+			ASTVisitor visitor = fVisitors[i];
+			if (!isInterested(visitor, kind))
+				continue;
+			int result;
+			try {
+				result = leave(visitor, node, kind);
+			} catch (OperationCanceledException e) {
+				throw e;
+			} catch (RuntimeException | StackOverflowError e) {
+				Activator.log(e);
+				result = PROCESS_ABORT;
+			}
+			if (result == PROCESS_ABORT) {
+				fDone[i] = true;
+				fActive--;
+			}
+		}
+		return fActive == 0 ? PROCESS_ABORT : PROCESS_CONTINUE;
+	}
+
+	private void clearSkip(IASTNode node, int kind) {
+		for (int i = 0; i < fSkipNode.length; i++) {
+			if (fSkipNode[i] == node && fSkipKind[i] == kind)
+				fSkipNode[i] = null;
+		}
+	}
+
+	private static boolean isInterested(ASTVisitor visitor, int kind) {
+		switch (kind) {
+		case TRANSLATION_UNIT:
+			return visitor.shouldVisitTranslationUnit;
+		case NAME:
+			return visitor.shouldVisitNames;
+		case DECLARATION:
+			return visitor.shouldVisitDeclarations;
+		case INITIALIZER:
+			return visitor.shouldVisitInitializers;
+		case PARAMETER_DECLARATION:
+			return visitor.shouldVisitParameterDeclarations;
+		case DECLARATOR:
+			return visitor.shouldVisitDeclarators;
+		case DECL_SPECIFIER:
+			return visitor.shouldVisitDeclSpecifiers;
+		case ARRAY_MODIFIER:
+			return visitor.shouldVisitArrayModifiers;
+		case POINTER_OPERATOR:
+			return visitor.shouldVisitPointerOperators;
+		case ATTRIBUTE:
+		case ATTRIBUTE_SPECIFIER:
+			return visitor.shouldVisitAttributes;
+		case TOKEN:
+			return visitor.shouldVisitTokens;
+		case EXPRESSION:
+			return visitor.shouldVisitExpressions;
+		case STATEMENT:
+			return visitor.shouldVisitStatements;
+		case TYPE_ID:
+			return visitor.shouldVisitTypeIds;
+		case ENUMERATOR:
+			return visitor.shouldVisitEnumerators;
+		case PROBLEM:
+			return visitor.shouldVisitProblems;
+		case BASE_SPECIFIER:
+			return visitor.shouldVisitBaseSpecifiers;
+		case NAMESPACE:
+			return visitor.shouldVisitNamespaces;
+		case TEMPLATE_PARAMETER:
+			return visitor.shouldVisitTemplateParameters;
+		case CAPTURE:
+			return visitor.shouldVisitCaptures;
+		case C_DESIGNATOR:
+		case CPP_DESIGNATOR:
+			return visitor.shouldVisitDesignators;
+		case VIRT_SPECIFIER:
+		case CLASS_VIRT_SPECIFIER:
+			return visitor.shouldVisitVirtSpecifiers;
+		case DECLTYPE_SPECIFIER:
+			return visitor.shouldVisitDecltypeSpecifiers;
+		}
+		return false;
+	}
+
+	private static int visit(ASTVisitor visitor, IASTNode node, int kind) {
+		switch (kind) {
+		case TRANSLATION_UNIT:
+			return visitor.visit((IASTTranslationUnit) node);
+		case NAME:
+			return visitor.visit((IASTName) node);
+		case DECLARATION:
+			return visitor.visit((IASTDeclaration) node);
+		case INITIALIZER:
+			return visitor.visit((IASTInitializer) node);
+		case PARAMETER_DECLARATION:
+			return visitor.visit((IASTParameterDeclaration) node);
+		case DECLARATOR:
+			return visitor.visit((IASTDeclarator) node);
+		case DECL_SPECIFIER:
+			return visitor.visit((IASTDeclSpecifier) node);
+		case ARRAY_MODIFIER:
+			return visitor.visit((IASTArrayModifier) node);
+		case POINTER_OPERATOR:
+			return visitor.visit((IASTPointerOperator) node);
+		case ATTRIBUTE:
+			return visitor.visit((IASTAttribute) node);
+		case ATTRIBUTE_SPECIFIER:
+			return visitor.visit((IASTAttributeSpecifier) node);
+		case TOKEN:
+			return visitor.visit((IASTToken) node);
+		case EXPRESSION:
+			return visitor.visit((IASTExpression) node);
+		case STATEMENT:
+			return visitor.visit((IASTStatement) node);
+		case TYPE_ID:
+			return visitor.visit((IASTTypeId) node);
+		case ENUMERATOR:
+			return visitor.visit((IASTEnumerator) node);
+		case PROBLEM:
+			return visitor.visit((IASTProblem) node);
+		case BASE_SPECIFIER:
+			return visitor.visit((ICPPASTBaseSpecifier) node);
+		case NAMESPACE:
+			return visitor.visit((ICPPASTNamespaceDefinition) node);
+		case TEMPLATE_PARAMETER:
+			return visitor.visit((ICPPASTTemplateParameter) node);
+		case CAPTURE:
+			return visitor.visit((ICPPASTCapture) node);
+		case C_DESIGNATOR:
+			return visitor.visit((ICASTDesignator) node);
+		case CPP_DESIGNATOR:
+			return visitor.visit((ICPPASTDesignator) node);
+		case VIRT_SPECIFIER:
+			return visitor.visit((ICPPASTVirtSpecifier) node);
+		case CLASS_VIRT_SPECIFIER:
+			return visitor.visit((ICPPASTClassVirtSpecifier) node);
+		case DECLTYPE_SPECIFIER:
+			return visitor.visit((ICPPASTDecltypeSpecifier) node);
+		}
+		return PROCESS_CONTINUE;
+	}
+
+	private static int leave(ASTVisitor visitor, IASTNode node, int kind) {
+		switch (kind) {
+		case TRANSLATION_UNIT:
+			return visitor.leave((IASTTranslationUnit) node);
+		case NAME:
+			return visitor.leave((IASTName) node);
+		case DECLARATION:
+			return visitor.leave((IASTDeclaration) node);
+		case INITIALIZER:
+			return visitor.leave((IASTInitializer) node);
+		case PARAMETER_DECLARATION:
+			return visitor.leave((IASTParameterDeclaration) node);
+		case DECLARATOR:
+			return visitor.leave((IASTDeclarator) node);
+		case DECL_SPECIFIER:
+			return visitor.leave((IASTDeclSpecifier) node);
+		case ARRAY_MODIFIER:
+			return visitor.leave((IASTArrayModifier) node);
+		case POINTER_OPERATOR:
+			return visitor.leave((IASTPointerOperator) node);
+		case ATTRIBUTE:
+			return visitor.leave((IASTAttribute) node);
+		case ATTRIBUTE_SPECIFIER:
+			return visitor.leave((IASTAttributeSpecifier) node);
+		case TOKEN:
+			return visitor.leave((IASTToken) node);
+		case EXPRESSION:
+			return visitor.leave((IASTExpression) node);
+		case STATEMENT:
+			return visitor.leave((IASTStatement) node);
+		case TYPE_ID:
+			return visitor.leave((IASTTypeId) node);
+		case ENUMERATOR:
+			return visitor.leave((IASTEnumerator) node);
+		case PROBLEM:
+			return visitor.leave((IASTProblem) node);
+		case BASE_SPECIFIER:
+			return visitor.leave((ICPPASTBaseSpecifier) node);
+		case NAMESPACE:
+			return visitor.leave((ICPPASTNamespaceDefinition) node);
+		case TEMPLATE_PARAMETER:
+			return visitor.leave((ICPPASTTemplateParameter) node);
+		case CAPTURE:
+			return visitor.leave((ICPPASTCapture) node);
+		case C_DESIGNATOR:
+			return visitor.leave((ICASTDesignator) node);
+		case CPP_DESIGNATOR:
+			return visitor.leave((ICPPASTDesignator) node);
+		case VIRT_SPECIFIER:
+			return visitor.leave((ICPPASTVirtSpecifier) node);
+		case CLASS_VIRT_SPECIFIER:
+			return visitor.leave((ICPPASTClassVirtSpecifier) node);
+		case DECLTYPE_SPECIFIER:
+			return visitor.leave((ICPPASTDecltypeSpecifier) node);
+		}
+		return PROCESS_CONTINUE;
+	}
+
+	@Override
+	public int visit(IASTTranslationUnit tu) {
+		return dispatchVisit(tu, TRANSLATION_UNIT);
+	}
+
+	@Override
+	public int visit(IASTName name) {
+		return dispatchVisit(name, NAME);
+	}
+
+	@Override
+	public int visit(IASTDeclaration declaration) {
+		return dispatchVisit(declaration, DECLARATION);
+	}
+
+	@Override
+	public int visit(IASTInitializer initializer) {
+		return dispatchVisit(initializer, INITIALIZER);
+	}
+
+	@Override
+	public int visit(IASTParameterDeclaration parameterDeclaration) {
+		return dispatchVisit(parameterDeclaration, PARAMETER_DECLARATION);
+	}
+
+	@Override
+	public int visit(IASTDeclarator declarator) {
+		return dispatchVisit(declarator, DECLARATOR);
+	}
+
+	@Override
+	public int visit(IASTDeclSpecifier declSpec) {
+		return dispatchVisit(declSpec, DECL_SPECIFIER);
+	}
+
+	@Override
+	public int visit(IASTArrayModifier arrayModifier) {
+		return dispatchVisit(arrayModifier, ARRAY_MODIFIER);
+	}
+
+	@Override
+	public int visit(IASTPointerOperator ptrOperator) {
+		return dispatchVisit(ptrOperator, POINTER_OPERATOR);
+	}
+
+	@Override
+	public int visit(IASTAttribute attribute) {
+		return dispatchVisit(attribute, ATTRIBUTE);
+	}
+
+	@Override
+	public int visit(IASTAttributeSpecifier specifier) {
+		return dispatchVisit(specifier, ATTRIBUTE_SPECIFIER);
+	}
+
+	@Override
+	public int visit(IASTToken token) {
+		return dispatchVisit(token, TOKEN);
+	}
+
+	@Override
+	public int visit(IASTExpression expression) {
+		return dispatchVisit(expression, EXPRESSION);
+	}
+
+	@Override
+	public int visit(IASTStatement statement) {
+		return dispatchVisit(statement, STATEMENT);
+	}
+
+	@Override
+	public int visit(IASTTypeId typeId) {
+		return dispatchVisit(typeId, TYPE_ID);
+	}
+
+	@Override
+	public int visit(IASTEnumerator enumerator) {
+		return dispatchVisit(enumerator, ENUMERATOR);
+	}
+
+	@Override
+	public int visit(IASTProblem problem) {
+		return dispatchVisit(problem, PROBLEM);
+	}
+
+	@Override
+	public int visit(ICPPASTBaseSpecifier baseSpecifier) {
+		return dispatchVisit(baseSpecifier, BASE_SPECIFIER);
+	}
+
+	@Override
+	public int visit(ICPPASTNamespaceDefinition namespaceDefinition) {
+		return dispatchVisit(namespaceDefinition, NAMESPACE);
+	}
+
+	@Override
+	public int visit(ICPPASTTemplateParameter templateParameter) {
+		return dispatchVisit(templateParameter, TEMPLATE_PARAMETER);
+	}
+
+	@Override
+	public int visit(ICPPASTCapture capture) {
+		return dispatchVisit(capture, CAPTURE);
+	}
+
+	@Override
+	public int visit(ICASTDesignator designator) {
+		return dispatchVisit(designator, C_DESIGNATOR);
+	}
+
+	@Override
+	public int visit(ICPPASTDesignator designator) {
+		return dispatchVisit(designator, CPP_DESIGNATOR);
+	}
+
+	@Override
+	public int visit(ICPPASTVirtSpecifier virtSpecifier) {
+		return dispatchVisit(virtSpecifier, VIRT_SPECIFIER);
+	}
+
+	@Override
+	public int visit(ICPPASTClassVirtSpecifier classVirtSpecifier) {
+		return dispatchVisit(classVirtSpecifier, CLASS_VIRT_SPECIFIER);
+	}
+
+	@Override
+	public int visit(ICPPASTDecltypeSpecifier decltypeSpecifier) {
+		return dispatchVisit(decltypeSpecifier, DECLTYPE_SPECIFIER);
+	}
+
+	@Override
+	public int leave(IASTTranslationUnit tu) {
+		return dispatchLeave(tu, TRANSLATION_UNIT);
+	}
+
+	@Override
+	public int leave(IASTName name) {
+		return dispatchLeave(name, NAME);
+	}
+
+	@Override
+	public int leave(IASTDeclaration declaration) {
+		return dispatchLeave(declaration, DECLARATION);
+	}
+
+	@Override
+	public int leave(IASTInitializer initializer) {
+		return dispatchLeave(initializer, INITIALIZER);
+	}
+
+	@Override
+	public int leave(IASTParameterDeclaration parameterDeclaration) {
+		return dispatchLeave(parameterDeclaration, PARAMETER_DECLARATION);
+	}
+
+	@Override
+	public int leave(IASTDeclarator declarator) {
+		return dispatchLeave(declarator, DECLARATOR);
+	}
+
+	@Override
+	public int leave(IASTDeclSpecifier declSpec) {
+		return dispatchLeave(declSpec, DECL_SPECIFIER);
+	}
+
+	@Override
+	public int leave(IASTArrayModifier arrayModifier) {
+		return dispatchLeave(arrayModifier, ARRAY_MODIFIER);
+	}
+
+	@Override
+	public int leave(IASTPointerOperator ptrOperator) {
+		return dispatchLeave(ptrOperator, POINTER_OPERATOR);
+	}
+
+	@Override
+	public int leave(IASTAttribute attribute) {
+		return dispatchLeave(attribute, ATTRIBUTE);
+	}
+
+	@Override
+	public int leave(IASTAttributeSpecifier specifier) {
+		return dispatchLeave(specifier, ATTRIBUTE_SPECIFIER);
+	}
+
+	@Override
+	public int leave(IASTToken token) {
+		return dispatchLeave(token, TOKEN);
+	}
+
+	@Override
+	public int leave(IASTExpression expression) {
+		return dispatchLeave(expression, EXPRESSION);
+	}
+
+	@Override
+	public int leave(IASTStatement statement) {
+		return dispatchLeave(statement, STATEMENT);
+	}
+
+	@Override
+	public int leave(IASTTypeId typeId) {
+		return dispatchLeave(typeId, TYPE_ID);
+	}
+
+	@Override
+	public int leave(IASTEnumerator enumerator) {
+		return dispatchLeave(enumerator, ENUMERATOR);
+	}
+
+	@Override
+	public int leave(IASTProblem problem) {
+		return dispatchLeave(problem, PROBLEM);
+	}
+
+	@Override
+	public int leave(ICPPASTBaseSpecifier baseSpecifier) {
+		return dispatchLeave(baseSpecifier, BASE_SPECIFIER);
+	}
+
+	@Override
+	public int leave(ICPPASTNamespaceDefinition namespaceDefinition) {
+		return dispatchLeave(namespaceDefinition, NAMESPACE);
+	}
+
+	@Override
+	public int leave(ICPPASTTemplateParameter templateParameter) {
+		return dispatchLeave(templateParameter, TEMPLATE_PARAMETER);
+	}
+
+	@Override
+	public int leave(ICPPASTCapture capture) {
+		return dispatchLeave(capture, CAPTURE);
+	}
+
+	@Override
+	public int leave(ICASTDesignator designator) {
+		return dispatchLeave(designator, C_DESIGNATOR);
+	}
+
+	@Override
+	public int leave(ICPPASTDesignator designator) {
+		return dispatchLeave(designator, CPP_DESIGNATOR);
+	}
+
+	@Override
+	public int leave(ICPPASTVirtSpecifier virtSpecifier) {
+		return dispatchLeave(virtSpecifier, VIRT_SPECIFIER);
+	}
+
+	@Override
+	public int leave(ICPPASTClassVirtSpecifier virtSpecifier) {
+		return dispatchLeave(virtSpecifier, CLASS_VIRT_SPECIFIER);
+	}
+
+	@Override
+	public int leave(ICPPASTDecltypeSpecifier decltypeSpecifier) {
+		return dispatchLeave(decltypeSpecifier, DECLTYPE_SPECIFIER);
+	}
+}
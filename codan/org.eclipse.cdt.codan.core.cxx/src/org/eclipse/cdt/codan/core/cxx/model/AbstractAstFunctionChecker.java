@@ -13,19 +13,57 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.cxx.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.codan.core.model.IProblem;
+import org.eclipse.cdt.codan.core.model.IProblemLocation;
+import org.eclipse.cdt.codan.core.param.IProblemPreference;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateId;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
 
 /**
- * Abstract class for checkers that do all the work on function definition level
+ * Abstract class for checkers that do all the work on function definition level.
+ * <p>
+ * The problems reported while processing a function are remembered. When the checker runs on
+ * the same file again, a function is processed again only if its definition changed, or if
+ * it refers to a function that changed. The problems of the other functions are reported
+ * again at their new positions. All functions are processed again if anything outside of the
+ * function definitions changed, e.g. a declaration, a macro or a header included directly or
+ * indirectly, as recorded in the index.
  */
 public abstract class AbstractAstFunctionChecker extends AbstractIndexAstChecker {
+	/** Number of files for which the problems reported in the functions are remembered. */
+	private static final int MAX_REMEMBERED_FILES = 8;
+
+	private final Map<IPath, FileResults> fileResults = new LinkedHashMap<IPath, FileResults>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IPath, FileResults> eldest) {
+			return size() > MAX_REMEMBERED_FILES;
+		}
+	};
+	/** Collects the problems reported while processing a function. */
+	private FunctionResults recordedFunction;
+
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		// traverse the ast using the visitor pattern.
-		ast.accept(new ASTVisitor() {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		final IncrementalRun run = isIncremental() ? startIncrementalRun(ast) : null;
+		return new ASTVisitor() {
 			{
 				shouldVisitDeclarations = true;
 			}
@@ -33,13 +71,17 @@ public abstract class AbstractAstFunctionChecker extends AbstractIndexAstChecker
 			@Override
 			public int visit(IASTDeclaration element) {
 				if (element instanceof IASTFunctionDefinition) {
-					processFunction((IASTFunctionDefinition) element);
+					if (run != null) {
+						run.process((IASTFunctionDefinition) element);
+					} else {
+						processFunction((IASTFunctionDefinition) element);
+					}
 				}
 				// visit all nodes to support inner functions within class definitions
 				// and gcc extensions
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
 	}
 
 	/**
@@ -49,4 +91,323 @@ public abstract class AbstractAstFunctionChecker extends AbstractIndexAstChecker
 	 *        - ast node representing function definition
 	 */
 	protected abstract void processFunction(IASTFunctionDefinition func);
+
+	/**
+	 * Returns whether only the functions that changed since the last run on a file are processed.
+	 * Checkers that report problems depending on more than the function, the rest of the file
+	 * and the included headers override this method to return <code>false</code>.
+	 *
+	 * @return <code>true</code> if the unchanged functions are not processed again.
+	 * @since 3.7
+	 */
+	protected boolean isIncremental() {
+		return true;
+	}
+
+	/**
+	 * Returns the number of functions processed by the last run on the given file, or -1 if
+	 * the checker has not remembered the problems of the file. For testing purposes.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 3.7
+	 */
+	public synchronized int getProcessedFunctionCount(IFile file) {
+		FileResults results = fileResults.get(file.getFullPath());
+		return results != null ? results.processedCount : -1;
+	}
+
+	@Override
+	public void reportProblem(IProblem problem, IProblemLocation loc, Object... args) {
+		if (recordedFunction != null)
+			recordedFunction.record(problem.getId(), loc, args);
+		super.reportProblem(problem, loc, args);
+	}
+
+	private IncrementalRun startIncrementalRun(IASTTranslationUnit ast) {
+		IFile file = getFile();
+		if (file == null)
+			return null;
+		final List<IASTFunctionDefinition> functions = new ArrayList<>();
+		ast.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarations = true;
+			}
+
+			@Override
+			public int visit(IASTDeclaration declaration) {
+				if (!declaration.isPartOfTranslationUnitFile())
+					return PROCESS_SKIP;
+				if (declaration instanceof IASTFunctionDefinition) {
+					// Functions coming from macro expansions are always processed.
+					if (!includesMacroExpansion(declaration))
+						functions.add((IASTFunctionDefinition) declaration);
+					return PROCESS_SKIP;
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+
+		char[] source = ast.getRawSignature().toCharArray();
+		int count = functions.size();
+		long[] hashes = new long[count];
+		Hasher context = new Hasher();
+		int end = 0;
+		for (int i = 0; i < count; i++) {
+			IASTFileLocation location = functions.get(i).getFileLocation();
+			int offset = location.getNodeOffset();
+			if (offset < end || offset + location.getNodeLength() > source.length)
+				return null;
+			context.add(source, end, offset);
+			context.add(i);
+			end = offset + location.getNodeLength();
+			hashes[i] = new Hasher().add(source, offset, end).value;
+		}
+		context.add(source, end, source.length);
+		for (IASTPreprocessorIncludeStatement include : ast.getIncludeDirectives()) {
+			context.add(include.getPath());
+			context.add(include.getIncludedFileTimestamp());
+			context.add(include.getIncludedFileContentsHash());
+		}
+		// The parser skips the headers, such that their time stamps are not known to the AST.
+		CxxModelsCache cache = getModelCache();
+		Long includedHeaders = cache != null ? cache.getIncludedHeadersHash() : null;
+		if (includedHeaders == null)
+			return null;
+		context.add(includedHeaders);
+		for (IProblem refProblem : getRuntime().getCheckersRegistry().getRefProblems(this)) {
+			IProblem problem = getProblemById(refProblem.getId(), file);
+			if (problem == null)
+				continue;
+			context.add(problem.getId());
+			context.add(problem.isEnabled() ? 1 : 0);
+			IProblemPreference preference = problem.getPreference();
+			if (preference != null)
+				context.add(preference.exportValue());
+		}
+
+		IPath path = file.getFullPath();
+		FileResults previous = fileResults.get(path);
+		FileResults current = new FileResults(context.value, count);
+		fileResults.put(path, current);
+		IncrementalRun run = new IncrementalRun(file, current, hashes);
+		for (int i = 0; i < count; i++) {
+			run.slots.put(functions.get(i), i);
+		}
+		if (previous != null && previous.contextHash == current.contextHash && previous.functions.length == count)
+			run.reuseUnchanged(previous, functions);
+		return run;
+	}
+
+	private static String getDeclaredName(IASTFunctionDefinition func) {
+		IASTDeclarator declarator = func.getDeclarator();
+		while (declarator.getNestedDeclarator() != null) {
+			declarator = declarator.getNestedDeclarator();
+		}
+		IASTName name = declarator.getName().getLastName();
+		if (name instanceof ICPPASTTemplateId)
+			name = ((ICPPASTTemplateId) name).getTemplateName();
+		return String.valueOf(name.getSimpleID());
+	}
+
+	private static Set<String> getReferencedNames(IASTFunctionDefinition func) {
+		final Set<String> names = new HashSet<>();
+		func.accept(new ASTVisitor() {
+			{
+				shouldVisitNames = true;
+				shouldVisitImplicitNames = true;
+				shouldVisitImplicitDestructorNames = true;
+			}
+
+			@Override
+			public int visit(IASTName name) {
+				names.add(String.valueOf(name.getSimpleID()));
+				return PROCESS_CONTINUE;
+			}
+		});
+		return names;
+	}
+
+	/**
+	 * A run of the checker on a file, reusing the results of the previous run for the functions
+	 * that did not change.
+	 */
+	private class IncrementalRun {
+		final IFile file;
+		final FileResults current;
+		final long[] hashes;
+		final Map<IASTFunctionDefinition, Integer> slots = new IdentityHashMap<>();
+		/** The results of the previous run, for the functions that are not processed again. */
+		final FunctionResults[] reused;
+
+		IncrementalRun(IFile file, FileResults current, long[] hashes) {
+			this.file = file;
+			this.current = current;
+			this.hashes = hashes;
+			this.reused = new FunctionResults[hashes.length];
+		}
+
+		/**
+		 * Determines the functions that do not need to be processed again. The rest of the file
+		 * is known to be the same as in the previous run.
+		 */
+		void reuseUnchanged(FileResults previous, List<IASTFunctionDefinition> functions) {
+			Set<String> changedNames = new HashSet<>();
+			for (int i = 0; i < hashes.length; i++) {
+				FunctionResults results = previous.functions[i];
+				if (results != null && results.hash == hashes[i] && results.reusable) {
+					reused[i] = results;
+				} else {
+					changedNames.add(getDeclaredName(functions.get(i)));
+					if (results != null)
+						changedNames.add(results.name);
+				}
+			}
+			// Functions referring to a changed function are processed again, since for example
+			// the deduced return type or the value of a constexpr function may have changed.
+			boolean changed = !changedNames.isEmpty();
+			while (changed) {
+				changed = false;
+				for (int i = 0; i < reused.length; i++) {
+					if (reused[i] != null && !Collections.disjoint(reused[i].referencedNames, changedNames)) {
+						changedNames.add(reused[i].name);
+						reused[i] = null;
+						changed = true;
+					}
+				}
+			}
+		}
+
+		void process(IASTFunctionDefinition func) {
+			Integer slot = slots.get(func);
+			if (slot == null) {
+				current.processedCount++;
+				processFunction(func);
+				return;
+			}
+			IASTFileLocation location = func.getFileLocation();
+			int i = slot;
+			if (reused[i] != null) {
+				reused[i].replay(file, location.getNodeOffset(), location.getStartingLineNumber());
+				current.functions[i] = reused[i];
+				return;
+			}
+			FunctionResults results = new FunctionResults(hashes[i], getDeclaredName(func), file,
+					location.getNodeOffset(), location.getNodeLength(), location.getStartingLineNumber());
+			recordedFunction = results;
+			current.processedCount++;
+			try {
+				processFunction(func);
+			} finally {
+				recordedFunction = null;
+			}
+			results.referencedNames = getReferencedNames(func);
+			current.functions[i] = results;
+		}
+	}
+
+	/**
+	 * Problems reported in the functions of a file.
+	 */
+	private static class FileResults {
+		/** Hash of the file without the function definitions, of its includes and the preferences. */
+		final long contextHash;
+		final FunctionResults[] functions;
+		int processedCount;
+
+		FileResults(long contextHash, int functionCount) {
+			this.contextHash = contextHash;
+			this.functions = new FunctionResults[functionCount];
+		}
+	}
+
+	/**
+	 * Problems reported in a function, with locations relative to the start of the function.
+	 */
+	private class FunctionResults {
+		final long hash;
+		final String name;
+		final List<ReportedProblem> problems = new ArrayList<>();
+		Set<String> referencedNames = Collections.emptySet();
+		/** Whether all problems are within the function and can be reported at a new position. */
+		boolean reusable = true;
+		private final IFile file;
+		private final int offset;
+		private final int length;
+		private final int line;
+
+		FunctionResults(long hash, String name, IFile file, int offset, int length, int line) {
+			this.hash = hash;
+			this.name = name;
+			this.file = file;
+			this.offset = offset;
+			this.length = length;
+			this.line = line;
+		}
+
+		void record(String problemId, IProblemLocation loc, Object[] args) {
+			if (!reusable)
+				return;
+			int start = loc.getStartingChar();
+			int end = loc.getEndingChar();
+			if (!file.equals(loc.getFile()) || loc.getData() != null || start < offset || end > offset + length
+					|| loc.getLineNumber() < line) {
+				reusable = false;
+				problems.clear();
+				return;
+			}
+			problems.add(new ReportedProblem(problemId, start - offset, end - offset, loc.getLineNumber() - line,
+					args.clone()));
+		}
+
+		void replay(IFile file, int newOffset, int newLine) {
+			for (ReportedProblem problem : problems) {
+				IProblemLocation loc = getRuntime().getProblemLocationFactory().createProblemLocation(file,
+						newOffset + problem.start, newOffset + problem.end, newLine + problem.lineDelta);
+				reportProblem(problem.problemId, loc, problem.args);
+			}
+		}
+	}
+
+	private static class ReportedProblem {
+		final String problemId;
+		final int start;
+		final int end;
+		final int lineDelta;
+		final Object[] args;
+
+		ReportedProblem(String problemId, int start, int end, int lineDelta, Object[] args) {
+			this.problemId = problemId;
+			this.start = start;
+			this.end = end;
+			this.lineDelta = lineDelta;
+			this.args = args;
+		}
+	}
+
+	/**
+	 * 64-bit FNV-1a hash of a sequence of characters and numbers.
+	 */
+	static class Hasher {
+		long value = 0xcbf29ce484222325L;
+
+		Hasher add(char[] chars, int from, int to) {
+			for (int i = from; i < to; i++) {
+				value = (value ^ chars[i]) * 0x100000001b3L;
+			}
+			return this;
+		}
+
+		Hasher add(String str) {
+			if (str != null)
+				add(str.toCharArray(), 0, str.length());
+			return add(0);
+		}
+
+		Hasher add(long number) {
+			for (int i = 0; i < 64; i += 16) {
+				value = (value ^ ((number >>> i) & 0xffff)) * 0x100000001b3L;
+			}
+			return this;
+		}
+	}
 }
@@ -24,6 +24,9 @@ import org.eclipse.cdt.codan.core.model.IProblem;
 import org.eclipse.cdt.codan.core.model.IProblemLocation;
 import org.eclipse.cdt.codan.core.model.IProblemLocationFactory;
 import org.eclipse.cdt.codan.core.model.IRunnableInEditorChecker;
+import org.eclipse.cdt.codan.internal.core.model.IBatchableChecker;
+import org.eclipse.cdt.codan.internal.core.model.ICheckerBatchProcessor;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTComment;
 import org.eclipse.cdt.core.dom.ast.IASTCompositeTypeSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
@@ -51,7 +54,18 @@ import org.eclipse.core.runtime.OperationCanceledException;
  * Clients may extend this class.
  */
 public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblemPreferences
-		implements ICAstChecker, IRunnableInEditorChecker {
+		implements ICAstChecker, IRunnableInEditorChecker, IBatchableChecker {
+	/** Whether the checkers of a class are run by the {@link AstCheckerBatchProcessor}. */
+	private static final ClassValue<Boolean> BATCHABLE = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return isOverridden(type, "createVisitor", IASTTranslationUnit.class) //$NON-NLS-1$
+					&& !isOverridden(type, "processAst", IASTTranslationUnit.class) //$NON-NLS-1$
+					&& !isOverridden(type, "processResource", IResource.class) //$NON-NLS-1$
+					&& !isOverridden(type, "processResource", IResource.class, ICheckerInvocationContext.class) //$NON-NLS-1$
+					&& !isOverridden(type, "processModel", Object.class, ICheckerInvocationContext.class); //$NON-NLS-1$
+		}
+	};
 	private CxxModelsCache modelCache;
 
 	@Override
@@ -64,19 +78,43 @@ public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblem
 		return false;
 	}
 
-	private void processFile(IFile file) throws OperationCanceledException {
-		ICheckerInvocationContext context = getContext();
+	/**
+	 * Builds the AST of the file, such that it is shared by all checkers processing the file.
+	 * The read lock of the index is not kept until the file is processed.
+	 */
+	@Override
+	public void prepare(IResource resource, ICheckerInvocationContext context) throws OperationCanceledException {
+		if (!(resource instanceof IFile))
+			return;
+		CxxModelsCache cache = getModelCache((IFile) resource, context);
+		if (cache == null)
+			return;
+		try {
+			cache.prepareAST();
+		} catch (CoreException e) {
+			Activator.log(e);
+		}
+	}
+
+	static CxxModelsCache getModelCache(IFile file, ICheckerInvocationContext context) {
 		synchronized (context) {
-			modelCache = context.get(CxxModelsCache.class);
-			if (modelCache == null) {
+			CxxModelsCache cache = context.get(CxxModelsCache.class);
+			if (cache == null) {
 				ICElement celement = CoreModel.getDefault().create(file);
 				if (!(celement instanceof ITranslationUnit)) {
-					return;
+					return null;
 				}
-				modelCache = new CxxModelsCache((ITranslationUnit) celement);
-				context.add(modelCache);
+				cache = new CxxModelsCache((ITranslationUnit) celement);
+				context.add(cache);
 			}
+			return cache;
 		}
+	}
+
+	private void processFile(IFile file) throws OperationCanceledException {
+		modelCache = getModelCache(file, getContext());
+		if (modelCache == null)
+			return;
 		try {
 			// Run the checker only if the index is fully initialized. Otherwise it may produce
 			// false positives.
@@ -122,6 +160,78 @@ public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblem
 		}
 	}
 
+	/**
+	 * Checks the AST with the visitor returned by {@link #createVisitor(IASTTranslationUnit)}.
+	 * Checkers that do not provide a visitor override this method.
+	 *
+	 * @since 3.7
+	 */
+	@Override
+	public void processAst(IASTTranslationUnit ast) {
+		ASTVisitor visitor = createVisitor(ast);
+		if (visitor != null) {
+			ast.accept(visitor);
+		}
+	}
+
+	/**
+	 * Returns the visitor that checks the given AST, or <code>null</code> if the checker
+	 * checks the AST in {@link #processAst(IASTTranslationUnit)}. The nodes the visitor
+	 * is interested in are declared by its <code>shouldVisit</code> flags. The visitors of
+	 * all checkers running on an AST are called in a single traversal of the AST.
+	 *
+	 * @param ast the AST to check.
+	 * @return the visitor or <code>null</code>.
+	 * @since 3.7
+	 */
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return null;
+	}
+
+	/**
+	 * Returns the processor running the checkers on a shared AST, such that the visitors
+	 * of the checkers traverse the AST once. Only checkers providing a visitor are run by the
+	 * processor, and only if they do not override {@link #processAst(IASTTranslationUnit)},
+	 * {@link #processModel(Object, ICheckerInvocationContext)} or the <code>processResource</code>
+	 * methods, which the processor bypasses.
+	 *
+	 * @since 3.7
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 */
+	@Override
+	public ICheckerBatchProcessor getBatchProcessor() {
+		return BATCHABLE.get(getClass()) ? AstCheckerBatchProcessor.INSTANCE : null;
+	}
+
+	/**
+	 * Checks whether the given method is overridden by the given subclass of this class.
+	 */
+	private static boolean isOverridden(Class<?> type, String name, Class<?>... parameterTypes) {
+		for (Class<?> c = type; c != AbstractIndexAstChecker.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod(name, parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// Look in the superclass.
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sets up the state of the checker for being run on an AST by the batch processor.
+	 */
+	void startBatch(CxxModelsCache cache, ICheckerInvocationContext context) {
+		setContext(context);
+		modelCache = cache;
+	}
+
+	void endBatch() {
+		modelCache = null;
+		setContext(null);
+	}
+
 	@Override
 	public boolean runInEditor() {
 		return true;
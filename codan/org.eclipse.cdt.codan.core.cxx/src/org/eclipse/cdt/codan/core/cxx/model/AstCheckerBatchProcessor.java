@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.cxx.Activator;
+import org.eclipse.cdt.codan.core.cxx.internal.model.CompositeASTVisitor;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.internal.core.CheckersTimeStats;
+import org.eclipse.cdt.codan.internal.core.model.ICheckerBatchProcessor;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Runs the {@link AbstractIndexAstChecker}s that provide a visitor on a shared AST. The visitors
+ * of the checkers are called in a single traversal of the AST.
+ */
+final class AstCheckerBatchProcessor implements ICheckerBatchProcessor {
+	static final AstCheckerBatchProcessor INSTANCE = new AstCheckerBatchProcessor();
+
+	private AstCheckerBatchProcessor() {
+	}
+
+	@Override
+	public void process(IResource resource, Object model, List<IChecker> checkers, ICheckerInvocationContext context)
+			throws OperationCanceledException {
+		if (model != null) {
+			if (!(model instanceof IASTTranslationUnit))
+				return;
+			IASTTranslationUnit ast = (IASTTranslationUnit) model;
+			// Run the checkers only if the index was fully initialized when the file was parsed.
+			// Otherwise the checkers may produce false positives.
+			if (ast.isBasedOnIncompleteIndex())
+				return;
+			CxxModelsCache cache;
+			synchronized (context) {
+				cache = context.get(CxxModelsCache.class);
+				if (cache == null) {
+					cache = new CxxModelsCache(ast);
+					context.add(cache);
+				}
+			}
+			CPPSemantics.pushLookupPoint(ast);
+			try {
+				process(ast, cache, checkers, context, null);
+			} finally {
+				CPPSemantics.popLookupPoint();
+			}
+		} else if (resource instanceof IFile) {
+			CxxModelsCache cache = AbstractIndexAstChecker.getModelCache((IFile) resource, context);
+			if (cache == null)
+				return;
+			try {
+				// Run the checkers only if the index is fully initialized. Otherwise they may produce
+				// false positives.
+				if (!cache.getIndex().isFullyInitialized())
+					return;
+				IASTTranslationUnit ast = cache.getAST();
+				if (ast != null) {
+					synchronized (ast) {
+						process(ast, cache, checkers, context, resource);
+					}
+				}
+			} catch (CoreException e) {
+				Activator.log(e);
+			}
+		}
+	}
+
+	/**
+	 * @param resource the resource for checking the scope of the checkers, or <code>null</code>
+	 * 		if the checkers run as you type.
+	 */
+	private void process(IASTTranslationUnit ast, CxxModelsCache cache, List<IChecker> checkers,
+			ICheckerInvocationContext context, IResource resource) {
+		List<AbstractIndexAstChecker> started = new ArrayList<>(checkers.size());
+		try {
+			// With statistics enabled each visitor traverses the AST by itself, such that its time
+			// is attributed to its checker.
+			final boolean timed = CheckersTimeStats.getInstance().isEnabled();
+			List<ASTVisitor> visitors = new ArrayList<>(checkers.size());
+			for (IChecker c : checkers) {
+				AbstractIndexAstChecker checker = (AbstractIndexAstChecker) c;
+				if (resource != null && !checker.shouldProduceProblems(resource))
+					continue;
+				checker.startBatch(cache, context);
+				started.add(checker);
+				String id = checker.getClass().getName();
+				CheckersTimeStats.getInstance().checkerStart(id);
+				try {
+					ASTVisitor visitor = checker.createVisitor(ast);
+					if (visitor == null) {
+						checker.processAst(ast);
+					} else if (timed) {
+						ast.accept(visitor);
+					} else {
+						visitors.add(visitor);
+					}
+				} catch (OperationCanceledException e) {
+					throw e;
+				} catch (Throwable e) {
+					Activator.log(e);
+				} finally {
+					CheckersTimeStats.getInstance().checkerStop(id);
+				}
+			}
+			for (ASTVisitor visitor : CompositeASTVisitor.combine(visitors)) {
+				try {
+					ast.accept(visitor);
+				} catch (OperationCanceledException e) {
+					throw e;
+				} catch (Throwable e) {
+					Activator.log(e);
+				}
+			}
+		} finally {
+			for (AbstractIndexAstChecker checker : started) {
+				checker.endBatch();
+			}
+		}
+	}
+}
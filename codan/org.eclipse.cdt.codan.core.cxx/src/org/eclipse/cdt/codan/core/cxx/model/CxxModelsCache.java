@@ -16,6 +16,7 @@ package org.eclipse.cdt.codan.core.cxx.model;
 
 import java.util.WeakHashMap;
 
+import org.eclipse.cdt.codan.core.cxx.Activator;
 import org.eclipse.cdt.codan.core.cxx.internal.model.CodanCommentMap;
 import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.CxxControlFlowGraph;
 import org.eclipse.cdt.codan.core.model.ICodanDisposable;
@@ -24,6 +25,9 @@ import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.internal.core.dom.rewrite.commenthandler.ASTCommenter;
 import org.eclipse.core.resources.IFile;
@@ -47,6 +51,12 @@ public class CxxModelsCache implements ICodanDisposable {
 	private final WeakHashMap<IASTFunctionDefinition, IControlFlowGraph> cfgmap;
 	private ICodanCommentMap commentMap;
 	private boolean disposed;
+	// Last write access of the index when an AST was prepared without keeping the read lock.
+	private long preparedWriteAccess;
+	private boolean prepared;
+	// Hash of the headers included by the file, computed once per run.
+	private Long includedHeadersHash;
+	private boolean includedHeadersHashed;
 
 	CxxModelsCache(ITranslationUnit tu) {
 		this.tu = tu;
@@ -59,21 +69,52 @@ public class CxxModelsCache implements ICodanDisposable {
 		this.ast = ast;
 	}
 
-	public IASTTranslationUnit getAST() throws OperationCanceledException, CoreException {
+	public synchronized IASTTranslationUnit getAST() throws OperationCanceledException, CoreException {
 		return getAST(tu);
 	}
 
-	public IASTTranslationUnit getAST(ITranslationUnit tu) throws OperationCanceledException, CoreException {
+	public synchronized IASTTranslationUnit getAST(ITranslationUnit tu)
+			throws OperationCanceledException, CoreException {
 		if (!this.tu.equals(tu)) {
 			throw new IllegalArgumentException();
 		}
-		if (ast == null) {
+		if (ast == null || prepared) {
+			// Acquires the read lock and discards a prepared AST that is no longer valid.
 			getIndex();
+		}
+		if (ast == null) {
 			ast = tu.getAST(index, PARSE_MODE);
 		}
 		return ast;
 	}
 
+	/**
+	 * Builds the AST ahead of its use, provided that the index is fully initialized. The read lock
+	 * of the index is held only while parsing, such that preparing many files does not block the
+	 * indexer. If the index is written to before the AST is used, the AST is discarded and built
+	 * again by {@link #getIndex()}.
+	 */
+	synchronized void prepareAST() throws OperationCanceledException, CoreException {
+		Assert.isTrue(!disposed, "CxxASTCache is already disposed."); //$NON-NLS-1$
+		if (ast != null || index != null)
+			return;
+		IIndex index = CCorePlugin.getIndexManager().getIndex(tu.getCProject());
+		try {
+			index.acquireReadLock();
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		}
+		try {
+			if (index.isFullyInitialized()) {
+				preparedWriteAccess = index.getLastWriteAccess();
+				ast = tu.getAST(index, PARSE_MODE);
+				prepared = true;
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
 	public ITranslationUnit getTranslationUnit() {
 		return tu;
 	}
@@ -127,10 +168,62 @@ public class CxxModelsCache implements ICodanDisposable {
 				throw new OperationCanceledException();
 			}
 			this.index = index;
+			if (prepared) {
+				prepared = false;
+				if (index.getLastWriteAccess() != preparedWriteAccess) {
+					// The bindings of the prepared AST may no longer be valid.
+					ast = null;
+				}
+			}
 		}
 		return this.index;
 	}
 
+	/**
+	 * Returns a hash of the headers included by the file, directly or indirectly, as recorded in
+	 * the index. The include closure is computed once and shared by the checkers processing the
+	 * file.
+	 *
+	 * @return The hash, or <code>null</code> if the file is not indexed or the headers cannot be
+	 *     determined.
+	 */
+	synchronized Long getIncludedHeadersHash() throws OperationCanceledException {
+		if (!includedHeadersHashed) {
+			includedHeadersHash = computeIncludedHeadersHash();
+			includedHeadersHashed = true;
+		}
+		return includedHeadersHash;
+	}
+
+	private Long computeIncludedHeadersHash() throws OperationCanceledException {
+		if (file == null)
+			return null;
+		try {
+			IIndex index = getIndex();
+			IIndexFile[] indexFiles = index.getFiles(IndexLocationFactory.getWorkspaceIFL(file));
+			if (indexFiles.length == 0)
+				return null;
+			AbstractAstFunctionChecker.Hasher hasher = new AbstractAstFunctionChecker.Hasher();
+			for (IIndexFile indexFile : indexFiles) {
+				for (IIndexInclude include : index.findIncludes(indexFile, IIndex.DEPTH_INFINITE)) {
+					IIndexFile header = index.resolveInclude(include);
+					if (header != null) {
+						hasher.add(header.getLocation().getURI().toString());
+						hasher.add(header.getTimestamp());
+						hasher.add(header.getContentsHash());
+					} else {
+						// A header that is not found may appear later.
+						hasher.add(include.getFullName());
+					}
+				}
+			}
+			return hasher.value;
+		} catch (CoreException e) {
+			Activator.log(e);
+			return null;
+		}
+	}
+
 	/**
 	 * @see IDisposable#dispose()
 	 * This method should not be called concurrently with any other method.
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.CompositeASTVisitor;
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.IRunnableInEditorChecker;
+import org.eclipse.cdt.codan.core.tests.CodanTestCase;
+import org.eclipse.cdt.codan.internal.core.CheckerInvocationContext;
+import org.eclipse.cdt.codan.internal.core.CheckersRegistry;
+import org.eclipse.cdt.codan.internal.core.CodanRunner;
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Measures the time saved by running the AST checkers in a single traversal of the AST.
+ *
+ * n.b. this is intentionally not added to any test suite, the times are only printed.
+ */
+public class CheckerBatchPerformanceTest extends CodanTestCase {
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Returns the code of a translation unit with the given number of functions.
+	 */
+	static String createLargeCode(int functions) {
+		StringBuilder code = new StringBuilder();
+		for (int i = 0; i < functions; i++) {
+			code.append("int f").append(i).append("(int a, int b) {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			code.append("  int s = 0;\n"); //$NON-NLS-1$
+			code.append("  for (int i = 0; i < a; i++) { if (i % 3 == b) s += i * b; else s -= a; }\n"); //$NON-NLS-1$
+			code.append("  return s;\n}\n"); //$NON-NLS-1$
+		}
+		return code.toString();
+	}
+
+	private static class CountingVisitor extends ASTVisitor {
+		int count;
+
+		CountingVisitor(boolean declarations) {
+			shouldVisitDeclarations = declarations;
+			shouldVisitStatements = !declarations;
+			shouldVisitExpressions = !declarations;
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			count++;
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTStatement statement) {
+			count++;
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTExpression expression) {
+			count++;
+			return PROCESS_CONTINUE;
+		}
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		loadcode(createLargeCode(2000), true);
+		indexFiles();
+	}
+
+	private IASTTranslationUnit parseLargeCode(IIndex index) throws Exception {
+		ITranslationUnit tu = (ITranslationUnit) currentCElem;
+		return tu.getAST(index, ITranslationUnit.AST_SKIP_INDEXED_HEADERS);
+	}
+
+	public void testTraversalTime() throws Exception {
+		IIndex index = CCorePlugin.getIndexManager().getIndex(cproject);
+		index.acquireReadLock();
+		try {
+			IASTTranslationUnit ast = parseLargeCode(index);
+			final int visitorCount = 12;
+			long separateTime = Long.MAX_VALUE;
+			long combinedTime = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				long start = System.nanoTime();
+				for (int i = 0; i < visitorCount; i++) {
+					ast.accept(new CountingVisitor(i % 2 == 0));
+				}
+				separateTime = Math.min(separateTime, System.nanoTime() - start);
+
+				List<ASTVisitor> visitors = new ArrayList<>();
+				for (int i = 0; i < visitorCount; i++) {
+					visitors.add(new CountingVisitor(i % 2 == 0));
+				}
+				start = System.nanoTime();
+				for (ASTVisitor visitor : CompositeASTVisitor.combine(visitors)) {
+					ast.accept(visitor);
+				}
+				combinedTime = Math.min(combinedTime, System.nanoTime() - start);
+			}
+			System.out.println("CheckerBatchPerformanceTest: " + visitorCount + " separate traversals " //$NON-NLS-1$ //$NON-NLS-2$
+					+ separateTime / 1000000 + " ms, combined traversal " + combinedTime / 1000000 + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	/**
+	 * Compares the time of running the checkers enabled for run as you type on the AST of an
+	 * editor, one after another as before and in batches as by {@link CodanRunner}.
+	 */
+	public void testReconcileLatency() throws Exception {
+		IIndex index = CCorePlugin.getIndexManager().getIndex(cproject);
+		index.acquireReadLock();
+		try {
+			IASTTranslationUnit ast = parseLargeCode(index);
+			CheckersRegistry registry = CheckersRegistry.getInstance();
+			List<IChecker> checkers = new ArrayList<>();
+			for (IChecker checker : registry) {
+				if (checker instanceof IRunnableInEditorChecker
+						&& registry.isCheckerEnabled(checker, currentIFile, CheckerLaunchMode.RUN_AS_YOU_TYPE)) {
+					checkers.add(checker);
+				}
+			}
+			long separateTime = Long.MAX_VALUE;
+			long batchedTime = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				long start = System.nanoTime();
+				CheckerInvocationContext context = new CheckerInvocationContext(currentIFile);
+				try {
+					for (IChecker checker : checkers) {
+						checker.before(currentIFile);
+						try {
+							((IRunnableInEditorChecker) checker).processModel(ast, context);
+						} finally {
+							checker.after(currentIFile);
+						}
+					}
+				} finally {
+					context.dispose();
+				}
+				separateTime = Math.min(separateTime, System.nanoTime() - start);
+
+				start = System.nanoTime();
+				CodanRunner.runInEditor(ast, currentIFile, new NullProgressMonitor());
+				batchedTime = Math.min(batchedTime, System.nanoTime() - start);
+			}
+			System.out.println("CheckerBatchPerformanceTest: " + checkers.size() + " checkers run separately " //$NON-NLS-1$ //$NON-NLS-2$
+					+ separateTime / 1000000 + " ms, in batches " + batchedTime / 1000000 + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+}
@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.CompositeASTVisitor;
+import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.core.tests.CodanFastCxxAstTestCase;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IASTWhileStatement;
+import org.eclipse.core.resources.IResource;
+
+/**
+ * Tests for {@link CompositeASTVisitor}.
+ */
+public class CompositeASTVisitorTest extends CodanFastCxxAstTestCase {
+	@Override
+	public IChecker getChecker() {
+		return null; // not testing checker
+	}
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	/**
+	 * Records the nodes it visits and leaves.
+	 */
+	private static class RecordingVisitor extends ASTVisitor {
+		final List<String> events = new ArrayList<>();
+
+		RecordingVisitor() {
+			super(false);
+		}
+
+		void record(String event, Object node) {
+			events.add(event + ' ' + node.getClass().getSimpleName() + '@' + System.identityHashCode(node));
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			record("visit", declaration); //$NON-NLS-1$
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int leave(IASTDeclaration declaration) {
+			record("leave", declaration); //$NON-NLS-1$
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTStatement statement) {
+			record("visit", statement); //$NON-NLS-1$
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int leave(IASTStatement statement) {
+			record("leave", statement); //$NON-NLS-1$
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTExpression expression) {
+			record("visit", expression); //$NON-NLS-1$
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int leave(IASTExpression expression) {
+			record("leave", expression); //$NON-NLS-1$
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			record("visit", name); //$NON-NLS-1$
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int leave(IASTName name) {
+			record("leave", name); //$NON-NLS-1$
+			return PROCESS_CONTINUE;
+		}
+	}
+
+	private static RecordingVisitor declarations() {
+		RecordingVisitor visitor = new RecordingVisitor();
+		visitor.shouldVisitDeclarations = true;
+		return visitor;
+	}
+
+	private static RecordingVisitor statementsAndExpressions() {
+		RecordingVisitor visitor = new RecordingVisitor();
+		visitor.shouldVisitStatements = true;
+		visitor.shouldVisitExpressions = true;
+		return visitor;
+	}
+
+	private static RecordingVisitor names() {
+		RecordingVisitor visitor = new RecordingVisitor();
+		visitor.shouldVisitNames = true;
+		visitor.shouldVisitImplicitNames = true;
+		return visitor;
+	}
+
+	/** Skips the bodies of the functions. */
+	private static RecordingVisitor skippingFunctionBodies() {
+		RecordingVisitor visitor = new RecordingVisitor() {
+			@Override
+			public int visit(IASTDeclaration declaration) {
+				super.visit(declaration);
+				return declaration instanceof IASTFunctionDefinition ? PROCESS_SKIP : PROCESS_CONTINUE;
+			}
+		};
+		visitor.shouldVisitDeclarations = true;
+		visitor.shouldVisitStatements = true;
+		return visitor;
+	}
+
+	/** Stops at the first loop. */
+	private static RecordingVisitor abortingAtLoop() {
+		RecordingVisitor visitor = new RecordingVisitor() {
+			@Override
+			public int visit(IASTStatement statement) {
+				super.visit(statement);
+				return statement instanceof IASTWhileStatement ? PROCESS_ABORT : PROCESS_CONTINUE;
+			}
+		};
+		visitor.shouldVisitStatements = true;
+		visitor.shouldVisitExpressions = true;
+		return visitor;
+	}
+
+	private static void assertSameEvents(IASTTranslationUnit ast, RecordingVisitor[] separate,
+			RecordingVisitor[] combined) {
+		for (RecordingVisitor visitor : separate) {
+			ast.accept(visitor);
+		}
+		for (ASTVisitor visitor : CompositeASTVisitor.combine(new ArrayList<ASTVisitor>(Arrays.asList(combined)))) {
+			ast.accept(visitor);
+		}
+		for (int i = 0; i < separate.length; i++) {
+			assertFalse(separate[i].events.isEmpty());
+			assertEquals(separate[i].events, combined[i].events);
+		}
+	}
+
+	// struct A {
+	//   int f(int p) { return p * 2; }
+	//   ~A();
+	// };
+	// int g(int a) {
+	//   A x;
+	//   int s = 0;
+	//   while (a > 0) {
+	//     s += x.f(a--);
+	//   }
+	//   for (int i = 0; i < 3; i++) {
+	//     if (i == s) return i;
+	//   }
+	//   return s;
+	// }
+	public void testSameEventsAsSeparateTraversals() throws Exception {
+		IASTTranslationUnit ast = parse(getAboveComment());
+		assertSameEvents(ast,
+				new RecordingVisitor[] { declarations(), statementsAndExpressions(), names(), skippingFunctionBodies(),
+						abortingAtLoop() },
+				new RecordingVisitor[] { declarations(), statementsAndExpressions(), names(), skippingFunctionBodies(),
+						abortingAtLoop() });
+	}
+
+	public void testSingleTraversalForCompatibleVisitors() throws Exception {
+		List<ASTVisitor> visitors = new ArrayList<>();
+		visitors.add(declarations());
+		visitors.add(statementsAndExpressions());
+		visitors.add(skippingFunctionBodies());
+		assertEquals(1, CompositeASTVisitor.combine(visitors).size());
+		// Visitors of implicit names traverse a different tree.
+		visitors.add(names());
+		assertEquals(2, CompositeASTVisitor.combine(visitors).size());
+	}
+
+	/**
+	 * Checks that a combined traversal of a large AST produces the same events as the separate
+	 * traversals. See {@link CheckerBatchPerformanceTest} for the time of the traversals.
+	 */
+	public void testLargeAST() throws Exception {
+		IASTTranslationUnit ast = parse(CheckerBatchPerformanceTest.createLargeCode(200));
+		final int visitorCount = 12;
+		RecordingVisitor[] separate = new RecordingVisitor[visitorCount];
+		RecordingVisitor[] combined = new RecordingVisitor[visitorCount];
+		for (int i = 0; i < visitorCount; i++) {
+			separate[i] = i % 2 == 0 ? declarations() : statementsAndExpressions();
+			combined[i] = i % 2 == 0 ? declarations() : statementsAndExpressions();
+		}
+		assertSameEvents(ast, separate, combined);
+	}
+
+	private static class VisitorChecker extends AbstractIndexAstChecker {
+		@Override
+		protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+			return declarations();
+		}
+	}
+
+	private static class ModelChecker extends VisitorChecker {
+		@Override
+		public synchronized void processModel(Object model, ICheckerInvocationContext context) {
+		}
+	}
+
+	private static class AstChecker extends AbstractIndexAstChecker {
+		@Override
+		public void processAst(IASTTranslationUnit ast) {
+		}
+	}
+
+	/**
+	 * Checks that only the checkers running a visitor on the AST are batched, the batch processor
+	 * bypasses the other methods of the checkers.
+	 */
+	public void testBatchingIsOptIn() throws Exception {
+		assertNotNull(new VisitorChecker().getBatchProcessor());
+		assertNull(new ModelChecker().getBatchProcessor());
+		assertNull(new AstChecker().getBatchProcessor());
+		// A checker that is not batched is run separately by CodanRunner, its visitor is only
+		// called through processAst().
+		assertNull(new VisitorChecker() {
+			@Override
+			public boolean processResource(IResource resource) {
+				return false;
+			}
+		}.getBatchProcessor());
+	}
+}
@@ -15,9 +15,12 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.internal.checkers;
 
+import org.eclipse.cdt.codan.core.model.IChecker;
 import org.eclipse.cdt.codan.core.param.IProblemPreference;
 import org.eclipse.cdt.codan.core.tests.CheckerTestCase;
 import org.eclipse.cdt.codan.internal.checkers.ReturnChecker;
+import org.eclipse.cdt.codan.internal.core.CheckersRegistry;
+import org.eclipse.core.resources.IFile;
 
 /**
  * Test for {@see ReturnCheckerTest} class
@@ -623,4 +626,94 @@ public class ReturnCheckerTest extends CheckerTestCase {
 	public void testReturnLambda_Bug546173() throws Exception {
 		checkSampleAboveCpp();
 	}
+
+	//@file:incremental.cpp
+	//int f(int a) {
+	//	return a;
+	//}
+	//int g(int a) {
+	//	if (a)
+	//		return 1;
+	//}
+
+	//@file:incremental.cpp
+	//int f(int a) {
+	//	a++;
+	//	a++;
+	//	if (a)
+	//		return a;
+	//}
+	//int g(int a) {
+	//	if (a)
+	//		return 1;
+	//}
+	public void testUnchangedFunctionAfterEdit() throws Exception {
+		CharSequence[] code = getContents(2);
+		loadCodeAndRun(code[0].toString());
+		checkErrorLine(4, ReturnChecker.RET_NORET_ID);
+		assertEquals(1, markers.length);
+		assertEquals(2, getReturnChecker().getProcessedFunctionCount(currentIFile));
+		// The problem in g() is reported at its new position, f() is checked again.
+		loadCodeAndRun(code[1].toString());
+		checkErrorLine(1, ReturnChecker.RET_NORET_ID);
+		checkErrorLine(7, ReturnChecker.RET_NORET_ID);
+		assertEquals(2, markers.length);
+		assertEquals(1, getReturnChecker().getProcessedFunctionCount(currentIFile));
+	}
+
+	//@file:header.h
+	//typedef int T;
+
+	//@file:source.cpp
+	//#include "header.h"
+	//int f(int a) {
+	//	return a;
+	//}
+	//T g(int a) {
+	//	if (a)
+	//		return 1;
+	//}
+
+	//@file:header.h
+	//typedef void T;
+	public void testChangedHeader() throws Exception {
+		CharSequence[] code = getContents(3);
+		loadcode(code[0].toString());
+		loadCodeAndRun(code[1].toString());
+		IFile source = currentIFile;
+		assertEquals(2, getReturnChecker().getProcessedFunctionCount(source));
+		runCodan();
+		assertEquals(0, getReturnChecker().getProcessedFunctionCount(source));
+		// The header is skipped by the parser, its change is known from the index.
+		loadCodeAndRun(code[2].toString());
+		assertEquals(2, getReturnChecker().getProcessedFunctionCount(source));
+	}
+
+	private static ReturnChecker getReturnChecker() {
+		for (IChecker checker : CheckersRegistry.getInstance()) {
+			if (checker instanceof ReturnChecker)
+				return (ReturnChecker) checker;
+		}
+		fail("ReturnChecker is not registered");
+		return null;
+	}
+
+	//@file:incremental.cpp
+	//typedef int T;
+	//T f() {
+	//	return 1;
+	//}
+
+	//@file:incremental.cpp
+	//typedef void T;
+	//T f() {
+	//	return 1;
+	//}
+	public void testChangedDeclarationOutsideOfFunction() throws Exception {
+		CharSequence[] code = getContents(2);
+		loadCodeAndRun(code[0].toString());
+		checkNoErrors();
+		loadCodeAndRun(code[1].toString());
+		checkErrorLine(3, ReturnChecker.RET_ERR_VALUE_ID);
+	}
 }
@@ -15,6 +15,7 @@
 package org.eclipse.cdt.codan.core.tests;
 
 import org.eclipse.cdt.codan.core.cfg.ControlFlowGraphTest;
+import org.eclipse.cdt.codan.core.cxx.CompositeASTVisitorTest;
 import org.eclipse.cdt.codan.core.cxx.CxxAstUtilsTest;
 import org.eclipse.cdt.codan.core.param.BasicProblemPreferenceTest;
 import org.eclipse.cdt.codan.core.param.ListProblemPreferenceTest;
@@ -47,6 +48,7 @@ public class CodanFastTestSuite extends TestSuite {
 		suite.addTestSuite(MapProblemPreferenceTest.class);
 		suite.addTestSuite(CxxAstUtilsTest.class);
 		suite.addTestSuite(ControlFlowGraphTest.class);
+		suite.addTestSuite(CompositeASTVisitorTest.class);
 		return suite;
 	}
 }
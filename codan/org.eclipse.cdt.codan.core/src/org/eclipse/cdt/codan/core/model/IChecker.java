@@ -40,6 +40,35 @@ public interface IChecker {
 	 */
 	void before(IResource resource);
 
+	/**
+	 * Called before processing a resource, possibly on a different thread and concurrently
+	 * with the processing of other resources. Allows the checker to create the models it
+	 * needs and to store them in the context, e.g. the AST of a translation unit, such that
+	 * they are shared by all checkers and built ahead of time. Locks, such as the read lock
+	 * of the index, must not be held once this method returns. The default implementation
+	 * does nothing.
+	 *
+	 * @param resource the resource that is going to be processed.
+	 * @param context container object for sharing data between different checkers
+	 * 		operating on the resource.
+	 * @throws OperationCanceledException if the preparation was interrupted.
+	 * @since 4.3
+	 */
+	default void prepare(IResource resource, ICheckerInvocationContext context) throws OperationCanceledException {
+	}
+
+	/**
+	 * Returns whether the methods of the checker may be called by several threads at
+	 * the same time. Checkers that are not thread-safe are called by one thread at a
+	 * time. The default implementation returns <code>false</code>.
+	 *
+	 * @return true if the checker is thread-safe.
+	 * @since 4.3
+	 */
+	default boolean isThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * Main method that checker should implement that actually detects errors
 	 *
@@ -14,17 +14,30 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.cdt.codan.core.CodanCorePlugin;
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.IChecker;
 import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
 import org.eclipse.cdt.codan.core.model.IRunnableInEditorChecker;
+import org.eclipse.cdt.codan.internal.core.model.IBatchableChecker;
+import org.eclipse.cdt.codan.internal.core.model.ICheckerBatchProcessor;
 import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
-import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -35,6 +48,8 @@ import org.eclipse.osgi.util.NLS;
  * CodanRuntime.getInstance().getBuilder()
  */
 public class CodanRunner {
+	private static final int MAX_PREPARE_THREADS = 4;
+
 	/** Do not instantiate. All methods are static */
 	private CodanRunner() {
 	}
@@ -64,66 +79,251 @@ public class CodanRunner {
 
 	private static void processResource(IResource resource, Object model, CheckerLaunchMode checkerLaunchMode,
 			IProgressMonitor monitor) {
-		CheckersRegistry chegistry = CheckersRegistry.getInstance();
-		int checkers = chegistry.getCheckersSize();
-		IResource[] children = null;
+		if (resource instanceof IContainer && (checkerLaunchMode == CheckerLaunchMode.RUN_ON_FULL_BUILD
+				|| checkerLaunchMode == CheckerLaunchMode.RUN_ON_DEMAND)) {
+			processTree((IContainer) resource, checkerLaunchMode, monitor);
+			return;
+		}
+		int checkers = CheckersRegistry.getInstance().getCheckersSize();
+		monitor.beginTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, resource.getFullPath().toString()),
+				checkers);
+		try {
+			List<IChecker> enabledCheckers = getEnabledCheckers(resource, checkerLaunchMode);
+			monitor.worked(checkers - enabledCheckers.size());
+			runCheckers(resource, model, new CheckerInvocationContext(resource), enabledCheckers, checkerLaunchMode,
+					monitor);
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Runs the checkers on a container and all resources below it. The models of the files,
+	 * e.g. the ASTs, are prepared by a pool of worker threads ahead of the checkers. The
+	 * checkers themselves are run on the calling thread, since the problem reporters modify
+	 * markers in the workspace. Checkers preparing models must not keep the read lock of the
+	 * index while the model waits to be processed, otherwise the prepared resources hold the
+	 * lock in overlapping windows and block the indexer for the whole run.
+	 */
+	private static void processTree(IContainer container, CheckerLaunchMode checkerLaunchMode,
+			IProgressMonitor monitor) {
+		List<IResource> resources = new ArrayList<>();
+		collectResources(container, resources);
+		int checkers = CheckersRegistry.getInstance().getCheckersSize();
+		monitor.beginTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, container.getFullPath().toString()),
+				checkers * resources.size());
+		int workers = Math.min(Runtime.getRuntime().availableProcessors(), MAX_PREPARE_THREADS);
+		ExecutorService pool = createPreparePool(workers);
+		Deque<PreparedResource> pending = new ArrayDeque<>();
+		try {
+			int next = 0;
+			for (int i = 0; i < resources.size(); i++) {
+				// Keep a limited number of resources prepared ahead, their models may be large.
+				while (next < resources.size() && next < i + workers * 2) {
+					pending.add(prepareResource(resources.get(next++), checkerLaunchMode, pool, monitor));
+				}
+				PreparedResource prepared = pending.remove();
+				prepared.waitUntilPrepared();
+				if (monitor.isCanceled()) {
+					prepared.fContext.dispose();
+					return;
+				}
+				monitor.worked(checkers - prepared.fCheckers.size());
+				if (!runCheckers(prepared.fResource, null, prepared.fContext, prepared.fCheckers, checkerLaunchMode,
+						monitor)) {
+					return;
+				}
+			}
+		} finally {
+			// The workers may still be using the contexts of the remaining resources.
+			for (PreparedResource prepared : pending) {
+				prepared.waitUntilPrepared();
+				prepared.fContext.dispose();
+			}
+			pool.shutdown();
+			monitor.done();
+		}
+	}
+
+	private static void collectResources(IResource resource, List<IResource> resources) {
+		resources.add(resource);
 		if (resource instanceof IContainer) {
 			try {
-				children = ((IContainer) resource).members();
+				for (IResource child : ((IContainer) resource).members()) {
+					collectResources(child, resources);
+				}
 			} catch (CoreException e) {
 				CodanCorePlugin.log(e);
 			}
 		}
-		int numChildren = children == null ? 0 : children.length;
-		int childWeight = 10;
-		// System.err.println("processing " + resource);
-		monitor.beginTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, resource.getFullPath().toString()),
-				checkers * (1 + numChildren * childWeight));
-		try {
-			CheckersTimeStats.getInstance().checkerStart(CheckersTimeStats.ALL);
-			ICheckerInvocationContext context = new CheckerInvocationContext(resource);
-			try {
-				for (IChecker checker : chegistry) {
+	}
+
+	private static ExecutorService createPreparePool(int workers) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		return Executors.newFixedThreadPool(workers, r -> {
+			Thread thread = new Thread(r, "Code Analysis Parser " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static PreparedResource prepareResource(IResource resource, CheckerLaunchMode checkerLaunchMode,
+			ExecutorService pool, IProgressMonitor monitor) {
+		List<IChecker> checkers = getEnabledCheckers(resource, checkerLaunchMode);
+		ICheckerInvocationContext context = new CheckerInvocationContext(resource);
+		CompletableFuture<Void> future = null;
+		if (resource instanceof IFile && !checkers.isEmpty()) {
+			future = CompletableFuture.runAsync(() -> {
+				for (IChecker checker : checkers) {
 					if (monitor.isCanceled())
 						return;
-					if (chegistry.isCheckerEnabled(checker, resource, checkerLaunchMode)) {
-						synchronized (checker) {
-							try {
-								checker.before(resource);
-								CheckersTimeStats.getInstance().checkerStart(checker.getClass().getName());
-								if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
-									((IRunnableInEditorChecker) checker).processModel(model, context);
-								} else {
-									checker.processResource(resource, context);
-								}
-							} catch (OperationCanceledException e) {
-								return;
-							} catch (Throwable e) {
-								CodanCorePlugin.log(e);
-							} finally {
-								CheckersTimeStats.getInstance().checkerStop(checker.getClass().getName());
-								checker.after(resource);
-							}
-						}
+					try {
+						checker.prepare(resource, context);
+					} catch (OperationCanceledException e) {
+						return;
+					} catch (Throwable e) {
+						CodanCorePlugin.log(e);
 					}
-					monitor.worked(1);
 				}
-			} finally {
-				context.dispose();
-				CheckersTimeStats.getInstance().checkerStop(CheckersTimeStats.ALL);
-				//CheckersTimeStats.getInstance().printStats();
+			}, pool);
+		}
+		return new PreparedResource(resource, context, checkers, future);
+	}
+
+	private static List<IChecker> getEnabledCheckers(IResource resource, CheckerLaunchMode checkerLaunchMode) {
+		CheckersRegistry chegistry = CheckersRegistry.getInstance();
+		List<IChecker> checkers = new ArrayList<>();
+		for (IChecker checker : chegistry) {
+			if (chegistry.isCheckerEnabled(checker, resource, checkerLaunchMode)) {
+				checkers.add(checker);
 			}
+		}
+		return checkers;
+	}
 
-			if (children != null && (checkerLaunchMode == CheckerLaunchMode.RUN_ON_FULL_BUILD
-					|| checkerLaunchMode == CheckerLaunchMode.RUN_ON_DEMAND)) {
-				for (IResource child : children) {
-					if (monitor.isCanceled())
-						return;
-					processResource(child, null, checkerLaunchMode, new SubProgressMonitor(monitor, childWeight));
+	/**
+	 * Runs the given checkers on a resource and disposes the context afterwards.
+	 *
+	 * @return <code>false</code> if the run was canceled.
+	 */
+	private static boolean runCheckers(IResource resource, Object model, ICheckerInvocationContext context,
+			List<IChecker> checkers, CheckerLaunchMode checkerLaunchMode, IProgressMonitor monitor) {
+		CheckersTimeStats.getInstance().checkerStart(CheckersTimeStats.ALL);
+		try {
+			Map<ICheckerBatchProcessor, List<IChecker>> batches = new LinkedHashMap<>();
+			for (IChecker checker : checkers) {
+				if (monitor.isCanceled())
+					return false;
+				ICheckerBatchProcessor processor = checker instanceof IBatchableChecker
+						? ((IBatchableChecker) checker).getBatchProcessor()
+						: null;
+				if (processor != null) {
+					batches.computeIfAbsent(processor, p -> new ArrayList<>()).add(checker);
+					continue;
+				}
+				if (checker.isThreadSafe()) {
+					if (!runChecker(checker, resource, model, context, checkerLaunchMode))
+						return false;
+				} else {
+					synchronized (checker) {
+						if (!runChecker(checker, resource, model, context, checkerLaunchMode))
+							return false;
+					}
 				}
+				monitor.worked(1);
 			}
+			for (Map.Entry<ICheckerBatchProcessor, List<IChecker>> batch : batches.entrySet()) {
+				if (monitor.isCanceled())
+					return false;
+				if (!runBatch(batch.getKey(), batch.getValue(), 0, resource, model, context))
+					return false;
+				monitor.worked(batch.getValue().size());
+			}
+			return true;
 		} finally {
-			monitor.done();
+			context.dispose();
+			CheckersTimeStats.getInstance().checkerStop(CheckersTimeStats.ALL);
+			//CheckersTimeStats.getInstance().printStats();
+		}
+	}
+
+	private static boolean runChecker(IChecker checker, IResource resource, Object model,
+			ICheckerInvocationContext context, CheckerLaunchMode checkerLaunchMode) {
+		try {
+			checker.before(resource);
+			CheckersTimeStats.getInstance().checkerStart(checker.getClass().getName());
+			if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
+				((IRunnableInEditorChecker) checker).processModel(model, context);
+			} else {
+				checker.processResource(resource, context);
+			}
+		} catch (OperationCanceledException e) {
+			return false;
+		} catch (Throwable e) {
+			CodanCorePlugin.log(e);
+		} finally {
+			CheckersTimeStats.getInstance().checkerStop(checker.getClass().getName());
+			checker.after(resource);
+		}
+		return true;
+	}
+
+	/**
+	 * Runs a batch of checkers after locking the ones that are not thread-safe. The checkers are
+	 * locked in the order of the registry, like when they are run one by one.
+	 */
+	private static boolean runBatch(ICheckerBatchProcessor processor, List<IChecker> checkers, int firstUnlocked,
+			IResource resource, Object model, ICheckerInvocationContext context) {
+		for (int i = firstUnlocked; i < checkers.size(); i++) {
+			IChecker checker = checkers.get(i);
+			if (!checker.isThreadSafe()) {
+				synchronized (checker) {
+					return runBatch(processor, checkers, i + 1, resource, model, context);
+				}
+			}
+		}
+		String id = processor.getClass().getName();
+		try {
+			for (IChecker checker : checkers) {
+				checker.before(resource);
+			}
+			CheckersTimeStats.getInstance().checkerStart(id);
+			processor.process(resource, model, checkers, context);
+		} catch (OperationCanceledException e) {
+			return false;
+		} catch (Throwable e) {
+			CodanCorePlugin.log(e);
+		} finally {
+			CheckersTimeStats.getInstance().checkerStop(id);
+			for (IChecker checker : checkers) {
+				checker.after(resource);
+			}
+		}
+		return true;
+	}
+
+	private static class PreparedResource {
+		final IResource fResource;
+		final ICheckerInvocationContext fContext;
+		final List<IChecker> fCheckers;
+		final CompletableFuture<Void> fFuture;
+
+		PreparedResource(IResource resource, ICheckerInvocationContext context, List<IChecker> checkers,
+				CompletableFuture<Void> future) {
+			fResource = resource;
+			fContext = context;
+			fCheckers = checkers;
+			fFuture = future;
+		}
+
+		/**
+		 * Waits for the worker preparing the models, an interruption does not end the wait since
+		 * the worker may still use the context.
+		 */
+		void waitUntilPrepared() {
+			if (fFuture != null) {
+				fFuture.join();
+			}
 		}
 	}
 }
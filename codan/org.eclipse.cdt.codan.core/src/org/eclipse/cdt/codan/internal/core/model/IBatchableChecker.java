@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core.model;
+
+import org.eclipse.cdt.codan.core.model.IChecker;
+
+/**
+ * A checker that can be run together with other checkers by an {@link ICheckerBatchProcessor}.
+ */
+public interface IBatchableChecker extends IChecker {
+	/**
+	 * Returns the processor that runs this checker together with the other checkers
+	 * returning the same processor, or <code>null</code> if the checker is run by itself.
+	 *
+	 * @return the batch processor or <code>null</code>.
+	 */
+	ICheckerBatchProcessor getBatchProcessor();
+}
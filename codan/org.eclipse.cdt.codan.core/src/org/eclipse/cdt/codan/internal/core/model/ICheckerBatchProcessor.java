@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core.model;
+
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Runs several checkers on a resource at once, e.g. in a single traversal of a model of the
+ * resource. Checkers that can be run together return the same processor from
+ * {@link IBatchableChecker#getBatchProcessor()}.
+ */
+public interface ICheckerBatchProcessor {
+	/**
+	 * Runs the given checkers on a resource. {@link IChecker#before(IResource)} has been called
+	 * for all checkers, {@link IChecker#after(IResource)} is called after this method returns.
+	 *
+	 * @param resource the resource to run on.
+	 * @param model the model of the resource when running as you type, e.g. the AST, or
+	 * 		<code>null</code> when running on the saved resource.
+	 * @param checkers the checkers to run, all of them returned this processor.
+	 * @param context container object for sharing data between different checkers
+	 * 		operating on the resource.
+	 * @throws OperationCanceledException if the checkers were interrupted.
+	 */
+	void process(IResource resource, Object model, List<IChecker> checkers, ICheckerInvocationContext context)
+			throws OperationCanceledException;
+}
@@ -15,13 +15,18 @@
 package org.eclipse.cdt.core.internal.errorparsers.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.ErrorParserManager;
@@ -34,6 +39,7 @@ import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.BuildOutputPipeline;
 import org.eclipse.core.internal.registry.ExtensionRegistry;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
@@ -168,6 +174,148 @@ public class ErrorParserManagerTest extends BaseTestCase5 {
 		assertEquals(22, errorList.size());
 	}
 
+	@Test
+	public void testDeferredMarkerCreation() throws IOException {
+		epManager.deferMarkerCreation();
+		output("catchpoints.cpp:12: warning: no return statement in function returning non-void\n");
+		assertEquals(1, epManager.getWarningCount());
+		assertEquals(0, errorList.size());
+		epManager.flushMarkers();
+		assertEquals(1, errorList.size());
+		output("catchpoints.cpp:13: warning: no return statement in function returning non-void\n");
+		end();
+		assertEquals(2, errorList.size());
+	}
+
+	@Test
+	public void testOutputThroughPipeline() throws IOException {
+		epManager.deferMarkerCreation();
+		// A small buffer makes the writer wait for the error parsers.
+		BuildOutputPipeline pipeline = new BuildOutputPipeline("Test Build Output", 256, epManager::flushMarkers);
+		ByteArrayOutputStream console = new ByteArrayOutputStream();
+		epManager.setOutputStream(pipeline.timeConsole(console));
+		try {
+			OutputStream out = pipeline.connect(epManager.getOutputStream());
+			int total = 0;
+			try (FileInputStream fileInputStream = new FileInputStream(
+					CTestPlugin.getDefault().getFileInPlugin(new Path("resources/errortests/output-1")))) {
+				byte b[] = new byte[1024];
+				while (true) {
+					int k = fileInputStream.read(b);
+					if (k < 0)
+						break;
+					out.write(b, 0, k);
+					total += k;
+				}
+			}
+			out.close();
+			assertTrue(pipeline.getStatistics().startsWith("Build output: " + total + " bytes"));
+		} finally {
+			pipeline.close();
+		}
+		assertEquals(22, errorList.size());
+		assertTrue(console.size() > 0);
+		// The writer has to wait while the error parsers process a previous chunk.
+		assertTrue(pipeline.getStallCount() > 0);
+	}
+
+	@Test
+	public void testDrainWithTimeout() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		BuildOutputPipeline pipeline = new BuildOutputPipeline("Test Build Output", 16, null);
+		try {
+			OutputStream out = pipeline.connect(new OutputStream() {
+				@Override
+				public void write(int b) throws IOException {
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new IOException(e);
+					}
+				}
+			});
+			out.write('x');
+			// The consumer is blocked, the output cannot be processed.
+			assertFalse(pipeline.drain(10, TimeUnit.MILLISECONDS));
+			release.countDown();
+			assertTrue(pipeline.drain(10, TimeUnit.SECONDS));
+			out.close();
+		} finally {
+			release.countDown();
+			pipeline.close();
+		}
+	}
+
+	@Test
+	public void testCancelWithBlockedConsole() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final ByteArrayOutputStream written = new ByteArrayOutputStream();
+		BuildOutputPipeline pipeline = new BuildOutputPipeline("Test Build Output", 16, null);
+		try {
+			OutputStream out = pipeline.connect(new OutputStream() {
+				@Override
+				public void write(int b) throws IOException {
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new IOException(e);
+					}
+					synchronized (written) {
+						written.write(b);
+					}
+				}
+			});
+			out.write('x');
+			// The writer stalls on the full buffer until the build is canceled.
+			Thread writer = new Thread(() -> {
+				try {
+					for (int i = 0; i < 100; i++) {
+						out.write("0123456789".getBytes());
+					}
+				} catch (IOException e) {
+				}
+			});
+			writer.start();
+			assertFalse(pipeline.drain(10, TimeUnit.MILLISECONDS));
+
+			long start = System.nanoTime();
+			pipeline.cancel();
+			writer.join(10000);
+			assertFalse(writer.isAlive());
+			// Closing neither waits for the blocked console nor for the discarded output.
+			out.close();
+			assertTrue(pipeline.drain(0, TimeUnit.MILLISECONDS));
+			pipeline.close();
+			assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+		} finally {
+			release.countDown();
+			pipeline.close();
+		}
+		// At most the chunk the console was blocked in is passed on.
+		Thread.sleep(100);
+		synchronized (written) {
+			assertTrue(written.size() <= 10, written.toString());
+		}
+	}
+
+	@Test
+	public void testPipelineKeepsOrder() throws IOException {
+		BuildOutputPipeline pipeline = new BuildOutputPipeline("Test Build Output", 16, null);
+		ByteArrayOutputStream target = new ByteArrayOutputStream();
+		OutputStream out1 = pipeline.connect(target);
+		OutputStream out2 = pipeline.connect(target);
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			String s = Integer.toString(i);
+			(i % 2 == 0 ? out1 : out2).write(s.getBytes());
+			expected.append(s);
+		}
+		out1.close();
+		assertEquals(expected.toString(), target.toString());
+		out2.close();
+		pipeline.close();
+	}
+
 	private String addErrorParserExtension(String shortId, Class cl) {
 		String ext = "<plugin><extension id=\"" + shortId + "\" name=\"" + shortId
 				+ "\" point=\"org.eclipse.cdt.core.ErrorParser\">" + "<errorparser class=\"" + cl.getName() + "\"/>"
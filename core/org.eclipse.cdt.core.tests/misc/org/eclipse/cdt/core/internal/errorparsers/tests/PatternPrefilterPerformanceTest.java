@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.internal.errorparsers.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.ErrorParserManager;
+import org.eclipse.cdt.core.errorparsers.RegexErrorParser;
+import org.eclipse.cdt.core.errorparsers.RegexErrorPattern;
+import org.eclipse.cdt.core.testplugin.CTestPlugin;
+import org.eclipse.cdt.internal.errorparsers.PatternPrefilter;
+import org.eclipse.core.runtime.Path;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the throughput of matching the patterns of the GCC and GLD error parsers against the
+ * recorded build output, with and without {@link PatternPrefilter}.
+ *
+ * n.b. this is intentionally not added to any test suite, the times are only printed.
+ */
+public class PatternPrefilterPerformanceTest {
+	private static final int ROUNDS = 20;
+	/** Lines longer than that are not passed to the error parsers by {@link ErrorParserManager}. */
+	private static final int MAX_LINE_LENGTH = 1000;
+
+	private static List<String> readLines(String name) throws IOException {
+		File file = CTestPlugin.getDefault().getFileInPlugin(new Path("resources/errortests/" + name));
+		List<String> lines = new ArrayList<>();
+		for (String line : Files.readAllLines(file.toPath(), StandardCharsets.ISO_8859_1)) {
+			if (line.length() <= MAX_LINE_LENGTH) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+
+	private static String[] getRegexes(String... parserIds) {
+		List<String> regexes = new ArrayList<>();
+		for (String id : parserIds) {
+			RegexErrorParser parser = (RegexErrorParser) ErrorParserManager.getErrorParserCopy(id);
+			for (RegexErrorPattern pattern : parser.getPatterns()) {
+				regexes.add(pattern.getPattern());
+			}
+		}
+		return regexes.toArray(new String[regexes.size()]);
+	}
+
+	private static int matchAll(List<String> lines, Pattern[] patterns) {
+		int matches = 0;
+		for (String line : lines) {
+			for (Pattern pattern : patterns) {
+				if (pattern.matcher(line).matches())
+					matches++;
+			}
+		}
+		return matches;
+	}
+
+	private static int matchCandidates(List<String> lines, Pattern[] patterns, PatternPrefilter prefilter) {
+		int matches = 0;
+		for (String line : lines) {
+			BitSet candidates = prefilter.getCandidates(line);
+			for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+				if (patterns[i].matcher(line).matches())
+					matches++;
+			}
+		}
+		return matches;
+	}
+
+	@Test
+	public void testThroughput() throws IOException {
+		List<String> lines = readLines("output-1");
+		String[] regexes = getRegexes(GenericErrorParserTests.GCC_ERROR_PARSER_ID,
+				GenericErrorParserTests.GLD_ERROR_PARSER_ID);
+		Pattern[] patterns = new Pattern[regexes.length];
+		for (int i = 0; i < regexes.length; i++) {
+			patterns[i] = Pattern.compile(regexes[i]);
+		}
+		PatternPrefilter prefilter = new PatternPrefilter(regexes);
+
+		long unfilteredTime = Long.MAX_VALUE;
+		long filteredTime = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			int unfilteredMatches = matchAll(lines, patterns);
+			unfilteredTime = Math.min(unfilteredTime, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			int filteredMatches = matchCandidates(lines, patterns, prefilter);
+			filteredTime = Math.min(filteredTime, System.nanoTime() - start);
+			assertEquals(unfilteredMatches, filteredMatches);
+		}
+		System.out.println("PatternPrefilterPerformanceTest: " + lines.size() + " lines, " + regexes.length //$NON-NLS-1$ //$NON-NLS-2$
+				+ " patterns, without prefilter " + linesPerSecond(lines.size(), unfilteredTime) //$NON-NLS-1$
+				+ " lines/s, with prefilter " + linesPerSecond(lines.size(), filteredTime) + " lines/s"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static long linesPerSecond(int lines, long nanos) {
+		return nanos == 0 ? 0 : lines * 1000000000L / nanos;
+	}
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.internal.errorparsers.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.ErrorParserManager;
+import org.eclipse.cdt.core.IMarkerGenerator;
+import org.eclipse.cdt.core.errorparsers.RegexErrorParser;
+import org.eclipse.cdt.core.errorparsers.RegexErrorPattern;
+import org.eclipse.cdt.core.testplugin.CTestPlugin;
+import org.eclipse.cdt.internal.errorparsers.PatternPrefilter;
+import org.eclipse.core.runtime.Path;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PatternPrefilter} and its use by the error parsers.
+ */
+public class PatternPrefilterTests extends GenericErrorParserTests {
+	/** Lines longer than that are not passed to the error parsers by {@link ErrorParserManager}. */
+	private static final int MAX_LINE_LENGTH = 1000;
+
+	private static List<String> readLines(String name) throws IOException {
+		File file = CTestPlugin.getDefault().getFileInPlugin(new Path("resources/errortests/" + name));
+		List<String> lines = new ArrayList<>();
+		for (String line : Files.readAllLines(file.toPath(), StandardCharsets.ISO_8859_1)) {
+			if (line.length() <= MAX_LINE_LENGTH) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+
+	private static String[] getRegexes(String... parserIds) {
+		List<String> regexes = new ArrayList<>();
+		for (String id : parserIds) {
+			RegexErrorParser parser = (RegexErrorParser) ErrorParserManager.getErrorParserCopy(id);
+			for (RegexErrorPattern pattern : parser.getPatterns()) {
+				regexes.add(pattern.getPattern());
+			}
+		}
+		return regexes.toArray(new String[regexes.size()]);
+	}
+
+	@Test
+	public void testRequiredLiterals() {
+		assertEquals(Arrays.asList(": error: "), PatternPrefilter.getRequiredLiterals("(.*?):(\\d+): error: (.*)"));
+		assertEquals(Arrays.asList("rror", "ERROR"), PatternPrefilter.getRequiredLiterals(".*(?:[Ee]rror|ERROR).*"));
+		assertEquals(Arrays.asList("undefined reference"),
+				PatternPrefilter.getRequiredLiterals("(.*)\\(\\.text\\+.*\\): (undefined reference.*)"));
+		assertEquals(Arrays.asList("a.b"), PatternPrefilter.getRequiredLiterals("x?a\\.b+"));
+		assertEquals(Arrays.asList("cde"), PatternPrefilter.getRequiredLiterals("ab(?=x)cde"));
+		// No literals that are required in every match.
+		assertNull(PatternPrefilter.getRequiredLiterals("(\\S+)\\s+(\\d+)"));
+		assertNull(PatternPrefilter.getRequiredLiterals("warning|.*"));
+		assertNull(PatternPrefilter.getRequiredLiterals("(warning)?"));
+		// Flags change the meaning of the literals.
+		assertNull(PatternPrefilter.getRequiredLiterals("(?i)warning"));
+		// Invalid expressions.
+		assertNull(PatternPrefilter.getRequiredLiterals("(warning"));
+		assertNull(PatternPrefilter.getRequiredLiterals("[warning"));
+	}
+
+	@Test
+	public void testCandidates() {
+		PatternPrefilter prefilter = new PatternPrefilter(
+				new String[] { "(.*): error: (.*)", "(.*): warning: (.*)", "(.*): (.*)", null, "make.*Error \\d+" });
+		BitSet candidates = prefilter.getCandidates("main.c:6: error: `wrong' undeclared");
+		assertEquals("{0, 2, 3}", candidates.toString());
+		candidates = prefilter.getCandidates("make: *** [hallo.o] Error 1");
+		assertEquals("{2, 3, 4}", candidates.toString());
+		candidates = prefilter.getCandidates("");
+		assertEquals("{3}", candidates.toString());
+	}
+
+	/**
+	 * Every pattern of the error parsers that matches a line of the recorded build output has to
+	 * be a candidate for that line.
+	 */
+	@Test
+	public void testNoMatchIsFilteredOut() throws IOException {
+		String[] regexes = getRegexes(GCC_ERROR_PARSER_ID, GLD_ERROR_PARSER_ID);
+		Pattern[] patterns = new Pattern[regexes.length];
+		for (int i = 0; i < regexes.length; i++) {
+			patterns[i] = Pattern.compile(regexes[i]);
+		}
+		PatternPrefilter prefilter = new PatternPrefilter(regexes);
+		int matches = 0;
+		for (String line : readLines("output-1")) {
+			BitSet candidates = prefilter.getCandidates(line);
+			for (int i = 0; i < patterns.length; i++) {
+				if (patterns[i].matcher(line).matches()) {
+					assertTrue(candidates.get(i), "Pattern " + regexes[i] + " filtered out for " + line);
+					matches++;
+				}
+			}
+		}
+		assertTrue(matches > 0);
+	}
+
+	/**
+	 * Patterns that process lines in their own way are tried on every line.
+	 */
+	@Test
+	public void testCustomPatternIsNotFiltered() throws IOException {
+		RegexErrorParser parser = new RegexErrorParser("id", "name");
+		final int[] calls = new int[1];
+		parser.addPattern(new RegexErrorPattern("(.*): custom: (.*)", "$1", null, "$2", null,
+				IMarkerGenerator.SEVERITY_WARNING, true) {
+			@Override
+			public boolean processLine(String line, ErrorParserManager eoParser) {
+				calls[0]++;
+				return false;
+			}
+		});
+		parser.addPattern(new RegexErrorPattern("(.*): error: (.*)", null, null, null, null,
+				RegexErrorPattern.SEVERITY_SKIP, true));
+		assertFalse(parser.processLine("file.c: problem: text", null));
+		assertEquals(1, calls[0]);
+		// Changes of the patterns are picked up.
+		parser.getPatterns()[1].setPattern("(.*): problem: (.*)");
+		assertTrue(parser.processLine("file.c: problem: text", null));
+		assertEquals(2, calls[0]);
+	}
+
+	/**
+	 * On the recorded build output the prefilter rules out most of the GCC and GLD patterns,
+	 * such that most regular expressions are not run on a line.
+	 */
+	@Test
+	public void testMostPatternsAreFilteredOut() throws IOException {
+		List<String> lines = readLines("output-1");
+		String[] regexes = getRegexes(GCC_ERROR_PARSER_ID, GLD_ERROR_PARSER_ID);
+		PatternPrefilter prefilter = new PatternPrefilter(regexes);
+		int candidateCount = 0;
+		for (String line : lines) {
+			candidateCount += prefilter.getCandidates(line).cardinality();
+		}
+		assertTrue(candidateCount < lines.size() * regexes.length / 2);
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.eclipse.cdt.utils.debug.dwarf.DwarfLineTable;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfLineTable.LineInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests the lines and functions found by the in-process {@link Addr2line}, the expected values are the
+ * ones printed by addr2line of the GNU binutils.
+ */
+@RunWith(Parameterized.class)
+public class Addr2lineTest {
+	private static final String FILE_NAME = "/home/ematkho/eclipse-workspace1/temp/simple.c";
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> elfArchitectures() {
+		// The functions of the big endian binaries are not checked, their symbols are in .opd or
+		// have no size.
+		return Arrays.asList(new Object[][] {
+				{ "BE32", "resources/elf/unit_test/simple-be32.elf", 0x100004fcL, 0x1000052cL, 0x10000554L, null },
+				{ "BE64", "resources/elf/unit_test/simple-be64.elf", 0x100005acL, 0x100005e8L, 0x10000618L, null },
+				{ "LE32", "resources/elf/unit_test/simple-le32.elf", 0x80483deL, 0x80483e8L, 0x80483f4L, "main" },
+				{ "LE64", "resources/elf/unit_test/simple-le64.elf", 0x4004ddL, 0x4004e8L, 0x4004f4L, "main" }, });
+	}
+
+	private final String path;
+	private final long functionLine3;
+	private final long mainLine8;
+	private final long endSequence;
+	private final String mainName;
+	private Addr2line addr2line;
+
+	public Addr2lineTest(String arch, String path, long functionLine3, long mainLine8, long endSequence,
+			String mainName) {
+		this.path = path;
+		this.functionLine3 = functionLine3;
+		this.mainLine8 = mainLine8;
+		this.endSequence = endSequence;
+		this.mainName = mainName;
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		addr2line = Addr2line.createInProcess(path);
+	}
+
+	@After
+	public void tearDown() {
+		addr2line.dispose();
+	}
+
+	@Test
+	public void testLine() throws IOException {
+		assertEquals(FILE_NAME + ":8", addr2line.getLine(new Addr64(mainLine8)));
+		assertEquals(FILE_NAME, addr2line.getFileName(new Addr64(mainLine8 + 1)));
+		assertEquals(3, addr2line.getLineNumber(new Addr64(functionLine3)));
+		assertEquals("??:?", addr2line.getLine(new Addr64(endSequence)));
+		assertEquals("??:?", addr2line.getLine(new Addr64(0)));
+	}
+
+	@Test
+	public void testFunction() throws IOException {
+		if (mainName != null) {
+			assertEquals(mainName, addr2line.getFunction(new Addr64(mainLine8)));
+		}
+		assertEquals("??", addr2line.getFunction(new Addr64(0)));
+	}
+
+	@Test
+	public void testLineTable() {
+		DwarfLineTable table = addr2line.getLineTable();
+		assertNotNull(table);
+		LineInfo[] infos = table.getLineInfos(new long[] { functionLine3, mainLine8, endSequence });
+		assertEquals(3, infos[0].getLineNumber());
+		assertEquals(8, infos[1].getLineNumber());
+		assertEquals(mainLine8, infos[1].getAddress());
+		assertNull(infos[2]);
+	}
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Conformance of the in-process demangler. The expected names are the output of the c++filt of
+ * the GNU binutils 2.40 for the mangled names.
+ */
+@RunWith(Parameterized.class)
+public class CPPFiltTest {
+
+	@Parameters(name = "{index}")
+	public static Collection<Object[]> corpus() {
+		return Arrays.asList(new Object[][] {
+				{ "_Z1fv", "f()" },
+				{ "_Z1fi", "f(int)" },
+				{ "_ZN1A1fEv", "A::f()" },
+				{ "_ZNK1A1fEv", "A::f() const" },
+				{ "_ZNKR1A1fEv", "A::f() const &" },
+				{ "_ZNO1A1fEv", "A::f() &&" },
+				{ "_ZN1AC1Ev", "A::A()" },
+				{ "_ZN1AD2Ev", "A::~A()" },
+				{ "_ZNSoD0Ev", "std::basic_ostream<char, std::char_traits<char> >::~basic_ostream()" },
+				{ "_ZNSsC1ERKSs",
+						"std::basic_string<char, std::char_traits<char>, std::allocator<char> >::basic_string(std::basic_string<char, std::char_traits<char>, std::allocator<char> > const&)" },
+				{ "_ZN1AcvbEv", "A::operator bool()" },
+				{ "_ZNK1AcvbEv", "A::operator bool() const" },
+				{ "_ZN1AcvPFvvEEv", "A::operator void (*)()()" },
+				{ "_Znwm", "operator new(unsigned long)" },
+				{ "_ZdaPv", "operator delete[](void*)" },
+				{ "_ZTV1A", "vtable for A" },
+				{ "_ZTT1A", "VTT for A" },
+				{ "_ZTI1A", "typeinfo for A" },
+				{ "_ZTS1A", "typeinfo name for A" },
+				{ "_ZTC1A0_1B", "construction vtable for B-in-A" },
+				{ "_ZThn8_N1A1fEv", "non-virtual thunk to A::f()" },
+				{ "_ZTv0_n24_N1A1fEv", "virtual thunk to A::f()" },
+				{ "_ZGVZ4mainE1x", "guard variable for main::x" },
+				{ "_ZTW1x", "TLS wrapper function for x" },
+				{ "_ZTH1x", "TLS init function for x" },
+				{ "_ZGTt1fv", "transaction clone for f()" },
+				{ "_ZZ4mainE1x", "main::x" },
+				{ "_ZZ4mainE1x_0", "main::x" },
+				{ "_ZZ4mainENKUlvE_clEv", "main::{lambda()#1}::operator()() const" },
+				{ "_ZZ4mainENKUliE0_clEi", "main::{lambda(int)#2}::operator()(int) const" },
+				{ "_ZN12_GLOBAL__N_11fEv", "(anonymous namespace)::f()" },
+				{ "_ZN1AUt_C1Ev", "A::{unnamed type#1}::A()" },
+				{ "_Z1fB5cxx11v", "f[abi:cxx11]()" },
+				{ "_Z1fPFviE", "f(void (*)(int))" },
+				{ "_Z1fPFPFvvEiE", "f(void (*(*)(int))())" },
+				{ "_Z1fM1AKFvvE", "f(void (A::*)() const)" },
+				{ "_Z1fM1Ai", "f(int A::*)" },
+				{ "_Z1fPA10_i", "f(int (*) [10])" },
+				{ "_Z1fRA10_i", "f(int (&) [10])" },
+				{ "_Z1fDv4_f", "f(float __vector(4))" },
+				{ "_Z1fCd", "f(double _Complex)" },
+				{ "_Z1fDF16_", "f(_Float16)" },
+				{ "_Z1fDu", "f(char8_t)" },
+				{ "_Z1fDn", "f(decltype(nullptr))" },
+				{ "_Z1fPVKrc", "f(char restrict const volatile*)" },
+				{ "_Z1fPKPc", "f(char* const*)" },
+				{ "_Z1fIJicEEvDpT_", "void f<int, char>(int, char)" },
+				{ "_Z1fIJEEvDpT_", "void f<>()" },
+				{ "_Z1fIJiEEvDpRKT_", "void f<int>(int const&)" },
+				{ "_ZSt4moveIRiEONSt16remove_referenceIT_E4typeEOS2_",
+						"std::remove_reference<int&>::type&& std::move<int&>(int&)" },
+				{ "_Z1fIiEvT_", "void f<int>(int)" },
+				{ "_Z1fILi5EEvv", "void f<5>()" },
+				{ "_Z1fILm5EEvv", "void f<5ul>()" },
+				{ "_Z1fILin5EEvv", "void f<-5>()" },
+				{ "_Z1fILb1EEvv", "void f<true>()" },
+				{ "_Z1fILc97EEvv", "void f<(char)97>()" },
+				{ "_Z1fIiEDTmifp_Li1EET_", "decltype ({parm#1}-(1)) f<int>(int)" },
+				{ "_Z1fIiEDTgtfp_fp_ET_", "decltype (({parm#1}>{parm#1})) f<int>(int)" },
+				{ "_Z1fIiEDTcl1gfp_EET_", "decltype (g({parm#1})) f<int>(int)" },
+				{ "_Z1fIiEDTixfp_Li0EET_", "decltype ({parm#1}[0]) f<int>(int)" },
+				{ "_Z1fIiEDTstiET_", "decltype (sizeof (int)) f<int>(int)" },
+				{ "_Z1fIiEDTszfp_ET_", "decltype (sizeof {parm#1}) f<int>(int)" },
+				{ "_Z1fIiEDTcviLi0EET_", "decltype ((int)(0)) f<int>(int)" },
+				{ "_Z1fIiEDTpp_fp_ET_", "decltype (++{parm#1}) f<int>(int)" },
+				{ "_Z1fIiEDTppfp_ET_", "decltype ({parm#1}++) f<int>(int)" },
+				{ "_Z1fIiEDTngfp_ET_", "decltype (-{parm#1}) f<int>(int)" },
+				{ "_Z1fIiEDTntfp_ET_", "decltype (!{parm#1}) f<int>(int)" },
+				{ "_Z1fv.constprop.0", "f() [clone .constprop.0]" },
+				{ "_Z1fv.isra.0.cold", "f() [clone .isra.0] [clone .cold]" },
+				{ "_Z1fv.part.0", "f() [clone .part.0]" },
+				{ "_Z1fv.cold", "f() [clone .cold]" },
+				{ "_ZN1AIiE1fIcEEvT_", "void A<int>::f<char>(char)" },
+				{ "_ZNSt6vectorIiSaIiEE9push_backERKi",
+						"std::vector<int, std::allocator<int> >::push_back(int const&)" },
+				{ "_Z1fSt6vectorIiSaIiEE", "f(std::vector<int, std::allocator<int> >)" },
+				{ "_Z1fRSo", "f(std::basic_ostream<char, std::char_traits<char> >&)" },
+				{ "_Z1fRSi", "f(std::basic_istream<char, std::char_traits<char> >&)" },
+				{ "_Z1fRSd", "f(std::basic_iostream<char, std::char_traits<char> >&)" },
+				{ "_Z1fSaIcE", "f(std::allocator<char>)" },
+				{ "_Z1fSbIcE", "f(std::basic_string<char>)" },
+				{ "_ZN1AIiEC1Ev", "A<int>::A()" },
+				{ "_ZN1AIiEaSERKS0_", "A<int>::operator=(A<int> const&)" },
+				{ "_ZN1AplERKS_", "A::operator+(A const&)" },
+				{ "_ZN1AixEi", "A::operator[](int)" },
+				{ "_ZN1AclEv", "A::operator()()" },
+				{ "_ZN1AeqERKS_", "A::operator==(A const&)" },
+				{ "_Z1fPKc", "f(char const*)" },
+				{ "_Z1fe", "f(long double)" },
+				{ "_Z1fz", "f(...)" },
+				{ "_Z1fn", "f(__int128)" },
+				{ "_Z1fo", "f(unsigned __int128)" },
+				{ "_Z1fg", "f(__float128)" },
+				{ "_ZL1fv", "f()" },
+				{ "_ZN1AL1xE", "A::x" },
+				{ "_Z1fDpT_", "_Z1fDpT_" },
+				{ "_GLOBAL__sub_I_main", "_GLOBAL__sub_I_main" },
+				{ "main", "main" },
+				{ "_Z", "_Z" },
+				{ "_Z1", "_Z1" },
+				{ "_ZN", "_ZN" },
+				{ "_ZN4absl7debian313base_internal12CallOnceImplIRFvPFvPvEEJRS5_EEEvPSt6atomicIjENS1_14SchedulingModeEOT_DpOT0_",
+						"void absl::debian3::base_internal::CallOnceImpl<void (&)(void (*)(void*)), void (*&)(void*)>(std::atomic<unsigned int>*, absl::debian3::base_internal::SchedulingMode, void (&)(void (*)(void*)), void (*&)(void*))" },
+				{ "_ZN6icu_726number4impl10MicroPropsUt_D1Ev",
+						"icu_72::number::impl::MicroProps::{unnamed type#1}::~MicroProps()" },
+				{ "_ZNSt6vectorI10HashStringSaIS0_EE17_M_realloc_insertIJRKS0_EEEvN9__gnu_cxx17__normal_iteratorIPS0_S2_EEDpOT_",
+						"void std::vector<HashString, std::allocator<HashString> >::_M_realloc_insert<HashString const&>(__gnu_cxx::__normal_iterator<HashString*, std::vector<HashString, std::allocator<HashString> > >, HashString const&)" },
+				{ "_ZStlsISt11char_traitsIcEERSt13basic_ostreamIcT_ES5_PKc",
+						"std::basic_ostream<char, std::char_traits<char> >& std::operator<< <std::char_traits<char> >(std::basic_ostream<char, std::char_traits<char> >&, char const*)" },
+				{ "_ZTISt5_BindIFPFNSt7__cxx1112basic_stringIcSt11char_traitsIcESaIcEEEP12pkgCacheFileRKN8pkgCache11PkgIteratorEES7_St12_PlaceholderILi1EEEE",
+						"typeinfo for std::_Bind<std::__cxx11::basic_string<char, std::char_traits<char>, std::allocator<char> > (*(pkgCacheFile*, std::_Placeholder<1>))(pkgCacheFile*, pkgCache::PkgIterator const&)>" },
+				{ "_ZZNSt8__detail18__to_chars_10_implIjEEvPcjT_E8__digits",
+						"std::__detail::__to_chars_10_impl<unsigned int>(char*, unsigned int, unsigned int)::__digits" },
+				{ "_ZNKSt7codecvtIDsc11__mbstate_tE10do_unshiftERS0_PcS3_RS3_",
+						"std::codecvt<char16_t, char, __mbstate_t>::do_unshift(__mbstate_t&, char*, char*, char*&) const" },
+				{ "_ZTv0_n24_NSt19basic_istringstreamIcSt11char_traitsIcESaIcEED0Ev",
+						"virtual thunk to std::basic_istringstream<char, std::char_traits<char>, std::allocator<char> >::~basic_istringstream()" },
+				{ "_ZN4absl7debian319str_format_internal17LengthModToStringB5cxx11ENS1_9LengthModE",
+						"absl::debian3::str_format_internal::LengthModToString[abi:cxx11](absl::debian3::str_format_internal::LengthMod)" },
+				{ "_ZGVbN4vv_atan2f", "_ZGVbN4vv_atan2f" },
+				{ "_Z14PrettyFullNameB5cxx11RKN8pkgCache11PkgIteratorE",
+						"PrettyFullName[abi:cxx11](pkgCache::PkgIterator const&)" },
+				{ "_ZN4absl7debian315AbslUnparseFlagB5cxx11ENS0_4TimeE",
+						"absl::debian3::AbslUnparseFlag[abi:cxx11](absl::debian3::Time)" },
+				{ "_Z1fv@GLIBCXX_3.4", "f()@GLIBCXX_3.4" },
+				{ "_Z1fv@@GLIBCXX_3.4", "f()@@GLIBCXX_3.4" },
+				// Names nested too deeply are not demangled, rather than overflowing the stack.
+				{ repeat("_Z1f", "P", 100000, "i"), repeat("_Z1f", "P", 100000, "i") },
+				{ repeat("_Z1f", "FvP", 100000, "iE"), repeat("_Z1f", "FvP", 100000, "iE") },
+				// Substitutions doubling the output at each level, the name is too long to be demangled.
+				{ substitutions(24), substitutions(24) }, });
+	}
+
+	/**
+	 * Returns the mangled name of f(A<int, int>, A<A<int, int>, A<int, int> >, ...), where each
+	 * argument refers twice to the previous one.
+	 */
+	private static String substitutions(int levels) {
+		StringBuilder result = new StringBuilder("_Z1f1AIiiE"); //$NON-NLS-1$
+		for (int i = 1; i <= levels; i++) {
+			String previous = "S" + Integer.toString(i - 1, 36).toUpperCase() + '_'; //$NON-NLS-1$
+			result.append("S_I").append(previous).append(previous).append('E'); //$NON-NLS-1$
+		}
+		return result.toString();
+	}
+
+	private static String repeat(String prefix, String repeated, int count, String suffix) {
+		StringBuilder result = new StringBuilder(prefix);
+		for (int i = 0; i < count; i++) {
+			result.append(repeated);
+		}
+		return result.append(suffix).toString();
+	}
+
+	private final String mangled;
+	private final String expected;
+
+	public CPPFiltTest(String mangled, String expected) {
+		this.mangled = mangled;
+		this.expected = expected;
+	}
+
+	@Test
+	public void testDemangle() throws IOException {
+		CPPFilt cppfilt = CPPFilt.createInProcess();
+		try {
+			assertEquals(expected, cppfilt.getFunction(mangled));
+			// A second time from the cache.
+			assertEquals(expected, cppfilt.getFunction(mangled));
+		} finally {
+			cppfilt.dispose();
+		}
+	}
+}
@@ -11,15 +11,26 @@
 package org.eclipse.cdt.utils.elf;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 
 import org.eclipse.cdt.core.ISymbolReader;
@@ -60,6 +71,7 @@ public class ElfTest {
 			"__JCR_LIST__", "__JCR_END__", "_DYNAMIC", "data_start", "__data_start", "__dso_handle", "_edata",
 			"__bss_start", "__TMC_END__", "_end");
 
+	private final String path;
 	private final String memoryArchitecture;
 	private final String arch;
 	private final Elf elf;
@@ -72,6 +84,7 @@ public class ElfTest {
 	public ElfTest(String mArch, String architecture, String path, int sections, String symBaseAddress,
 			String dynBaseAddress, int symbolCount, String mainAddr) throws IOException {
 		memoryArchitecture = mArch;
+		this.path = path;
 		nbSections = sections;
 		elf = new Elf(path);
 		arch = architecture;
@@ -161,4 +174,89 @@ public class ElfTest {
 		assertTrue(arch + ": " + "Source file name", sourceFiles[0].endsWith("simple.c"));
 	}
 
+	/**
+	 * The symbols are decoded from the mapped symbol table, the mapping is released when the file
+	 * is disposed.
+	 */
+	@Test
+	public void testSymbolIteratorAfterDispose() throws IOException {
+		Section section = elf.getSectionByName(SYMTAB_NAME);
+		assertNotNull(section);
+		Iterator<Symbol> iterator = elf.symbolIterator(section);
+		List<String> names = new ArrayList<>();
+		while (iterator.hasNext()) {
+			names.add(iterator.next().toString());
+		}
+		assertEquals(arch + ": " + "Number of symbols", nbSymbols, names.size());
+		assertTrue(arch + ": " + "Symbols contain main", names.contains("main"));
+
+		iterator = elf.symbolIterator(section);
+		assertEquals(names.get(0), iterator.next().toString());
+		elf.dispose();
+		assertTrue(iterator.hasNext());
+		try {
+			iterator.next();
+			fail(arch + ": " + "Symbol read after dispose");
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	/**
+	 * The mapping is released by dispose only after the symbols read concurrently are decoded.
+	 */
+	@Test
+	public void testDisposeWhileReadingSymbols() throws Exception {
+		final Section section = elf.getSectionByName(SYMTAB_NAME);
+		assertNotNull(section);
+		final CountDownLatch started = new CountDownLatch(4);
+		final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+		final List<Thread> readers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Thread reader = new Thread(() -> {
+				started.countDown();
+				try {
+					while (true) {
+						Iterator<Symbol> iterator = elf.symbolIterator(section);
+						while (iterator.hasNext()) {
+							iterator.next().toString();
+						}
+					}
+				} catch (NoSuchElementException | IOException e) {
+					// The file was disposed.
+				} catch (Throwable e) {
+					failures.add(e);
+				}
+			});
+			reader.start();
+			readers.add(reader);
+		}
+		started.await();
+		Thread.sleep(50);
+		elf.dispose();
+		for (Thread reader : readers) {
+			reader.join(10000);
+			assertFalse(arch + ": " + "Reader still running after dispose", reader.isAlive());
+		}
+		assertEquals(arch + ": " + "Failures", Collections.emptyList(), failures);
+	}
+
+	/**
+	 * After dispose the file is neither open nor mapped, such that it can be deleted on all platforms.
+	 */
+	@Test
+	public void testDeleteAfterDispose() throws IOException {
+		Path copy = Files.createTempFile("elftest", ".elf");
+		try {
+			Files.copy(Paths.get(path), copy, StandardCopyOption.REPLACE_EXISTING);
+			Elf copiedElf = new Elf(copy.toString());
+			copiedElf.loadSymbols();
+			assertEquals(nbSymbols, copiedElf.getSymbols().length);
+			assertTrue(arch + ": " + "Symbols contain main",
+					Arrays.stream(copiedElf.getSymbols()).anyMatch(symbol -> symbol.toString().equals("main")));
+			copiedElf.dispose();
+		} finally {
+			Files.delete(copy);
+		}
+		assertFalse(Files.exists(copy));
+	}
 }
@@ -148,6 +148,7 @@ public class ASTCacheTests extends BaseTestCase {
 		checkSingleThreadAccess();
 		checkAccessWithSequentialReconciler();
 		checkAccessWithConcurrentReconciler();
+		checkRetainedAST();
 	}
 
 	private void checkActiveElement() throws Exception {
@@ -318,6 +319,63 @@ public class ASTCacheTests extends BaseTestCase {
 		}
 	}
 
+	private void checkRetainedAST() throws Exception {
+		final ASTCache cache = new ASTCache();
+		final IASTTranslationUnit[] asts = new IASTTranslationUnit[1];
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, true, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertNotNull(ast);
+				asts[0] = ast;
+				return Status.OK_STATUS;
+			}
+		});
+		cache.setModificationStamp(17);
+		assertEquals(1, cache.getReparseCount());
+
+		// The AST of the previously active element is kept
+		cache.setActiveElement(fTU2);
+		assertEquals(-1, cache.getModificationStamp());
+		cache.setActiveElement(fTU1);
+		assertEquals(17, cache.getModificationStamp());
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertSame(asts[0], ast);
+				return Status.OK_STATUS;
+			}
+		});
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getReparseCount());
+
+		// A reconciler of an inactive element discards its AST
+		cache.setActiveElement(fTU2);
+		cache.aboutToBeReconciled(fTU1);
+		cache.setActiveElement(fTU1);
+		assertEquals(-1, cache.getModificationStamp());
+
+		// Without a budget, only the AST of the active element is kept
+		final ASTCache smallCache = new ASTCache(0);
+		smallCache.setActiveElement(fTU1);
+		smallCache.runOnAST(fTU1, true, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertNotNull(ast);
+				return Status.OK_STATUS;
+			}
+		});
+		smallCache.setActiveElement(fTU2);
+		smallCache.setActiveElement(fTU1);
+		smallCache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertNull(ast);
+				return Status.OK_STATUS;
+			}
+		});
+	}
+
 	private void waitForAST(ASTCache cache, ITranslationUnit tUnit, ASTRunnable runnable) {
 		if (DEBUG)
 			System.out.println("waiting for " + tUnit.getElementName());
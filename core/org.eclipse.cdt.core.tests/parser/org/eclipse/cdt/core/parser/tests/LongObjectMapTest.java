@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.cdt.internal.core.parser.util.LongObjectMap;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link LongObjectMap}.
+ */
+public class LongObjectMapTest extends TestCase {
+
+	public void testPutGetRemove() throws Exception {
+		LongObjectMap<String> map = new LongObjectMap<>();
+		assertNull(map.put(0, "zero"));
+		assertNull(map.put(1024, "a"));
+		assertEquals("a", map.put(1024, "b"));
+		assertEquals(2, map.size());
+		assertEquals("zero", map.get(0));
+		assertEquals("b", map.get(1024));
+		assertNull(map.get(2048));
+		assertTrue(map.containsKey(0));
+
+		assertEquals("zero", map.remove(0));
+		assertNull(map.remove(0));
+		assertEquals(1, map.size());
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get(1024));
+	}
+
+	public void testAgainstHashMap() throws Exception {
+		Random random = new Random(17);
+		LongObjectMap<Long> map = new LongObjectMap<>(2);
+		Map<Long, Long> expected = new HashMap<>();
+		for (int i = 0; i < 20000; i++) {
+			long key = random.nextInt(500) * 16L;
+			switch (random.nextInt(3)) {
+			case 0:
+				assertEquals(expected.put(key, i + 1L), map.put(key, i + 1L));
+				break;
+			case 1:
+				assertEquals(expected.remove(key), map.remove(key));
+				break;
+			default:
+				assertEquals(expected.get(key), map.get(key));
+				break;
+			}
+			assertEquals(expected.size(), map.size());
+		}
+	}
+}
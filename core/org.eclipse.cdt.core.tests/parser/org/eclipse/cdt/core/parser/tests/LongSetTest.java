@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.cdt.internal.core.parser.util.LongSet;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link LongSet}.
+ */
+public class LongSetTest extends TestCase {
+
+	public void testAddRemove() throws Exception {
+		LongSet set = new LongSet();
+		assertTrue(set.isEmpty());
+		assertTrue(set.add(0));
+		assertTrue(set.add(8));
+		assertTrue(set.add(-8));
+		assertFalse(set.add(8));
+		assertEquals(3, set.size());
+		assertTrue(set.contains(0));
+		assertTrue(set.contains(-8));
+		assertFalse(set.contains(16));
+
+		assertTrue(set.remove(0));
+		assertFalse(set.remove(0));
+		assertTrue(set.remove(8));
+		assertEquals(1, set.size());
+		assertTrue(Arrays.equals(new long[] { -8 }, set.toArray()));
+
+		set.clear();
+		assertTrue(set.isEmpty());
+		assertFalse(set.contains(-8));
+	}
+
+	public void testAgainstHashSet() throws Exception {
+		Random random = new Random(17);
+		LongSet set = new LongSet();
+		Set<Long> expected = new HashSet<>();
+		for (int i = 0; i < 20000; i++) {
+			long value = random.nextInt(500) * 16L;
+			switch (random.nextInt(3)) {
+			case 0:
+				assertEquals(expected.add(value), set.add(value));
+				break;
+			case 1:
+				assertEquals(expected.remove(value), set.remove(value));
+				break;
+			default:
+				assertEquals(expected.contains(value), set.contains(value));
+				break;
+			}
+			assertEquals(expected.size(), set.size());
+		}
+		long[] values = set.toArray();
+		assertEquals(expected.size(), values.length);
+		for (long value : values) {
+			assertTrue(expected.contains(value));
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2;
+
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarationStatement;
+import org.eclipse.cdt.core.dom.ast.IASTExpressionStatement;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.tests.ASTComparer;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies.Snapshot;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for reusing function bodies of a previous AST when a file is parsed again.
+ */
+public class ReusableFunctionBodiesTests extends AST2TestBase {
+
+	public static TestSuite suite() {
+		return suite(ReusableFunctionBodiesTests.class);
+	}
+
+	private IASTTranslationUnit parseReusing(String code, ReusableFunctionBodies bodies) {
+		IScanner scanner = createScanner(FileContent.create(TEST_CODE, code.toCharArray()), ParserLanguage.CPP,
+				ParserMode.COMPLETE_PARSE, createScannerInfo(true));
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(scanner, ParserMode.COMPLETE_PARSE, NULL_LOG,
+				new GPPParserExtensionConfiguration(), null);
+		parser.setReusableFunctionBodies(bodies);
+		return parser.parse();
+	}
+
+	private static ReusableFunctionBodies getReusableBodies(IASTTranslationUnit oldAST, String oldCode,
+			String newCode) {
+		return ReusableFunctionBodies.create(Snapshot.create(oldAST, oldCode.toCharArray()), newCode.toCharArray());
+	}
+
+	private void assertReparse(String oldCode, String newCode, int expectedReusableBodies) {
+		IASTTranslationUnit oldAST = parseReusing(oldCode, null);
+		ReusableFunctionBodies bodies = getReusableBodies(oldAST, oldCode, newCode);
+		assertNotNull(bodies);
+		assertEquals(expectedReusableBodies, bodies.size());
+
+		IASTTranslationUnit reparsed = parseReusing(newCode, bodies);
+		IASTTranslationUnit parsed = parseReusing(newCode, null);
+		ASTComparer.assertCopy(parsed, reparsed);
+	}
+
+	//	int f() { return 1; }
+	//	struct S {
+	//	  int m() { return f(); }
+	//	};
+	//	int g() { S s; return s.m() + f(); }
+	public void testEditInFirstBody() throws Exception {
+		String code = getAboveComment();
+		assertReparse(code, code.replace("return 1;", "return 12 + 1;"), 2);
+	}
+
+	//	int f() { return 1; }
+	//	int g() { return f(); }
+	//	int h() { return g(); }
+	public void testEditInMiddleBody() throws Exception {
+		String code = getAboveComment();
+		String newCode = code.replace("return f();", "int x = f();\n  return x;");
+		assertReparse(code, newCode, 2);
+
+		// Names in the reused body after the edit are resolved in the new AST.
+		IASTTranslationUnit oldAST = parseReusing(code, null);
+		IASTTranslationUnit ast = parseReusing(newCode, getReusableBodies(oldAST, code, newCode));
+		IASTFunctionDefinition g = (IASTFunctionDefinition) ast.getDeclarations()[1];
+		IASTName call = ast.getNodeSelector(null).findName(newCode.indexOf("g();"), 1);
+		assertEquals(newCode.indexOf("g();"), call.getFileLocation().getNodeOffset());
+		assertSame(g.getDeclarator().getName().resolveBinding(), call.resolveBinding());
+	}
+
+	//	int f() { return 1; }
+	//	int g() { return 2; }
+	public void testEditOutsideOfBodies() throws Exception {
+		String code = getAboveComment();
+		String newCode = code.replace("int g()", "long g()");
+		IASTTranslationUnit oldAST = parseReusing(code, null);
+		assertNull(getReusableBodies(oldAST, code, newCode));
+	}
+
+	//	int f() { return 1; }
+	//	int g() { return 2; }
+	public void testUnchangedFile() throws Exception {
+		String code = getAboveComment();
+		assertReparse(code, code, 2);
+	}
+
+	//	int a;
+	//	void f() { a * b; }
+	public void testContextSensitiveEdit() throws Exception {
+		String code = getAboveComment();
+		String newCode = code.replace("int a;", "typedef int a;");
+		IASTTranslationUnit oldAST = parseReusing(code, null);
+		IASTFunctionDefinition f = (IASTFunctionDefinition) oldAST.getDeclarations()[1];
+		IASTStatement statement = ((IASTCompoundStatement) f.getBody()).getStatements()[0];
+		assertInstance(statement, IASTExpressionStatement.class);
+
+		// The body must not be reused, a * b is a declaration now.
+		ReusableFunctionBodies bodies = getReusableBodies(oldAST, code, newCode);
+		assertNull(bodies);
+		IASTTranslationUnit ast = parseReusing(newCode, bodies);
+		f = (IASTFunctionDefinition) ast.getDeclarations()[1];
+		statement = ((IASTCompoundStatement) f.getBody()).getStatements()[0];
+		assertInstance(statement, IASTDeclarationStatement.class);
+	}
+
+	//	constexpr int f() { return 1; }
+	//	int g() { return 2; }
+	public void testEditInConstexprFunction() throws Exception {
+		String code = getAboveComment();
+		String newCode = code.replace("return 1;", "return 12;");
+		IASTTranslationUnit oldAST = parseReusing(code, null);
+		assertNull(getReusableBodies(oldAST, code, newCode));
+	}
+
+	//	#define ONE 1
+	//	int f() { return ONE; }
+	//	int g() { return 2; }
+	//	int h() { return 3; }
+	public void testBodyWithMacroExpansionIsParsed() throws Exception {
+		String code = getAboveComment();
+		assertReparse(code, code.replace("return 2;", "return 22;"), 1);
+	}
+
+	//	int f() { return 1; }
+	//	int g() { return 2; }
+	public void testEditOfDirective() throws Exception {
+		String code = getAboveComment();
+		String newCode = code.replace("int g()", "#define x 1\nint g()");
+		IASTTranslationUnit oldAST = parseReusing(code, null);
+		assertNull(getReusableBodies(oldAST, code, newCode));
+	}
+
+	//	int f() { return 1; }
+	//	int g() { return 2; }
+	//	int h() { return 3; }
+	public void testSnapshotIsReusable() throws Exception {
+		String code = getAboveComment();
+		IASTTranslationUnit oldAST = parseReusing(code, null);
+		Snapshot snapshot = Snapshot.create(oldAST, code.toCharArray());
+		IASTStatement oldBody = ((IASTFunctionDefinition) oldAST.getDeclarations()[2]).getBody();
+
+		// Each parse gets its own copies of the bodies, none of them belongs to the old AST.
+		String newCode = code.replace("return 1;", "return 11;");
+		for (int i = 0; i < 2; i++) {
+			ReusableFunctionBodies bodies = ReusableFunctionBodies.create(snapshot, newCode.toCharArray());
+			assertEquals(2, bodies.size());
+			IASTTranslationUnit ast = parseReusing(newCode, bodies);
+			ASTComparer.assertCopy(parseReusing(newCode, null), ast);
+			IASTStatement body = ((IASTFunctionDefinition) ast.getDeclarations()[2]).getBody();
+			assertNotSame(oldBody, body);
+			assertSame(ast, body.getTranslationUnit());
+		}
+	}
+}
@@ -15,8 +15,12 @@ import org.eclipse.cdt.core.dom.ast.IASTFunctionCallExpression;
 import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
 import org.eclipse.cdt.core.dom.ast.IASTInitializerClause;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecution;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCallCache;
 
 import junit.framework.TestSuite;
 
@@ -64,6 +68,44 @@ public abstract class FunctionTests extends TestBase {
 		assertEvaluationEquals(55);
 	}
 
+	// constexpr int fib(int n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }
+
+	// constexpr int x = fib(25);
+	public void testMemoizedRecursion() throws Exception {
+		// Without memoization the evaluation exceeds the maximum number of steps.
+		assertEvaluationEquals(75025);
+		CPPASTTranslationUnit tu = (CPPASTTranslationUnit) strategy.getAst(0);
+		assertTrue(tu.getConstexprCallCache().getCacheHits() > 0);
+	}
+
+	// constexpr int fib(int n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }
+
+	// constexpr int x = fib(10);
+	public void testStepBudgetPerEvaluation() throws Exception {
+		CPPASTTranslationUnit tu = (CPPASTTranslationUnit) strategy.getAst(0);
+		ConstexprCallCache cache = tu.getConstexprCallCache();
+		CPPSemantics.pushLookupPoint(getLastDeclarationInitializer());
+		try {
+			try (ConstexprEvaluationContext outer = new ConstexprEvaluationContext()) {
+				for (int i = 0; i < ConstexprCallCache.MAX_STEPS_PER_EVALUATION; i++) {
+					cache.recordStep();
+				}
+				// The evaluations nested in the top-level one share its exhausted budget.
+				try (ConstexprEvaluationContext nested = new ConstexprEvaluationContext()) {
+					assertEquals(0, nested.getStepsPerformed());
+					assertTrue(nested.isStepLimitReached());
+				}
+				assertEvaluationProblem();
+			}
+			// The next top-level evaluation gets a new budget.
+			assertFalse(cache.isBudgetExhausted());
+			assertEvaluationEquals(55);
+		} finally {
+			CPPSemantics.popLookupPoint();
+		}
+		assertTrue(cache.getStepsPerformed() > ConstexprCallCache.MAX_STEPS_PER_EVALUATION);
+	}
+
 	// constexpr int helper(int n) {
 	//   int m = 5;
 	//   return m + n;
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.DirectoryListingCache;
+import org.eclipse.cdt.internal.core.parser.scanner.DirectoryListingCache.Session;
+
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for DirectoryListingCache class.
+ */
+public class DirectoryListingCacheTests extends BaseTestCase {
+	public static TestSuite suite() {
+		return suite(DirectoryListingCacheTests.class);
+	}
+
+	private File fDir;
+	private File fFile;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fDir = Files.createTempDirectory("listings").toFile();
+		new File(fDir, "a.h").createNewFile();
+		new File(fDir, "sub").mkdir();
+		// Pretend the directory was last modified long ago, such that its listing is trusted.
+		fDir.setLastModified(System.currentTimeMillis() - 60000);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		for (File file : fDir.listFiles()) {
+			file.delete();
+		}
+		fDir.delete();
+		if (fFile != null) {
+			fFile.delete();
+		}
+		super.tearDown();
+	}
+
+	public void testLookup() throws Exception {
+		DirectoryListingCache cache = new DirectoryListingCache();
+		Session session = cache.createSession(false);
+		assertTrue(session.isFile(new File(fDir, "a.h")));
+		assertFalse(session.isFile(new File(fDir, "b.h")));
+		assertFalse(session.isFile(new File(fDir, "sub")));
+		assertTrue(session.exists(new File(fDir, "sub")));
+		assertFalse(session.exists(new File(fDir, "A.H")));
+		assertTrue(cache.createSession(true).isFile(new File(fDir, "A.H")));
+		assertEquals(1, cache.getListCount());
+	}
+
+	public void testInvalidation() throws Exception {
+		DirectoryListingCache cache = new DirectoryListingCache();
+		assertFalse(cache.createSession(false).isFile(new File(fDir, "b.h")));
+		assertFalse(cache.createSession(false).isFile(new File(fDir, "b.h")));
+		assertEquals(1, cache.getListCount());
+
+		new File(fDir, "b.h").createNewFile();
+		fDir.setLastModified(System.currentTimeMillis() - 30000);
+		Session session = cache.createSession(false);
+		assertTrue(session.isFile(new File(fDir, "b.h")));
+		assertEquals(2, cache.getListCount());
+	}
+
+	public void testSaveAndLoad() throws Exception {
+		fFile = File.createTempFile("listings", ".dat");
+		DirectoryListingCache cache = new DirectoryListingCache();
+		assertTrue(cache.createSession(false).isFile(new File(fDir, "a.h")));
+		cache.save(fFile);
+		// The listings are written to a temporary file that replaces the target.
+		assertFalse(new File(fFile.getPath() + ".tmp").exists());
+
+		DirectoryListingCache loaded = new DirectoryListingCache();
+		loaded.load(fFile);
+		assertEquals(1, loaded.size());
+		Session session = loaded.createSession(false);
+		assertTrue(session.isFile(new File(fDir, "a.h")));
+		assertTrue(session.exists(new File(fDir, "sub")));
+		assertEquals(0, loaded.getListCount());
+	}
+}
@@ -22,8 +22,10 @@ import java.io.OutputStream;
 
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.DirectCharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.LazyCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.StreamHasher;
 
 import junit.framework.TestSuite;
 
@@ -66,6 +68,93 @@ public class FileCharArrayTests extends BaseTestCase {
 		testFile(false, LazyCharArray.CHUNK_SIZE * 3 + 1);
 	}
 
+	public void testNonAsciiAfterAsciiChunks() throws IOException {
+		final int charSize = LazyCharArray.CHUNK_SIZE * 2 + 10;
+		fFile = File.createTempFile("data", ".txt");
+		StringBuilder expected = new StringBuilder();
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(fFile));
+		try {
+			for (int i = 0; i < charSize; i++) {
+				if (i == LazyCharArray.CHUNK_SIZE + 5) {
+					out.write(0xc2);
+					out.write(0xa2);
+					expected.append('\u00a2');
+				} else {
+					out.write('a' + i % 26);
+					expected.append((char) ('a' + i % 26));
+				}
+			}
+		} finally {
+			out.close();
+		}
+
+		AbstractCharArray charArray;
+		final FileInputStream inputStream = new FileInputStream(fFile);
+		try {
+			charArray = FileCharArray.create(fFile.getPath(), "utf-8", inputStream);
+		} finally {
+			inputStream.close();
+		}
+
+		char[] chars = new char[charSize];
+		charArray.arraycopy(0, chars, 0, charSize);
+		assertEquals(expected.toString(), new String(chars));
+		assertEquals(charSize, charArray.getLength());
+		assertEquals(StreamHasher.hash(expected.toString()), charArray.getContentsHash());
+
+		((LazyCharArray) charArray).testClearData();
+		charArray.arraycopy(0, chars, 0, charSize);
+		assertEquals(expected.toString(), new String(chars));
+	}
+
+	public void testDirectCharArray() throws IOException {
+		final int charSize = LazyCharArray.CHUNK_SIZE * 2 + 1;
+		createFile(true, charSize);
+
+		AbstractCharArray charArray;
+		final FileInputStream inputStream = new FileInputStream(fFile);
+		try {
+			charArray = DirectCharArray.create(inputStream.getChannel(), (int) fFile.length(), "UTF-8");
+		} finally {
+			inputStream.close();
+		}
+		assertNotNull(charArray);
+		checkContent(charArray, 0, charSize);
+		assertEquals(charSize, charArray.getLength());
+
+		final FileInputStream lazyStream = new FileInputStream(fFile);
+		try {
+			AbstractCharArray lazyArray = FileCharArray.create(fFile.getPath(), "utf-8", lazyStream);
+			assertEquals(lazyArray.getContentsHash(), charArray.getContentsHash());
+		} finally {
+			lazyStream.close();
+		}
+	}
+
+	public void testDirectCharArrayOfNonAsciiFile() throws IOException {
+		createFile(false, LazyCharArray.CHUNK_SIZE * 2);
+		final FileInputStream inputStream = new FileInputStream(fFile);
+		try {
+			assertNull(DirectCharArray.create(inputStream.getChannel(), (int) fFile.length(), "UTF-8"));
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	public void testDirectCharArrayOfTruncatedFile() throws IOException {
+		createFile(true, LazyCharArray.CHUNK_SIZE * 2);
+		final FileInputStream inputStream = new FileInputStream(fFile);
+		try {
+			// The file is shorter than its size determined before.
+			DirectCharArray.create(inputStream.getChannel(), (int) fFile.length() + 1, "UTF-8");
+			fail("Truncation is not reported");
+		} catch (IOException e) {
+			// Expected.
+		} finally {
+			inputStream.close();
+		}
+	}
+
 	private void testFile(boolean aligned, int charSize) throws IOException {
 		createFile(aligned, charSize);
 
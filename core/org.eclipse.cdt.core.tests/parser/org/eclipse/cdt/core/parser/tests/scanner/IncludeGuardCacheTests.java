@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.cdt.core.parser.Keywords;
+import org.eclipse.cdt.core.parser.util.CharArrayIntMap;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.IncludeGuardCache;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+
+import junit.framework.TestSuite;
+
+/**
+ * Unit test for IncludeGuardCache class.
+ */
+public class IncludeGuardCacheTests extends BaseTestCase {
+	private static final String GUARDED = "#ifndef H_\n#define H_\nint x;\n#endif\n";
+	private static final String UNGUARDED = "int y;\n";
+
+	public static TestSuite suite() {
+		return suite(IncludeGuardCacheTests.class);
+	}
+
+	private CharArrayIntMap fPPKeywords;
+	private File fFile;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fPPKeywords = new CharArrayIntMap(40, -1);
+		Keywords.addKeywordsPreprocessor(fPPKeywords);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fFile != null) {
+			fFile.delete();
+		}
+		super.tearDown();
+	}
+
+	public void testDetection() throws Exception {
+		IncludeGuardCache cache = new IncludeGuardCache();
+		LexerOptions options = new LexerOptions();
+		assertEquals("H_", new String(cache.detectIncludeGuard(new CharArray(GUARDED), options, fPPKeywords)));
+		assertNull(cache.detectIncludeGuard(new CharArray(UNGUARDED), options, fPPKeywords));
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getDetectionCount());
+
+		// Cached results.
+		assertEquals("H_", new String(cache.detectIncludeGuard(new CharArray(GUARDED), options, fPPKeywords)));
+		assertNull(cache.detectIncludeGuard(new CharArray(UNGUARDED), options, fPPKeywords));
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getDetectionCount());
+
+		// Different lexer options require another detection.
+		LexerOptions otherOptions = new LexerOptions();
+		otherOptions.fSupportDollarInIdentifiers = !options.fSupportDollarInIdentifiers;
+		assertEquals("H_", new String(cache.detectIncludeGuard(new CharArray(GUARDED), otherOptions, fPPKeywords)));
+		assertEquals(3, cache.getDetectionCount());
+	}
+
+	public void testSaveAndLoad() throws Exception {
+		fFile = File.createTempFile("guards", ".dat");
+		IncludeGuardCache cache = new IncludeGuardCache();
+		LexerOptions options = new LexerOptions();
+		cache.detectIncludeGuard(new CharArray(GUARDED), options, fPPKeywords);
+		cache.detectIncludeGuard(new CharArray(UNGUARDED), options, fPPKeywords);
+		cache.save(fFile);
+		// The entries are written to a temporary file that replaces the target.
+		assertFalse(new File(fFile.getPath() + ".tmp").exists());
+
+		IncludeGuardCache loaded = new IncludeGuardCache();
+		loaded.load(fFile);
+		assertEquals(2, loaded.size());
+		assertEquals("H_", new String(loaded.detectIncludeGuard(new CharArray(GUARDED), options, fPPKeywords)));
+		assertNull(loaded.detectIncludeGuard(new CharArray(UNGUARDED), options, fPPKeywords));
+		assertEquals(2, loaded.size());
+		// The include guards are taken from the loaded entries rather than detected again.
+		assertEquals(0, loaded.getDetectionCount());
+	}
+
+	public void testFailedSave() throws Exception {
+		fFile = File.createTempFile("guards", ".dat");
+		IncludeGuardCache cache = new IncludeGuardCache();
+		cache.detectIncludeGuard(new CharArray(GUARDED), new LexerOptions(), fPPKeywords);
+		File unwritable = new File(fFile.getPath() + ".missing", "guards.dat");
+		try {
+			cache.save(unwritable);
+			fail("The cache was saved to a missing directory");
+		} catch (IOException e) {
+			// Expected.
+		}
+		// The entries are still to be saved.
+		cache.save(fFile);
+		IncludeGuardCache loaded = new IncludeGuardCache();
+		loaded.load(fFile);
+		assertEquals(1, loaded.size());
+	}
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTName;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.cdt.internal.core.index.FragmentQueryRunner;
+import org.eclipse.cdt.internal.core.index.FragmentQueryRunner.QueryCost;
+import org.eclipse.cdt.internal.core.index.FragmentQueryRunner.Task;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+
+import junit.framework.Test;
+
+/**
+ * Tests for running the queries of index fragments on multiple threads.
+ */
+public class FragmentQueryRunnerTest extends BaseTestCase {
+	private static final int TASK_COUNT = 8;
+
+	public static Test suite() {
+		return suite(FragmentQueryRunnerTest.class);
+	}
+
+	private static List<Task<Integer>> createTasks(Task<Integer> task) {
+		List<Task<Integer>> tasks = new ArrayList<>();
+		for (int i = 0; i < TASK_COUNT; i++) {
+			final int result = i;
+			tasks.add(monitor -> {
+				Integer r = task.call(monitor);
+				return r != null ? r : result;
+			});
+		}
+		return tasks;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public void testResultsInOrderOfTasks() throws Exception {
+		final Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+		List<Task<Integer>> tasks = createTasks(monitor -> {
+			threads.add(Thread.currentThread());
+			sleep(10);
+			return null;
+		});
+		List<Integer> expected = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7);
+		assertEquals(expected, FragmentQueryRunner.run(tasks, false, new QueryCost(), npm()));
+		assertEquals(Collections.singleton(Thread.currentThread()), threads);
+
+		threads.clear();
+		assertEquals(expected, FragmentQueryRunner.run(tasks, true, new QueryCost(), npm()));
+		if (Runtime.getRuntime().availableProcessors() > 1) {
+			assertTrue(threads.size() > 1);
+		}
+	}
+
+	public void testTasksWithLookupPointRunOnCaller() throws Exception {
+		final IASTNode point = new CPPASTName("x".toCharArray());
+		final Set<Object> seen = Collections.synchronizedSet(new HashSet<>());
+		List<Task<Integer>> tasks = createTasks(monitor -> {
+			seen.add(Thread.currentThread());
+			seen.add(CPPSemantics.getCurrentLookupPoint());
+			seen.add(CPPSemantics.isUsingPromiscuousBindingResolution());
+			return null;
+		});
+		final long threshold = FragmentQueryRunner.getConcurrencyThreshold();
+		CPPSemantics.pushLookupPoint(point);
+		CPPSemantics.enablePromiscuousBindingResolution();
+		try {
+			// The caches of the AST of the lookup point must not be accessed by the pool threads.
+			FragmentQueryRunner.setConcurrencyThreshold(0);
+			assertFalse(FragmentQueryRunner.isConcurrent(TASK_COUNT, new QueryCost()));
+			FragmentQueryRunner.run(tasks, true, new QueryCost(), npm());
+		} finally {
+			FragmentQueryRunner.setConcurrencyThreshold(threshold);
+			CPPSemantics.disablePromiscuousBindingResolution();
+			CPPSemantics.popLookupPoint();
+		}
+		assertEquals(new HashSet<>(Arrays.asList(Thread.currentThread(), point, Boolean.TRUE)), seen);
+
+		// Without a lookup point the pool threads get the promiscuous binding resolution flag.
+		seen.clear();
+		CPPSemantics.enablePromiscuousBindingResolution();
+		try {
+			FragmentQueryRunner.run(tasks, true, new QueryCost(), npm());
+		} finally {
+			CPPSemantics.disablePromiscuousBindingResolution();
+		}
+		assertTrue(seen.contains(Boolean.TRUE));
+		assertFalse(seen.contains(Boolean.FALSE));
+		assertFalse(seen.contains(point));
+	}
+
+	public void testCancellationReachesTasks() throws Exception {
+		final NullProgressMonitor monitor = new NullProgressMonitor();
+		final CountDownLatch started = new CountDownLatch(1);
+		List<Task<Integer>> tasks = createTasks(m -> {
+			started.countDown();
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (!m.isCanceled()) {
+				if (System.nanoTime() > deadline)
+					return -1;
+				sleep(1);
+			}
+			return null;
+		});
+		Thread canceler = new Thread(() -> {
+			try {
+				started.await();
+			} catch (InterruptedException e) {
+			}
+			monitor.setCanceled(true);
+		});
+		canceler.start();
+		List<Integer> results = FragmentQueryRunner.run(tasks, true, new QueryCost(), monitor);
+		canceler.join();
+		assertFalse(results.contains(-1));
+	}
+
+	public void testExceptionAfterAllTasksCompleted() throws Exception {
+		final Set<Integer> completed = Collections.synchronizedSet(new HashSet<>());
+		List<Task<Integer>> tasks = new ArrayList<>();
+		for (int i = 0; i < TASK_COUNT; i++) {
+			final int n = i;
+			tasks.add(monitor -> {
+				sleep(10);
+				completed.add(n);
+				if (n == 1)
+					throw new CoreException(new Status(IStatus.ERROR, "test", "failure"));
+				return n;
+			});
+		}
+		try {
+			FragmentQueryRunner.run(tasks, true, new QueryCost(), npm());
+			fail();
+		} catch (CoreException e) {
+			assertEquals(IStatus.ERROR, e.getStatus().getSeverity());
+		}
+		assertEquals(TASK_COUNT, completed.size());
+	}
+
+	public void testConcurrencyFollowsMeasuredCost() throws Exception {
+		final long threshold = FragmentQueryRunner.getConcurrencyThreshold();
+		try {
+			QueryCost cost = new QueryCost();
+			FragmentQueryRunner.setConcurrencyThreshold(TimeUnit.MILLISECONDS.toNanos(1));
+			assertFalse(FragmentQueryRunner.isConcurrent(TASK_COUNT, cost));
+			FragmentQueryRunner.run(createTasks(monitor -> {
+				sleep(5);
+				return null;
+			}), false, cost, npm());
+			assertTrue(cost.getAverageNanos() >= TimeUnit.MILLISECONDS.toNanos(1));
+			assertEquals(Runtime.getRuntime().availableProcessors() > 1,
+					FragmentQueryRunner.isConcurrent(TASK_COUNT, cost));
+			// A single task is never run concurrently.
+			assertFalse(FragmentQueryRunner.isConcurrent(1, cost));
+		} finally {
+			FragmentQueryRunner.setConcurrencyThreshold(threshold);
+		}
+	}
+}
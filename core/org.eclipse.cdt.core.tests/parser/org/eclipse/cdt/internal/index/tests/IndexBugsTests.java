@@ -20,7 +20,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -98,6 +101,7 @@ import org.eclipse.core.resources.IProjectDescription;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceVisitor;
 import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
@@ -2521,7 +2525,7 @@ public class IndexBugsTests extends BaseTestCase {
 		IndexerPreferences.set(fCProject.getProject(), IndexerPreferences.KEY_INDEX_UNUSED_HEADERS_WITH_DEFAULT_LANG,
 				"false");
 		// Turn off automatic index update.
-		IndexerPreferences.setUpdatePolicy(fCProject.getProject(), IndexerPreferences.UPDATE_POLICY_MANUAL);
+		IndexerPreferences.setUpdatePolicy(getProject(), IndexerPreferences.UPDATE_POLICY_MANUAL);
 
 		try {
 			String[] contents = getContentsForTest(3);
@@ -2559,7 +2563,7 @@ public class IndexBugsTests extends BaseTestCase {
 			IndexerPreferences.set(fCProject.getProject(),
 					IndexerPreferences.KEY_INDEX_UNUSED_HEADERS_WITH_DEFAULT_LANG,
 					defaults.getProperty(IndexerPreferences.KEY_INDEX_UNUSED_HEADERS_WITH_DEFAULT_LANG));
-			IndexerPreferences.setUpdatePolicy(fCProject.getProject(), IndexerPreferences.getDefaultUpdatePolicy());
+			IndexerPreferences.setUpdatePolicy(getProject(), IndexerPreferences.getDefaultUpdatePolicy());
 		}
 	}
 
@@ -2637,4 +2641,145 @@ public class IndexBugsTests extends BaseTestCase {
 		}
 	}
 
+	private String describeIndex() throws Exception {
+		fIndex = CCorePlugin.getIndexManager().getIndex(fCProject);
+		List<String> result = new ArrayList<>();
+		fIndex.acquireReadLock();
+		try {
+			for (IIndexFile file : fIndex.getAllFiles()) {
+				String path = file.getLocation().getFullPath();
+				for (IIndexName name : file.findNames(0, Integer.MAX_VALUE)) {
+					IIndexBinding binding = fIndex.findBinding(name);
+					String kind = name.isDefinition() ? "definition" : name.isReference() ? "reference" : "declaration";
+					result.add(path + ':' + name.getNodeOffset() + ' ' + name + ' ' + kind + ' '
+							+ (binding == null ? null
+									: String.join("::", binding.getQualifiedName()) + ' '
+											+ binding.getClass().getSimpleName()));
+				}
+			}
+		} finally {
+			fIndex.releaseReadLock();
+		}
+		Collections.sort(result);
+		return String.join("\n", result);
+	}
+
+	// h.h
+	//	struct S { S(int); };
+	//	int x;
+	//	typedef int T;
+	//	void f(int);
+	//	void f(double);
+	//	template <typename U> struct A { static const int value = sizeof(U); };
+
+	// s.cpp
+	//	#include "h.h"
+	//	int y;
+	//	void g_N() {
+	//	  S(x);
+	//	  T * y;
+	//	  f(A<T>::value);
+	//	  f(1.0 * x);
+	//	}
+	public void testParsingOnWorkerThreads() throws Exception {
+		String[] contents = getContentsForTest(2);
+		IndexerPreferences.setUpdatePolicy(getProject(), IndexerPreferences.UPDATE_POLICY_MANUAL);
+		try {
+			TestSourceReader.createFile(fCProject.getProject(), "h.h", contents[0]);
+			for (int i = 0; i < 12; i++) {
+				TestSourceReader.createFile(fCProject.getProject(), "s" + i + ".cpp",
+						contents[1].replace("_N", String.valueOf(i)));
+			}
+			CCorePlugin.getIndexManager().reindex(fCProject);
+			waitForIndexer();
+			String serial = describeIndex();
+			assertTrue(serial.contains("g11"));
+
+			// The sources are parsed concurrently, the ambiguities are resolved on the worker threads.
+			IndexerPreferences.setWorkerThreads(4);
+			CCorePlugin.getIndexManager().reindex(fCProject);
+			waitForIndexer();
+			assertEquals(serial, describeIndex());
+		} finally {
+			IndexerPreferences.setWorkerThreads(IndexerPreferences.DEFAULT_WORKER_THREADS);
+			IndexerPreferences.setUpdatePolicy(getProject(), IndexerPreferences.getDefaultUpdatePolicy());
+		}
+	}
+
+	/**
+	 * Describes whether the index is up to date with the timestamps of the files.
+	 */
+	private String describeFileStates(List<IFile> files) throws Exception {
+		fIndex = CCorePlugin.getIndexManager().getIndex(fCProject);
+		List<String> result = new ArrayList<>();
+		fIndex.acquireReadLock();
+		try {
+			for (IFile file : files) {
+				IIndexFile[] ifiles = fIndex.getFiles(ILinkage.CPP_LINKAGE_ID,
+						IndexLocationFactory.getWorkspaceIFL(file));
+				assertEquals(1, ifiles.length);
+				result.add(file.getName() + ' '
+						+ (ifiles[0].getTimestamp() == file.getLocation().toFile().lastModified() ? "current"
+								: "outdated"));
+			}
+		} finally {
+			fIndex.releaseReadLock();
+		}
+		return String.join("\n", result);
+	}
+
+	/**
+	 * Changes every third file and touches every third file without changing its contents.
+	 */
+	private void modifyFiles(final List<IFile> files, final int round) throws CoreException {
+		final long timestamp = System.currentTimeMillis() + 1000 * round;
+		ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+			@Override
+			public void run(IProgressMonitor monitor) throws CoreException {
+				for (int i = 0; i < files.size(); i++) {
+					IFile file = files.get(i);
+					if (i % 3 == 0) {
+						file.setContents(new ByteArrayInputStream(("int v" + i + "_" + round + ";\n").getBytes()),
+								false, false, npm());
+						file.setLocalTimeStamp(timestamp);
+					} else if (i % 3 == 1) {
+						file.setLocalTimeStamp(timestamp);
+					}
+				}
+			}
+		}, npm());
+	}
+
+	public void testFileStatesOnWorkerThreads() throws Exception {
+		IndexerPreferences.setUpdatePolicy(getProject(), IndexerPreferences.UPDATE_POLICY_MANUAL);
+		try {
+			// More files than in one batch of file states.
+			List<IFile> files = new ArrayList<>();
+			for (int i = 0; i < 150; i++) {
+				files.add(createFile(getProject(), "f" + i + ".cpp", "int v" + i + ";\n"));
+			}
+			CCorePlugin.getIndexManager().reindex(fCProject);
+			waitForIndexer();
+			final int updateFlags = IIndexManager.UPDATE_CHECK_TIMESTAMPS | IIndexManager.UPDATE_CHECK_CONTENTS_HASH;
+
+			modifyFiles(files, 1);
+			CCorePlugin.getIndexManager().update(new ICElement[] { fCProject }, updateFlags);
+			waitForIndexer();
+			String serial = describeFileStates(files);
+			assertTrue(serial.contains("f0.cpp current"));
+			// The contents did not change, the file is not parsed again.
+			assertTrue(serial.contains("f1.cpp outdated"));
+			assertTrue(serial.contains("f2.cpp current"));
+
+			// The file states are computed on the worker threads.
+			IndexerPreferences.setWorkerThreads(4);
+			modifyFiles(files, 2);
+			CCorePlugin.getIndexManager().update(new ICElement[] { fCProject }, updateFlags);
+			waitForIndexer();
+			assertEquals(serial, describeFileStates(files));
+		} finally {
+			IndexerPreferences.setWorkerThreads(IndexerPreferences.DEFAULT_WORKER_THREADS);
+			IndexerPreferences.setUpdatePolicy(getProject(), IndexerPreferences.getDefaultUpdatePolicy());
+		}
+	}
 }
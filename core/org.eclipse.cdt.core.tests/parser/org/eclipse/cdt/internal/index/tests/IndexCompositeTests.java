@@ -16,6 +16,7 @@ package org.eclipse.cdt.internal.index.tests;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -34,6 +35,7 @@ import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.index.FragmentQueryRunner;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -434,6 +436,47 @@ public class IndexCompositeTests extends BaseTestCase {
 		}
 	}
 
+	// class A {};
+	// namespace X { class A1 {}; }
+
+	// class B {};
+	// namespace X { class B1 {}; }
+	public void testConcurrentFragmentQueries() throws Exception {
+		CharSequence[] contents = getContentsForTest(2);
+		ProjectBuilder pb = new ProjectBuilder("projB_" + getName(), true);
+		pb.addFile("h1.h", contents[0]);
+		ICProject cprojB = createAndAddProject(pb);
+		pb = new ProjectBuilder("projA_" + getName(), true);
+		pb.addFile("h2.h", contents[1]).addDependency(cprojB.getProject());
+		ICProject cprojA = createAndAddProject(pb);
+		setIndex(cprojA, BOTH);
+
+		final Set<Thread> filterThreads = Collections.synchronizedSet(new HashSet<>());
+		IndexFilter filter = new IndexFilter() {
+			@Override
+			public boolean acceptBinding(IBinding binding) throws CoreException {
+				filterThreads.add(Thread.currentThread());
+				return !binding.getName().startsWith("B");
+			}
+		};
+		final long threshold = FragmentQueryRunner.getConcurrencyThreshold();
+		try {
+			FragmentQueryRunner.setConcurrencyThreshold(Long.MAX_VALUE);
+			IBinding[] sequential = index.findBindings(Pattern.compile(".*"), false, filter, npm());
+			FragmentQueryRunner.setConcurrencyThreshold(0);
+			IBinding[] concurrent = index.findBindings(Pattern.compile(".*"), false, filter, npm());
+			assertTrue(sequential.length > 0);
+			assertEquals(sequential.length, concurrent.length);
+			for (int i = 0; i < sequential.length; i++) {
+				assertEquals(sequential[i].getName(), concurrent[i].getName());
+			}
+			// The filter of the caller is called on the calling thread, only.
+			assertEquals(Collections.singleton(Thread.currentThread()), filterThreads);
+		} finally {
+			FragmentQueryRunner.setConcurrencyThreshold(threshold);
+		}
+	}
+
 	/**
 	 * Asserts binding counts, and returns the index tested against
 	 * @param global the number of bindings expected to be found at global scope
@@ -14,6 +14,9 @@
 package org.eclipse.cdt.internal.index.tests;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -23,6 +26,7 @@ import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexBinding;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.index.IIndexNameCursor;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.index.IndexLocationFactory;
 import org.eclipse.cdt.core.model.ICProject;
@@ -31,10 +35,13 @@ import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.index.CIndex;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 
 import junit.framework.TestSuite;
@@ -237,6 +244,69 @@ public class IndexNamesTests extends BaseTestCase {
 		}
 	}
 
+	private static long getDatabaseAccesses(CIndex index) {
+		return index.getCacheHits() + index.getCacheMisses();
+	}
+
+	//	int counter;
+	//	void inc() { counter++; }
+	//	void dec() { counter--; }
+	//	int get() { return counter; }
+	//	void reset() { counter = 0; }
+	//	void twice() { counter += 2; counter += 2; }
+	public void testNameCursor() throws Exception {
+		waitForIndexer();
+		String content = getComment();
+		IFile file = createFile(getProject().getProject(), "cursor.cpp", content);
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IIndexBinding[] bindings = fIndex.findBindings("counter".toCharArray(), IndexFilter.ALL,
+					new NullProgressMonitor());
+			assertEquals(1, bindings.length);
+			IIndexName[] expected = fIndex.findNames(bindings[0], IIndex.FIND_ALL_OCCURRENCES);
+			assertEquals(7, expected.length);
+
+			IIndexNameCursor cursor = fIndex.createNameCursor(bindings[0], IIndex.FIND_ALL_OCCURRENCES, null);
+			List<IIndexName> actual = new ArrayList<>();
+			IIndexName[] page;
+			while ((page = cursor.next(2)).length > 0) {
+				assertTrue(page.length <= 2);
+				actual.addAll(Arrays.asList(page));
+			}
+			assertEquals(Arrays.asList(expected), actual);
+
+			// Only the requested names are read.
+			CIndex index = (CIndex) fIndex;
+			long accesses = getDatabaseAccesses(index);
+			assertEquals(6, fIndex.findNames(bindings[0], IIndex.FIND_REFERENCES).length);
+			final long allAccesses = getDatabaseAccesses(index) - accesses;
+			accesses = getDatabaseAccesses(index);
+			cursor = fIndex.createNameCursor(bindings[0], IIndex.FIND_REFERENCES, null);
+			assertEquals(1, cursor.next(1).length);
+			final long firstAccesses = getDatabaseAccesses(index) - accesses;
+			assertTrue(firstAccesses > 0);
+			assertTrue("Read " + firstAccesses + " records for one of 6 names, " + allAccesses + " for all",
+					firstAccesses < allAccesses);
+			accesses = getDatabaseAccesses(index);
+			assertEquals(5, cursor.next(10).length);
+			final long remainingAccesses = getDatabaseAccesses(index) - accesses;
+			assertTrue(firstAccesses < remainingAccesses);
+
+			NullProgressMonitor monitor = new NullProgressMonitor();
+			cursor = fIndex.createNameCursor(bindings[0], IIndex.FIND_REFERENCES, monitor);
+			monitor.setCanceled(true);
+			try {
+				cursor.next(1);
+				fail("Expected cancellation");
+			} catch (OperationCanceledException e) {
+			}
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
 	//	class X {
 	//		public:
 	//			virtual void vm() {
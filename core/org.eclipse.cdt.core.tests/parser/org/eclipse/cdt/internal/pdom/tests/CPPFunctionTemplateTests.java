@@ -16,6 +16,7 @@ package org.eclipse.cdt.internal.pdom.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import java.util.Arrays;
 import java.util.List;
@@ -26,6 +27,8 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInstanceCache;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMCPPLinkage;
 import org.junit.jupiter.api.Test;
 
 public class CPPFunctionTemplateTests extends PDOMInlineCodeTestBase {
@@ -74,4 +77,35 @@ public class CPPFunctionTemplateTests extends PDOMInlineCodeTestBase {
 			assertEquals(1, pdom.findNames(inst, IIndexFragment.FIND_REFERENCES).length);
 		}
 	}
+
+	//	template<typename X>
+	//	void foo(X x) {}
+	//
+	//	class C1 {}; class C2 {};
+	//
+	//	void bar() {
+	//		foo<C1>(*new C1());
+	//		foo<C2>(*new C2());
+	//	}
+	@Test
+	public void testInstancesAreSharedAcrossReadLocks() throws Exception {
+		setUpSections(1);
+		IBinding[] bs = pdom.findBindings(new char[][] { "foo".toCharArray() }, IndexFilter.ALL_DECLARED, npm());
+		assertEquals(1, bs.length);
+		final Long key = ((PDOMBinding) bs[0]).getRecord() + PDOMCPPLinkage.CACHE_INSTANCES;
+		assertEquals(2, ((ICPPInstanceCache) bs[0]).getAllInstances().length);
+		assertNotNull(pdom.getDatabaseCachedResult(key));
+
+		// Releasing the read lock may discard the result cache, but not the instances found in the database.
+		pdom.releaseReadLock();
+		pdom.acquireReadLock();
+		assertNotNull(pdom.getDatabaseCachedResult(key));
+
+		bs = pdom.findBindings(new char[][] { "foo".toCharArray() }, IndexFilter.ALL_DECLARED, npm());
+		ICPPTemplateInstance[] instances = ((ICPPInstanceCache) bs[0]).getAllInstances();
+		assertEquals(2, instances.length);
+		for (ICPPTemplateInstance inst : instances) {
+			assertEquals(bs[0], inst.getTemplateDefinition());
+		}
+	}
 }
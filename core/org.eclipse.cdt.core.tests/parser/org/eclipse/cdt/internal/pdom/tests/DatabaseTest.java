@@ -151,6 +151,132 @@ public class DatabaseTest extends BaseTestCase5 {
 		assertEquals(mem2, mem1);
 	}
 
+	@Test
+	public void testMappedIO() throws Exception {
+		// Large enough for the database file to extend beyond the first mapped segment.
+		long[] records = new long[20000];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putInt(records[i], i);
+			db.putLong(records[i] + Database.MAX_MALLOC_SIZE - 8, -i);
+		}
+		db.flush();
+
+		Database mapped = new Database(db.getLocation(), new ChunkCache(), 0, true, true);
+		try {
+			mapped.setLocked(true);
+			for (int i = 0; i < records.length; i++) {
+				assertEquals(i, mapped.getInt(records[i]));
+				assertEquals(-i, mapped.getLong(records[i] + Database.MAX_MALLOC_SIZE - 8));
+			}
+		} finally {
+			mapped.setExclusiveLock();
+			mapped.close();
+		}
+	}
+
+	@Test
+	public void testMappedSegmentsAreReleased() throws Exception {
+		File location = getTestDir().append(getName() + System.currentTimeMillis() + "_mapped.dat").toFile();
+		Database plain = new Database(location, new ChunkCache(), 0, false);
+		plain.setExclusiveLock();
+		// Large enough for the database file to extend beyond the first mapped segment.
+		long[] records = new long[20000];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = plain.malloc(Database.MAX_MALLOC_SIZE);
+			plain.putInt(records[i], i);
+		}
+		plain.close();
+
+		Database mapped = new Database(location, new ChunkCache(), 0, false, true);
+		mapped.setExclusiveLock();
+		for (int i = 0; i < records.length; i++) {
+			assertEquals(i, mapped.getInt(records[i]));
+		}
+		// Truncation and deletion fail on Windows while segments are still mapped.
+		mapped.clear(0);
+		assertEquals(Database.CHUNK_SIZE, location.length());
+		mapped.close();
+		assertTrue(location.delete());
+	}
+
+	@Test
+	public void testCacheIsScanResistant() throws Exception {
+		ChunkCache cache = new ChunkCache(100 * Database.CHUNK_SIZE);
+		Database hot = new Database(getTestDir().append(getName() + "_hot.dat").toFile(), cache, 0, false);
+		Database scanned = new Database(getTestDir().append(getName() + "_scanned.dat").toFile(), cache, 0, false);
+		try {
+			long[] hotRecords = allocateChunks(hot, 20);
+			long[] scannedRecords = allocateChunks(scanned, 1000);
+			for (int i = 0; i < 2; i++) {
+				for (long record : hotRecords) {
+					hot.getInt(record);
+				}
+			}
+			for (long record : scannedRecords) {
+				scanned.getInt(record);
+			}
+			hot.resetCacheCounters();
+			for (long record : hotRecords) {
+				hot.getInt(record);
+			}
+			assertEquals(0, hot.getCacheMisses());
+			assertEquals(hotRecords.length, hot.getCachedChunkCount());
+			assertTrue(scanned.getCacheEvictions() > 0);
+		} finally {
+			for (Database database : new Database[] { hot, scanned }) {
+				database.setExclusiveLock();
+				database.close();
+				database.getLocation().delete();
+			}
+		}
+	}
+
+	@Test
+	public void testYieldingExclusiveLockKeepsDirtyChunks() throws Exception {
+		long[] records = new long[50];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putInt(records[i], i);
+		}
+		// Yield without flushing, like the indexer does for waiting readers.
+		db.giveUpExclusiveLock(false);
+		assertTrue(db.getLockedChunkCount() > 0);
+		for (int i = 0; i < records.length; i++) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+
+		db.setExclusiveLock();
+		for (int i = 0; i < records.length; i += 2) {
+			db.putInt(records[i], -i);
+		}
+		db.giveUpExclusiveLock(true);
+		assertEquals(0, db.getLockedChunkCount());
+
+		Database reopened = new Database(db.getLocation(), new ChunkCache(), 0, true);
+		try {
+			reopened.setLocked(true);
+			for (int i = 0; i < records.length; i++) {
+				assertEquals(i % 2 == 0 ? -i : i, reopened.getInt(records[i]));
+			}
+		} finally {
+			reopened.setExclusiveLock();
+			reopened.close();
+		}
+		db.setExclusiveLock();
+	}
+
+	private long[] allocateChunks(Database database, int count) throws CoreException {
+		database.setExclusiveLock();
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = database.malloc(Database.MAX_MALLOC_SIZE);
+		}
+		database.giveUpExclusiveLock(true);
+		database.setLocked(true);
+		return records;
+	}
+
 	private static class FindVisitor implements IBTreeVisitor {
 		private Database db;
 		private String key;
@@ -247,6 +373,38 @@ public class DatabaseTest extends BaseTestCase5 {
 		doTrials(100, ShortString.MAX_BYTE_LENGTH + 1, ShortString.MAX_BYTE_LENGTH * 2, r, false);
 	}
 
+	@Test
+	public void testStringsAreReadBackFromFile() throws Exception {
+		// Lengths around the limit between short and long strings, for strings stored as bytes and as chars.
+		final int[] lengths = { 0, 1, ShortString.MAX_BYTE_LENGTH / 2, ShortString.MAX_BYTE_LENGTH / 2 + 1,
+				ShortString.MAX_BYTE_LENGTH, ShortString.MAX_BYTE_LENGTH + 1, ShortString.MAX_BYTE_LENGTH * 3 };
+		final String[] strings = new String[lengths.length * 2];
+		final long[] records = new long[strings.length];
+		Random r = new Random(271828);
+		for (int i = 0; i < lengths.length; i++) {
+			String latin1 = randomString(lengths[i], r);
+			strings[2 * i] = latin1;
+			strings[2 * i + 1] = latin1.isEmpty() ? latin1 : '\u0100' + latin1.substring(1);
+		}
+		for (int i = 0; i < strings.length; i++) {
+			records[i] = db.newString(strings[i]).getRecord();
+		}
+		db.flush();
+
+		Database reopened = new Database(db.getLocation(), new ChunkCache(), 0, true);
+		try {
+			reopened.setLocked(true);
+			for (int i = 0; i < strings.length; i++) {
+				IString string = reopened.getString(records[i]);
+				assertEquals(strings[i], string.getString());
+				assertEquals(string, strings[i]);
+			}
+		} finally {
+			reopened.setExclusiveLock();
+			reopened.close();
+		}
+	}
+
 	private void doTrials(int n, int min, int max, Random r, boolean caseSensitive) throws CoreException {
 		long start = System.currentTimeMillis();
 		for (int i = 0; i < n; i++) {
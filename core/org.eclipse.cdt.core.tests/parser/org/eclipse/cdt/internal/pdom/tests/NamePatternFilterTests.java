@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.dom.NamePatternFilter;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link NamePatternFilter} used to reject names before matching binding patterns.
+ */
+public class NamePatternFilterTests extends BaseTestCase5 {
+
+	private static boolean accepts(Pattern pattern, String name) {
+		return NamePatternFilter.create(pattern).accepts(name.toCharArray());
+	}
+
+	@Test
+	public void testLiterals() throws Exception {
+		Pattern p = Pattern.compile(".*Stack.*Impl");
+		assertTrue(accepts(p, "MyStackImpl"));
+		assertTrue(accepts(p, "ImplStack"));
+		assertFalse(accepts(p, "MyStack"));
+		assertFalse(accepts(p, "stackImpl"));
+
+		p = Pattern.compile(".*stack.*", Pattern.CASE_INSENSITIVE);
+		assertTrue(accepts(p, "MyStackImpl"));
+		assertFalse(accepts(p, "MyStakImpl"));
+	}
+
+	@Test
+	public void testQuantifiers() throws Exception {
+		assertTrue(accepts(Pattern.compile("ab*c"), "ac"));
+		assertFalse(accepts(Pattern.compile("ab*c"), "bc"));
+		assertTrue(accepts(Pattern.compile("ab?c"), "ac"));
+		assertTrue(accepts(Pattern.compile("ab+c"), "abbc"));
+		assertFalse(accepts(Pattern.compile("ab+c"), "ac"));
+	}
+
+	@Test
+	public void testUnsupportedConstructsAcceptAll() throws Exception {
+		assertTrue(accepts(Pattern.compile("a|b"), "c"));
+		assertTrue(accepts(Pattern.compile("(ab)*"), "c"));
+		assertTrue(accepts(Pattern.compile("[ab]c"), "x"));
+		assertTrue(accepts(Pattern.compile("a{2}"), "x"));
+		assertTrue(accepts(Pattern.compile("ab", Pattern.COMMENTS), "x"));
+	}
+
+	@Test
+	public void testNoMatchIsRejected() throws Exception {
+		final String[] tokens = { "a", "b", "A", "_", "1", ".", ".*", ".+", "?", "*", "+", "b+", "[ab]", "(a)", "|",
+				".*?" };
+		final String chars = "abAB_1";
+		Random random = new Random(42);
+		for (int n = 0; n < 10000; n++) {
+			StringBuilder regex = new StringBuilder();
+			for (int i = random.nextInt(6); i > 0; i--) {
+				regex.append(tokens[random.nextInt(tokens.length)]);
+			}
+			Pattern pattern;
+			try {
+				pattern = Pattern.compile(regex.toString(), random.nextBoolean() ? 0 : Pattern.CASE_INSENSITIVE);
+			} catch (PatternSyntaxException e) {
+				continue;
+			}
+			NamePatternFilter filter = NamePatternFilter.create(pattern);
+			for (int m = 0; m < 20; m++) {
+				StringBuilder name = new StringBuilder();
+				for (int i = random.nextInt(7); i > 0; i--) {
+					name.append(chars.charAt(random.nextInt(chars.length())));
+				}
+				if (pattern.matcher(name).matches()) {
+					assertTrue(filter.accepts(name.toString().toCharArray()), pattern + " rejects " + name);
+				}
+			}
+		}
+	}
+}
@@ -15,7 +15,18 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexManager;
@@ -33,7 +44,9 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides a shared AST of the active translation unit. The ASTs of recently active translation
+ * units are kept as long as their estimated size fits into a memory budget, such that switching
+ * back to a translation unit does not require a new AST.
  *
  * @since 4.0
  */
@@ -51,6 +64,13 @@ public class ASTCache {
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
 			| ITranslationUnit.AST_PARSE_INACTIVE_CODE;
 
+	/** Rough number of bytes of an AST per character of the source of the translation unit */
+	private static final int AST_BYTES_PER_SOURCE_CHAR = 100;
+	/** Interval in which a thread waiting for an AST checks for cancellation */
+	private static final long WAIT_INTERVAL_MILLIS = 100;
+	/** Modification stamp of ASTs for which no stamp has been recorded */
+	private static final long UNKNOWN_MODIFICATION_STAMP = -1;
+
 	/**
 	 * Do something with an AST.
 	 *
@@ -67,27 +87,75 @@ public class ASTCache {
 		IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException;
 	}
 
+	private static class CachedAST {
+		final IASTTranslationUnit fAST;
+		/**
+		 * The timestamp of the last index write access at the time
+		 * the AST got cached. A cached AST becomes invalid on any index
+		 * write access afterwards.
+		 */
+		final long fLastWriteOnIndex;
+		final long fEstimatedSize;
+		/** The modification stamp of the source of the AST recorded by the client */
+		long fModificationStamp = UNKNOWN_MODIFICATION_STAMP;
+
+		CachedAST(IASTTranslationUnit ast) {
+			fAST = ast;
+			fLastWriteOnIndex = ast.getIndex().getLastWriteAccess();
+			IASTFileLocation location = ast.getFileLocation();
+			fEstimatedSize = location == null ? 0 : (long) location.getNodeLength() * AST_BYTES_PER_SOURCE_CHAR;
+		}
+	}
+
 	private final int fParseMode;
+	private final long fMemoryBudget;
+	/**
+	 * Guards the state of the cache. The lock is never held while an AST is created or
+	 * while waiting for one.
+	 */
 	private final Object fCacheMutex = new Object();
 
 	/** The active translation unit for which to cache the AST */
 	private ITranslationUnit fActiveTU;
-	/** The cached AST if any */
-	private IASTTranslationUnit fAST;
 	/**
-	 * The timestamp of the last index write access at the time
-	 * the AST got cached. A cached AST becomes invalid on any index
-	 * write access afterwards.
+	 * The ASTs of the active and of recently active translation units, in the order
+	 * of their last use.
+	 */
+	private final LinkedHashMap<ITranslationUnit, CachedAST> fCachedASTs = new LinkedHashMap<>(16, 0.75f, true);
+	/** The sum of the estimated sizes of the cached ASTs */
+	private long fCachedSize;
+	/**
+	 * Completed with the AST of the active translation unit when it has been reconciled,
+	 * <code>null</code> if the AST is not currently being computed.
+	 */
+	private CompletableFuture<IASTTranslationUnit> fReconciledAST;
+	/**
+	 * ASTs of translation units other than the active one that are currently being created,
+	 * such that concurrent requests for the same translation unit share one AST.
 	 */
-	private long fLastWriteOnIndex;
-	/** Indicates whether the AST is currently being computed */
-	private boolean fIsReconciling;
+	private final Map<ITranslationUnit, CompletableFuture<IASTTranslationUnit>> fCreatedASTs = new HashMap<>();
+
+	private final LongAdder fHitCount = new LongAdder();
+	private final LongAdder fMissCount = new LongAdder();
+	private final LongAdder fReparseCount = new LongAdder();
 
 	/**
-	 * Create a new AST cache.
+	 * Create a new AST cache, which keeps ASTs up to a budget of a sixteenth of the maximum
+	 * heap size.
 	 */
 	public ASTCache() {
+		this(Runtime.getRuntime().maxMemory() / 16);
+	}
+
+	/**
+	 * Create a new AST cache.
+	 *
+	 * @param memoryBudget the estimated number of bytes that the cached ASTs may use. The AST
+	 *     of the active translation unit is kept even if it exceeds the budget.
+	 */
+	public ASTCache(long memoryBudget) {
 		fParseMode = PARSE_MODE;
+		fMemoryBudget = memoryBudget;
 	}
 
 	/**
@@ -114,23 +182,28 @@ public class ASTCache {
 				return null;
 
 			final boolean isActiveElement;
+			CompletableFuture<IASTTranslationUnit> pendingAST = null;
+			CompletableFuture<IASTTranslationUnit> createdAST = null;
 			synchronized (fCacheMutex) {
 				isActiveElement = tUnit.equals(fActiveTU);
 				if (isActiveElement) {
-					if (fAST != null) {
+					CachedAST cached = fCachedASTs.get(tUnit);
+					if (cached != null) {
 						// AST is cached
-						if (fLastWriteOnIndex < index.getLastWriteAccess()) {
+						if (cached.fLastWriteOnIndex < index.getLastWriteAccess()) {
 							// AST has been invalidated by index write access
-							disposeAST();
+							remove(tUnit);
 						} else {
 							// cached AST is valid
+							fHitCount.increment();
 							if (DEBUG)
 								System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
-										+ toString(fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
-							return fAST;
+										+ toString(cached.fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+							return cached.fAST;
 						}
 					}
 					// no cached AST
+					fMissCount.increment();
 					if (!wait) {
 						// no AST, no wait - we are done
 						if (DEBUG)
@@ -138,29 +211,36 @@ public class ASTCache {
 									+ tUnit.getElementName());
 						return null;
 					}
+					pendingAST = fReconciledAST;
+				} else if (!wait) {
+					return null;
+				} else {
+					pendingAST = fCreatedASTs.get(tUnit);
+					if (pendingAST == null) {
+						createdAST = new CompletableFuture<>();
+						fCreatedASTs.put(tUnit, createdAST);
+					}
 				}
-				// no cached AST, but wait
-				if (isActiveElement && isReconciling(tUnit)) {
-					try {
-						// Wait for AST
+			}
+
+			// no cached AST, but wait
+			if (pendingAST != null) {
+				try {
+					// Wait for AST
+					if (DEBUG)
+						System.out.println(
+								DEBUG_PREFIX + getThreadName() + "waiting for AST for: " + tUnit.getElementName()); //$NON-NLS-1$
+					IASTTranslationUnit ast = waitForAST(pendingAST, progressMonitor);
+					if (ast != null) {
 						if (DEBUG)
 							System.out.println(
-									DEBUG_PREFIX + getThreadName() + "waiting for AST for: " + tUnit.getElementName()); //$NON-NLS-1$
-						fCacheMutex.wait();
-						// Check whether active element is still valid
-						if (fAST != null) {
-							if (DEBUG)
-								System.out.println(
-										DEBUG_PREFIX + getThreadName() + "...got AST for: " + tUnit.getElementName()); //$NON-NLS-1$
-							return fAST;
-						}
-						// try again
-						continue;
-					} catch (InterruptedException e) {
-						return null; // thread has been interrupted don't compute AST
+									DEBUG_PREFIX + getThreadName() + "...got AST for: " + tUnit.getElementName()); //$NON-NLS-1$
+						return ast;
 					}
-				} else if (!wait) {
-					return null;
+					// try again
+					continue;
+				} catch (InterruptedException e) {
+					return null; // thread has been interrupted don't compute AST
 				}
 			}
 
@@ -170,6 +250,7 @@ public class ASTCache {
 			if (DEBUG)
 				System.err.println(DEBUG_PREFIX + getThreadName() + "creating AST for " + tUnit.getElementName()); //$NON-NLS-1$
 
+			fReparseCount.increment();
 			IASTTranslationUnit ast = null;
 			try {
 				ast = createAST(tUnit, index, progressMonitor);
@@ -179,20 +260,50 @@ public class ASTCache {
 					System.err.println(DEBUG_PREFIX + getThreadName() + "created AST for: " + tUnit.getElementName()); //$NON-NLS-1$
 			} finally {
 				if (isActiveElement) {
-					if (fAST != null) {
+					IASTTranslationUnit newerAST = null;
+					synchronized (fCacheMutex) {
+						CachedAST cached = fCachedASTs.get(tUnit);
+						if (cached != null)
+							newerAST = cached.fAST;
+					}
+					if (newerAST != null) {
 						if (DEBUG)
 							System.out.println(DEBUG_PREFIX + getThreadName() + "Ignore created AST for " //$NON-NLS-1$
 									+ tUnit.getElementName() + "- AST from reconciler is newer"); //$NON-NLS-1$
 						// other reconciler was faster, still need to trigger notify
-						reconciled(fAST, tUnit);
+						reconciled(newerAST, tUnit);
 					} else
 						reconciled(ast, tUnit);
+				} else {
+					synchronized (fCacheMutex) {
+						fCreatedASTs.remove(tUnit, createdAST);
+					}
+					createdAST.complete(ast);
 				}
 			}
 			return ast;
 		}
 	}
 
+	/**
+	 * Waits for an AST that is being computed by another thread.
+	 *
+	 * @return the AST, or <code>null</code> if it could not be computed or the monitor has been canceled
+	 */
+	private static IASTTranslationUnit waitForAST(CompletableFuture<IASTTranslationUnit> pendingAST,
+			IProgressMonitor progressMonitor) throws InterruptedException {
+		while (true) {
+			try {
+				return pendingAST.get(WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (progressMonitor != null && progressMonitor.isCanceled())
+					return null;
+			} catch (ExecutionException e) {
+				return null;
+			}
+		}
+	}
+
 	/**
 	 * Executes {@link ASTRunnable#runOnAST(ILanguage, IASTTranslationUnit)} with the AST
 	 * provided by this cache for the given translation unit. Handles acquiring
@@ -294,45 +405,64 @@ public class ASTCache {
 	/**
 	 * Caches the given AST for the given translation unit.
 	 *
-	 * @param ast    the AST
+	 * @param ast    the AST, or <code>null</code> to only remove the cached AST
 	 * @param tUnit  the translation unit
 	 */
 	private void cache(IASTTranslationUnit ast, ITranslationUnit tUnit) {
 		assert Thread.holdsLock(fCacheMutex);
-		if (fActiveTU != null && !fActiveTU.equals(tUnit)) {
-			if (DEBUG && tUnit != null) // don't report call from disposeAST()
-				System.out.println(DEBUG_PREFIX + getThreadName() + "don't cache AST for inactive: " + toString(tUnit)); //$NON-NLS-1$
-			return;
-		}
-
-		if (DEBUG && (tUnit != null || ast != null)) // don't report call from disposeAST()
+		if (DEBUG && ast != null)
 			System.out.println(
 					DEBUG_PREFIX + getThreadName() + "caching AST: " + toString(ast) + " for: " + toString(tUnit)); //$NON-NLS-1$ //$NON-NLS-2$
 
-		if (fAST != null)
-			disposeAST();
+		remove(tUnit);
+		if (ast != null) {
+			CachedAST cached = new CachedAST(ast);
+			fCachedASTs.put(tUnit, cached);
+			fCachedSize += cached.fEstimatedSize;
+			evict();
+		}
+	}
 
-		fAST = ast;
-		fLastWriteOnIndex = fAST == null ? 0 : fAST.getIndex().getLastWriteAccess();
+	/**
+	 * Removes the cached AST of the given translation unit.
+	 */
+	private void remove(ITranslationUnit tUnit) {
+		assert Thread.holdsLock(fCacheMutex);
+		CachedAST cached = fCachedASTs.remove(tUnit);
+		if (cached != null) {
+			if (DEBUG)
+				System.out.println(DEBUG_PREFIX + getThreadName() + "disposing AST: " + toString(cached.fAST) //$NON-NLS-1$
+						+ " for: " + toString(tUnit)); //$NON-NLS-1$
+			fCachedSize -= cached.fEstimatedSize;
+		}
+	}
 
-		// Signal AST change
-		fCacheMutex.notifyAll();
+	/**
+	 * Removes the least recently used ASTs of inactive translation units until the remaining
+	 * ASTs fit into the memory budget.
+	 */
+	private void evict() {
+		assert Thread.holdsLock(fCacheMutex);
+		for (Iterator<Map.Entry<ITranslationUnit, CachedAST>> iterator = fCachedASTs.entrySet().iterator(); iterator
+				.hasNext() && fCachedSize > fMemoryBudget;) {
+			Map.Entry<ITranslationUnit, CachedAST> entry = iterator.next();
+			if (!entry.getKey().equals(fActiveTU)) {
+				if (DEBUG)
+					System.out.println(DEBUG_PREFIX + getThreadName() + "evicting AST for: " //$NON-NLS-1$
+							+ toString(entry.getKey()));
+				iterator.remove();
+				fCachedSize -= entry.getValue().fEstimatedSize;
+			}
+		}
 	}
 
 	/**
-	 * Disposes the cached AST.
+	 * Disposes the cached AST of the active translation unit.
 	 */
 	public void disposeAST() {
 		synchronized (fCacheMutex) {
-			if (fAST == null)
-				return;
-
-			if (DEBUG)
-				System.out.println(DEBUG_PREFIX + getThreadName() + "disposing AST: " + toString(fAST) + " for: " //$NON-NLS-1$//$NON-NLS-2$
-						+ toString(fActiveTU));
-
-			fAST = null;
-			cache(null, null);
+			if (fActiveTU != null)
+				remove(fActiveTU);
 		}
 	}
 
@@ -377,7 +507,8 @@ public class ASTCache {
 	}
 
 	/**
-	 * Set the given translation unit as active element to cache an AST for.
+	 * Set the given translation unit as active element to cache an AST for. The AST of
+	 * the previously active element is kept, as long as the memory budget allows.
 	 *
 	 * @param tUnit  the translation unit
 	 */
@@ -385,11 +516,16 @@ public class ASTCache {
 		if (tUnit == fActiveTU) {
 			return;
 		}
+		CompletableFuture<IASTTranslationUnit> reconciledAST;
 		synchronized (fCacheMutex) {
-			fIsReconciling = false;
+			reconciledAST = fReconciledAST;
+			fReconciledAST = null;
 			fActiveTU = tUnit;
-			cache(null, tUnit);
+			evict();
 		}
+		// Threads waiting for the AST of the previous element create it themselves.
+		if (reconciledAST != null)
+			reconciledAST.complete(null);
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
 	}
@@ -406,6 +542,34 @@ public class ASTCache {
 		}
 	}
 
+	/**
+	 * Records the modification stamp of the source from which the cached AST of the active
+	 * element has been created. The stamp is kept with the AST while other elements are active.
+	 *
+	 * @param modificationStamp  an opaque stamp, e.g. the modification stamp of a document
+	 */
+	public void setModificationStamp(long modificationStamp) {
+		synchronized (fCacheMutex) {
+			CachedAST cached = fActiveTU != null ? fCachedASTs.get(fActiveTU) : null;
+			if (cached != null)
+				cached.fModificationStamp = modificationStamp;
+		}
+	}
+
+	/**
+	 * Returns the modification stamp recorded with {@link #setModificationStamp(long)} for the
+	 * cached AST of the active element.
+	 *
+	 * @return the modification stamp, or <code>-1</code> if there is no cached AST or no stamp
+	 *     has been recorded for it
+	 */
+	public long getModificationStamp() {
+		synchronized (fCacheMutex) {
+			CachedAST cached = fActiveTU != null ? fCachedASTs.get(fActiveTU) : null;
+			return cached != null ? cached.fModificationStamp : UNKNOWN_MODIFICATION_STAMP;
+		}
+	}
+
 	/**
 	 * Informs that reconciling (computation of the AST) for the given element
 	 * is about to be started.
@@ -418,13 +582,16 @@ public class ASTCache {
 
 		synchronized (fCacheMutex) {
 			if (fActiveTU == null || !fActiveTU.equals(tUnit)) {
+				// The kept AST of an inactive element is outdated.
+				remove(tUnit);
 				return;
 			}
 
 			if (DEBUG)
 				System.out.println(DEBUG_PREFIX + getThreadName() + "about to reconcile: " + toString(tUnit)); //$NON-NLS-1$
 
-			fIsReconciling = true;
+			if (fReconciledAST == null)
+				fReconciledAST = new CompletableFuture<>();
 			cache(null, tUnit);
 		}
 	}
@@ -436,6 +603,7 @@ public class ASTCache {
 	 * @param tUnit  the translation unit
 	 */
 	public void reconciled(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+		CompletableFuture<IASTTranslationUnit> reconciledAST;
 		synchronized (fCacheMutex) {
 			if (tUnit == null || !tUnit.equals(fActiveTU)) {
 				if (DEBUG)
@@ -446,9 +614,13 @@ public class ASTCache {
 				System.out.println(
 						DEBUG_PREFIX + getThreadName() + "reconciled: " + toString(tUnit) + ", AST: " + toString(ast)); //$NON-NLS-1$ //$NON-NLS-2$
 
-			fIsReconciling = false;
+			reconciledAST = fReconciledAST;
+			fReconciledAST = null;
 			cache(ast, tUnit);
 		}
+		// Signal AST change
+		if (reconciledAST != null)
+			reconciledAST.complete(ast);
 	}
 
 	/**
@@ -463,10 +635,31 @@ public class ASTCache {
 			if (fActiveTU == null || tUnit == null) {
 				return false;
 			}
-			return fIsReconciling && (fActiveTU.equals(tUnit));
+			return fReconciledAST != null && (fActiveTU.equals(tUnit));
 		}
 	}
 
+	/**
+	 * Returns how often a cached AST has been returned for the active element.
+	 */
+	public long getHitCount() {
+		return fHitCount.sum();
+	}
+
+	/**
+	 * Returns how often no cached AST has been available for the active element.
+	 */
+	public long getMissCount() {
+		return fMissCount.sum();
+	}
+
+	/**
+	 * Returns how many ASTs this cache has created, rather than obtaining them from the reconciler.
+	 */
+	public long getReparseCount() {
+		return fReparseCount.sum();
+	}
+
 	private static String getThreadName() {
 		String name = Thread.currentThread().getName();
 		if (name != null)
@@ -22,6 +22,7 @@ package org.eclipse.cdt.internal.core.model;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,6 +30,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ILinkage;
@@ -63,6 +65,7 @@ import org.eclipse.cdt.core.model.IWorkingCopy;
 import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
 import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
 import org.eclipse.cdt.core.parser.IParserLogService;
 import org.eclipse.cdt.core.parser.IScannerInfo;
 import org.eclipse.cdt.core.parser.IScannerInfoProvider;
@@ -73,9 +76,12 @@ import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
 import org.eclipse.cdt.core.settings.model.ICProjectDescription;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.CompositeValue;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies;
 import org.eclipse.cdt.internal.core.index.IndexBasedFileContentProvider;
 import org.eclipse.cdt.internal.core.parser.InternalParserUtil;
 import org.eclipse.cdt.internal.core.parser.ParserLogService;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.pdom.indexer.ProjectIndexerIncludeResolutionHeuristics;
 import org.eclipse.cdt.internal.core.pdom.indexer.ProjectIndexerInputAdapter;
@@ -118,6 +124,56 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 
 	SourceManipulationInfo sourceManipulationInfo;
 	private ILanguage fLanguageOfContext;
+	private volatile SoftReference<PreviousAST> fPreviousAST;
+
+	/**
+	 * The function bodies of the last AST created by the reconciler for a working copy, used to
+	 * reuse unchanged function bodies when the working copy is reconciled again. Referenced
+	 * softly together with the contents of the working copy.
+	 */
+	private static final class PreviousAST {
+		final ReusableFunctionBodies.Snapshot fSnapshot;
+		final int fStyle;
+		final ILanguage fLanguage;
+		final IScannerInfo fScannerInfo;
+		final long fIndexWriteAccess;
+
+		PreviousAST(ReusableFunctionBodies.Snapshot snapshot, int style, ILanguage language,
+				IScannerInfo scannerInfo, long indexWriteAccess) {
+			fSnapshot = snapshot;
+			fStyle = style;
+			fLanguage = language;
+			fScannerInfo = scannerInfo;
+			fIndexWriteAccess = indexWriteAccess;
+		}
+
+		/**
+		 * Checks whether the AST was created in the same context, such that the function bodies
+		 * that are reused mean the same thing. Headers taken from the index are only the same if
+		 * the index has not been modified in the meantime.
+		 */
+		boolean hasSameContext(int style, ILanguage language, IScannerInfo scannerInfo, long indexWriteAccess) {
+			return fStyle == style && fLanguage == language && fIndexWriteAccess == indexWriteAccess
+					&& isSameConfiguration(fScannerInfo, scannerInfo);
+		}
+
+		private static boolean isSameConfiguration(IScannerInfo info1, IScannerInfo info2) {
+			if (!Objects.equals(info1.getDefinedSymbols(), info2.getDefinedSymbols())
+					|| !Arrays.equals(info1.getIncludePaths(), info2.getIncludePaths())) {
+				return false;
+			}
+			if (info1 instanceof IExtendedScannerInfo || info2 instanceof IExtendedScannerInfo) {
+				if (!(info1 instanceof IExtendedScannerInfo) || !(info2 instanceof IExtendedScannerInfo))
+					return false;
+				IExtendedScannerInfo einfo1 = (IExtendedScannerInfo) info1;
+				IExtendedScannerInfo einfo2 = (IExtendedScannerInfo) info2;
+				return Arrays.equals(einfo1.getMacroFiles(), einfo2.getMacroFiles())
+						&& Arrays.equals(einfo1.getIncludeFiles(), einfo2.getIncludeFiles())
+						&& Arrays.equals(einfo1.getLocalIncludePath(), einfo2.getLocalIncludePath());
+			}
+			return true;
+		}
+	}
 
 	public TranslationUnit(ICElement parent, IFile file, String idType) {
 		super(parent, file, ICElement.C_UNIT);
@@ -844,6 +900,18 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 	}
 
 	public IASTTranslationUnit getAST(IIndex index, int style, IProgressMonitor monitor) throws CoreException {
+		return getAST(index, style, monitor, false);
+	}
+
+	/**
+	 * Creates the AST of this translation unit.
+	 *
+	 * @param reconciling whether the AST is created by the reconciler of a working copy. The
+	 *     function bodies of such an AST are reused by the next reconciler run, provided they have
+	 *     not changed.
+	 */
+	IASTTranslationUnit getAST(IIndex index, int style, IProgressMonitor monitor, boolean reconciling)
+			throws CoreException {
 		boolean incompleteIndex = index != null && !index.isFullyInitialized();
 		IIndexFile[] contextToHeader = getContextToHeader(index, style);
 		ITranslationUnit configureWith = getConfigureWith(contextToHeader);
@@ -877,6 +945,20 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		if ((style & AST_PARSE_INACTIVE_CODE) != 0) {
 			options |= ILanguage.OPTION_PARSE_INACTIVE_CODE;
 		}
+		char[] source = null;
+		final long indexWriteAccess = index != null ? index.getLastWriteAccess() : 0;
+		if (reconciling && isWorkingCopy() && (options & ILanguage.OPTION_SKIP_FUNCTION_BODIES) == 0
+				&& fileContent instanceof InternalFileContent) {
+			InternalFileContent internalContent = (InternalFileContent) fileContent;
+			if (internalContent.getSource() instanceof CharArray) {
+				source = ((CharArray) internalContent.getSource()).getArray();
+				SoftReference<PreviousAST> ref = fPreviousAST;
+				PreviousAST previous = ref != null ? ref.get() : null;
+				if (previous != null && previous.hasSameContext(style, language, scanInfo, indexWriteAccess)) {
+					internalContent.setReusableFunctionBodies(ReusableFunctionBodies.create(previous.fSnapshot, source));
+				}
+			}
+		}
 		final IParserLogService log;
 		if (monitor instanceof ICanceler) {
 			log = new ParserLogService(DebugLogConstants.PARSER, (ICanceler) monitor);
@@ -889,6 +971,11 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 			return null;
 		ast.setOriginatingTranslationUnit(this);
 		ast.setBasedOnIncompleteIndex(incompleteIndex);
+		if (source != null) {
+			// The AST is not yet shared with anyone, its function bodies can be copied safely.
+			fPreviousAST = new SoftReference<>(new PreviousAST(ReusableFunctionBodies.Snapshot.create(ast, source),
+					style, language, scanInfo, indexWriteAccess));
+		}
 		return ast;
 	}
 
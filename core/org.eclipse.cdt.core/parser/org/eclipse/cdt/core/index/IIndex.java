@@ -17,6 +17,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.core.index;
 
+import java.util.Arrays;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.dom.IName;
@@ -25,6 +26,7 @@ import org.eclipse.cdt.core.dom.ast.IScope;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 /**
  * Interface for accessing the index for one or more projects.
@@ -402,6 +404,40 @@ public interface IIndex {
 	 */
 	public IIndexName[] findNames(IBinding binding, int flags) throws CoreException;
 
+	/**
+	 * Creates a cursor over the names that resolve to the given binding. The cursor returns the
+	 * same names as {@link #findNames(IBinding, int)}, but reads them from the index only as they
+	 * are requested. This allows for showing the first names of bindings with many names early,
+	 * and for stopping the search without reading the remaining names.
+	 *
+	 * @param binding a binding for which names are searched for
+	 * @param flags a combination of {@link #FIND_DECLARATIONS}, {@link #FIND_DEFINITIONS},
+	 * {@link #FIND_REFERENCES}, {@link #SEARCH_ACROSS_LANGUAGE_BOUNDARIES}, and
+	 * {@link #FIND_POTENTIAL_MATCHES}.
+	 * @param monitor a monitor that is checked for cancellation when the cursor reads names,
+	 *     may be {@code null}.
+	 * @return a cursor over the names, which can be used as long as the read lock is held.
+	 * @throws CoreException
+	 * @since 8.0
+	 */
+	public default IIndexNameCursor createNameCursor(IBinding binding, int flags, IProgressMonitor monitor)
+			throws CoreException {
+		final IIndexName[] names = findNames(binding, flags);
+		return new IIndexNameCursor() {
+			private int fNext;
+
+			@Override
+			public IIndexName[] next(int maxCount) {
+				if (monitor != null && monitor.isCanceled())
+					throw new OperationCanceledException();
+				final int end = (int) Math.min(names.length, (long) fNext + maxCount);
+				IIndexName[] result = Arrays.copyOfRange(names, fNext, end);
+				fNext = end;
+				return result;
+			}
+		};
+	}
+
 	/**
 	 * Searches for all references that resolve to the given binding.
 	 * This is fully equivalent to
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.index;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Cursor over the names of a binding, reading the names from the index page by page. A client
+ * that needs only the first names, or that wants to show names while the search is in progress,
+ * can stop calling {@link #next(int)} at any time.
+ * <p>
+ * The cursor can only be used while the read lock of the index it was created for is held.
+ *
+ * @see IIndex#createNameCursor(org.eclipse.cdt.core.dom.ast.IBinding, int,
+ *     org.eclipse.core.runtime.IProgressMonitor)
+ * @since 8.0
+ * @noextend This interface is not intended to be extended by clients.
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface IIndexNameCursor {
+	/**
+	 * Returns the next names found, at most {@code maxCount} of them.
+	 *
+	 * @param maxCount the maximum number of names to return, must be positive.
+	 * @return the next page of names, an empty array when all names have been returned.
+	 * @throws org.eclipse.core.runtime.OperationCanceledException if the monitor the cursor was
+	 *     created with is canceled.
+	 */
+	IIndexName[] next(int maxCount) throws CoreException;
+}
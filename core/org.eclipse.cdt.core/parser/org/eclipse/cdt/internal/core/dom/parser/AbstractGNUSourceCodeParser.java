@@ -227,6 +227,7 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 
 	private final INodeFactory nodeFactory;
 	private boolean fActiveCode = true;
+	private ReusableFunctionBodies fReusableFunctionBodies;
 
 	protected AbstractGNUSourceCodeParser(IScanner scanner, IParserLogService logService, ParserMode parserMode,
 			INodeFactory nodeFactory, boolean supportStatementsInExpressions, boolean supportTypeOfUnaries,
@@ -253,6 +254,13 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 		maximumTrivialExpressionsInAggregateInitializers = limit;
 	}
 
+	/**
+	 * Instructs the parser to reuse unchanged function bodies of a previous AST of the same file.
+	 */
+	public void setReusableFunctionBodies(ReusableFunctionBodies bodies) {
+		fReusableFunctionBodies = bodies;
+	}
+
 	private AbstractParserLogService wrapLogService(IParserLogService logService) {
 		if (logService instanceof AbstractParserLogService) {
 			return (AbstractParserLogService) logService;
@@ -1517,9 +1525,37 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 		}
 
 		// full parse
+		if (fReusableFunctionBodies != null) {
+			IASTCompoundStatement body = reuseFunctionBody();
+			if (body != null)
+				return body;
+		}
 		return functionBody();
 	}
 
+	/**
+	 * Skips over the function body and returns a copy of the body of the previous AST, provided
+	 * it is unchanged. Otherwise the input is reset to the beginning of the body and {@code null}
+	 * is returned.
+	 */
+	private IASTCompoundStatement reuseFunctionBody() throws BacktrackException, EndOfFileException {
+		final IToken mark = mark();
+		if (mark.getType() != IToken.tLBRACE)
+			return null;
+		final int offset = mark.getOffset();
+		try {
+			final int endOffset = skipOverCompoundStatement(false).getEndOffset();
+			ILocationResolver lr = getTranslationUnit().getAdapter(ILocationResolver.class);
+			IASTCompoundStatement body = fReusableFunctionBodies.getBody(lr, offset, endOffset - offset);
+			if (body != null)
+				return body;
+		} catch (EndOfFileException e) {
+			// Let the parser deal with the incomplete body.
+		}
+		backup(mark);
+		return null;
+	}
+
 	/**
 	 * Parses a function body.
 	 *
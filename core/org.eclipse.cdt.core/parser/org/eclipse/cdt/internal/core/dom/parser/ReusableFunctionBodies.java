@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTNode.CopyStyle;
+import org.eclipse.cdt.core.dom.ast.IASTNodeLocation;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
+import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDeclSpecifier;
+import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
+
+/**
+ * Function bodies of a previous AST of a translation unit that can be reused when the file is
+ * parsed again after an edit. A reused body is a copy of the old one, including the ambiguities
+ * that were resolved in the old context. Therefore bodies are reused only if nothing outside of
+ * them has changed:
+ * <ul>
+ * <li>the edit lies within a single function body, or the file is unchanged,
+ * <li>the edited function is neither constexpr nor has a deduced return type, such that the edit
+ * cannot change the meaning of code outside of its body,
+ * <li>the edit neither adds nor removes preprocessor directives,
+ * <li>the headers included before a body are the same files with the same contents.
+ * </ul>
+ * Headers taken from the index are not compared, the caller has to make sure that the index has
+ * not changed since the previous AST was created.
+ * <p>
+ * A body is reusable if it does not contain macro expansions or preprocessor directives and was
+ * parsed as active code. The parser looks up a body by the file offset of its opening brace in the
+ * new source, and reuses a copy of the old body only if the new body has the same length and does
+ * not contain macro expansions either. All other code, including the preprocessing of the file,
+ * is parsed again, such that the resulting AST is the same as the one of a full parse.
+ */
+public final class ReusableFunctionBodies {
+	/**
+	 * The function bodies of an AST and the source it was created from. The bodies are copied
+	 * while the AST is not yet used by anyone else, the AST may be shared afterwards. Copies of
+	 * the bodies handed out to later parses are made from the snapshot rather than from the AST,
+	 * such that they never read nodes that other threads are working on.
+	 */
+	public static final class Snapshot {
+		final char[] fSource;
+		final Body[] fBodies;
+		final Inclusion[] fIncludes;
+
+		private Snapshot(char[] source, Body[] bodies, Inclusion[] includes) {
+			fSource = source;
+			fBodies = bodies;
+			fIncludes = includes;
+		}
+
+		/**
+		 * Takes the snapshot of an AST that has just been created.
+		 *
+		 * @param ast the AST, it must not be in use by other threads
+		 * @param source the contents of the file the AST was created for
+		 */
+		public static Snapshot create(IASTTranslationUnit ast, final char[] source) {
+			final List<Body> bodies = new ArrayList<>();
+			ast.accept(new ASTVisitor() {
+				{
+					shouldVisitDeclarations = true;
+				}
+
+				@Override
+				public int visit(IASTDeclaration declaration) {
+					if (!(declaration instanceof IASTFunctionDefinition))
+						return PROCESS_CONTINUE;
+
+					IASTFunctionDefinition function = (IASTFunctionDefinition) declaration;
+					IASTStatement body = function.getBody();
+					if (body instanceof IASTCompoundStatement && body.isActive() && body.isPartOfTranslationUnitFile()) {
+						IASTFileLocation fileLocation = body.getFileLocation();
+						final int offset = fileLocation.getNodeOffset();
+						final int endOffset = offset + fileLocation.getNodeLength();
+						IASTCompoundStatement copy = null;
+						IASTNodeLocation[] locations = body.getNodeLocations();
+						if (locations.length == 1 && locations[0] instanceof IASTFileLocation
+								&& !containsDirective(source, offset, endOffset)) {
+							try {
+								copy = (IASTCompoundStatement) body.copy(CopyStyle.withoutLocations);
+							} catch (UnsupportedOperationException e) {
+								// The body is parsed again.
+							}
+						}
+						bodies.add(new Body(offset, endOffset, mayAffectOtherCode(function), copy));
+					}
+					return PROCESS_SKIP;
+				}
+			});
+			IASTPreprocessorIncludeStatement[] includeDirectives = ast.getIncludeDirectives();
+			Inclusion[] includes = new Inclusion[includeDirectives.length];
+			for (int i = 0; i < includes.length; i++) {
+				includes[i] = new Inclusion(includeDirectives[i]);
+			}
+			return new Snapshot(source, bodies.toArray(new Body[bodies.size()]), includes);
+		}
+	}
+
+	/** A function body of a snapshot. */
+	private static final class Body {
+		final int fOffset;
+		final int fEndOffset;
+		final boolean fMayAffectOtherCode;
+		/** Copy of the body, or {@code null} if the body cannot be reused. */
+		final IASTCompoundStatement fCopy;
+
+		Body(int offset, int endOffset, boolean mayAffectOtherCode, IASTCompoundStatement copy) {
+			fOffset = offset;
+			fEndOffset = endOffset;
+			fMayAffectOtherCode = mayAffectOtherCode;
+			fCopy = copy;
+		}
+	}
+
+	/** The properties of an include directive that determine whether it includes the same file. */
+	private static final class Inclusion {
+		final boolean fActive;
+		final boolean fResolved;
+		final boolean fCreatesAST;
+		final long fContentsHash;
+		final long fFileSize;
+		final String fPath;
+
+		Inclusion(IASTPreprocessorIncludeStatement include) {
+			fActive = include.isActive();
+			fResolved = include.isResolved();
+			fCreatesAST = include.createsAST();
+			fContentsHash = include.getIncludedFileContentsHash();
+			fFileSize = include.getIncludedFileSize();
+			fPath = include.getPath();
+		}
+
+		boolean isSameInclusion(IASTPreprocessorIncludeStatement include) {
+			return fActive == include.isActive() && fResolved == include.isResolved()
+					&& fCreatesAST == include.createsAST() && fContentsHash == include.getIncludedFileContentsHash()
+					&& fFileSize == include.getIncludedFileSize() && Objects.equals(fPath, include.getPath());
+		}
+	}
+
+	private final Map<Integer, IASTCompoundStatement> fBodies;
+	private final Inclusion[] fOldIncludes;
+	/** Number of include directives of the new AST that were found to match the old ones */
+	private int fMatchingIncludes;
+	private boolean fIncludesDiffer;
+
+	private ReusableFunctionBodies(Map<Integer, IASTCompoundStatement> bodies, Inclusion[] oldIncludes) {
+		fBodies = bodies;
+		fOldIncludes = oldIncludes;
+	}
+
+	/**
+	 * Computes the function bodies of the previous AST that can be reused for parsing the new
+	 * source of the translation unit.
+	 *
+	 * @param previous the snapshot of the AST created for the old source
+	 * @param newSource the contents of the file to be parsed
+	 * @return the reusable bodies, or {@code null} if the file needs to be parsed completely.
+	 */
+	public static ReusableFunctionBodies create(Snapshot previous, char[] newSource) {
+		final char[] oldSource = previous.fSource;
+		final int minLength = Math.min(oldSource.length, newSource.length);
+		int prefix = 0;
+		while (prefix < minLength && oldSource[prefix] == newSource[prefix]) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < minLength - prefix
+				&& oldSource[oldSource.length - 1 - suffix] == newSource[newSource.length - 1 - suffix]) {
+			suffix++;
+		}
+		final int editStart = prefix;
+		final int oldEditEnd = oldSource.length - suffix;
+		final int newEditEnd = newSource.length - suffix;
+		// An edit of a preprocessor directive can change the preprocessor state of the rest of the file.
+		if (containsDirective(oldSource, editStart, oldEditEnd) || containsDirective(newSource, editStart, newEditEnd))
+			return null;
+
+		final int delta = newEditEnd - oldEditEnd;
+		final boolean unchanged = editStart == oldEditEnd && delta == 0;
+		final Map<Integer, IASTCompoundStatement> bodies = new HashMap<>();
+		boolean editedBody = false;
+		for (Body body : previous.fBodies) {
+			if (body.fOffset < editStart && oldEditEnd < body.fEndOffset) {
+				// The edit is between the braces of the body.
+				if (body.fMayAffectOtherCode)
+					return null;
+				editedBody = true;
+			} else if (body.fCopy != null) {
+				if (body.fEndOffset <= editStart) {
+					bodies.put(body.fOffset, body.fCopy);
+				} else if (body.fOffset >= oldEditEnd) {
+					bodies.put(body.fOffset + delta, body.fCopy);
+				}
+			}
+		}
+		if (!unchanged && !editedBody)
+			return null;
+		return new ReusableFunctionBodies(bodies, previous.fIncludes);
+	}
+
+	/**
+	 * Checks whether the body of the function can change the meaning of code outside of it.
+	 */
+	private static boolean mayAffectOtherCode(IASTFunctionDefinition function) {
+		IASTDeclSpecifier declSpec = function.getDeclSpecifier();
+		if (declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isConstexpr())
+			return true;
+		if (declSpec instanceof IASTSimpleDeclSpecifier) {
+			final int type = ((IASTSimpleDeclSpecifier) declSpec).getType();
+			return type == IASTSimpleDeclSpecifier.t_auto || type == IASTSimpleDeclSpecifier.t_decltype_auto;
+		}
+		return false;
+	}
+
+	private static boolean containsDirective(char[] source, int offset, int endOffset) {
+		for (int i = offset; i < endOffset; i++) {
+			if (source[i] == '#')
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a copy of the function body of the previous AST for a body that starts at the given
+	 * sequence number of the AST being parsed, or {@code null} if the body has to be parsed.
+	 *
+	 * @param lr the location resolver of the AST being parsed
+	 * @param sequenceNumber the sequence number of the opening brace of the body
+	 * @param length the length of the body in sequence numbers
+	 */
+	public IASTCompoundStatement getBody(ILocationResolver lr, int sequenceNumber, int length) {
+		if (!includesMatch(lr))
+			return null;
+		IASTNodeLocation[] locations = lr.getLocations(sequenceNumber, length);
+		if (locations.length != 1 || !(locations[0] instanceof IASTFileLocation))
+			return null;
+		IASTFileLocation location = (IASTFileLocation) locations[0];
+		if (location.getNodeLength() != length || !location.getFileName().equals(lr.getTranslationUnitPath()))
+			return null;
+
+		// The snapshot is copied again, it may be reused by more than one parse.
+		final ASTNode oldBody = (ASTNode) fBodies.get(location.getNodeOffset());
+		if (oldBody == null || oldBody.getLength() != length)
+			return null;
+
+		final IASTCompoundStatement copy;
+		try {
+			copy = (IASTCompoundStatement) oldBody.copy(CopyStyle.withoutLocations);
+		} catch (UnsupportedOperationException e) {
+			return null;
+		}
+		final int shift = sequenceNumber - oldBody.getOffset();
+		if (shift != 0) {
+			copy.accept(new ASTGenericVisitor(true) {
+				@Override
+				protected int genericVisit(IASTNode node) {
+					final ASTNode n = (ASTNode) node;
+					n.setOffset(n.getOffset() + shift);
+					return PROCESS_CONTINUE;
+				}
+			});
+		}
+		return copy;
+	}
+
+	/**
+	 * Checks whether the headers included so far by the AST being parsed are the same as the ones
+	 * included by the previous AST at that point. The preprocessor is ahead of the parser, so this
+	 * covers all headers included before the body that is about to be reused.
+	 */
+	private boolean includesMatch(ILocationResolver lr) {
+		if (fIncludesDiffer)
+			return false;
+		IASTPreprocessorIncludeStatement[] includes = lr.getIncludeDirectives();
+		for (; fMatchingIncludes < includes.length; fMatchingIncludes++) {
+			if (fMatchingIncludes >= fOldIncludes.length
+					|| !fOldIncludes[fMatchingIncludes].isSameInclusion(includes[fMatchingIncludes])) {
+				fIncludesDiffer = true;
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of reusable bodies.
+	 */
+	public int size() {
+		return fBodies.size();
+	}
+}
@@ -22,6 +22,7 @@ import org.eclipse.cdt.core.dom.ast.IValue;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameterMap;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeMarshalBuffer;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ActivationRecord;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCallCache;
 import org.eclipse.core.runtime.CoreException;
 
 /**
@@ -96,9 +97,10 @@ public interface ICPPEvaluation {
 	ICPPEvaluation instantiate(InstantiationContext context, int maxDepth);
 
 	/**
-	 * Keeps track of state during a constexpr evaluation.
+	 * Keeps track of state during a constexpr evaluation. Must be closed when the evaluation
+	 * is done, such that the steps of the evaluations nested in it are counted together.
 	 */
-	public final class ConstexprEvaluationContext {
+	public final class ConstexprEvaluationContext implements AutoCloseable {
 		/**
 		 * The maximum number of steps allowed in a single constexpr evaluation.
 		 * This is used to prevent a buggy constexpr function from causing the
@@ -107,12 +109,22 @@ public interface ICPPEvaluation {
 		public static final int MAX_CONSTEXPR_EVALUATION_STEPS = 1024;
 
 		private int fStepsPerformed;
+		private final ConstexprCallCache fCallCache;
 
 		/**
 		 * Constructs a ConstexprEvaluationContext for a new constexpr evaluation.
 		 */
 		public ConstexprEvaluationContext() {
 			fStepsPerformed = 0;
+			fCallCache = ConstexprCallCache.getForCurrentTranslationUnit();
+			if (fCallCache != null)
+				fCallCache.beginEvaluation();
+		}
+
+		@Override
+		public void close() {
+			if (fCallCache != null)
+				fCallCache.endEvaluation();
 		}
 
 		/**
@@ -122,6 +134,8 @@ public interface ICPPEvaluation {
 		 */
 		public ConstexprEvaluationContext recordStep() {
 			++fStepsPerformed;
+			if (fCallCache != null)
+				fCallCache.recordStep();
 			return this;
 		}
 
@@ -131,6 +145,23 @@ public interface ICPPEvaluation {
 		public int getStepsPerformed() {
 			return fStepsPerformed;
 		}
+
+		/**
+		 * Returns whether the evaluation has to be abandoned, because it exceeded the steps allowed
+		 * for a single evaluation or for the top-level evaluation it is nested in.
+		 */
+		public boolean isStepLimitReached() {
+			return fStepsPerformed >= MAX_CONSTEXPR_EVALUATION_STEPS
+					|| (fCallCache != null && fCallCache.isBudgetExhausted());
+		}
+
+		/**
+		 * Returns the cache for results of constexpr function calls, or {@code null} if the
+		 * evaluation does not take place in the context of a translation unit.
+		 */
+		public ConstexprCallCache getCallCache() {
+			return fCallCache;
+		}
 	}
 
 	/**
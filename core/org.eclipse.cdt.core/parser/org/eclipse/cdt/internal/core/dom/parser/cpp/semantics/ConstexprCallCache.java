@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.CVTYPE;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.TDEF;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IPointerType;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.IValue;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPParameter;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
+import org.eclipse.cdt.internal.core.dom.parser.FloatingPointValue;
+import org.eclipse.cdt.internal.core.dom.parser.IntegralValue;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
+
+/**
+ * Per translation unit state of constexpr evaluation. Memoizes the results of calls to constexpr
+ * functions with arithmetic arguments and limits the number of evaluation steps of a top-level
+ * evaluation, including the evaluations nested in it, e.g. of the initializers of the variables
+ * it uses. Once the limit is reached, the top-level evaluation yields an unknown value. The
+ * following evaluations get the full allowance again, such that an AST that is used for a long
+ * time, e.g. the one of an editor, keeps evaluating constexpr expressions.
+ */
+public final class ConstexprCallCache {
+	/**
+	 * The maximum number of steps of a top-level constexpr evaluation and the evaluations nested
+	 * in it.
+	 */
+	public static final int MAX_STEPS_PER_EVALUATION = 100000;
+	private static final int MAX_ENTRIES = 10000;
+
+	private static final class CallKey {
+		final ICPPFunction fFunction;
+		final IType[] fTypes;
+		final char[][] fValues;
+		final int fHashCode;
+
+		CallKey(ICPPFunction function, IType[] types, char[][] values) {
+			fFunction = function;
+			fTypes = types;
+			fValues = values;
+			fHashCode = function.hashCode() * 31 + Arrays.deepHashCode(values);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CallKey))
+				return false;
+			CallKey other = (CallKey) obj;
+			if (fHashCode != other.fHashCode || !fFunction.equals(other.fFunction)
+					|| !Arrays.deepEquals(fValues, other.fValues)) {
+				return false;
+			}
+			for (int i = 0; i < fTypes.length; i++) {
+				if (!fTypes[i].isSameType(other.fTypes[i]))
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private final Map<CallKey, ICPPEvaluation> fResults = new HashMap<>();
+	private int fStepsPerformed;
+	private int fCacheHits;
+	// The number of evaluations in progress, and the steps of the top-level one.
+	private int fEvaluationDepth;
+	private int fEvaluationSteps;
+
+	/**
+	 * Returns the cache of the translation unit containing the current lookup point, or
+	 * {@code null} if there is no such translation unit.
+	 */
+	public static ConstexprCallCache getForCurrentTranslationUnit() {
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null) {
+			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConstexprCallCache();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Creates the key for a call of the given function, or returns {@code null} if the result of
+	 * the call cannot be memoized. This is the case for member functions and functions taking
+	 * references or pointers, and for arguments other than arithmetic values.
+	 *
+	 * @param arguments the arguments of the call, starting at index 1 like in {@link EvalFunctionCall}
+	 */
+	static Object createKey(ICPPFunction function, ICPPEvaluation[] arguments, ICPPEvaluation implicitThis) {
+		if (implicitThis != null)
+			return null;
+		for (ICPPParameter param : function.getParameters()) {
+			IType type = SemanticUtil.getNestedType(param.getType(), TDEF | CVTYPE);
+			if (type instanceof ICPPReferenceType || type instanceof IPointerType)
+				return null;
+		}
+		final int length = arguments.length - 1;
+		IType[] types = new IType[length];
+		char[][] values = new char[length][];
+		for (int i = 0; i < length; i++) {
+			ICPPEvaluation arg = arguments[i + 1];
+			if (arg instanceof EvalReference)
+				return null;
+			IValue value = arg.getValue();
+			if (!isArithmetic(value))
+				return null;
+			types[i] = arg.getType();
+			values[i] = value.getSignature();
+		}
+		return new CallKey(function, types, values);
+	}
+
+	/**
+	 * Returns whether the given result of a call can be memoized.
+	 */
+	static boolean isCacheable(ICPPEvaluation result) {
+		return result instanceof EvalFixed && isArithmetic(result.getValue());
+	}
+
+	private static boolean isArithmetic(IValue value) {
+		return (value instanceof IntegralValue || value instanceof FloatingPointValue) && value.numberValue() != null;
+	}
+
+	ICPPEvaluation get(Object key) {
+		ICPPEvaluation result = fResults.get(key);
+		if (result != null)
+			fCacheHits++;
+		return result;
+	}
+
+	void put(Object key, ICPPEvaluation result) {
+		if (fResults.size() < MAX_ENTRIES) {
+			fResults.put((CallKey) key, result);
+		}
+	}
+
+	/**
+	 * Records the start of a constexpr evaluation. An evaluation started while no other one is in
+	 * progress is a top-level evaluation and gets a new allowance of steps.
+	 */
+	public void beginEvaluation() {
+		if (fEvaluationDepth++ == 0) {
+			fEvaluationSteps = 0;
+		}
+	}
+
+	/**
+	 * Records the end of a constexpr evaluation started with {@link #beginEvaluation()}.
+	 */
+	public void endEvaluation() {
+		fEvaluationDepth--;
+	}
+
+	/**
+	 * Records a step of a constexpr evaluation in the translation unit.
+	 */
+	public void recordStep() {
+		fStepsPerformed++;
+		fEvaluationSteps++;
+	}
+
+	/**
+	 * Returns whether the steps allowed for the current top-level evaluation have been used up.
+	 */
+	public boolean isBudgetExhausted() {
+		return fEvaluationSteps >= MAX_STEPS_PER_EVALUATION;
+	}
+
+	/**
+	 * Returns the number of constexpr evaluation steps performed for the translation unit.
+	 */
+	public int getStepsPerformed() {
+		return fStepsPerformed;
+	}
+
+	/**
+	 * Returns the number of calls whose result was taken from the cache.
+	 */
+	public int getCacheHits() {
+		return fCacheHits;
+	}
+}
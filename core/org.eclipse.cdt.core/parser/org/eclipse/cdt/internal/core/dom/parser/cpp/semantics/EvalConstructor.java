@@ -141,7 +141,10 @@ public final class EvalConstructor extends CPPDependentEvaluation {
 
 	@Override
 	public IValue getValue() {
-		ICPPEvaluation computed = computeForFunctionCall(new ActivationRecord(), new ConstexprEvaluationContext());
+		ICPPEvaluation computed;
+		try (ConstexprEvaluationContext context = new ConstexprEvaluationContext()) {
+			computed = computeForFunctionCall(new ActivationRecord(), context);
+		}
 		if (computed == this)
 			return IntegralValue.ERROR;
 
@@ -184,7 +184,10 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public IValue getValue() {
-		ICPPEvaluation eval = evaluateFunctionBody(new ConstexprEvaluationContext());
+		ICPPEvaluation eval;
+		try (ConstexprEvaluationContext context = new ConstexprEvaluationContext()) {
+			eval = evaluateFunctionBody(context);
+		}
 		if (eval == this) {
 			return DependentValue.create(eval);
 		}
@@ -264,7 +267,7 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public ICPPEvaluation computeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
-		if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+		if (context.isStepLimitReached()) {
 			return EvalFixed.INCOMPLETE;
 		}
 
@@ -333,6 +336,24 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!function.isConstexpr())
 			return EvalFixed.INCOMPLETE;
 
+		if (context.isStepLimitReached())
+			return EvalFixed.INCOMPLETE;
+
+		ConstexprCallCache cache = context.getCallCache();
+		Object key = cache != null ? ConstexprCallCache.createKey(function, fArguments, getImplicitThis()) : null;
+		if (key != null) {
+			ICPPEvaluation result = cache.get(key);
+			if (result != null)
+				return result;
+		}
+		ICPPEvaluation result = executeFunctionBody(function, context);
+		if (key != null && ConstexprCallCache.isCacheable(result)) {
+			cache.put(key, result);
+		}
+		return result;
+	}
+
+	private ICPPEvaluation executeFunctionBody(ICPPFunction function, ConstexprEvaluationContext context) {
 		ActivationRecord record = createActivationRecord(function.getParameters(), fArguments, getImplicitThis());
 		ICPPExecution bodyExec = CPPFunction.getFunctionBodyExecution(function);
 		if (bodyExec == null) {
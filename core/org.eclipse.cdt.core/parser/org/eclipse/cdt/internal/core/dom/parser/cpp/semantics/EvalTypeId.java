@@ -161,9 +161,9 @@ public class EvalTypeId extends CPPDependentEvaluation {
 			} else if (ctor instanceof ICPPConstructor) {
 				EvalConstructor evalCtor = new EvalConstructor(classType, (ICPPConstructor) ctor, fArguments,
 						getTemplateDefinition());
-				ICPPEvaluation computedEvalCtor = evalCtor.computeForFunctionCall(new ActivationRecord(),
-						new ConstexprEvaluationContext());
-				return computedEvalCtor.getValue();
+				try (ConstexprEvaluationContext context = new ConstexprEvaluationContext()) {
+					return evalCtor.computeForFunctionCall(new ActivationRecord(), context).getValue();
+				}
 			} else {
 				return IntegralValue.ERROR;
 			}
@@ -182,9 +182,10 @@ public class EvalUtil {
 				}
 				ExecDeclarator declaratorExec = new ExecDeclarator(variable, initializerEval);
 
-				ConstexprEvaluationContext context = new ConstexprEvaluationContext();
-				if (declaratorExec.executeForFunctionCall(record, context) != ExecIncomplete.INSTANCE) {
-					valueEval = record.getVariable(declaratorExec.getDeclaredBinding());
+				try (ConstexprEvaluationContext context = new ConstexprEvaluationContext()) {
+					if (declaratorExec.executeForFunctionCall(record, context) != ExecIncomplete.INSTANCE) {
+						valueEval = record.getVariable(declaratorExec.getDeclaredBinding());
+					}
 				}
 			} else if (initialValue != null) {
 				valueEval = new EvalFixed(type, ValueCategory.LVALUE, initialValue);
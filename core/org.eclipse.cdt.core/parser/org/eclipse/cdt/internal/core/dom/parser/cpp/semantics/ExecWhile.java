@@ -33,7 +33,7 @@ public class ExecWhile implements ICPPExecution {
 	@Override
 	public ICPPExecution executeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
 		while (conditionSatisfied(record, context)) {
-			if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+			if (context.isStepLimitReached()) {
 				return ExecIncomplete.INSTANCE;
 			}
 
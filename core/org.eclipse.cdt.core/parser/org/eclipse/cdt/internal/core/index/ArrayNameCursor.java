@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index;
+
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.index.IIndexNameCursor;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Cursor over names that have already been collected.
+ */
+public final class ArrayNameCursor implements IIndexNameCursor {
+	private final IIndexName[] fNames;
+	private final IProgressMonitor fMonitor;
+	private int fNext;
+
+	public ArrayNameCursor(IIndexName[] names, IProgressMonitor monitor) {
+		fNames = names;
+		fMonitor = monitor;
+	}
+
+	@Override
+	public IIndexName[] next(int maxCount) {
+		checkCanceled(fMonitor);
+		final int end = (int) Math.min(fNames.length, (long) fNext + maxCount);
+		IIndexName[] result = Arrays.copyOfRange(fNames, fNext, end);
+		fNext = end;
+		return result;
+	}
+
+	/**
+	 * Throws {@link OperationCanceledException} if the monitor is canceled.
+	 *
+	 * @param monitor a monitor, may be {@code null}.
+	 */
+	public static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor != null && monitor.isCanceled())
+			throw new OperationCanceledException();
+	}
+}
@@ -44,9 +44,11 @@ import org.eclipse.cdt.core.index.IIndexFileSet;
 import org.eclipse.cdt.core.index.IIndexInclude;
 import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.index.IIndexNameCursor;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.internal.core.dom.Linkage;
+import org.eclipse.cdt.internal.core.index.FragmentQueryRunner.QueryCost;
 import org.eclipse.cdt.internal.core.index.composite.CompositingNotImplementedError;
 import org.eclipse.cdt.internal.core.index.composite.ICompositesFactory;
 import org.eclipse.cdt.internal.core.index.composite.c.CCompositesFactory;
@@ -63,6 +65,13 @@ public class CIndex implements IIndex {
 	 */
 	private static final boolean SPECIALCASE_SINGLES = true;
 
+	// Measured costs of the queries of a single fragment, see FragmentQueryRunner.
+	private static final QueryCost FIND_NAMES = new QueryCost();
+	private static final QueryCost FIND_BINDINGS_BY_NAME = new QueryCost();
+	private static final QueryCost FIND_BINDINGS_BY_PREFIX = new QueryCost();
+	private static final QueryCost FIND_BINDINGS_BY_PATTERN = new QueryCost();
+	private static final QueryCost FIND_MACRO_CONTAINERS = new QueryCost();
+
 	private final IIndexFragment[] fFragments;
 	private int fReadLock;
 	private ICompositesFactory cppCF, cCF, fCF;
@@ -107,29 +116,9 @@ public class CIndex implements IIndex {
 			IProgressMonitor monitor) throws CoreException {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindings(patterns, isFullyQualified, filter, monitor);
-		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(patterns, isFullyQualified,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
 		}
+		return findBindingsInFragments(filter, FIND_BINDINGS_BY_PATTERN, monitor,
+				(fragment, linkageFilter, m) -> fragment.findBindings(patterns, isFullyQualified, linkageFilter, m));
 	}
 
 	@Override
@@ -137,29 +126,9 @@ public class CIndex implements IIndex {
 			throws CoreException {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findMacroContainers(pattern, filter, monitor);
-		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findMacroContainers(pattern,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
 		}
+		return findBindingsInFragments(filter, FIND_MACRO_CONTAINERS, monitor,
+				(fragment, linkageFilter, m) -> fragment.findMacroContainers(pattern, linkageFilter, m));
 	}
 
 	@Override
@@ -186,10 +155,16 @@ public class CIndex implements IIndex {
 		// Read only fragments can be superseded by what the indexer writes into
 		// a writable fragment. Therefore names from a read-only fragment are
 		// ignored if there is a match in a writable fragment.
+		// Bindings of an AST must not be adapted concurrently, the AST is not thread-safe.
+		final IBinding b = binding;
+		final boolean concurrently = binding instanceof IIndexBinding
+				&& FragmentQueryRunner.isConcurrent(fFragments.length, FIND_NAMES);
+		final List<IIndexFragmentName[]> fragmentNames = queryFragments(concurrently, FIND_NAMES,
+				fragment -> fragment.findNames(b, flags));
 		HashSet<NameKey> encounteredNames = new HashSet<>();
-		for (IIndexFragment fragment : fFragments) {
-			if (fragment instanceof IWritableIndexFragment) {
-				final IIndexFragmentName[] names = fragment.findNames(binding, flags);
+		for (int i = 0; i < fFragments.length; i++) {
+			if (fFragments[i] instanceof IWritableIndexFragment) {
+				final IIndexFragmentName[] names = fragmentNames.get(i);
 				for (IIndexFragmentName name : names) {
 					if (encounteredNames.add(new NameKey(name, true))) {
 						result.add(name);
@@ -197,9 +172,9 @@ public class CIndex implements IIndex {
 				}
 			}
 		}
-		for (IIndexFragment fragment : fFragments) {
-			if (!(fragment instanceof IWritableIndexFragment)) {
-				final IIndexFragmentName[] names = fragment.findNames(binding, flags);
+		for (int i = 0; i < fFragments.length; i++) {
+			if (!(fFragments[i] instanceof IWritableIndexFragment)) {
+				final IIndexFragmentName[] names = fragmentNames.get(i);
 				for (IIndexFragmentName name : names) {
 					if (encounteredNames.add(new NameKey(name, false))) {
 						result.add(name);
@@ -210,6 +185,77 @@ public class CIndex implements IIndex {
 		return result.toArray(new IIndexName[result.size()]);
 	}
 
+	@Override
+	public IIndexNameCursor createNameCursor(IBinding binding, int flags, IProgressMonitor monitor)
+			throws CoreException {
+		if (binding instanceof ICPPUsingDeclaration) {
+			IBinding[] bindings = ((ICPPUsingDeclaration) binding).getDelegates();
+			if (bindings == null || bindings.length != 1) {
+				return new ArrayNameCursor(findNames(binding, flags), monitor);
+			}
+			binding = bindings[0];
+		}
+		return new NameCursor(binding, flags, monitor);
+	}
+
+	/**
+	 * Cursor over the names of a binding in all fragments. Like {@link #findNames(IBinding, int)}, the
+	 * cursor returns the names of the writable fragments first and skips duplicate names.
+	 */
+	private final class NameCursor implements IIndexNameCursor {
+		private final IBinding fBinding;
+		private final int fFlags;
+		private final IProgressMonitor fMonitor;
+		private final IIndexFragment[] fOrderedFragments;
+		private final HashSet<NameKey> fEncounteredNames = new HashSet<>();
+		private int fNextFragment;
+		private IIndexNameCursor fFragmentCursor;
+		private boolean fWritable;
+
+		NameCursor(IBinding binding, int flags, IProgressMonitor monitor) {
+			fBinding = binding;
+			fFlags = flags;
+			fMonitor = monitor;
+			fOrderedFragments = new IIndexFragment[fFragments.length];
+			int i = 0;
+			for (IIndexFragment fragment : fFragments) {
+				if (fragment instanceof IWritableIndexFragment) {
+					fOrderedFragments[i++] = fragment;
+				}
+			}
+			for (IIndexFragment fragment : fFragments) {
+				if (!(fragment instanceof IWritableIndexFragment)) {
+					fOrderedFragments[i++] = fragment;
+				}
+			}
+		}
+
+		@Override
+		public IIndexName[] next(int maxCount) throws CoreException {
+			ArrayNameCursor.checkCanceled(fMonitor);
+			List<IIndexName> result = new ArrayList<>();
+			while (result.size() < maxCount) {
+				if (fFragmentCursor == null) {
+					if (fNextFragment >= fOrderedFragments.length)
+						break;
+					IIndexFragment fragment = fOrderedFragments[fNextFragment++];
+					fWritable = fragment instanceof IWritableIndexFragment;
+					fFragmentCursor = fragment.createNameCursor(fBinding, fFlags, fMonitor);
+				}
+				IIndexName[] names = fFragmentCursor.next(maxCount - result.size());
+				if (names.length == 0) {
+					fFragmentCursor = null;
+				}
+				for (IIndexName name : names) {
+					if (fEncounteredNames.add(new NameKey((IIndexFragmentName) name, fWritable))) {
+						result.add(name);
+					}
+				}
+			}
+			return result.toArray(new IIndexName[result.size()]);
+		}
+	}
+
 	@Override
 	public IIndexName[] findDeclarations(IBinding binding) throws CoreException {
 		return findNames(binding, FIND_DECLARATIONS_DEFINITIONS);
@@ -514,6 +560,97 @@ public class CIndex implements IIndex {
 	 * Non-API
 	 */
 
+	/**
+	 * Query for the bindings of a single fragment.
+	 */
+	@FunctionalInterface
+	private interface FragmentBindingQuery {
+		IBinding[] find(IIndexFragment fragment, IndexFilter linkageFilter, IProgressMonitor monitor)
+				throws CoreException;
+	}
+
+	/**
+	 * Query of a single fragment, returning the result for the fragment.
+	 */
+	@FunctionalInterface
+	private interface FragmentQuery<T> {
+		T run(IIndexFragment fragment) throws CoreException;
+	}
+
+	/**
+	 * Runs the query for all fragments and linkages accepted by the filter, and combines the results
+	 * of the fragments to composite bindings. Failures of individual fragments are logged.
+	 * <p>
+	 * When the fragments are queried concurrently, the filter and the monitor of the caller are not
+	 * passed to the other threads. The fragments are queried for all bindings of the linkage and
+	 * the filter is applied to their results on the calling thread.
+	 */
+	private IIndexBinding[] findBindingsInFragments(IndexFilter filter, QueryCost cost, IProgressMonitor monitor,
+			FragmentBindingQuery query) throws CoreException {
+		List<ILinkage> linkages = new ArrayList<>();
+		for (ILinkage linkage : Linkage.getIndexerLinkages()) {
+			if (filter.acceptLinkage(linkage)) {
+				linkages.add(linkage);
+			}
+		}
+		final boolean concurrently = FragmentQueryRunner.isConcurrent(linkages.size() * fFragments.length, cost);
+		List<FragmentQueryRunner.Task<IIndexFragmentBinding[]>> tasks = new ArrayList<>(
+				linkages.size() * fFragments.length);
+		for (ILinkage linkage : linkages) {
+			final IndexFilter linkageFilter = concurrently ? IndexFilter.getFilter(linkage.getLinkageID())
+					: retargetFilter(linkage, filter);
+			for (IIndexFragment fragment : fFragments) {
+				tasks.add(m -> {
+					try {
+						IBinding[] part = query.find(fragment, linkageFilter, m);
+						IIndexFragmentBinding[] bindings = new IIndexFragmentBinding[part.length];
+						System.arraycopy(part, 0, bindings, 0, part.length);
+						return bindings;
+					} catch (CoreException e) {
+						CCorePlugin.log(e);
+						return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+					}
+				});
+			}
+		}
+		List<IIndexFragmentBinding[]> parts = FragmentQueryRunner.run(tasks, concurrently, cost, monitor);
+
+		List<IIndexBinding[]> result = new ArrayList<>();
+		for (int l = 0; l < linkages.size(); l++) {
+			IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
+			for (int i = 0; i < fFragments.length; i++) {
+				IIndexFragmentBinding[] part = parts.get(l * fFragments.length + i);
+				fragmentBindings[i] = concurrently ? filterBindings(part, filter) : part;
+			}
+			ICompositesFactory factory = getCompositesFactory(linkages.get(l).getLinkageID());
+			result.add(factory.getCompositeBindings(fragmentBindings));
+		}
+		return flatten(result);
+	}
+
+	private static IIndexFragmentBinding[] filterBindings(IIndexFragmentBinding[] bindings, IndexFilter filter)
+			throws CoreException {
+		int count = 0;
+		for (IIndexFragmentBinding binding : bindings) {
+			if (filter.acceptBinding(binding)) {
+				bindings[count++] = binding;
+			}
+		}
+		return count == bindings.length ? bindings : Arrays.copyOf(bindings, count);
+	}
+
+	/**
+	 * Runs the query for every fragment and returns the results in the order of the fragments.
+	 */
+	private <T> List<T> queryFragments(boolean concurrently, QueryCost cost, FragmentQuery<T> query)
+			throws CoreException {
+		List<FragmentQueryRunner.Task<T>> tasks = new ArrayList<>(fFragments.length);
+		for (IIndexFragment fragment : fFragments) {
+			tasks.add(m -> query.run(fragment));
+		}
+		return FragmentQueryRunner.run(tasks, concurrently, cost, null);
+	}
+
 	private IIndexBinding[] flatten(List<IIndexBinding[]> bindingArrays) {
 		int size = 0;
 		for (int i = 0; i < bindingArrays.size(); i++) {
@@ -544,7 +681,7 @@ public class CIndex implements IIndex {
 		return result.toArray(new IIndexFragmentBinding[result.size()]);
 	}
 
-	private ICompositesFactory getCompositesFactory(int linkageID) {
+	private synchronized ICompositesFactory getCompositesFactory(int linkageID) {
 		switch (linkageID) {
 		case ILinkage.CPP_LINKAGE_ID:
 			if (cppCF == null) {
@@ -588,29 +725,9 @@ public class CIndex implements IIndex {
 			IProgressMonitor monitor) throws CoreException {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindingsForPrefix(prefix, filescope, filter, monitor);
-		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindingsForPrefix(prefix, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
 		}
+		return findBindingsInFragments(filter, FIND_BINDINGS_BY_PREFIX, monitor,
+				(fragment, linkageFilter, m) -> fragment.findBindingsForPrefix(prefix, filescope, linkageFilter, m));
 	}
 
 	@Override
@@ -618,29 +735,9 @@ public class CIndex implements IIndex {
 			IProgressMonitor monitor) throws CoreException {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindingsForContentAssist(prefix, filescope, filter, monitor);
-		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindingsForContentAssist(prefix, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
 		}
+		return findBindingsInFragments(filter, FIND_BINDINGS_BY_PREFIX, monitor, (fragment, linkageFilter,
+				m) -> fragment.findBindingsForContentAssist(prefix, filescope, linkageFilter, m));
 	}
 
 	@Override
@@ -648,29 +745,9 @@ public class CIndex implements IIndex {
 			throws CoreException {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindings(name, filescope, filter, monitor);
-		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(name, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
 		}
+		return findBindingsInFragments(filter, FIND_BINDINGS_BY_NAME, monitor,
+				(fragment, linkageFilter, m) -> fragment.findBindings(name, filescope, linkageFilter, m));
 	}
 
 	@Override
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.ConcurrentTasks;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Runs queries of index fragments on a small shared pool of threads. The calling thread holds the
+ * read lock of the index and takes part in running the queries. All queries are completed before
+ * {@link #run(List, boolean, QueryCost, IProgressMonitor)} returns, such that no fragment is
+ * accessed after the caller has released the lock.
+ * <p>
+ * Handing a query to a pool thread and collecting its result costs a few microseconds while the
+ * threads are busy, and up to about a hundred microseconds when an idle thread has to be started
+ * or woken up. Most queries of a fragment take less than that, therefore the runtime of each kind
+ * of query is measured and the fragments are queried concurrently only if a single query takes
+ * longer than {@link #getConcurrencyThreshold()} on average.
+ * <p>
+ * The lookup point of {@link CPPSemantics} is a node of an AST, the caches of which must not be
+ * accessed by multiple threads. Therefore the queries are run on the calling thread only while
+ * a lookup point is set. The tasks run on pool threads with the promiscuous binding resolution
+ * flag of the calling thread. They get a progress monitor that must only be checked for
+ * cancellation, it reports the cancellation of the monitor of the caller. Any other objects of
+ * the caller, e.g. an {@link org.eclipse.cdt.core.index.IndexFilter}, must not be used by the
+ * tasks.
+ */
+public final class FragmentQueryRunner {
+	/**
+	 * Maximum number of threads in addition to the calling thread.
+	 */
+	private static final int MAX_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors() - 1);
+	/** Average duration of a query, from which on the fragments are queried concurrently. */
+	private static final long DEFAULT_CONCURRENCY_THRESHOLD = TimeUnit.MICROSECONDS.toNanos(500);
+
+	private static volatile long sConcurrencyThreshold = DEFAULT_CONCURRENCY_THRESHOLD;
+
+	private static final ThreadPoolExecutor POOL = ConcurrentTasks.createPool("C/C++ Index Query", //$NON-NLS-1$
+			Math.max(1, MAX_THREADS));
+
+	/**
+	 * A query of a single fragment.
+	 */
+	@FunctionalInterface
+	public interface Task<T> {
+		/**
+		 * @param monitor a monitor to check for cancellation, never {@code null}.
+		 */
+		T call(IProgressMonitor monitor) throws CoreException;
+	}
+
+	/**
+	 * The measured average duration of the queries of one kind.
+	 */
+	public static final class QueryCost {
+		private volatile long fAverageNanos;
+
+		void record(long nanos) {
+			// A moving average, a lost update when two callers record at the same time does no harm.
+			final long average = fAverageNanos;
+			fAverageNanos = average + (nanos - average) / 8;
+		}
+
+		/**
+		 * Returns the average duration of a query of a single fragment in nanoseconds.
+		 */
+		public long getAverageNanos() {
+			return fAverageNanos;
+		}
+	}
+
+	/**
+	 * A monitor for the tasks. On the calling thread it delegates to the monitor of the caller, on
+	 * the pool threads it reports the cancellation the calling thread has observed.
+	 */
+	private static final class TaskMonitor extends NullProgressMonitor {
+		private final Thread fCaller = Thread.currentThread();
+		private final IProgressMonitor fMonitor;
+		private volatile boolean fCanceled;
+
+		TaskMonitor(IProgressMonitor monitor) {
+			fMonitor = monitor;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			if (!fCanceled && fMonitor != null && Thread.currentThread() == fCaller) {
+				fCanceled = fMonitor.isCanceled();
+			}
+			return fCanceled;
+		}
+	}
+
+	private FragmentQueryRunner() {
+	}
+
+	/**
+	 * Returns the average duration of a query from which on the fragments are queried concurrently.
+	 */
+	public static long getConcurrencyThreshold() {
+		return sConcurrencyThreshold;
+	}
+
+	/**
+	 * Changes the average duration of a query from which on the fragments are queried
+	 * concurrently. For testing purposes only.
+	 */
+	public static void setConcurrencyThreshold(long nanos) {
+		sConcurrencyThreshold = nanos;
+	}
+
+	/**
+	 * Checks whether the given number of queries of the given kind are run concurrently.
+	 */
+	public static boolean isConcurrent(int taskCount, QueryCost cost) {
+		return taskCount > 1 && MAX_THREADS > 0 && cost.getAverageNanos() >= sConcurrencyThreshold
+				&& CPPSemantics.getCurrentLookupPoint() == null;
+	}
+
+	/**
+	 * Runs the tasks and returns their results in the order of the tasks.
+	 *
+	 * @param tasks the tasks to run
+	 * @param concurrently whether the tasks may run on other threads than the calling one, see
+	 *     {@link #isConcurrent(int, QueryCost)}
+	 * @param cost the cost of this kind of query, updated with the measured durations of the tasks
+	 * @param monitor the monitor of the caller, or {@code null}
+	 * @throws CoreException the exception of the first task that failed, after all tasks are completed.
+	 */
+	public static <T> List<T> run(List<Task<T>> tasks, boolean concurrently, QueryCost cost,
+			IProgressMonitor monitor) throws CoreException {
+		final int size = tasks.size();
+		if (!concurrently || size < 2 || MAX_THREADS < 1 || CPPSemantics.getCurrentLookupPoint() != null) {
+			final List<T> results = new ArrayList<>(size);
+			final IProgressMonitor taskMonitor = monitor != null ? monitor : new NullProgressMonitor();
+			for (Task<T> task : tasks) {
+				long start = System.nanoTime();
+				results.add(task.call(taskMonitor));
+				cost.record(System.nanoTime() - start);
+			}
+			return results;
+		}
+
+		final Thread caller = Thread.currentThread();
+		final boolean promiscuous = CPPSemantics.isUsingPromiscuousBindingResolution();
+		final TaskMonitor taskMonitor = new TaskMonitor(monitor);
+		final List<Callable<T>> callables = new ArrayList<>(size);
+		for (Task<T> task : tasks) {
+			callables.add(() -> {
+				final boolean onPool = Thread.currentThread() != caller;
+				if (onPool && promiscuous)
+					CPPSemantics.enablePromiscuousBindingResolution();
+				long start = System.nanoTime();
+				try {
+					return task.call(taskMonitor);
+				} finally {
+					cost.record(System.nanoTime() - start);
+					if (onPool && promiscuous)
+						CPPSemantics.disablePromiscuousBindingResolution();
+				}
+			});
+		}
+		try {
+			// Pass on the cancellation to the tasks running on the pool.
+			return ConcurrentTasks.invokeAll(POOL, callables, taskMonitor::isCanceled);
+		} catch (ExecutionException e) {
+			Throwable failure = e.getCause();
+			if (failure instanceof CoreException)
+				throw (CoreException) failure;
+			if (failure instanceof RuntimeException)
+				throw (RuntimeException) failure;
+			if (failure instanceof Error)
+				throw (Error) failure;
+			throw new IllegalStateException(failure);
+		}
+	}
+}
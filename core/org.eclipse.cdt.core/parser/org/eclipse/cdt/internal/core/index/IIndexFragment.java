@@ -25,6 +25,7 @@ import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexLinkage;
 import org.eclipse.cdt.core.index.IIndexMacro;
+import org.eclipse.cdt.core.index.IIndexNameCursor;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.core.runtime.CoreException;
@@ -226,6 +227,16 @@ public interface IIndexFragment {
 	 */
 	IIndexFragmentName[] findNames(IBinding binding, int flags) throws CoreException;
 
+	/**
+	 * Creates a cursor over the names that resolve to the given binding. The names returned by the
+	 * cursor are {@link IIndexFragmentName}s.
+	 * @see IIndex#createNameCursor(IBinding, int, IProgressMonitor)
+	 */
+	default IIndexNameCursor createNameCursor(IBinding binding, int flags, IProgressMonitor monitor)
+			throws CoreException {
+		return new ArrayNameCursor(findNames(binding, flags), monitor);
+	}
+
 	/**
 	 * Acquires a read lock.
 	 * @throws InterruptedException
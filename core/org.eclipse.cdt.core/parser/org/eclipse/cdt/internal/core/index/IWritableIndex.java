@@ -173,6 +173,17 @@ public interface IWritableIndex extends IIndex {
 	 */
 	long getDatabaseSizeBytes();
 
+	/**
+	 * Returns the number of chunks of the database held by the chunk cache.
+	 */
+	int getCachedChunkCount();
+
+	/**
+	 * Returns the number of chunks of the database evicted from the chunk cache since last reset
+	 * of counters.
+	 */
+	long getCacheEvictions();
+
 	/**
 	 * Clears the result cache, caller needs to hold a write-lock.
 	 */
@@ -118,4 +118,15 @@ public interface IWritableIndexFragment extends IIndexFragment {
 	 * @return the size of the database in bytes
 	 */
 	long getDatabaseSizeBytes();
+
+	/**
+	 * @return the number of chunks of the database currently held by the chunk cache
+	 */
+	int getCachedChunkCount();
+
+	/**
+	 * @return the number of chunks of the database evicted from the chunk cache since the last
+	 *     reset of the cache counters
+	 */
+	long getCacheEvictions();
 }
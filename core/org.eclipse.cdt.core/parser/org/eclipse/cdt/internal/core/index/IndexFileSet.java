@@ -26,6 +26,7 @@ import org.eclipse.cdt.core.index.IIndexBinding;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexFileSet;
+import org.eclipse.cdt.internal.core.parser.util.LongSet;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.PDOMFileSet;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
@@ -97,7 +98,7 @@ public class IndexFileSet implements IIndexFileSet {
 					PDOMFileSet pdomFileSet = (PDOMFileSet) fragmentFileSet;
 					Database db = pdom.getDB();
 					IRecordIterator nameIterator = pdom.getDeclarationsDefintitionsRecordIterator(binding);
-					Set<Long> visited = null;
+					LongSet visited = null;
 					long nameRecord;
 					while ((nameRecord = nameIterator.next()) != 0) {
 						if (visited != null && !visited.add(nameRecord)) {
@@ -117,7 +118,7 @@ public class IndexFileSet implements IIndexFileSet {
 						if (iterationCount >= 1000 && visited == null) {
 							// Iteration count is suspiciously high. Start keeping track of visited names
 							// to be able to detect a cycle.
-							visited = new HashSet<>();
+							visited = new LongSet();
 							visited.add(nameRecord);
 						}
 					}
@@ -174,6 +174,16 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 		return getWritableFragment().getDatabaseSizeBytes();
 	}
 
+	@Override
+	public int getCachedChunkCount() {
+		return getWritableFragment().getCachedChunkCount();
+	}
+
+	@Override
+	public long getCacheEvictions() {
+		return getWritableFragment().getCacheEvictions();
+	}
+
 	@Override
 	public void transferIncluders(IIndexFragmentFile source, IIndexFragmentFile target) throws CoreException {
 		if (source == null || target == null)
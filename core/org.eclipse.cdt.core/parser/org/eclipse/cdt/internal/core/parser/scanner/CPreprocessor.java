@@ -364,7 +364,8 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 
 	private char[] detectIncludeGuard(String filePath, AbstractCharArray source, ScannerContext ctx) {
 		if (!fFileContentProvider.shouldIndexAllHeaderVersions(filePath)) {
-			final char[] guard = IncludeGuardDetection.detectIncludeGuard(source, fLexOptions, fPPKeywords);
+			final char[] guard = IncludeGuardCache.getSharedInstance().detectIncludeGuard(source, fLexOptions,
+					fPPKeywords);
 			if (guard != null) {
 				IFileNomination nom = fLocationMap.reportPragmaOnceSemantics(ctx.getLocationCtx());
 				fFileContentProvider.reportPragmaOnceSemantics(filePath, nom);
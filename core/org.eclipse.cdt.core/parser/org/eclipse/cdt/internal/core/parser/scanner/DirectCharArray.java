@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Implementation of char array for a file consisting of ASCII characters only, backed by a copy
+ * of the file in a direct byte buffer. Each byte is a character, no decoding is needed and the
+ * content does not occupy memory on the heap.
+ * <p>
+ * The file is copied rather than memory mapped, a mapped file that is truncated while it is in
+ * use would crash the parser at an arbitrary point instead of failing with an I/O error.
+ */
+public final class DirectCharArray extends AbstractCharArray {
+	private final ByteBuffer fBuffer;
+	private final int fOffset;
+	private final int fLength;
+	private long fHash64;
+
+	/**
+	 * Reads the given number of bytes from the current position of the channel into a direct
+	 * buffer.
+	 *
+	 * @param size the size of the file.
+	 * @param charSet the charset of the file, it has to be compatible with ASCII.
+	 * @return the char array, or {@code null} if the file does not consist of ASCII characters
+	 *     only or there is not enough direct memory.
+	 * @throws IOException if the file cannot be read, e.g. because it has been truncated.
+	 */
+	public static DirectCharArray create(FileChannel channel, int size, String charSet) throws IOException {
+		ByteBuffer buffer;
+		try {
+			buffer = ByteBuffer.allocateDirect(size);
+		} catch (OutOfMemoryError e) {
+			// The direct memory is exhausted, the file is read into chunks on the heap instead.
+			return null;
+		}
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0)
+				throw new IOException("File was truncated while being read"); //$NON-NLS-1$
+		}
+		buffer.flip();
+		FileCharArray.skipUTF8ByteOrderMark(buffer, charSet);
+		if (!isAscii(buffer, buffer.position()))
+			return null;
+		return new DirectCharArray(buffer, buffer.position());
+	}
+
+	/**
+	 * @param buffer the contents of the file, must consist of bytes smaller than 0x80.
+	 * @param offset the offset of the first character in the buffer, e.g. after a byte order mark.
+	 */
+	private DirectCharArray(ByteBuffer buffer, int offset) {
+		fBuffer = buffer;
+		fOffset = offset;
+		fLength = buffer.limit() - offset;
+	}
+
+	@Override
+	public int tryGetLength() {
+		return fLength;
+	}
+
+	@Override
+	public int getLength() {
+		return fLength;
+	}
+
+	@Override
+	public boolean isValidOffset(int offset) {
+		return offset < fLength;
+	}
+
+	@Override
+	public char get(int offset) {
+		return (char) fBuffer.get(fOffset + offset);
+	}
+
+	@Override
+	public void arraycopy(int offset, char[] destination, int destinationPos, int length) {
+		final int start = fOffset + offset;
+		for (int i = 0; i < length; i++) {
+			destination[destinationPos + i] = (char) fBuffer.get(start + i);
+		}
+	}
+
+	@Override
+	public boolean hasError() {
+		return false;
+	}
+
+	@Override
+	public long getContentsHash() {
+		if (fHash64 == 0 && fLength != 0) {
+			// Hash the characters in chunks of the same size as LazyCharArray, the hash does not
+			// depend on the partitioning though.
+			StreamHasher hasher = new StreamHasher();
+			for (int offset = 0; offset < fLength; offset += LazyCharArray.CHUNK_SIZE) {
+				char[] chunk = new char[Math.min(LazyCharArray.CHUNK_SIZE, fLength - offset)];
+				arraycopy(offset, chunk, 0, chunk.length);
+				hasher.addChunk(chunk);
+			}
+			fHash64 = hasher.computeHash();
+		}
+		return fHash64;
+	}
+
+	/**
+	 * Returns whether all bytes from the given position to the limit of the buffer are smaller
+	 * than 0x80.
+	 */
+	static boolean isAscii(ByteBuffer buffer, int position) {
+		final int limit = buffer.limit();
+		int i = position;
+		// Check eight bytes at a time.
+		for (; i + 8 <= limit; i += 8) {
+			if ((buffer.getLong(i) & 0x8080808080808080L) != 0)
+				return false;
+		}
+		for (; i < limit; i++) {
+			if (buffer.get(i) < 0)
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Cache of the names contained in the directories searched for included files. Resolving an
+ * include probes the same file name in every directory of the include search path, with the
+ * cache each probe is a hash lookup in the listing of the directory rather than a request to
+ * the file system. The listings are shared by the indexer and the parsers of the editors and
+ * can be saved to and loaded from disk.
+ * <p>
+ * A listing is invalidated when the time stamp of its directory changes, which happens whenever
+ * an entry is added to or removed from the directory. Since checking the time stamp costs a
+ * request to the file system as well, the time stamps are checked by a {@link Session} only the
+ * first time the session looks into a directory.
+ * <p>
+ * The listings are softly referenced, the garbage collector may discard them when memory is low.
+ */
+public final class DirectoryListingCache {
+	private static final boolean CASE_INSENSITIVE_FILE_SYSTEM = new File("a").equals(new File("A")); //$NON-NLS-1$//$NON-NLS-2$
+	private static final int VERSION = 1;
+	private static final int MAX_DIRECTORIES = 20000;
+	/**
+	 * Listings made shortly after the last modification of a directory are not trusted, the time
+	 * stamp of the directory may not change when entries are added within its resolution.
+	 */
+	private static final long TIMESTAMP_RESOLUTION = 2000;
+
+	private static final byte UNKNOWN = 0;
+	private static final byte FILE = 1;
+	private static final byte DIRECTORY = 2;
+
+	private static final DirectoryListingCache sSharedInstance = new DirectoryListingCache();
+
+	private static final class Listing {
+		final long fLastModified;
+		final long fListedAt;
+		final String[] fNames;
+		// Types of the entries, computed on demand. Concurrent writes store the same value.
+		final byte[] fTypes;
+		private Map<String, Integer> fIndex;
+		private Map<String, Integer> fUpperCaseIndex;
+
+		Listing(long lastModified, long listedAt, String[] names, byte[] types) {
+			fLastModified = lastModified;
+			fListedAt = listedAt;
+			fNames = names;
+			fTypes = types;
+		}
+
+		boolean isUpToDate(long lastModified) {
+			return lastModified == fLastModified && fListedAt - fLastModified > TIMESTAMP_RESOLUTION;
+		}
+
+		synchronized int indexOf(String name, boolean caseInsensitive) {
+			Map<String, Integer> index = caseInsensitive ? fUpperCaseIndex : fIndex;
+			if (index == null) {
+				index = new HashMap<>(fNames.length * 2);
+				for (int i = 0; i < fNames.length; i++) {
+					index.put(caseInsensitive ? fNames[i].toUpperCase(Locale.ROOT) : fNames[i], i);
+				}
+				if (caseInsensitive) {
+					fUpperCaseIndex = index;
+				} else {
+					fIndex = index;
+				}
+			}
+			Integer idx = index.get(caseInsensitive ? name.toUpperCase(Locale.ROOT) : name);
+			return idx == null ? -1 : idx.intValue();
+		}
+	}
+
+	/**
+	 * A view of the cache that checks the time stamp of a directory once, it shall be used for a
+	 * limited amount of time only, e.g. one indexer task or the parsing of one translation unit.
+	 * Sessions are not thread-safe.
+	 */
+	public final class Session {
+		private final Map<String, Listing> fChecked = new HashMap<>();
+		private final boolean fCaseInsensitive;
+
+		Session(boolean caseInsensitive) {
+			fCaseInsensitive = caseInsensitive;
+		}
+
+		/**
+		 * Returns whether the given path denotes an existing file.
+		 */
+		public boolean isFile(File file) {
+			return getType(file) == FILE;
+		}
+
+		/**
+		 * Returns whether the given path denotes an existing file or directory.
+		 */
+		public boolean exists(File file) {
+			return getType(file) != UNKNOWN;
+		}
+
+		private byte getType(File file) {
+			String parent = file.getParent();
+			if (parent == null)
+				return file.exists() ? DIRECTORY : UNKNOWN;
+
+			Listing listing = fChecked.get(parent);
+			if (listing == null) {
+				listing = getListing(parent);
+				fChecked.put(parent, listing);
+			}
+			int idx = listing.indexOf(file.getName(), fCaseInsensitive);
+			if (idx < 0)
+				return UNKNOWN;
+			byte type = listing.fTypes[idx];
+			if (type == UNKNOWN) {
+				if (file.isFile()) {
+					type = FILE;
+				} else if (file.isDirectory()) {
+					type = DIRECTORY;
+				} else {
+					// Removed since the directory was listed.
+					return UNKNOWN;
+				}
+				listing.fTypes[idx] = type;
+				fModified = true;
+			}
+			return type;
+		}
+	}
+
+	private final Map<String, SoftReference<Listing>> fListings = new ConcurrentHashMap<>();
+	private volatile boolean fModified;
+	private int fListCount;
+
+	public static DirectoryListingCache getSharedInstance() {
+		return sSharedInstance;
+	}
+
+	/**
+	 * Returns whether the file system of the local host treats file names case-insensitively.
+	 * On macOS this is assumed, although {@link File#equals(Object)} compares names case-sensitively.
+	 */
+	public static boolean isFileSystemCaseInsensitive() {
+		if (Platform.OS_MACOSX.equals(Platform.getOS()))
+			return true;
+		return CASE_INSENSITIVE_FILE_SYSTEM;
+	}
+
+	/**
+	 * Creates a session for looking up files, see {@link Session}.
+	 */
+	public Session createSession(boolean caseInsensitive) {
+		return new Session(caseInsensitive);
+	}
+
+	private Listing getListing(String directory) {
+		long lastModified = new File(directory).lastModified();
+		SoftReference<Listing> ref = fListings.get(directory);
+		Listing listing = ref != null ? ref.get() : null;
+		if (listing != null && listing.isUpToDate(lastModified))
+			return listing;
+
+		long listedAt = System.currentTimeMillis();
+		String[] names = new File(directory).list();
+		if (names == null) {
+			names = new String[0];
+		}
+		listing = new Listing(lastModified, listedAt, names, new byte[names.length]);
+		if (fListings.size() >= MAX_DIRECTORIES) {
+			fListings.clear();
+		}
+		fListings.put(directory, new SoftReference<>(listing));
+		fModified = true;
+		synchronized (this) {
+			fListCount++;
+		}
+		return listing;
+	}
+
+	public int size() {
+		return fListings.size();
+	}
+
+	/**
+	 * Returns the number of directories that have been listed, for testing purposes.
+	 */
+	public synchronized int getListCount() {
+		return fListCount;
+	}
+
+	public void clear() {
+		fListings.clear();
+		fModified = false;
+	}
+
+	/**
+	 * Loads the listings stored in the given file. Unreadable or outdated files are ignored.
+	 */
+	public void load(File file) throws IOException {
+		if (!file.isFile())
+			return;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION)
+				return;
+			int count = Math.min(in.readInt(), MAX_DIRECTORIES);
+			for (int i = 0; i < count; i++) {
+				String directory = in.readUTF();
+				long lastModified = in.readLong();
+				long listedAt = in.readLong();
+				int length = in.readInt();
+				String[] names = new String[length];
+				byte[] types = new byte[length];
+				for (int j = 0; j < length; j++) {
+					names[j] = in.readUTF();
+					types[j] = in.readByte();
+				}
+				fListings.putIfAbsent(directory, new SoftReference<>(new Listing(lastModified, listedAt, names, types)));
+			}
+		}
+	}
+
+	/**
+	 * Stores the listings in the given file, if the cache has changed since it was loaded or saved.
+	 * The listings are written to a temporary file that replaces the given one, such that a crash
+	 * while saving does not leave a truncated file behind.
+	 */
+	public void save(File file) throws IOException {
+		if (!fModified)
+			return;
+		fModified = false;
+		File tmp = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			write(tmp);
+			try {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			fModified = true;
+			tmp.delete();
+			throw e;
+		}
+	}
+
+	private void write(File file) throws IOException {
+		Map<String, Listing> listings = new HashMap<>();
+		for (Map.Entry<String, SoftReference<Listing>> entry : fListings.entrySet()) {
+			Listing listing = entry.getValue().get();
+			if (listing != null) {
+				listings.put(entry.getKey(), listing);
+			}
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeInt(listings.size());
+			for (Map.Entry<String, Listing> entry : listings.entrySet()) {
+				Listing listing = entry.getValue();
+				out.writeUTF(entry.getKey());
+				out.writeLong(listing.fLastModified);
+				out.writeLong(listing.fListedAt);
+				out.writeInt(listing.fNames.length);
+				for (int j = 0; j < listing.fNames.length; j++) {
+					out.writeUTF(listing.fNames[j]);
+					out.writeByte(listing.fTypes[j]);
+				}
+			}
+		}
+	}
+}
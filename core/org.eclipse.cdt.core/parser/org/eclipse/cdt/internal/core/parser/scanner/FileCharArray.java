@@ -24,6 +24,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 
 import org.eclipse.cdt.core.CCorePlugin;
 
@@ -32,6 +33,13 @@ import org.eclipse.cdt.core.CCorePlugin;
  */
 public class FileCharArray extends LazyCharArray {
 	private static final String UTF8_CHARSET_NAME = "UTF-8"; //$NON-NLS-1$
+	/**
+	 * Large files consisting of ASCII characters are copied to direct buffers rather than read
+	 * into chunks. The direct memory available to the virtual machine is limited and released
+	 * only by the garbage collector, therefore this is off by default.
+	 */
+	private static final boolean USE_DIRECT_BUFFERS = Boolean
+			.getBoolean("org.eclipse.cdt.core.parser.scanner.directBuffers"); //$NON-NLS-1$
 
 	public static AbstractCharArray create(String fileName, String charSet, InputStream in) throws IOException {
 		// No support for non-local files.
@@ -44,26 +52,67 @@ public class FileCharArray extends LazyCharArray {
 		}
 		FileChannel channel = fis.getChannel();
 		final long lsize = channel.size();
+		final boolean asciiCompatible = isAsciiCompatible(charSet);
 		if (lsize < CHUNK_SIZE) {
-			return decodeSmallFile(channel, (int) lsize, charSet);
+			return decodeSmallFile(channel, (int) lsize, charSet, asciiCompatible);
+		}
+		if (USE_DIRECT_BUFFERS && asciiCompatible && lsize <= Integer.MAX_VALUE) {
+			DirectCharArray result = DirectCharArray.create(channel, (int) lsize, charSet);
+			if (result != null)
+				return result;
 		}
 
-		return new FileCharArray(fileName, charSet);
+		return new FileCharArray(fileName, charSet, asciiCompatible);
 	}
 
-	private static AbstractCharArray decodeSmallFile(FileChannel channel, int lsize, String charSet)
-			throws IOException {
+	private static AbstractCharArray decodeSmallFile(FileChannel channel, int lsize, String charSet,
+			boolean asciiCompatible) throws IOException {
 		ByteBuffer byteBuffer = ByteBuffer.allocate(lsize);
 		channel.read(byteBuffer);
 		byteBuffer.flip();
 		skipUTF8ByteOrderMark(byteBuffer, charSet);
 
+		if (asciiCompatible) {
+			char[] buf = decodeAscii(byteBuffer);
+			if (buf != null)
+				return new CharArray(buf);
+		}
 		CharBuffer charBuffer = Charset.forName(charSet).decode(byteBuffer);
 		char[] buf = extractChars(charBuffer);
 		return new CharArray(buf);
 	}
 
-	private static void skipUTF8ByteOrderMark(ByteBuffer buf, String charset) {
+	/**
+	 * Returns whether the characters 0 to 127 of the charset are encoded as single bytes with the
+	 * same value, and bytes smaller than 0x80 do not occur as parts of other characters.
+	 */
+	private static boolean isAsciiCompatible(String charSet) {
+		try {
+			Charset charset = Charset.forName(charSet);
+			return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+					|| charset.equals(StandardCharsets.ISO_8859_1);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Converts the remaining bytes of the buffer to characters, provided they are all smaller than
+	 * 0x80. Otherwise returns {@code null} and leaves the buffer unchanged.
+	 */
+	private static char[] decodeAscii(ByteBuffer in) {
+		final int position = in.position();
+		if (!DirectCharArray.isAscii(in, position))
+			return null;
+		final char[] chars = new char[in.remaining()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = (char) in.get(position + i);
+		}
+		in.position(in.limit());
+		return chars;
+	}
+
+	static void skipUTF8ByteOrderMark(ByteBuffer buf, String charset) {
 		if (charset.equals(UTF8_CHARSET_NAME) && buf.remaining() >= 3) {
 			int pos = buf.position();
 			if (buf.get(pos) == (byte) 0xEF && buf.get(++pos) == (byte) 0xBB && buf.get(++pos) == (byte) 0xBF) {
@@ -85,15 +134,17 @@ public class FileCharArray extends LazyCharArray {
 
 	private final String fFileName;
 	private final String fCharSet;
+	private final boolean fAsciiCompatible;
 	private boolean fHasError;
 	private FileChannel fChannel;
 	private long fNextFileOffset;
 	private int fNextCharOffset;
 	private boolean fReachedEOF;
 
-	private FileCharArray(String fileName, String charSet) {
+	private FileCharArray(String fileName, String charSet, boolean asciiCompatible) {
 		fFileName = fileName;
 		fCharSet = charSet;
+		fAsciiCompatible = asciiCompatible;
 	}
 
 	@Override
@@ -133,21 +184,43 @@ public class FileCharArray extends LazyCharArray {
 			final ByteBuffer in = ByteBuffer.allocate(needBytes);
 			final CharBuffer dest = CharBuffer.allocate(CHUNK_SIZE);
 
-			boolean eof;
-			CoderResult result;
 			long fileOffset = fNextFileOffset;
-			do {
+			if (fAsciiCompatible) {
+				// Every byte may be a character, such that the chunk cannot be larger.
+				in.limit(CHUNK_SIZE);
+			}
+			fChannel.position(fileOffset);
+			fChannel.read(in);
+			boolean eof = in.remaining() > 0;
+			in.flip();
+			if (fileOffset == 0) {
+				skipUTF8ByteOrderMark(in, fCharSet);
+			}
+			if (fAsciiCompatible && in.hasRemaining()) {
+				final char[] chars = decodeAscii(in);
+				if (chars != null) {
+					fileOffset += in.limit();
+					Chunk chunk = newChunk(fNextFileOffset, fileOffset, fNextCharOffset, chars);
+					fNextFileOffset = fileOffset;
+					fNextCharOffset += chars.length;
+					fReachedEOF = eof;
+					return chunk;
+				}
+			}
+
+			// Decode the bytes that have been read, more are read only for a character that
+			// is split at the end of the buffer.
+			CoderResult result = decoder.decode(in, dest, eof);
+			fileOffset += in.position();
+			while (result == CoderResult.UNDERFLOW && !eof) {
 				in.clear();
 				fChannel.position(fileOffset);
 				fChannel.read(in);
 				eof = in.remaining() > 0;
 				in.flip();
-				if (fileOffset == 0) {
-					skipUTF8ByteOrderMark(in, fCharSet);
-				}
 				result = decoder.decode(in, dest, eof);
 				fileOffset += in.position();
-			} while (result == CoderResult.UNDERFLOW && !eof);
+			}
 
 			dest.flip();
 			if (dest.remaining() == 0) {
@@ -210,6 +283,13 @@ public class FileCharArray extends LazyCharArray {
 		if (fileOffset == 0) {
 			skipUTF8ByteOrderMark(in, fCharSet);
 		}
+		if (fAsciiCompatible) {
+			final char[] chars = decodeAscii(in);
+			if (chars != null) {
+				dest.put(chars, 0, Math.min(chars.length, dest.remaining()));
+				return;
+			}
+		}
 		decoder.decode(in, dest, true);
 	}
 
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.core.parser.util.CharArrayIntMap;
+
+/**
+ * Cache of include guards keyed by the contents of header files. Detecting the include guard of
+ * a header requires lexing the entire file, the result depends only on the contents of the file
+ * and the lexer options. The cache is shared by all translation units and can be saved to and
+ * loaded from disk, such that the detection is done once per version of a header rather than
+ * every time the header is parsed in a new macro context.
+ * <p>
+ * This saves only the extra lexing pass of the detection. The preprocessor still lexes a header
+ * every time it is parsed from source. Lexing happens before macro expansion, so the tokens would
+ * not depend on the macro context either, but they are not cached: the preprocessor drives the
+ * lexer from the directives it processes (header names, skipped conditional code), which a cached
+ * token stream would have to reproduce.
+ */
+public final class IncludeGuardCache {
+	private static final int VERSION = 1;
+	private static final int MAX_ENTRIES = 50000;
+	private static final char[] NO_GUARD = {};
+
+	private static final IncludeGuardCache sSharedInstance = new IncludeGuardCache();
+
+	private static final class Key {
+		final long fContentsHash;
+		final int fLength;
+		final int fOptions;
+
+		Key(long contentsHash, int length, int options) {
+			fContentsHash = contentsHash;
+			fLength = length;
+			fOptions = options;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (fContentsHash ^ (fContentsHash >>> 32)) * 31 + fLength;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return fContentsHash == other.fContentsHash && fLength == other.fLength && fOptions == other.fOptions;
+		}
+	}
+
+	private final Map<Key, char[]> fGuards = new ConcurrentHashMap<>();
+	private volatile boolean fModified;
+	private final AtomicInteger fDetectionCount = new AtomicInteger();
+
+	public static IncludeGuardCache getSharedInstance() {
+		return sSharedInstance;
+	}
+
+	/**
+	 * Returns the include guard of the given file contents, or {@code null} if the file does not
+	 * have an include guard. Computes the include guard when it is not cached.
+	 */
+	public char[] detectIncludeGuard(AbstractCharArray content, Lexer.LexerOptions lexOptions,
+			CharArrayIntMap ppKeywords) {
+		if (content.hasError()) {
+			return IncludeGuardDetection.detectIncludeGuard(content, lexOptions, ppKeywords);
+		}
+		Key key = new Key(content.getContentsHash(), content.getLength(), encodeOptions(lexOptions));
+		char[] guard = fGuards.get(key);
+		if (guard == null) {
+			guard = IncludeGuardDetection.detectIncludeGuard(content, lexOptions, ppKeywords);
+			fDetectionCount.incrementAndGet();
+			if (fGuards.size() >= MAX_ENTRIES) {
+				fGuards.clear();
+			}
+			fGuards.put(key, guard == null ? NO_GUARD : guard);
+			fModified = true;
+			return guard;
+		}
+		return guard == NO_GUARD ? null : guard;
+	}
+
+	private static int encodeOptions(Lexer.LexerOptions options) {
+		int result = 0;
+		if (options.fSupportDollarInIdentifiers)
+			result |= 0x1;
+		if (options.fSupportAtSignInIdentifiers)
+			result |= 0x2;
+		if (options.fSupportMinAndMax)
+			result |= 0x4;
+		if (options.fSupportSlashPercentComments)
+			result |= 0x8;
+		if (options.fSupportUTFLiterals)
+			result |= 0x10;
+		if (options.fSupportRawStringLiterals)
+			result |= 0x20;
+		if (options.fSupportUserDefinedLiterals)
+			result |= 0x40;
+		if (options.fSupportDigitSeparators)
+			result |= 0x80;
+		return result;
+	}
+
+	public int size() {
+		return fGuards.size();
+	}
+
+	/**
+	 * Returns the number of include guards that have been detected rather than taken from the
+	 * cache, for testing purposes.
+	 */
+	public int getDetectionCount() {
+		return fDetectionCount.get();
+	}
+
+	public void clear() {
+		fGuards.clear();
+		fModified = false;
+	}
+
+	/**
+	 * Loads the entries stored in the given file. Unreadable or outdated files are ignored.
+	 */
+	public void load(File file) throws IOException {
+		if (!file.isFile())
+			return;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION)
+				return;
+			int count = Math.min(in.readInt(), MAX_ENTRIES);
+			for (int i = 0; i < count; i++) {
+				long hash = in.readLong();
+				int length = in.readInt();
+				int options = in.readInt();
+				String guard = in.readUTF();
+				fGuards.putIfAbsent(new Key(hash, length, options),
+						guard.isEmpty() ? NO_GUARD : guard.toCharArray());
+			}
+		}
+	}
+
+	/**
+	 * Stores the entries in the given file, if the cache has changed since it was loaded or saved.
+	 * The entries are written to a temporary file that replaces the given one, such that a crash
+	 * while saving does not leave a truncated file behind.
+	 */
+	public void save(File file) throws IOException {
+		if (!fModified)
+			return;
+		fModified = false;
+		File tmp = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			write(tmp);
+			try {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			fModified = true;
+			tmp.delete();
+			throw e;
+		}
+	}
+
+	private void write(File file) throws IOException {
+		Map.Entry<?, ?>[] entries = fGuards.entrySet().toArray(new Map.Entry<?, ?>[0]);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeInt(entries.length);
+			for (Map.Entry<?, ?> entry : entries) {
+				Key key = (Key) entry.getKey();
+				out.writeLong(key.fContentsHash);
+				out.writeInt(key.fLength);
+				out.writeInt(key.fOptions);
+				out.writeUTF(new String((char[]) entry.getValue()));
+			}
+		}
+	}
+}
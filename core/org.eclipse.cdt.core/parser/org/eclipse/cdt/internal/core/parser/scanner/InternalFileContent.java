@@ -22,6 +22,7 @@ import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.FileContent;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies;
 
 /**
  * Instructs the preprocessor on how to handle a file-inclusion.
@@ -69,6 +70,7 @@ public class InternalFileContent extends FileContent {
 	private ITranslationUnit fTranslationUnit;
 	private List<IIndexFile> fFiles;
 	private IncludeSearchPathElement fFoundOnPath;
+	private ReusableFunctionBodies fReusableFunctionBodies;
 	private final long fTimestamp;
 	private final long fFileSize;
 	private final long fReadTime;
@@ -303,6 +305,18 @@ public class InternalFileContent extends FileContent {
 		fFoundOnPath = isp;
 	}
 
+	/**
+	 * Returns the function bodies of a previous AST of this file that can be reused by the parser,
+	 * or {@code null}.
+	 */
+	public ReusableFunctionBodies getReusableFunctionBodies() {
+		return fReusableFunctionBodies;
+	}
+
+	public void setReusableFunctionBodies(ReusableFunctionBodies bodies) {
+		fReusableFunctionBodies = bodies;
+	}
+
 	/**
 	 * This method is slow. Use only for debugging.
 	 */
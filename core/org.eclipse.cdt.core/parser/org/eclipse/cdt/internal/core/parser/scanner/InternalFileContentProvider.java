@@ -52,6 +52,7 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 	}
 
 	private IIncludeFileResolutionHeuristics fIncludeResolutionHeuristics;
+	private DirectoryListingCache.Session fDirectoryListings;
 	private final Map<String, IFileNomination> fPragmaOnce = new HashMap<>();
 	private final Map<String, List<ISignificantMacros>> fLoadedVersions = new HashMap<>();
 
@@ -68,7 +69,11 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 			}
 		}
 
-		return new File(path).exists();
+		if (fDirectoryListings == null) {
+			fDirectoryListings = DirectoryListingCache.getSharedInstance().createSession(
+					DirectoryListingCache.isFileSystemCaseInsensitive());
+		}
+		return fDirectoryListings.exists(new File(path));
 	}
 
 	/**
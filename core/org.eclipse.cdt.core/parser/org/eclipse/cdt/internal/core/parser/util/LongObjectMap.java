@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.util;
+
+import java.util.Arrays;
+
+/**
+ * Map from long keys, e.g. database records, to objects. The keys are stored without boxing in an
+ * open addressing hash table with linear probing. Clearing the map keeps the allocated tables,
+ * such that a map can be reused for short-lived contents without allocating again.
+ * <p>
+ * {@code null} values are not supported, {@link #get(long)} returns {@code null} for absent keys.
+ */
+public final class LongObjectMap<V> {
+	private static final int MIN_CAPACITY = 8;
+
+	private long[] fKeys;
+	private Object[] fValues;
+	private Object fZeroValue;
+	private int fSize;
+
+	public LongObjectMap() {
+		this(MIN_CAPACITY / 2);
+	}
+
+	/**
+	 * @param expectedSize the number of entries the map can hold without growing.
+	 */
+	public LongObjectMap(int expectedSize) {
+		int capacity = tableSize(expectedSize);
+		fKeys = new long[capacity];
+		fValues = new Object[capacity];
+	}
+
+	/**
+	 * Returns the capacity of a table, a power of two, that holds the given number of elements.
+	 */
+	static int tableSize(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (maxFill(capacity) < expectedSize) {
+			capacity *= 2;
+		}
+		return capacity;
+	}
+
+	/**
+	 * Returns the maximum number of entries in a table of the given capacity, for a load factor of
+	 * 0.75.
+	 */
+	static int maxFill(int capacity) {
+		return capacity - (capacity >>> 2);
+	}
+
+	static int hash(long key) {
+		// Mix the bits, records are multiples of the block size.
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		if (key == 0)
+			return (V) fZeroValue;
+		final int mask = fKeys.length - 1;
+		int i = hash(key) & mask;
+		long k;
+		while ((k = fKeys[i]) != 0) {
+			if (k == key)
+				return (V) fValues[i];
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	public boolean containsKey(long key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Associates the value with the key.
+	 *
+	 * @return the value previously associated with the key, or {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if (value == null)
+			throw new IllegalArgumentException("null values are not supported"); //$NON-NLS-1$
+		if (key == 0) {
+			Object old = fZeroValue;
+			fZeroValue = value;
+			if (old == null)
+				fSize++;
+			return (V) old;
+		}
+		final int mask = fKeys.length - 1;
+		int i = hash(key) & mask;
+		long k;
+		while ((k = fKeys[i]) != 0) {
+			if (k == key) {
+				Object old = fValues[i];
+				fValues[i] = value;
+				return (V) old;
+			}
+			i = (i + 1) & mask;
+		}
+		fKeys[i] = key;
+		fValues[i] = value;
+		if (++fSize > maxFill(fKeys.length)) {
+			rehash(fKeys.length * 2);
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the entry for the key.
+	 *
+	 * @return the value that was associated with the key, or {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		if (key == 0) {
+			Object old = fZeroValue;
+			if (old != null) {
+				fZeroValue = null;
+				fSize--;
+			}
+			return (V) old;
+		}
+		final int mask = fKeys.length - 1;
+		int i = hash(key) & mask;
+		long k;
+		while ((k = fKeys[i]) != 0) {
+			if (k == key) {
+				Object old = fValues[i];
+				shiftKeys(i);
+				fSize--;
+				return (V) old;
+			}
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	public int size() {
+		return fSize;
+	}
+
+	public boolean isEmpty() {
+		return fSize == 0;
+	}
+
+	/**
+	 * Removes all entries, the capacity of the map is retained.
+	 */
+	public void clear() {
+		if (fSize != 0) {
+			Arrays.fill(fKeys, 0);
+			Arrays.fill(fValues, null);
+			fZeroValue = null;
+			fSize = 0;
+		}
+	}
+
+	/**
+	 * Closes the gap left by a removed entry by moving subsequent entries of the same probe sequence.
+	 */
+	private void shiftKeys(int pos) {
+		final int mask = fKeys.length - 1;
+		int last = pos;
+		int i = (pos + 1) & mask;
+		long k;
+		while ((k = fKeys[i]) != 0) {
+			int slot = hash(k) & mask;
+			// Move the entry if its home slot is not in the cyclic range (last, i].
+			if (last <= i ? (slot <= last || slot > i) : (slot <= last && slot > i)) {
+				fKeys[last] = k;
+				fValues[last] = fValues[i];
+				last = i;
+			}
+			i = (i + 1) & mask;
+		}
+		fKeys[last] = 0;
+		fValues[last] = null;
+	}
+
+	private void rehash(int newCapacity) {
+		final long[] oldKeys = fKeys;
+		final Object[] oldValues = fValues;
+		final int mask = newCapacity - 1;
+		fKeys = new long[newCapacity];
+		fValues = new Object[newCapacity];
+		for (int j = 0; j < oldKeys.length; j++) {
+			long k = oldKeys[j];
+			if (k != 0) {
+				int i = hash(k) & mask;
+				while (fKeys[i] != 0) {
+					i = (i + 1) & mask;
+				}
+				fKeys[i] = k;
+				fValues[i] = oldValues[j];
+			}
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of long values, e.g. database records, stored without boxing in an open addressing hash
+ * table with linear probing. Clearing the set keeps the allocated table, such that a set can be
+ * reused for short-lived contents without allocating again.
+ */
+public final class LongSet {
+	private static final int MIN_CAPACITY = 8;
+
+	private long[] fKeys;
+	private boolean fContainsZero;
+	private int fSize;
+
+	public LongSet() {
+		this(MIN_CAPACITY / 2);
+	}
+
+	/**
+	 * @param expectedSize the number of elements the set can hold without growing.
+	 */
+	public LongSet(int expectedSize) {
+		fKeys = new long[LongObjectMap.tableSize(expectedSize)];
+	}
+
+	/**
+	 * Adds the value to the set.
+	 *
+	 * @return {@code true} if the set did not already contain the value.
+	 */
+	public boolean add(long value) {
+		if (value == 0) {
+			if (fContainsZero)
+				return false;
+			fContainsZero = true;
+			fSize++;
+			return true;
+		}
+		final int mask = fKeys.length - 1;
+		int i = LongObjectMap.hash(value) & mask;
+		long k;
+		while ((k = fKeys[i]) != 0) {
+			if (k == value)
+				return false;
+			i = (i + 1) & mask;
+		}
+		fKeys[i] = value;
+		if (++fSize > LongObjectMap.maxFill(fKeys.length)) {
+			rehash(fKeys.length * 2);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the value from the set.
+	 *
+	 * @return {@code true} if the set contained the value.
+	 */
+	public boolean remove(long value) {
+		if (value == 0) {
+			if (!fContainsZero)
+				return false;
+			fContainsZero = false;
+			fSize--;
+			return true;
+		}
+		final int mask = fKeys.length - 1;
+		int i = LongObjectMap.hash(value) & mask;
+		long k;
+		while ((k = fKeys[i]) != 0) {
+			if (k == value) {
+				shiftKeys(i);
+				fSize--;
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	public boolean contains(long value) {
+		if (value == 0)
+			return fContainsZero;
+		final int mask = fKeys.length - 1;
+		int i = LongObjectMap.hash(value) & mask;
+		long k;
+		while ((k = fKeys[i]) != 0) {
+			if (k == value)
+				return true;
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	public int size() {
+		return fSize;
+	}
+
+	public boolean isEmpty() {
+		return fSize == 0;
+	}
+
+	/**
+	 * Removes all values, the capacity of the set is retained.
+	 */
+	public void clear() {
+		if (fSize != 0) {
+			Arrays.fill(fKeys, 0);
+			fContainsZero = false;
+			fSize = 0;
+		}
+	}
+
+	/**
+	 * Returns the values of the set in no particular order.
+	 */
+	public long[] toArray() {
+		long[] result = new long[fSize];
+		int j = 0;
+		if (fContainsZero)
+			j++;
+		for (long k : fKeys) {
+			if (k != 0)
+				result[j++] = k;
+		}
+		return result;
+	}
+
+	/**
+	 * Closes the gap left by a removed key by moving subsequent keys of the same probe sequence.
+	 */
+	private void shiftKeys(int pos) {
+		final int mask = fKeys.length - 1;
+		int last = pos;
+		int i = (pos + 1) & mask;
+		long k;
+		while ((k = fKeys[i]) != 0) {
+			int slot = LongObjectMap.hash(k) & mask;
+			// Move the key if its home slot is not in the cyclic range (last, i].
+			if (last <= i ? (slot <= last || slot > i) : (slot <= last && slot > i)) {
+				fKeys[last] = k;
+				last = i;
+			}
+			i = (i + 1) & mask;
+		}
+		fKeys[last] = 0;
+	}
+
+	private void rehash(int newCapacity) {
+		final long[] oldKeys = fKeys;
+		final int mask = newCapacity - 1;
+		fKeys = new long[newCapacity];
+		for (long k : oldKeys) {
+			if (k != 0) {
+				int i = LongObjectMap.hash(k) & mask;
+				while (fKeys[i] != 0) {
+					i = (i + 1) & mask;
+				}
+				fKeys[i] = k;
+			}
+		}
+	}
+}
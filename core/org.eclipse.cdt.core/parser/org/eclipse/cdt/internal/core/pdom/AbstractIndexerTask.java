@@ -33,6 +33,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -63,6 +67,7 @@ import org.eclipse.cdt.core.parser.IScannerInfo;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.internal.core.ConcurrentTasks;
 import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
@@ -81,6 +86,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
@@ -97,6 +103,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	private static final int MAX_ERRORS = 500;
+	/** Number of files for which a worker thread checks the state on disk in one go */
+	private static final int FILE_STATE_BATCH_SIZE = 64;
 
 	// Order of constants is important. Stronger update types have to precede the weaker ones.
 	private static enum UpdateKind {
@@ -312,6 +320,50 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * The timestamp, size and, if needed, contents hash of a file on disk.
+	 */
+	private static class FileState {
+		final long fLastModified;
+		final int fSizeAndEncodingHashcode;
+		/** The contents hash, only computed if the timestamp or size differ from the index */
+		long fContentsHash;
+		boolean fHasContentsHash;
+
+		FileState(long lastModified, int sizeAndEncodingHashcode) {
+			fLastModified = lastModified;
+			fSizeAndEncodingHashcode = sizeAndEncodingHashcode;
+		}
+	}
+
+	/**
+	 * The file states computed by the worker threads for the files to update.
+	 */
+	private static class FileStateComputation {
+		final Map<IIndexFileLocation, FileState> fStates = new ConcurrentHashMap<>();
+		final List<Future<?>> fBatches = new ArrayList<>();
+		volatile boolean fStopped;
+
+		void awaitBatch(int index) {
+			try {
+				ConcurrentTasks.await(fBatches.get(index), null);
+			} catch (ExecutionException e) {
+				// computeFileState() does not throw.
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		/**
+		 * Skips the files not yet processed and waits until no worker uses the index any more.
+		 */
+		void stop() {
+			fStopped = true;
+			for (int i = 0; i < fBatches.size(); i++) {
+				awaitBatch(i);
+			}
+		}
+	}
+
 	protected enum MessageKind {
 		parsingFileTask, errorWhileParsing, tooManyIndexProblems
 	}
@@ -323,8 +375,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private Set<String> fHeadersToIndexAllVersions = Collections.emptySet();
 	private Pattern fPragmaPrivatePattern;
 	private List<LinkageTask> fRequestsPerLinkage = new ArrayList<>();
-	private Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
-	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
+	private final Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
+	private final Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
 	private Map<IIndexFileLocation, LocationTask> fOneLinkageTasks = new HashMap<>();
 
 	private Object[] fFilesToUpdate;
@@ -338,6 +390,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fTranslationUnitSizeLimit;
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
+	private int fWorkerThreads = 1;
+	/** Parses required sources concurrently, {@code null} unless more than one worker thread is used. */
+	private ExecutorService fParserPool;
+	private final ThreadLocal<InternalFileContentProvider> fWorkerCodeReaderFactory = new ThreadLocal<>();
+	/**
+	 * The state on disk of the files to update, computed by the worker threads while the files
+	 * are extracted, {@code null} if the state is computed on demand.
+	 */
+	private Map<IIndexFileLocation, FileState> fFileStates;
 	private int fSwallowOutOfMemoryError = 5;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
@@ -398,6 +459,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fPragmaPrivatePattern = pattern;
 	}
 
+	/**
+	 * Sets the number of threads used for parsing translation units. With more than one thread
+	 * the required sources are preprocessed and parsed concurrently, while writing to the index
+	 * is still done by the thread running the task.
+	 */
+	public final void setWorkerThreads(int count) {
+		fWorkerThreads = Math.max(1, count);
+	}
+
 	/**
 	 * @see IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)
 	 */
@@ -548,6 +618,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 			fIndex.resetCacheCounters();
 			fIndex.acquireReadLock();
+			if (fWorkerThreads > 1) {
+				fParserPool = createParserPool();
+			}
 
 			try {
 				try {
@@ -625,6 +698,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			} catch (CoreException e) {
 				logException(e);
 			} finally {
+				if (fParserPool != null) {
+					fParserPool.shutdownNow();
+					fParserPool = null;
+				}
 				fIndex.releaseReadLock();
 			}
 		} finally {
@@ -634,6 +711,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	private ExecutorService createParserPool() {
+		return ConcurrentTasks.createPool("C/C++ Indexer Parser", fWorkerThreads); //$NON-NLS-1$
+	}
+
 	private void setResume(boolean value, IProgressMonitor monitor) throws InterruptedException, CoreException {
 		fIndex.acquireWriteLock(monitor);
 		try {
@@ -644,7 +725,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	private void extractFiles(HashMap<Integer, List<IIndexFileLocation>> files, List<IIndexFragmentFile> filesToRemove,
-			IProgressMonitor monitor) throws CoreException {
+			IProgressMonitor monitor) throws CoreException, InterruptedException {
 		final boolean forceAll = (fUpdateFlags & IIndexManager.UPDATE_ALL) != 0;
 		final boolean checkTimestamps = (fUpdateFlags & IIndexManager.UPDATE_CHECK_TIMESTAMPS) != 0;
 		final boolean checkFileContentsHash = (fUpdateFlags & IIndexManager.UPDATE_CHECK_CONTENTS_HASH) != 0;
@@ -654,68 +735,82 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		int forceFirst = fForceNumberFiles;
 		BitSet linkages = new BitSet();
 		SubMonitor progress = SubMonitor.convert(monitor, fFilesToUpdate.length);
-		for (final Object tu : fFilesToUpdate) {
-			progress.split(1);
-			final boolean force = forceAll || --forceFirst >= 0;
-			final IIndexFileLocation ifl = fResolver.resolveFile(tu);
-			if (ifl == null)
-				continue;
-
-			final IIndexFragmentFile[] indexFiles = fIndex.getWritableFiles(ifl);
-			final boolean isSourceUnit = fResolver.isSourceUnit(tu);
-			linkages.clear();
-			final boolean regularContent = isRequiredInIndex(tu, ifl, isSourceUnit);
-			final boolean indexedUnconditionally = fResolver.isIndexedUnconditionally(ifl);
-			if (regularContent || indexedUnconditionally) {
-				// Headers or sources required with a specific linkage.
-				final UpdateKind updateKind = isSourceUnit ? UpdateKind.REQUIRED_SOURCE
-						: regularContent && both ? UpdateKind.REQUIRED_HEADER : UpdateKind.ONE_LINKAGE_HEADER;
-				if (regularContent || indexFiles.length == 0) {
-					AbstractLanguage[] langs = fResolver.getLanguages(tu, fIndexHeadersWithoutContext);
-					for (AbstractLanguage lang : langs) {
-						int linkageID = lang.getLinkageID();
-						boolean foundInLinkage = false;
-						for (int i = 0; i < indexFiles.length; i++) {
-							IIndexFragmentFile ifile = indexFiles[i];
-							if (ifile != null && ifile.getLinkageID() == linkageID && ifile.hasContent()) {
-								foundInLinkage = true;
-								indexFiles[i] = null; // Take the file.
-								boolean update = force || (forceUnresolvedIncludes && ifile.hasUnresolvedInclude())
-										|| isModified(checkTimestamps, checkFileContentsHash, ifl, tu, ifile);
-								if (update && requestUpdate(linkageID, ifl, ifile, tu, updateKind)) {
-									count++;
-									linkages.set(linkageID);
+		FileStateComputation fileStates = null;
+		if (checkTimestamps && !forceAll && fParserPool != null)
+			fileStates = computeFileStatesConcurrently(checkFileContentsHash);
+		try {
+			for (int n = 0; n < fFilesToUpdate.length; n++) {
+				if (fileStates != null && n % FILE_STATE_BATCH_SIZE == 0)
+					fileStates.awaitBatch(n / FILE_STATE_BATCH_SIZE);
+				progress.split(1);
+				final Object tu = fFilesToUpdate[n];
+				final boolean force = forceAll || --forceFirst >= 0;
+				final IIndexFileLocation ifl = fResolver.resolveFile(tu);
+				if (ifl == null)
+					continue;
+
+				final IIndexFragmentFile[] indexFiles = fIndex.getWritableFiles(ifl);
+				final boolean isSourceUnit = fResolver.isSourceUnit(tu);
+				linkages.clear();
+				final boolean regularContent = isRequiredInIndex(tu, ifl, isSourceUnit);
+				final boolean indexedUnconditionally = fResolver.isIndexedUnconditionally(ifl);
+				if (regularContent || indexedUnconditionally) {
+					// Headers or sources required with a specific linkage.
+					final UpdateKind updateKind = isSourceUnit ? UpdateKind.REQUIRED_SOURCE
+							: regularContent && both ? UpdateKind.REQUIRED_HEADER : UpdateKind.ONE_LINKAGE_HEADER;
+					if (regularContent || indexFiles.length == 0) {
+						AbstractLanguage[] langs = fResolver.getLanguages(tu, fIndexHeadersWithoutContext);
+						for (AbstractLanguage lang : langs) {
+							int linkageID = lang.getLinkageID();
+							boolean foundInLinkage = false;
+							for (int i = 0; i < indexFiles.length; i++) {
+								IIndexFragmentFile ifile = indexFiles[i];
+								if (ifile != null && ifile.getLinkageID() == linkageID && ifile.hasContent()) {
+									foundInLinkage = true;
+									indexFiles[i] = null; // Take the file.
+									boolean update = force || (forceUnresolvedIncludes && ifile.hasUnresolvedInclude())
+											|| isModified(checkTimestamps, checkFileContentsHash, ifl, tu, ifile);
+									if (update && requestUpdate(linkageID, ifl, ifile, tu, updateKind)) {
+										count++;
+										linkages.set(linkageID);
+									}
 								}
 							}
-						}
-						if (!foundInLinkage && requestUpdate(linkageID, ifl, null, tu, updateKind)) {
-							linkages.set(linkageID);
-							count++;
+							if (!foundInLinkage && requestUpdate(linkageID, ifl, null, tu, updateKind)) {
+								linkages.set(linkageID);
+								count++;
+							}
 						}
 					}
 				}
-			}
 
-			// Handle other files present in index.
-			for (IIndexFragmentFile ifile : indexFiles) {
-				if (ifile != null) {
-					IIndexInclude ctx = ifile.getParsedInContext();
-					if (ctx == null && !indexedUnconditionally && ifile.hasContent()) {
-						filesToRemove.add(ifile);
-						count++;
-					} else {
-						boolean update = force || (forceUnresolvedIncludes && ifile.hasUnresolvedInclude())
-								|| isModified(checkTimestamps, checkFileContentsHash, ifl, tu, ifile);
-						final int linkageID = ifile.getLinkageID();
-						if (update && requestUpdate(linkageID, ifl, ifile, tu, UpdateKind.OTHER_HEADER)) {
+				// Handle other files present in index.
+				for (IIndexFragmentFile ifile : indexFiles) {
+					if (ifile != null) {
+						IIndexInclude ctx = ifile.getParsedInContext();
+						if (ctx == null && !indexedUnconditionally && ifile.hasContent()) {
+							filesToRemove.add(ifile);
 							count++;
-							linkages.set(linkageID);
+						} else {
+							boolean update = force || (forceUnresolvedIncludes && ifile.hasUnresolvedInclude())
+									|| isModified(checkTimestamps, checkFileContentsHash, ifl, tu, ifile);
+							final int linkageID = ifile.getLinkageID();
+							if (update && requestUpdate(linkageID, ifl, ifile, tu, UpdateKind.OTHER_HEADER)) {
+								count++;
+								linkages.set(linkageID);
+							}
 						}
 					}
 				}
+				for (int lid = linkages.nextSetBit(0); lid >= 0; lid = linkages.nextSetBit(lid + 1)) {
+					addPerLinkage(lid, ifl, files);
+				}
 			}
-			for (int lid = linkages.nextSetBit(0); lid >= 0; lid = linkages.nextSetBit(lid + 1)) {
-				addPerLinkage(lid, ifl, files);
+		} finally {
+			if (fileStates != null) {
+				// The workers read the index, which may be modified afterwards.
+				fileStates.stop();
+				fFileStates = null;
 			}
 		}
 		synchronized (this) {
@@ -754,6 +849,18 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private boolean isModified(boolean checkTimestamps, boolean checkFileContentsHash, IIndexFileLocation ifl,
 			Object tu, IIndexFragmentFile file) throws CoreException {
 		if (checkTimestamps) {
+			FileState state = fFileStates != null ? fFileStates.get(ifl) : null;
+			if (state != null) {
+				if (state.fLastModified != file.getTimestamp()
+						|| state.fSizeAndEncodingHashcode != file.getSizeAndEncodingHashcode()) {
+					if (checkFileContentsHash) {
+						long hash = state.fHasContentsHash ? state.fContentsHash : computeFileContentsHash(tu);
+						return hash != file.getContentsHash();
+					}
+					return true;
+				}
+				return false;
+			}
 			if (fResolver.getLastModified(ifl) != file.getTimestamp()
 					|| computeFileSizeAndEncodingHashcode(ifl) != file.getSizeAndEncodingHashcode()) {
 				if (checkFileContentsHash && computeFileContentsHash(tu) == file.getContentsHash()) {
@@ -765,6 +872,68 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return false;
 	}
 
+	/**
+	 * Starts computing the state on disk of the files to update on the worker threads, in batches
+	 * of {@link #FILE_STATE_BATCH_SIZE} files. The contents of a file are hashed by the worker
+	 * if its timestamp or size differ from one of its versions in the index. The worker threads
+	 * exist only if more than one worker thread is configured, otherwise the state of each file is
+	 * computed on demand while the file is extracted.
+	 * <p>
+	 * Each batch holds its own read lock on the index while reading the versions of its files.
+	 * This does not block, since the indexer thread holds a read lock until the computation is
+	 * stopped.
+	 */
+	private FileStateComputation computeFileStatesConcurrently(boolean checkFileContentsHash) {
+		final Object[] filesToUpdate = fFilesToUpdate;
+		final int forceNumberFiles = fForceNumberFiles;
+		final FileStateComputation computation = new FileStateComputation();
+		fFileStates = computation.fStates;
+		for (int start = 0; start < filesToUpdate.length; start += FILE_STATE_BATCH_SIZE) {
+			final int from = start;
+			final int to = Math.min(start + FILE_STATE_BATCH_SIZE, filesToUpdate.length);
+			computation.fBatches.add(fParserPool.submit(() -> {
+				try {
+					fIndex.acquireReadLock();
+				} catch (InterruptedException e) {
+					// The states of the batch are computed on demand.
+					return;
+				}
+				try {
+					// Forced files are updated regardless of their state.
+					for (int i = Math.max(from, forceNumberFiles); i < to && !computation.fStopped; i++) {
+						computeFileState(filesToUpdate[i], checkFileContentsHash, computation.fStates);
+					}
+				} finally {
+					fIndex.releaseReadLock();
+				}
+			}));
+		}
+		return computation;
+	}
+
+	private void computeFileState(Object tu, boolean checkFileContentsHash,
+			Map<IIndexFileLocation, FileState> fileStates) {
+		try {
+			final IIndexFileLocation ifl = fResolver.resolveFile(tu);
+			if (ifl == null || fileStates.containsKey(ifl))
+				return;
+			FileState state = new FileState(fResolver.getLastModified(ifl), computeFileSizeAndEncodingHashcode(ifl));
+			if (checkFileContentsHash) {
+				for (IIndexFragmentFile ifile : fIndex.getWritableFiles(ifl)) {
+					if (state.fLastModified != ifile.getTimestamp()
+							|| state.fSizeAndEncodingHashcode != ifile.getSizeAndEncodingHashcode()) {
+						state.fContentsHash = computeFileContentsHash(tu);
+						state.fHasContentsHash = true;
+						break;
+					}
+				}
+			}
+			fileStates.put(ifl, state);
+		} catch (CoreException | RuntimeException e) {
+			// The state is computed again when the file is extracted, which reports the problem.
+		}
+	}
+
 	private long computeFileContentsHash(Object tu) {
 		FileContent codeReader = fResolver.getCodeReader(tu);
 		return codeReader != null ? codeReader.getContentsHash() : 0;
@@ -897,17 +1066,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			if (fParserPool != null) {
+				if (!parseRequiredSourcesConcurrently(linkageID, map, filesAtPriority, progress))
+					return;
+			} else {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
 
@@ -979,6 +1153,83 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Parses the required sources on the worker threads, one batch at a time, and writes the ASTs
+	 * of a batch to the index afterwards. The index is not modified while the sources of a batch
+	 * are parsed, a header shared by sources of the same batch is written only once.
+	 *
+	 * @return {@code false} if parsing was interrupted by an urgent task.
+	 */
+	private boolean parseRequiredSourcesConcurrently(int linkageID, LinkageTask map, List<IIndexFileLocation> files,
+			SubMonitor progress) throws CoreException, InterruptedException {
+		List<ParsedFile> batch = new ArrayList<>(fWorkerThreads);
+		for (Iterator<IIndexFileLocation> it = files.iterator(); it.hasNext();) {
+			IIndexFileLocation ifl = it.next();
+			LocationTask locTask = map.find(ifl);
+			if (locTask == null || locTask.isCompleted()) {
+				it.remove();
+			} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				final Object tu = locTask.fTu;
+				batch.add(new ParsedFile(tu, getLanguage(tu, linkageID), ifl, getScannerInfo(linkageID, tu)));
+				if (batch.size() == fWorkerThreads) {
+					if (hasUrgentTasks())
+						return false;
+					parseBatch(map, batch, progress);
+					batch.clear();
+				}
+			}
+		}
+		if (!batch.isEmpty()) {
+			if (hasUrgentTasks())
+				return false;
+			parseBatch(map, batch, progress);
+		}
+		return true;
+	}
+
+	private void parseBatch(LinkageTask map, List<ParsedFile> batch, SubMonitor progress)
+			throws CoreException, InterruptedException {
+		// The workers must not report progress on the monitor of the task, they only check it for
+		// cancellation. The progress is reported when the ASTs are written.
+		final IProgressMonitor workerMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return progress.isCanceled();
+			}
+		};
+		List<Future<?>> futures = new ArrayList<>(batch.size());
+		for (ParsedFile file : batch) {
+			if (fShowActivity) {
+				trace("Indexer: parsing " + getLabel(file.fLocation).toOSString()); //$NON-NLS-1$
+			}
+			futures.add(fParserPool.submit(() -> {
+				InternalFileContentProvider codeReaderFactory = fWorkerCodeReaderFactory.get();
+				if (codeReaderFactory == null) {
+					codeReaderFactory = createCodeReaderFactory(file.fLanguage);
+					fWorkerCodeReaderFactory.set(codeReaderFactory);
+				}
+				file.parse(codeReaderFactory, null, workerMonitor);
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				// The workers read the index, the read lock must be kept until they are done.
+				ConcurrentTasks.await(future, null);
+			} catch (ExecutionException e) {
+				// ParsedFile.parse() records its exceptions.
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		for (ParsedFile file : batch) {
+			LocationTask locTask = map.find(file.fLocation);
+			// The source may have been written to the index while writing an earlier AST of the batch.
+			if (locTask != null && !locTask.isCompleted()) {
+				writeParsedFile(file, null, progress.split(1));
+			}
+		}
+	}
+
 	private void parseVersionInContext(int linkageID, LinkageTask map, IIndexFileLocation ifl,
 			final FileVersionTask versionTask, Object tu, LinkedHashSet<IIndexFile> safeGuard, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
@@ -1083,32 +1334,81 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * A translation unit that is parsed, possibly on a worker thread, before it is written
+	 * to the index.
+	 */
+	private class ParsedFile {
+		final Object fTu;
+		final AbstractLanguage fLanguage;
+		final IIndexFileLocation fLocation;
+		final IScannerInfo fScannerInfo;
+		FileContent fCodeReader;
+		IASTTranslationUnit fAST;
+		long fParsingTime;
+		Throwable fException;
+
+		ParsedFile(Object tu, AbstractLanguage language, IIndexFileLocation ifl, IScannerInfo scannerInfo) {
+			fTu = tu;
+			fLanguage = language;
+			fLocation = ifl;
+			fScannerInfo = scannerInfo;
+		}
+
+		void parse(InternalFileContentProvider codeReaderFactory, FileContext ctx, IProgressMonitor monitor) {
+			long start = System.currentTimeMillis();
+			try {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				fCodeReader = fResolver.getCodeReader(fTu);
+				fAST = createAST(codeReaderFactory, fLanguage, fCodeReader, fScannerInfo, fASTOptions, ctx, monitor);
+			} catch (Throwable e) {
+				fException = e;
+			} finally {
+				fParsingTime = System.currentTimeMillis() - start;
+			}
+		}
+	}
+
 	private DependsOnOutdatedFileException parseFile(Object tu, AbstractLanguage lang, IIndexFileLocation ifl,
 			IScannerInfo scanInfo, FileContext ctx, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
 		SubMonitor progress = SubMonitor.convert(monitor, 21);
-		boolean resultCacheCleared = false;
 		IPath path = getLabel(ifl);
+		if (fShowActivity) {
+			trace("Indexer: parsing " + path.toOSString()); //$NON-NLS-1$
+		}
+		progress.subTask(
+				getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
+		if (fCodeReaderFactory == null) {
+			fCodeReaderFactory = createCodeReaderFactory(lang);
+		}
+		ParsedFile file = new ParsedFile(tu, lang, ifl, scanInfo);
+		file.parse(fCodeReaderFactory, ctx, progress.split(10));
+		return writeParsedFile(file, ctx, progress.split(11));
+	}
+
+	private DependsOnOutdatedFileException writeParsedFile(ParsedFile file, FileContext ctx, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 11);
+		boolean resultCacheCleared = false;
+		IPath path = getLabel(file.fLocation);
 		Throwable th = null;
 		try {
-			if (fShowActivity) {
-				trace("Indexer: parsing " + path.toOSString()); //$NON-NLS-1$
+			fStatistics.fParsingTime += file.fParsingTime;
+			if (file.fException != null) {
+				rethrow(file.fException);
 			}
-			progress.subTask(
-					getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
-			FileContent codeReader = fResolver.getCodeReader(tu);
-
 			long start = System.currentTimeMillis();
-			IASTTranslationUnit ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, progress.split(10));
-			fStatistics.fParsingTime += System.currentTimeMillis() - start;
+			IASTTranslationUnit ast = file.fAST;
 			if (ast == null) {
 				++fStatistics.fTooManyTokensCount;
 			} else {
-				writeToIndex(lang.getLinkageID(), ast, codeReader, ctx, progress.split(10));
+				writeToIndex(file.fLanguage.getLinkageID(), ast, file.fCodeReader, ctx, progress.split(10));
 				resultCacheCleared = true; // The cache was cleared while writing to the index.
 			}
 			if (fShowActivity) {
-				long time = System.currentTimeMillis() - start;
+				long time = file.fParsingTime + System.currentTimeMillis() - start;
 				trace("Indexer: processed " + path.toOSString() + " [" + time + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			}
 		} catch (OperationCanceledException e) {
@@ -1141,6 +1441,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return null;
 	}
 
+	private static void rethrow(Throwable e) throws CoreException {
+		if (e instanceof CoreException)
+			throw (CoreException) e;
+		if (e instanceof RuntimeException)
+			throw (RuntimeException) e;
+		if (e instanceof Error)
+			throw (Error) e;
+		throw new IllegalStateException(e);
+	}
+
 	private AbstractLanguage getLanguage(Object tu, int linkageID) {
 		for (AbstractLanguage language : fResolver.getLanguages(tu, UnusedHeaderStrategy.useBoth)) {
 			if (language.getLinkageID() == linkageID) {
@@ -1208,8 +1518,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return e;
 	}
 
-	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
-			IScannerInfo scanInfo, int options, FileContext ctx, IProgressMonitor monitor) throws CoreException {
+	private final IASTTranslationUnit createAST(InternalFileContentProvider codeReaderFactory,
+			AbstractLanguage language, FileContent codeReader, IScannerInfo scanInfo, int options, FileContext ctx,
+			IProgressMonitor monitor) throws CoreException {
 		if (codeReader == null) {
 			return null;
 		}
@@ -1220,28 +1531,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			return null;
 		}
-		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
-		if (fCodeReaderFactory == null) {
-			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
-			if (fIsFastIndexer) {
-				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
-						language.getLinkageID(), fileContentProvider, this);
-				ibfcp.setContextToHeaderGap(ctx2header);
-				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
-				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
-				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
-			} else {
-				fCodeReaderFactory = fileContentProvider;
-			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
-		} else if (fIsFastIndexer) {
-			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
+		if (fIsFastIndexer) {
+			final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
+			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) codeReaderFactory;
 			ibfcp.setContextToHeaderGap(ctx2header);
 			ibfcp.setLinkage(language.getLinkageID());
 		}
 
-		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fCodeReaderFactory, fIndex,
+		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, codeReaderFactory, fIndex,
 				options, getLogService());
 		if (monitor.isCanceled()) {
 			throw new OperationCanceledException();
@@ -1249,6 +1546,23 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return ast;
 	}
 
+	private InternalFileContentProvider createCodeReaderFactory(AbstractLanguage language) {
+		InternalFileContentProvider codeReaderFactory;
+		InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
+		if (fIsFastIndexer) {
+			IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
+					language.getLinkageID(), fileContentProvider, this);
+			ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
+			ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
+			ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
+			codeReaderFactory = ibfcp;
+		} else {
+			codeReaderFactory = fileContentProvider;
+		}
+		codeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
+		return codeReaderFactory;
+	}
+
 	private InternalFileContentProvider createInternalFileContentProvider() {
 		final IncludeFileContentProvider fileContentProvider = createReaderFactory();
 		if (fileContentProvider instanceof InternalFileContentProvider)
@@ -1444,12 +1758,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					throw new DependsOnOutdatedFileException(request.fTu, task.fIndexFile);
 			}
 		}
-		IndexFileContent fc = fIndexContentCache.get(file);
-		if (fc == null) {
-			fc = new IndexFileContent(file);
-			fIndexContentCache.put(file, fc);
+		// Called concurrently when sources are parsed on worker threads.
+		synchronized (fIndexContentCache) {
+			IndexFileContent fc = fIndexContentCache.get(file);
+			if (fc == null) {
+				fc = new IndexFileContent(file);
+				fIndexContentCache.put(file, fc);
+			}
+			return fc;
 		}
-		return fc;
 	}
 
 	IIndexFragmentFile selectIndexFile(int linkageID, IIndexFileLocation ifl, ISignificantMacros sigMacros)
@@ -1499,6 +1816,13 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	public IIndexFragmentFile[] getAvailableIndexFiles(int linkageID, IIndexFileLocation ifl) throws CoreException {
+		synchronized (fIndexFilesCache) {
+			return getAvailableIndexFilesUnsynchronized(linkageID, ifl);
+		}
+	}
+
+	private IIndexFragmentFile[] getAvailableIndexFilesUnsynchronized(int linkageID, IIndexFileLocation ifl)
+			throws CoreException {
 		IIndexFragmentFile[] files = fIndexFilesCache.get(ifl);
 		if (files == null) {
 			IIndexFragmentFile[] fragFiles = fIndex.getWritableFiles(linkageID, ifl);
@@ -26,4 +26,6 @@ public class IndexerStatistics {
 	public int fPreprocessorProblemCount = 0;
 	public int fSyntaxProblemsCount = 0;
 	public int fTooManyTokensCount = 0;
+	public long fConstexprEvaluationSteps = 0;
+	public long fConstexprCacheHits = 0;
 }
@@ -28,6 +28,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +76,7 @@ import org.eclipse.cdt.internal.core.index.IIndexFragmentFileSet;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentInclude;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentName;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
+import org.eclipse.cdt.internal.core.parser.util.LongObjectMap;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
@@ -84,11 +86,11 @@ import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
 import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.CompoundRecordIterator;
 import org.eclipse.cdt.internal.core.pdom.dom.FindBinding;
-import org.eclipse.cdt.internal.core.pdom.dom.IPDOMIterator;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
 import org.eclipse.cdt.internal.core.pdom.dom.IRecordIterator;
 import org.eclipse.cdt.internal.core.pdom.dom.MacroContainerCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.MacroContainerPatternCollector;
+import org.eclipse.cdt.internal.core.pdom.dom.NamePatternFilter;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMFile;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMInclude;
@@ -311,10 +313,14 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 *
 	 *  CDT 10.4 development
 	 *  220.0 - Changed marshalling of CPPBasicType to store new "from literal" flag, bug 573764
+	 *
+	 *  CDT 11.0 development
+	 *  221.0 - Two byte length for strings that fit into a single block, long strings start with a marker
+	 *          instead of their length. Strings of older databases cannot be read, they are rebuilt.
 	 */
-	private static final int MIN_SUPPORTED_VERSION = version(220, 0);
-	private static final int MAX_SUPPORTED_VERSION = version(220, Short.MAX_VALUE);
-	private static final int DEFAULT_VERSION = version(220, 0);
+	private static final int MIN_SUPPORTED_VERSION = version(221, 0);
+	private static final int MAX_SUPPORTED_VERSION = version(221, Short.MAX_VALUE);
+	private static final int DEFAULT_VERSION = version(221, 0);
 
 	private static int version(int major, int minor) {
 		return (major << 16) + minor;
@@ -420,7 +426,17 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private final IIndexLocationConverter locationConverter;
 	private final Map<String, IPDOMLinkageFactory> fPDOMLinkageFactoryCache;
 	private final HashMap<Object, Object> fResultCache = new HashMap<>();
-	private final Map<Long, WeakReference<IValue>> fVariableResultCache = new HashMap<>();
+	private final LongObjectMap<WeakReference<IValue>> fVariableResultCache = new LongObjectMap<>();
+	// Results computed from the database alone, kept until the database is modified. The least
+	// recently used results are dropped when the cache exceeds its size.
+	private static final int MAX_DATABASE_CACHED_RESULTS = 10000;
+	private final LinkedHashMap<Object, Object> fDatabaseResultCache = new LinkedHashMap<Object, Object>(16, 0.75f,
+			true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+			return size() > MAX_DATABASE_CACHED_RESULTS;
+		}
+	};
 	private List<IListener> listeners;
 	protected ChangeEvent fEvent = new ChangeEvent();
 
@@ -707,6 +723,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	private static class BindingFinder implements IPDOMVisitor {
 		private final Pattern[] pattern;
+		private final NamePatternFilter[] filters;
 		private final IProgressMonitor monitor;
 
 		private final ArrayList<PDOMNamedNode> currentPath = new ArrayList<>();
@@ -719,6 +736,10 @@ public class PDOM extends PlatformObject implements IPDOM {
 		public BindingFinder(Pattern[] pattern, boolean isFullyQualified, IndexFilter filter,
 				IProgressMonitor monitor) {
 			this.pattern = pattern;
+			this.filters = new NamePatternFilter[pattern.length];
+			for (int i = 0; i < pattern.length; i++) {
+				filters[i] = NamePatternFilter.create(pattern[i]);
+			}
 			this.monitor = monitor;
 			this.isFullyQualified = isFullyQualified;
 			this.filter = filter;
@@ -734,12 +755,16 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 			if (node instanceof PDOMNamedNode) {
 				PDOMNamedNode nnode = (PDOMNamedNode) node;
-				String name = new String(nnode.getNameCharArray());
+				final char[] nameChars = nnode.getNameCharArray();
+				// Converted lazily, most names are rejected by the filters.
+				String name = null;
 
 				// check if we have a complete match.
 				final int lastIdx = pattern.length - 1;
-				if (matchesUpToLevel.get(lastIdx) && pattern[lastIdx].matcher(name).matches()) {
-					if (nnode instanceof IBinding && filter.acceptBinding((IBinding) nnode)) {
+				if (matchesUpToLevel.get(lastIdx) && filters[lastIdx].accepts(nameChars)) {
+					name = new String(nameChars);
+					if (pattern[lastIdx].matcher(name).matches() && nnode instanceof IBinding
+							&& filter.acceptBinding((IBinding) nnode)) {
 						bindings.add(nnode);
 					}
 				}
@@ -758,9 +783,13 @@ public class PDOM extends PlatformObject implements IPDOM {
 						visitNextLevel = true;
 					}
 					for (int i = 0; i < lastIdx; i++) {
-						if (matchesUpToLevel.get(i) && pattern[i].matcher(name).matches()) {
-							updatedMatchesUpToLevel.set(i + 1);
-							visitNextLevel = true;
+						if (matchesUpToLevel.get(i) && filters[i].accepts(nameChars)) {
+							if (name == null)
+								name = new String(nameChars);
+							if (pattern[i].matcher(name).matches()) {
+								updatedMatchesUpToLevel.set(i + 1);
+								visitNextLevel = true;
+							}
 						}
 					}
 					if (visitNextLevel) {
@@ -1123,6 +1152,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		if (establishReadLocks == 0) {
 			clearResultCache();
 		}
+		clearDatabaseResultCache();
 		try {
 			db.giveUpExclusiveLock(flush);
 		} catch (CoreException e) {
@@ -1230,80 +1260,28 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@Override
 	public IIndexFragmentName[] findNames(IBinding binding, int options) throws CoreException {
-		ArrayList<IIndexFragmentName> names = new ArrayList<>();
+		return createNameCursor(binding, options, null).next(Integer.MAX_VALUE);
+	}
+
+	@Override
+	public PDOMNameCursor createNameCursor(IBinding binding, int options, IProgressMonitor monitor)
+			throws CoreException {
+		final List<IIndexFragmentBinding> bindings = new ArrayList<>();
 		IIndexFragmentBinding myBinding = adaptBinding(binding);
 		if (myBinding instanceof PDOMBinding) {
-			PDOMBinding pdomBinding = (PDOMBinding) myBinding;
-			findNamesForMyBinding(pdomBinding, options, names);
+			bindings.add(myBinding);
 			if ((options & SEARCH_ACROSS_LANGUAGE_BOUNDARIES) != 0) {
-				PDOMBinding[] xlangBindings = getCrossLanguageBindings(binding);
-				for (PDOMBinding xlangBinding : xlangBindings) {
-					findNamesForMyBinding(xlangBinding, options, names);
-				}
+				bindings.addAll(Arrays.asList(getCrossLanguageBindings(binding)));
 			}
 		} else if (myBinding instanceof PDOMMacroContainer) {
 			final PDOMMacroContainer macroContainer = (PDOMMacroContainer) myBinding;
-			findNamesForMyBinding(macroContainer, options, names);
+			bindings.add(macroContainer);
 			if ((options & SEARCH_ACROSS_LANGUAGE_BOUNDARIES) != 0) {
-				PDOMMacroContainer[] xlangBindings = getCrossLanguageBindings(macroContainer);
-				for (PDOMMacroContainer xlangBinding : xlangBindings) {
-					findNamesForMyBinding(xlangBinding, options, names);
-				}
-			}
-		}
-		return names.toArray(new IIndexFragmentName[names.size()]);
-	}
-
-	private void findNamesForMyBinding(PDOMBinding pdomBinding, int options, ArrayList<IIndexFragmentName> names)
-			throws CoreException {
-		PDOMName name;
-		if ((options & FIND_DECLARATIONS) != 0) {
-			for (name = pdomBinding.getFirstDeclaration(); name != null; name = name.getNextInBinding()) {
-				if (isCommitted(name) && !name.isPotentialMatch()) {
-					names.add(name);
-				}
-			}
-		}
-		if ((options & FIND_DEFINITIONS) != 0) {
-			for (name = pdomBinding.getFirstDefinition(); name != null; name = name.getNextInBinding()) {
-				boolean findPotentialMatches = (options & FIND_POTENTIAL_MATCHES) != 0;
-				if (isCommitted(name) && (!name.isPotentialMatch() || findPotentialMatches)) {
-					names.add(name);
-				}
-			}
-		}
-		if ((options & FIND_REFERENCES) != 0) {
-			for (name = pdomBinding.getFirstReference(); name != null; name = name.getNextInBinding()) {
-				if (isCommitted(name) && !name.isPotentialMatch()) {
-					names.add(name);
-				}
-			}
-			for (IPDOMIterator<PDOMName> iterator = pdomBinding.getExternalReferences(); iterator.hasNext();) {
-				name = iterator.next();
-				if (isCommitted(name) && !name.isPotentialMatch())
-					names.add(name);
-			}
-		}
-	}
-
-	private void findNamesForMyBinding(PDOMMacroContainer container, int options, ArrayList<IIndexFragmentName> names)
-			throws CoreException {
-		if ((options & FIND_DEFINITIONS) != 0) {
-			for (PDOMMacro macro = container.getFirstDefinition(); macro != null; macro = macro.getNextInContainer()) {
-				final IIndexFragmentName name = macro.getDefinition();
-				if (name != null && isCommitted(macro)) {
-					names.add(name);
-				}
-			}
-		}
-		if ((options & FIND_REFERENCES) != 0) {
-			for (PDOMMacroReferenceName name = container.getFirstReference(); name != null; name = name
-					.getNextInContainer()) {
-				if (isCommitted(name)) {
-					names.add(name);
-				}
+				bindings.addAll(Arrays.asList(getCrossLanguageBindings(macroContainer)));
 			}
 		}
+		return new PDOMNameCursor(this, bindings.toArray(new IIndexFragmentBinding[bindings.size()]), options,
+				monitor);
 	}
 
 	public IRecordIterator getDeclarationsDefintitionsRecordIterator(IIndexBinding binding) throws CoreException {
@@ -1518,6 +1496,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		indexOfFiledWithUnresolvedIncludes = null;
 		fLinkageIDCache.clear();
 		clearResultCache();
+		clearDatabaseResultCache();
 	}
 
 	@Override
@@ -1578,7 +1557,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		}
 	}
 
-	public IValue getCachedVariableResult(Long key) {
+	public IValue getCachedVariableResult(long key) {
 		synchronized (fVariableResultCache) {
 			WeakReference<IValue> variableResult = fVariableResultCache.get(key);
 			if (variableResult != null) {
@@ -1588,18 +1567,46 @@ public class PDOM extends PlatformObject implements IPDOM {
 		}
 	}
 
-	public void removeCachedVariableResult(Long key) {
+	public void removeCachedVariableResult(long key) {
 		synchronized (fVariableResultCache) {
 			fVariableResultCache.remove(key);
 		}
 	}
 
-	public void putCachedVariableResult(Long key, IValue result) {
+	public void putCachedVariableResult(long key, IValue result) {
 		synchronized (fVariableResultCache) {
 			fVariableResultCache.put(key, new WeakReference<>(result));
 		}
 	}
 
+	/**
+	 * Returns a result cached with {@link #putDatabaseCachedResult(Object, Object)}, or
+	 * {@code null} if there is no such result.
+	 */
+	public Object getDatabaseCachedResult(Object key) {
+		synchronized (fDatabaseResultCache) {
+			return fDatabaseResultCache.get(key);
+		}
+	}
+
+	/**
+	 * Caches a result that depends on the contents of the database only. In contrast to the
+	 * result cache, the result is not discarded when the last read lock is released but only when
+	 * the database is modified. Therefore the result must not reference any objects of an AST.
+	 * The number of cached results is bounded, a result may be dropped at any time.
+	 */
+	public void putDatabaseCachedResult(Object key, Object result) {
+		synchronized (fDatabaseResultCache) {
+			fDatabaseResultCache.put(key, result);
+		}
+	}
+
+	private void clearDatabaseResultCache() {
+		synchronized (fDatabaseResultCache) {
+			fDatabaseResultCache.clear();
+		}
+	}
+
 	public String createKeyForCache(long record, char[] name) {
 		return new StringBuilder(name.length + 2).append((char) (record >> 16)).append((char) record).append(name)
 				.toString();
@@ -13,17 +13,16 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom;
 
-import java.util.HashSet;
-
 import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFileSet;
+import org.eclipse.cdt.internal.core.parser.util.LongSet;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMFile;
 import org.eclipse.core.runtime.CoreException;
 
 public final class PDOMFileSet implements IIndexFragmentFileSet {
-	private final HashSet<Long> fFileIDs = new HashSet<>();
+	private final LongSet fFileIDs = new LongSet();
 
 	@Override
 	public void add(IIndexFragmentFile fragFile) {
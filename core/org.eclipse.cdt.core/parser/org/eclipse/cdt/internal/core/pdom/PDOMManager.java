@@ -79,6 +79,8 @@ import org.eclipse.cdt.internal.core.index.IndexFactory;
 import org.eclipse.cdt.internal.core.index.IndexFileSet;
 import org.eclipse.cdt.internal.core.index.IndexerStateEvent;
 import org.eclipse.cdt.internal.core.index.provider.IndexProviderManager;
+import org.eclipse.cdt.internal.core.parser.scanner.DirectoryListingCache;
+import org.eclipse.cdt.internal.core.parser.scanner.IncludeGuardCache;
 import org.eclipse.cdt.internal.core.pdom.PDOM.IListener;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
@@ -125,6 +127,8 @@ import org.eclipse.core.runtime.preferences.InstanceScope;
  */
 public class PDOMManager implements IWritableIndexManager, IListener {
 	private static final String TRACE_INDEXER_SETUP = CCorePlugin.PLUGIN_ID + "/debug/indexer/setup"; //$NON-NLS-1$
+	private static final String INCLUDE_GUARD_CACHE_FILE = "includeGuards.dat"; //$NON-NLS-1$
+	private static final String DIRECTORY_LISTING_CACHE_FILE = "directoryListings.dat"; //$NON-NLS-1$
 
 	private final class PCL implements IPreferenceChangeListener {
 		private ICProject fProject;
@@ -243,6 +247,8 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		Job.getJobManager().addJobChangeListener(fJobChangeListener);
 		adjustCacheSize();
 		updatePathCanonicalizationStrategy();
+		loadIncludeGuardCache();
+		loadDirectoryListingCache();
 		fIndexProviderManager.startup();
 
 		fTraceIndexerSetup = String.valueOf(true).equals(Platform.getDebugOption(TRACE_INDEXER_SETUP));
@@ -286,6 +292,48 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			jobToCancel.cancelJobs(null, true);
 		}
 		Job.getJobManager().removeJobChangeListener(fJobChangeListener);
+		saveIncludeGuardCache();
+		saveDirectoryListingCache();
+	}
+
+	private File getIncludeGuardCacheFile() {
+		return CCorePlugin.getDefault().getStateLocation().append(INCLUDE_GUARD_CACHE_FILE).toFile();
+	}
+
+	private void loadIncludeGuardCache() {
+		try {
+			IncludeGuardCache.getSharedInstance().load(getIncludeGuardCacheFile());
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
+	private void saveIncludeGuardCache() {
+		try {
+			IncludeGuardCache.getSharedInstance().save(getIncludeGuardCacheFile());
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
+	private File getDirectoryListingCacheFile() {
+		return CCorePlugin.getDefault().getStateLocation().append(DIRECTORY_LISTING_CACHE_FILE).toFile();
+	}
+
+	private void loadDirectoryListingCache() {
+		try {
+			DirectoryListingCache.getSharedInstance().load(getDirectoryListingCacheFile());
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
+	private void saveDirectoryListingCache() {
+		try {
+			DirectoryListingCache.getSharedInstance().save(getDirectoryListingCacheFile());
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
 	}
 
 	protected void onPreferenceChange(PreferenceChangeEvent event) {
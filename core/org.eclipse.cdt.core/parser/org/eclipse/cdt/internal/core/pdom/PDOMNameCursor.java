@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.ArrayList;
+
+import org.eclipse.cdt.core.index.IIndexNameCursor;
+import org.eclipse.cdt.internal.core.index.ArrayNameCursor;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentName;
+import org.eclipse.cdt.internal.core.pdom.dom.IPDOMIterator;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacro;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacroContainer;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacroReferenceName;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMName;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Cursor over the names of PDOM bindings and macro containers. The names are read by following
+ * the lists of names stored with the bindings, only as far as needed for the requested pages.
+ */
+final class PDOMNameCursor implements IIndexNameCursor {
+	// The lists of names of a binding, in the order they are visited.
+	private static final int DECLARATIONS = 0;
+	private static final int DEFINITIONS = 1;
+	private static final int REFERENCES = 2;
+	private static final int EXTERNAL_REFERENCES = 3;
+	private static final int MACRO_DEFINITIONS = 4;
+	private static final int MACRO_REFERENCES = 5;
+	private static final int LAST_LIST = MACRO_REFERENCES;
+
+	private final PDOM fPDOM;
+	private final IIndexFragmentBinding[] fBindings;
+	private final int fOptions;
+	private final IProgressMonitor fMonitor;
+
+	private int fBindingIndex;
+	private int fList = -1;
+	private PDOMName fName;
+	private IPDOMIterator<PDOMName> fExternalReferences;
+	private PDOMMacro fMacro;
+	private PDOMMacroReferenceName fMacroReference;
+
+	/**
+	 * @param bindings the {@link PDOMBinding}s and {@link PDOMMacroContainer}s to return the names for
+	 */
+	PDOMNameCursor(PDOM pdom, IIndexFragmentBinding[] bindings, int options, IProgressMonitor monitor) {
+		fPDOM = pdom;
+		fBindings = bindings;
+		fOptions = options;
+		fMonitor = monitor;
+	}
+
+	@Override
+	public IIndexFragmentName[] next(int maxCount) throws CoreException {
+		ArrayNameCursor.checkCanceled(fMonitor);
+		ArrayList<IIndexFragmentName> names = new ArrayList<>(Math.min(maxCount, 64));
+		IIndexFragmentName name;
+		while (names.size() < maxCount && (name = nextName()) != null) {
+			names.add(name);
+		}
+		return names.toArray(new IIndexFragmentName[names.size()]);
+	}
+
+	private IIndexFragmentName nextName() throws CoreException {
+		while (true) {
+			switch (fList) {
+			case DECLARATIONS:
+			case DEFINITIONS:
+			case REFERENCES:
+				while (fName != null) {
+					final PDOMName name = fName;
+					fName = name.getNextInBinding();
+					if (accept(name))
+						return name;
+				}
+				break;
+			case EXTERNAL_REFERENCES:
+				while (fExternalReferences.hasNext()) {
+					final PDOMName name = fExternalReferences.next();
+					if (accept(name))
+						return name;
+				}
+				break;
+			case MACRO_DEFINITIONS:
+				while (fMacro != null) {
+					final PDOMMacro macro = fMacro;
+					fMacro = macro.getNextInContainer();
+					final IIndexFragmentName name = macro.getDefinition();
+					if (name != null && fPDOM.isCommitted(macro))
+						return name;
+				}
+				break;
+			case MACRO_REFERENCES:
+				while (fMacroReference != null) {
+					final PDOMMacroReferenceName name = fMacroReference;
+					fMacroReference = name.getNextInContainer();
+					if (fPDOM.isCommitted(name))
+						return name;
+				}
+				break;
+			}
+			if (!advance())
+				return null;
+		}
+	}
+
+	private boolean accept(PDOMName name) throws CoreException {
+		if (!fPDOM.isCommitted(name))
+			return false;
+		return !name.isPotentialMatch()
+				|| (fList == DEFINITIONS && (fOptions & IIndexFragment.FIND_POTENTIAL_MATCHES) != 0);
+	}
+
+	/**
+	 * Moves to the next list of names to visit, returns {@code false} if there is none.
+	 */
+	private boolean advance() throws CoreException {
+		while (fBindingIndex < fBindings.length) {
+			if (++fList > LAST_LIST) {
+				fList = -1;
+				fBindingIndex++;
+			} else if (startList(fBindings[fBindingIndex])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean startList(IIndexFragmentBinding binding) throws CoreException {
+		final boolean declarations = (fOptions & IIndexFragment.FIND_DECLARATIONS) != 0;
+		final boolean definitions = (fOptions & IIndexFragment.FIND_DEFINITIONS) != 0;
+		final boolean references = (fOptions & IIndexFragment.FIND_REFERENCES) != 0;
+		if (binding instanceof PDOMBinding) {
+			final PDOMBinding pdomBinding = (PDOMBinding) binding;
+			switch (fList) {
+			case DECLARATIONS:
+				if (!declarations)
+					return false;
+				fName = pdomBinding.getFirstDeclaration();
+				return true;
+			case DEFINITIONS:
+				if (!definitions)
+					return false;
+				fName = pdomBinding.getFirstDefinition();
+				return true;
+			case REFERENCES:
+				if (!references)
+					return false;
+				fName = pdomBinding.getFirstReference();
+				return true;
+			case EXTERNAL_REFERENCES:
+				if (!references)
+					return false;
+				fExternalReferences = pdomBinding.getExternalReferences();
+				return true;
+			}
+		} else if (binding instanceof PDOMMacroContainer) {
+			final PDOMMacroContainer container = (PDOMMacroContainer) binding;
+			switch (fList) {
+			case MACRO_DEFINITIONS:
+				if (!definitions)
+					return false;
+				fMacro = container.getFirstDefinition();
+				return true;
+			case MACRO_REFERENCES:
+				if (!references)
+					return false;
+				fMacroReference = container.getFirstReference();
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -26,8 +26,10 @@ import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexLinkage;
 import org.eclipse.cdt.core.index.IIndexMacro;
+import org.eclipse.cdt.core.index.IIndexNameCursor;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
+import org.eclipse.cdt.internal.core.index.ArrayNameCursor;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFileSet;
@@ -153,6 +155,15 @@ public class PDOMProxy implements IPDOM {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public synchronized IIndexNameCursor createNameCursor(IBinding binding, int flags, IProgressMonitor monitor)
+			throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.createNameCursor(binding, flags, monitor);
+
+		return new ArrayNameCursor(IIndexFragmentName.EMPTY_NAME_ARRAY, monitor);
+	}
+
 	@Override
 	public synchronized long getCacheHits() {
 		if (fDelegate != null)
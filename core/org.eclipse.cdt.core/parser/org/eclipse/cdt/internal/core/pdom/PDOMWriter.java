@@ -65,9 +65,11 @@ import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.parser.ASTInternal;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInternalDeclaredVariable;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPUnknownBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCallCache;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
@@ -286,6 +288,12 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		// Index update.
 		storeSymbolsInIndex(data, storageLinkageID, ctx, progress.split(1));
 
+		if (data.fAST instanceof CPPASTTranslationUnit) {
+			ConstexprCallCache constexprCache = ((CPPASTTranslationUnit) data.fAST).getConstexprCallCache();
+			fStatistics.fConstexprEvaluationSteps += constexprCache.getStepsPerformed();
+			fStatistics.fConstexprCacheHits += constexprCache.getCacheHits();
+		}
+
 		if (!data.fStatuses.isEmpty()) {
 			List<IStatus> statuses = data.fStatuses;
 			String path = null;
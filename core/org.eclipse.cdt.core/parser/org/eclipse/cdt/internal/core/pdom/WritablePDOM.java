@@ -362,4 +362,14 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 	public long getDatabaseSizeBytes() {
 		return getDB().getSizeBytes();
 	}
+
+	@Override
+	public int getCachedChunkCount() {
+		return getDB().getCachedChunkCount();
+	}
+
+	@Override
+	public long getCacheEvictions() {
+		return getDB().getCacheEvictions();
+	}
 }
@@ -33,7 +33,10 @@ final class Chunk {
 	boolean fCacheHitFlag;
 	boolean fDirty;
 	boolean fLocked; // locked chunks must not be released from cache.
-	int fCacheIndex = -1;
+	// Segment of the cache containing the chunk and neighbors within that segment, guarded by the cache.
+	int fCacheSegment = ChunkCache.NOT_CACHED;
+	Chunk fCachePrev;
+	Chunk fCacheNext;
 
 	Chunk(Database db, int sequenceNumber) {
 		fDatabase = db;
@@ -13,12 +13,81 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Cache of chunks shared by databases. The cache is segmented to resist scans: chunks enter a
+ * probationary segment and are promoted to the protected segment only when they are referenced again
+ * before they reach the end of the probationary segment. The protected segment is shared fairly among
+ * the databases, when it overflows the least recently promoted chunk of the database holding the most
+ * protected chunks is moved back to the probationary segment. That way reading a large database once,
+ * e.g. when rebuilding the index of a project, does not evict the chunks other databases work with.
+ */
 public final class ChunkCache {
+	static final int NOT_CACHED = -1;
+	static final int PROBATION = 0;
+	static final int PROTECTED = 1;
+
+	// Percentage of the cache reserved for the protected segment.
+	private static final int PROTECTED_PCT = 80;
+
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	/**
+	 * Doubly linked list of chunks, the most recently added chunk is at the head.
+	 */
+	private static final class ChunkList {
+		Chunk fHead;
+		Chunk fTail;
+		int fSize;
+
+		void addFirst(Chunk chunk) {
+			chunk.fCachePrev = null;
+			chunk.fCacheNext = fHead;
+			if (fHead != null) {
+				fHead.fCachePrev = chunk;
+			} else {
+				fTail = chunk;
+			}
+			fHead = chunk;
+			fSize++;
+		}
+
+		void remove(Chunk chunk) {
+			if (chunk.fCachePrev != null) {
+				chunk.fCachePrev.fCacheNext = chunk.fCacheNext;
+			} else {
+				fHead = chunk.fCacheNext;
+			}
+			if (chunk.fCacheNext != null) {
+				chunk.fCacheNext.fCachePrev = chunk.fCachePrev;
+			} else {
+				fTail = chunk.fCachePrev;
+			}
+			chunk.fCachePrev = chunk.fCacheNext = null;
+			fSize--;
+		}
+	}
+
+	/**
+	 * Chunks of one database held by the cache.
+	 */
+	private static final class DatabaseChunks {
+		final ChunkList fProtected = new ChunkList();
+		int fProbationCount;
+
+		boolean isEmpty() {
+			return fProbationCount == 0 && fProtected.fSize == 0;
+		}
+	}
+
+	private final ChunkList fProbation = new ChunkList();
+	private final Map<Database, DatabaseChunks> fDatabases = new IdentityHashMap<>();
+	private int fSize;
+	private int fProtectedSize;
+	private int fCapacity;
+	private int fProtectedCapacity;
 
 	public static ChunkCache getSharedInstance() {
 		return sSharedInstance;
@@ -29,112 +98,151 @@ public final class ChunkCache {
 	}
 
 	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
+		setCapacity(computeLength(maxSize));
 	}
 
 	public synchronized void add(Chunk chunk, boolean locked) {
 		if (locked) {
 			chunk.fLocked = true;
 		}
-		if (chunk.fCacheIndex >= 0) {
+		if (chunk.fCacheSegment != NOT_CACHED) {
 			chunk.fCacheHitFlag = true;
 			return;
 		}
-		if (fTableIsFull) {
+		DatabaseChunks chunks = fDatabases.get(chunk.fDatabase);
+		if (chunks == null) {
+			chunks = new DatabaseChunks();
+			fDatabases.put(chunk.fDatabase, chunks);
+		}
+		fProbation.addFirst(chunk);
+		chunks.fProbationCount++;
+		chunk.fCacheSegment = PROBATION;
+		fSize++;
+		while (fSize > fCapacity) {
 			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
-			}
 		}
 	}
 
 	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
+	 * Evicts a chunk from the cache and the chunk table of its database.
 	 */
 	private void evictChunk() {
 		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
+		 * Chunks at the end of the probationary segment that have been referenced since they were
+		 * added (i.e. the reference flag is set) are promoted to the protected segment, the first
+		 * chunk that has not been referenced is evicted.
 		 */
 		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
+			Chunk chunk = fProbation.fTail;
+			if (chunk == null) {
+				demoteChunk();
+			} else if (chunk.fCacheHitFlag) {
 				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
+				promoteChunk(chunk);
 			} else {
+				unlink(chunk);
 				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-				fPageTable[fPointer] = null;
 				return;
 			}
 		}
 	}
 
-	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
-				fTableIsFull = false;
-			} else {
-				fPointer--;
+	private void promoteChunk(Chunk chunk) {
+		fProbation.remove(chunk);
+		DatabaseChunks chunks = fDatabases.get(chunk.fDatabase);
+		chunks.fProbationCount--;
+		chunks.fProtected.addFirst(chunk);
+		chunk.fCacheSegment = PROTECTED;
+		fProtectedSize++;
+		while (fProtectedSize > fProtectedCapacity) {
+			demoteChunk();
+		}
+	}
+
+	/**
+	 * Moves a chunk of the database with the largest share of the protected segment back to the
+	 * probationary segment.
+	 */
+	private void demoteChunk() {
+		DatabaseChunks victims = null;
+		for (DatabaseChunks chunks : fDatabases.values()) {
+			if (victims == null || chunks.fProtected.fSize > victims.fProtected.fSize) {
+				victims = chunks;
 			}
-			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
 		}
+		final ChunkList list = victims.fProtected;
+		Chunk chunk = list.fTail;
+		// Chunks referenced since they were promoted get a second chance.
+		while (chunk.fCacheHitFlag) {
+			chunk.fCacheHitFlag = false;
+			list.remove(chunk);
+			list.addFirst(chunk);
+			chunk = list.fTail;
+		}
+		list.remove(chunk);
+		fProtectedSize--;
+		fProbation.addFirst(chunk);
+		victims.fProbationCount++;
+		chunk.fCacheSegment = PROBATION;
+	}
+
+	public synchronized void remove(Chunk chunk) {
+		if (chunk.fCacheSegment != NOT_CACHED) {
+			unlink(chunk);
+		}
+	}
+
+	private void unlink(Chunk chunk) {
+		final DatabaseChunks chunks = fDatabases.get(chunk.fDatabase);
+		if (chunk.fCacheSegment == PROTECTED) {
+			chunks.fProtected.remove(chunk);
+			fProtectedSize--;
+		} else {
+			fProbation.remove(chunk);
+			chunks.fProbationCount--;
+		}
+		if (chunks.isEmpty()) {
+			fDatabases.remove(chunk.fDatabase);
+		}
+		chunk.fCacheSegment = NOT_CACHED;
+		fSize--;
+	}
+
+	/**
+	 * Returns the number of chunks of the given database held by the cache.
+	 */
+	public synchronized int getChunkCount(Database db) {
+		DatabaseChunks chunks = fDatabases.get(db);
+		return chunks == null ? 0 : chunks.fProbationCount + chunks.fProtected.fSize;
 	}
 
 	/**
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
 	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+		return (long) fCapacity * Database.CHUNK_SIZE;
 	}
 
 	/**
-	 * Clears the page table and changes it to hold chunks with
-	 * maximum total memory of <code>maxSize</code>.
+	 * Changes the cache to hold chunks with maximum total memory of <code>maxSize</code>,
+	 * evicting chunks as necessary.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
 	public synchronized void setMaxSize(long maxSize) {
-		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
+		setCapacity(computeLength(maxSize));
+		while (fProtectedSize > fProtectedCapacity) {
+			demoteChunk();
+		}
+		while (fSize > fCapacity) {
+			evictChunk();
 		}
 	}
 
+	private void setCapacity(int capacity) {
+		fCapacity = capacity;
+		fProtectedCapacity = (int) ((long) capacity * PROTECTED_PCT / 100);
+	}
+
 	private int computeLength(long maxSize) {
 		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
 		return Math.max(1, (int) maxLength);
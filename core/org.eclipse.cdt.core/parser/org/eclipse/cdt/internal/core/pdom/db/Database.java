@@ -22,21 +22,29 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.internal.core.MappedBuffers;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
 
@@ -99,6 +107,22 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	/**
+	 * When set, the content of chunks is transferred through memory mapped segments of the database
+	 * file rather than through positional reads and writes on the file channel. The on-disk format
+	 * is not affected. On Windows a mapped file cannot be truncated or deleted, so there mapped I/O
+	 * is used only if the segments can be unmapped explicitly, see
+	 * {@link MappedBuffers#unmap(MappedByteBuffer)}.
+	 */
+	private static final boolean USE_MAPPED_IO = Boolean.getBoolean("org.eclipse.cdt.core.parser.pdom.db.mmap"); //$NON-NLS-1$
+	// Size of a memory mapped segment of the file, a multiple of CHUNK_SIZE.
+	private static final int SEGMENT_SIZE_BITS = 26;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_SIZE_BITS;
+	private static final int OFFSET_IN_SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	// Allows looking up chunks that are already in memory without holding the lock on the cache.
+	private static final VarHandle CHUNKS = MethodHandles.arrayElementVarHandle(Chunk[].class);
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
@@ -108,15 +132,29 @@ public class Database {
 
 	private int fVersion;
 	private final Chunk fHeaderChunk;
-	private Chunk[] fChunks;
+	/**
+	 * Modified only while holding the lock on {@link #fCache}. Non-null elements are published with
+	 * release semantics, such that {@link #getChunk(long)} can return cached chunks without locking.
+	 */
+	private volatile Chunk[] fChunks;
 	private int fChunksUsed;
 	private int fChunksAllocated;
 	private ChunkCache fCache;
+	/**
+	 * The chunks that are locked in the cache, modified only while holding the lock on {@link #fCache}.
+	 * Allows giving up the exclusive lock without visiting all chunks of the database.
+	 */
+	private final ArrayList<Chunk> fLockedChunks = new ArrayList<>();
+
+	private final boolean fUseMappedIO;
+	private final Object fMappingLock = new Object();
+	private MappedByteBuffer[] fMappedSegments = {};
 
 	private long malloced;
 	private long freed;
-	private long cacheHits;
-	private long cacheMisses;
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+	private final LongAdder cacheEvictions = new LongAdder();
 
 	/** Soft reference wrapper to keep track of the record for disposed strings. */
 	private static class SoftStringRef extends SoftReference<IString> {
@@ -145,9 +183,25 @@ public class Database {
 	 * @throws CoreException
 	 */
 	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, USE_MAPPED_IO);
+	}
+
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param useMappedIO whether chunks are read and written through memory mapped segments of the file
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean useMappedIO)
+			throws CoreException {
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
+			// Without explicit unmapping the database file could not be truncated or deleted on Windows.
+			fUseMappedIO = useMappedIO && (MappedBuffers.canUnmap() || !Platform.OS_WIN32.equals(Platform.getOS()));
 			fCache = cache;
 			openFile();
 
@@ -174,6 +228,15 @@ public class Database {
 	}
 
 	void read(ByteBuffer buf, long position) throws IOException {
+		if (fUseMappedIO && buf.hasArray()) {
+			final ByteBuffer segment = getMappedSegment(position, buf.remaining());
+			if (segment != null) {
+				segment.get((int) (position & OFFSET_IN_SEGMENT_MASK), buf.array(),
+						buf.arrayOffset() + buf.position(), buf.remaining());
+				buf.position(buf.limit());
+				return;
+			}
+		}
 		int retries = 0;
 		do {
 			try {
@@ -187,6 +250,15 @@ public class Database {
 	}
 
 	void write(ByteBuffer buf, long position) throws IOException {
+		if (fUseMappedIO && buf.hasArray()) {
+			final ByteBuffer segment = getMappedSegment(position, buf.remaining());
+			if (segment != null) {
+				segment.put((int) (position & OFFSET_IN_SEGMENT_MASK), buf.array(),
+						buf.arrayOffset() + buf.position(), buf.remaining());
+				buf.position(buf.limit());
+				return;
+			}
+		}
 		int retries = 0;
 		while (true) {
 			try {
@@ -199,6 +271,58 @@ public class Database {
 		}
 	}
 
+	/**
+	 * Returns the memory mapped segment containing the given range of the file, or {@code null}
+	 * if the range has to be accessed through the file channel. Only segments that lie completely
+	 * within the file are mapped, such that mapping never changes the size of the file.
+	 */
+	private ByteBuffer getMappedSegment(long position, int length) throws IOException {
+		if ((position & OFFSET_IN_SEGMENT_MASK) + length > SEGMENT_SIZE)
+			return null;
+
+		final int index = (int) (position >>> SEGMENT_SIZE_BITS);
+		synchronized (fMappingLock) {
+			if (index < fMappedSegments.length && fMappedSegments[index] != null)
+				return fMappedSegments[index];
+
+			final FileChannel channel = fFile.getChannel();
+			final long start = (long) index << SEGMENT_SIZE_BITS;
+			if (start + SEGMENT_SIZE > channel.size())
+				return null;
+
+			if (index >= fMappedSegments.length) {
+				fMappedSegments = Arrays.copyOf(fMappedSegments, index + 1);
+			}
+			final MappedByteBuffer segment = channel.map(fReadOnly ? MapMode.READ_ONLY : MapMode.READ_WRITE, start,
+					SEGMENT_SIZE);
+			fMappedSegments[index] = segment;
+			return segment;
+		}
+	}
+
+	/**
+	 * Unmaps the memory mapped segments. Must be called only when no other thread can access the
+	 * segments, i.e. while holding the exclusive lock.
+	 */
+	private void releaseMappedSegments() {
+		synchronized (fMappingLock) {
+			for (MappedByteBuffer segment : fMappedSegments) {
+				if (segment != null) {
+					MappedBuffers.unmap(segment);
+				}
+			}
+			fMappedSegments = new MappedByteBuffer[0];
+		}
+	}
+
+	/**
+	 * Returns whether chunks are transferred through memory mapped segments of the file.
+	 * This method is public for testing purposes only.
+	 */
+	public boolean isUsingMappedIO() {
+		return fUseMappedIO;
+	}
+
 	private void reopen(ClosedChannelException e, int attempt) throws ClosedChannelException, FileNotFoundException {
 		// Only if the current thread was not interrupted we try to reopen the file.
 		if (e instanceof ClosedByInterruptException || attempt >= 20) {
@@ -249,6 +373,7 @@ public class Database {
 		fChunksUsed = fChunksAllocated = fChunks.length;
 		try {
 			fHeaderChunk.flush(); // Zero out header chunk.
+			releaseMappedSegments(); // Mapped segments must not be accessed beyond the end of the file.
 			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
 		} catch (IOException e) {
 			CCorePlugin.log(e);
@@ -282,6 +407,7 @@ public class Database {
 					fChunks[i] = null;
 				}
 			}
+			fLockedChunks.clear();
 		}
 	}
 
@@ -295,24 +421,43 @@ public class Database {
 		}
 		long long_index = offset / CHUNK_SIZE;
 		assert long_index < Integer.MAX_VALUE;
+		final int index = (int) long_index;
+
+		if (!fExclusiveLock) {
+			// Readers do not need the lock on the cache for chunks that are already cached. A chunk
+			// evicted concurrently stays valid for reading, since only locked chunks can be dirty.
+			final Chunk[] chunks = fChunks;
+			if (index >= 0 && index < chunks.length) {
+				final Chunk chunk = (Chunk) CHUNKS.getAcquire(chunks, index);
+				if (chunk != null && chunk.fCacheSegment != ChunkCache.NOT_CACHED) {
+					cacheHits.increment();
+					chunk.fCacheHitFlag = true;
+					return chunk;
+				}
+			}
+		}
 
 		synchronized (fCache) {
 			assert fLocked;
-			final int index = (int) long_index;
-			if (index < 0 || index >= fChunks.length) {
+			final Chunk[] chunks = fChunks;
+			if (index < 0 || index >= chunks.length) {
 				databaseCorruptionDetected();
 			}
-			Chunk chunk = fChunks[index];
+			Chunk chunk = chunks[index];
 			if (chunk == null) {
-				cacheMisses++;
+				cacheMisses.increment();
 				chunk = new Chunk(this, index);
 				chunk.read();
 				// Put the chunk in fChunks after it was read successfully.
-				fChunks[index] = chunk;
+				CHUNKS.setRelease(chunks, index, chunk);
 			} else {
-				cacheHits++;
+				cacheHits.increment();
 			}
+			final boolean wasLocked = chunk.fLocked;
 			fCache.add(chunk, fExclusiveLock);
+			if (fExclusiveLock && !wasLocked) {
+				fLockedChunks.add(chunk);
+			}
 			return chunk;
 		}
 	}
@@ -391,9 +536,10 @@ public class Database {
 				fChunksAllocated += increment;
 			}
 			fChunksUsed += 1;
-			fChunks[newChunkIndex] = chunk;
+			CHUNKS.setRelease(fChunks, newChunkIndex, chunk);
 
 			fCache.add(chunk, true);
+			fLockedChunks.add(chunk);
 			long address = (long) newChunkIndex * CHUNK_SIZE;
 
 			/*
@@ -427,8 +573,9 @@ public class Database {
 			final Chunk chunk = new Chunk(this, oldLen + numChunks - 1);
 			chunk.fDirty = true;
 			newchunks[oldLen + numChunks - 1] = chunk;
-			fChunks = newchunks;
+			fChunks = newchunks; // Volatile write publishes the new chunk.
 			fCache.add(chunk, true);
+			fLockedChunks.add(chunk);
 			fChunksAllocated = oldLen + numChunks;
 			fChunksUsed = oldLen + numChunks;
 			return (long) (oldLen + numChunks - 1) * CHUNK_SIZE;
@@ -615,9 +762,7 @@ public class Database {
 				return cachedString; // string already cached, no need to re-retrieve it :-)
 			}
 		}
-		final int l = getInt(offset);
-		int bytelen = l < 0 ? -l : 2 * l;
-		if (bytelen > ShortString.MAX_BYTE_LENGTH) {
+		if (getShort(offset) == LongString.LONG_STRING_MARKER) {
 			return addStringToCache(new LongString(this, offset));
 		}
 		return addStringToCache(new ShortString(this, offset));
@@ -674,6 +819,7 @@ public class Database {
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		releaseMappedSegments();
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -693,6 +839,7 @@ public class Database {
 	 * Called from any thread via the cache, protected by {@link #fCache}.
 	 */
 	void releaseChunk(final Chunk chunk) {
+		cacheEvictions.increment();
 		if (!chunk.fLocked) {
 			fChunks[chunk.fSequenceNumber] = null;
 		}
@@ -724,31 +871,29 @@ public class Database {
 			try {
 				ArrayList<Chunk> dirtyChunks = new ArrayList<>();
 				synchronized (fCache) {
-					for (int i = 1; i < fChunksUsed; i++) {
-						Chunk chunk = fChunks[i];
-						if (chunk != null) {
-							if (chunk.fCacheIndex < 0) {
-								// Locked chunk that has been removed from cache.
-								if (chunk.fDirty) {
-									dirtyChunks.add(chunk); // Keep in fChunks until it is flushed.
-								} else {
-									chunk.fLocked = false;
-									fChunks[i] = null;
-								}
-							} else if (chunk.fLocked) {
-								// Locked chunk, still in cache.
-								if (chunk.fDirty) {
-									if (flush) {
-										dirtyChunks.add(chunk);
-									}
-								} else {
-									chunk.fLocked = false;
+					// Only the chunks locked in the cache can be dirty, there is no need to visit the others.
+					for (Chunk chunk : fLockedChunks) {
+						assert chunk.fLocked;
+						if (chunk.fCacheSegment == ChunkCache.NOT_CACHED) {
+							// Locked chunk that has been removed from cache.
+							if (chunk.fDirty) {
+								dirtyChunks.add(chunk); // Keep in fChunks until it is flushed.
+							} else {
+								chunk.fLocked = false;
+								fChunks[chunk.fSequenceNumber] = null;
+							}
+						} else {
+							// Locked chunk, still in cache.
+							if (chunk.fDirty) {
+								if (flush) {
+									dirtyChunks.add(chunk);
 								}
 							} else {
-								assert !chunk.fDirty; // Dirty chunks must be locked.
+								chunk.fLocked = false;
 							}
 						}
 					}
+					removeUnlockedChunks();
 				}
 				// Also handles header chunk.
 				flushAndUnlockChunks(dirtyChunks, flush);
@@ -772,9 +917,8 @@ public class Database {
 		// Be careful as other readers may access chunks concurrently.
 		ArrayList<Chunk> dirtyChunks = new ArrayList<>();
 		synchronized (fCache) {
-			for (int i = 1; i < fChunksUsed; i++) {
-				Chunk chunk = fChunks[i];
-				if (chunk != null && chunk.fDirty) {
+			for (Chunk chunk : fLockedChunks) {
+				if (chunk.fDirty) {
 					dirtyChunks.add(chunk);
 				}
 			}
@@ -811,10 +955,11 @@ public class Database {
 				synchronized (fCache) {
 					for (Chunk chunk : dirtyChunks) {
 						chunk.fLocked = false;
-						if (chunk.fCacheIndex < 0) {
+						if (chunk.fCacheSegment == ChunkCache.NOT_CACHED) {
 							fChunks[chunk.fSequenceNumber] = null;
 						}
 					}
+					removeUnlockedChunks();
 				}
 			}
 
@@ -828,12 +973,17 @@ public class Database {
 		}
 	}
 
+	private void removeUnlockedChunks() {
+		assert Thread.holdsLock(fCache);
+		fLockedChunks.removeIf(chunk -> !chunk.fLocked);
+	}
+
 	private void markFileIncomplete() throws CoreException {
 		if (!fIsMarkedIncomplete) {
 			fIsMarkedIncomplete = true;
 			try {
 				final ByteBuffer buf = ByteBuffer.wrap(new byte[4]);
-				fFile.getChannel().write(buf, 0);
+				write(buf, 0);
 			} catch (IOException e) {
 				throw new CoreException(new DBStatus(e));
 			}
@@ -841,15 +991,42 @@ public class Database {
 	}
 
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		cacheHits.reset();
+		cacheMisses.reset();
+		cacheEvictions.reset();
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return cacheHits.sum();
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		return cacheMisses.sum();
+	}
+
+	/**
+	 * Returns the number of chunks of this database evicted from the cache since the last reset
+	 * of the cache counters.
+	 */
+	public long getCacheEvictions() {
+		return cacheEvictions.sum();
+	}
+
+	/**
+	 * Returns the number of chunks of this database currently held by the cache.
+	 */
+	public int getCachedChunkCount() {
+		return fCache.getChunkCount(this);
+	}
+
+	/**
+	 * Returns the number of chunks of this database that are locked in the cache, i.e. chunks
+	 * accessed under the exclusive lock or still waiting to be flushed.
+	 */
+	public int getLockedChunkCount() {
+		synchronized (fCache) {
+			return fLockedChunks.size();
+		}
 	}
 
 	public long getSizeBytes() {
@@ -34,9 +34,16 @@ public class LongString implements IString {
 	private char[] cachedChars;
 
 	// Additional fields of first record.
-	private static final int LENGTH = 0; // Must be first to match ShortString.
-	private static final int NEXT1 = 4;
-	private static final int CHARS1 = 8;
+	private static final int MARKER = 0; // Must be first to overlay the length of a ShortString.
+	private static final int LENGTH = 2;
+	private static final int NEXT1 = 6;
+	private static final int CHARS1 = 10;
+
+	/**
+	 * Value stored in place of the length of a {@link ShortString} to mark the first record of
+	 * a long string. It is never used as the length of a short string.
+	 */
+	static final short LONG_STRING_MARKER = Short.MIN_VALUE;
 
 	private static final int NUM_CHARS1 = (Database.MAX_MALLOC_SIZE - CHARS1) / 2;
 
@@ -60,7 +67,8 @@ public class LongString implements IString {
 
 		// Write the first record.
 		final int length = chars.length;
-		db.putInt(this.record, useBytes ? -length : length);
+		db.putShort(this.record + MARKER, LONG_STRING_MARKER);
+		db.putInt(this.record + LENGTH, useBytes ? -length : length);
 		Chunk chunk = db.getChunk(this.record);
 
 		if (useBytes) {
@@ -32,8 +32,9 @@ public class ShortString implements IString {
 	// this string is immutable, so we can cache the actual char array
 	private char[] cachedChars;
 
+	// The length is stored as a short, negative for strings stored as bytes.
 	private static final int LENGTH = 0;
-	private static final int CHARS = 4;
+	private static final int CHARS = 2;
 
 	public static final int MAX_BYTE_LENGTH = Database.MAX_MALLOC_SIZE - CHARS;
 
@@ -48,7 +49,7 @@ public class ShortString implements IString {
 
 		this.record = db.malloc(CHARS + (useBytes ? n : 2 * n));
 		Chunk chunk = db.getChunk(record);
-		chunk.putInt(record + LENGTH, useBytes ? -n : n);
+		chunk.putShort(record + LENGTH, (short) (useBytes ? -n : n));
 		long p = record + CHARS;
 		if (useBytes) {
 			chunk.putCharsAsBytes(p, chars, 0, n);
@@ -76,7 +77,7 @@ public class ShortString implements IString {
 			return cachedChars; // no need to re-retrieve array if it is already cached
 		}
 		final Chunk chunk = db.getChunk(record);
-		final int l = chunk.getInt(record + LENGTH);
+		final int l = chunk.getShort(record + LENGTH);
 		final int length = Math.abs(l);
 		final char[] chars = new char[length];
 		if (l < 0) {
@@ -107,8 +108,8 @@ public class ShortString implements IString {
 				Chunk chunk1 = db.getChunk(record);
 				Chunk chunk2 = string.db.getChunk(string.record);
 
-				int n1 = chunk1.getInt(record);
-				int n2 = chunk2.getInt(string.record);
+				int n1 = chunk1.getShort(record + LENGTH);
+				int n2 = chunk2.getShort(string.record + LENGTH);
 				if (n1 != n2)
 					return false;
 
@@ -239,7 +240,7 @@ public class ShortString implements IString {
 	}
 
 	public final int getLength() throws CoreException {
-		return Math.abs(db.getInt(record + LENGTH));
+		return Math.abs(db.getShort(record + LENGTH));
 	}
 
 	/**
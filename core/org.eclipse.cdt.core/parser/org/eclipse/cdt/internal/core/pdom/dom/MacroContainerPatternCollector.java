@@ -31,12 +31,14 @@ public final class MacroContainerPatternCollector implements IBTreeVisitor {
 
 	private final List<PDOMMacroContainer> macros = new ArrayList<>();
 	private final Pattern fPattern;
+	private final NamePatternFilter fFilter;
 	private final IProgressMonitor fMonitor;
 	private int fMonitorCheckCounter = 0;
 
 	public MacroContainerPatternCollector(PDOMLinkage linkage, Pattern pattern, IProgressMonitor monitor) {
 		fLinkage = linkage;
 		fPattern = pattern;
+		fFilter = NamePatternFilter.create(pattern);
 		fMonitor = monitor;
 	}
 
@@ -52,8 +54,8 @@ public final class MacroContainerPatternCollector implements IBTreeVisitor {
 		if (record == 0)
 			return true;
 
-		String name = PDOMNamedNode.getDBName(fLinkage.getDB(), record).getString();
-		if (fPattern.matcher(name).matches()) {
+		char[] name = PDOMNamedNode.getDBName(fLinkage.getDB(), record).getChars();
+		if (fFilter.accepts(name) && fPattern.matcher(new String(name)).matches()) {
 			macros.add(new PDOMMacroContainer(fLinkage, record));
 		}
 		return true; // look for more
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.dom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Cheap test that rejects names which cannot match a pattern, before the name is converted to a
+ * string and matched against the regular expression. The filter is computed from the literal
+ * sequences of identifier characters a match has to contain, e.g. {@code Stack} and {@code Impl}
+ * for the pattern {@code .*Stack.*Impl}, which is the form of the patterns created for the search
+ * with wildcards.
+ * <p>
+ * For patterns with constructs other than identifier characters, {@code .} and the quantifiers
+ * {@code *}, {@code +} and {@code ?}, the filter accepts all names.
+ */
+public final class NamePatternFilter {
+	private static final NamePatternFilter ACCEPT_ALL = new NamePatternFilter(new char[0][], false);
+
+	private final char[][] fLiterals;
+	private final boolean fIgnoreCase;
+
+	private NamePatternFilter(char[][] literals, boolean ignoreCase) {
+		fLiterals = literals;
+		fIgnoreCase = ignoreCase;
+	}
+
+	/**
+	 * Creates the filter for the given pattern.
+	 */
+	public static NamePatternFilter create(Pattern pattern) {
+		final boolean ignoreCase;
+		switch (pattern.flags()) {
+		case 0:
+			ignoreCase = false;
+			break;
+		case Pattern.CASE_INSENSITIVE:
+			ignoreCase = true;
+			break;
+		default:
+			return ACCEPT_ALL;
+		}
+
+		final String p = pattern.pattern();
+		final List<char[]> literals = new ArrayList<>();
+		final StringBuilder literal = new StringBuilder();
+		final int len = p.length();
+		for (int i = 0; i < len; i++) {
+			final char c = p.charAt(i);
+			final char next = i + 1 < len ? p.charAt(i + 1) : 0;
+			if (isIdentifierChar(c)) {
+				if (next == '*' || next == '?') {
+					// Optional character, the literal ends before it.
+					addLiteral(literals, literal);
+					i = skipQuantifier(p, i + 1);
+				} else if (next == '+') {
+					// The character is required, but may be repeated.
+					literal.append(c);
+					addLiteral(literals, literal);
+					i = skipQuantifier(p, i + 1);
+				} else {
+					literal.append(c);
+				}
+			} else if (c == '.') {
+				addLiteral(literals, literal);
+				if (next == '*' || next == '+' || next == '?') {
+					i = skipQuantifier(p, i + 1);
+				}
+			} else {
+				return ACCEPT_ALL;
+			}
+		}
+		addLiteral(literals, literal);
+		if (literals.isEmpty())
+			return ACCEPT_ALL;
+
+		// Check the longest literals first, they are the most selective.
+		literals.sort((a, b) -> b.length - a.length);
+		return new NamePatternFilter(literals.toArray(new char[literals.size()][]), ignoreCase);
+	}
+
+	/**
+	 * Skips a quantifier at the given index and a following lazy or possessive modifier, returns
+	 * the index of the last character of the quantifier.
+	 */
+	private static int skipQuantifier(String p, int i) {
+		if (i + 1 < p.length()) {
+			final char modifier = p.charAt(i + 1);
+			if (modifier == '?' || modifier == '+')
+				return i + 1;
+		}
+		return i;
+	}
+
+	private static void addLiteral(List<char[]> literals, StringBuilder literal) {
+		if (literal.length() > 0) {
+			final char[] chars = new char[literal.length()];
+			literal.getChars(0, chars.length, chars, 0);
+			literals.add(chars);
+			literal.setLength(0);
+		}
+	}
+
+	private static boolean isIdentifierChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+
+	/**
+	 * Returns {@code false} if the name cannot match the pattern the filter was created for.
+	 */
+	public boolean accepts(char[] name) {
+		for (char[] literal : fLiterals) {
+			if (!contains(name, literal))
+				return false;
+		}
+		return true;
+	}
+
+	private boolean contains(char[] name, char[] literal) {
+		final int last = name.length - literal.length;
+		outer: for (int i = 0; i <= last; i++) {
+			for (int j = 0; j < literal.length; j++) {
+				final char a = name[i + j];
+				final char b = literal[j];
+				if (a != b && !(fIgnoreCase && equalsIgnoreCase(a, b)))
+					continue outer;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private static boolean equalsIgnoreCase(char a, char b) {
+		// Same comparison as String.regionMatches(true, ...), which covers the ASCII case folding of
+		// Pattern.CASE_INSENSITIVE.
+		final char ua = Character.toUpperCase(a);
+		final char ub = Character.toUpperCase(b);
+		return ua == ub || Character.toLowerCase(ua) == Character.toLowerCase(ub);
+	}
+}
@@ -20,8 +20,6 @@ package org.eclipse.cdt.internal.core.pdom.dom;
 
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
-import java.util.HashSet;
-import java.util.Set;
 
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
@@ -51,6 +49,7 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecution;
 import org.eclipse.cdt.internal.core.index.IIndexBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
+import org.eclipse.cdt.internal.core.parser.util.LongSet;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
@@ -87,10 +86,10 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	 * The set of types currently being loaded from the index on each thread, represented as record numbers.
 	 * This is used to guard against infinite recursion while loading types.
 	 */
-	private static final ThreadLocal<Set<Long>> fLoadTypeInProgress = new ThreadLocal<>() {
+	private static final ThreadLocal<LongSet> fLoadTypeInProgress = new ThreadLocal<>() {
 		@Override
-		protected Set<Long> initialValue() {
-			return new HashSet<>();
+		protected LongSet initialValue() {
+			return new LongSet();
 		}
 	};
 
@@ -574,7 +573,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	}
 
 	public IType loadType(long offset) throws CoreException {
-		Set<Long> recursionProtectionSet = fLoadTypeInProgress.get();
+		LongSet recursionProtectionSet = fLoadTypeInProgress.get();
 		if (!recursionProtectionSet.add(offset)) {
 			return ProblemType.NOT_PERSISTED;
 		}
@@ -696,8 +695,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	}
 
 	public IValue loadValue(long offset) throws CoreException {
-		Long cacheKey = Long.valueOf(offset);
-		IValue value = fPDOM.getCachedVariableResult(cacheKey);
+		IValue value = fPDOM.getCachedVariableResult(offset);
 		if (value != null)
 			return value;
 		TypeMarshalBuffer buffer = loadBuffer(offset, Database.VALUE_SIZE);
@@ -705,7 +703,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 			return null;
 		value = buffer.unmarshalValue();
 		if (value != null)
-			fPDOM.putCachedVariableResult(cacheKey, value);
+			fPDOM.putCachedVariableResult(offset, value);
 		return value;
 	}
 
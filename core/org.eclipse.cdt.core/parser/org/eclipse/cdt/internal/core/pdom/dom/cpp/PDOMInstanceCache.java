@@ -14,6 +14,7 @@
 package org.eclipse.cdt.internal.core.pdom.dom.cpp;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.DOMException;
@@ -24,6 +25,7 @@ import org.eclipse.cdt.internal.core.index.IndexCPPSignatureUtil;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.dom.NamedNodeCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMNamedNode;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMNode;
 import org.eclipse.core.runtime.CoreException;
@@ -79,6 +81,33 @@ public class PDOMInstanceCache {
 	}
 
 	private void populate(PDOMBinding binding) throws CoreException {
+		final PDOMLinkage linkage = binding.getLinkage();
+		for (Map.Entry<String, Long> entry : getPersistedInstances(binding).entrySet()) {
+			PDOMBinding inst = linkage.getBinding(entry.getValue());
+			if (inst instanceof ICPPTemplateInstance) {
+				synchronized (this) {
+					fMap.put(entry.getKey(), (ICPPTemplateInstance) inst);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the records of the instances of the template stored in the database, keyed by the
+	 * signatures of their template arguments. The map is shared by all ASTs using the index and is
+	 * recomputed only after the database has been modified. It holds records rather than bindings,
+	 * because bindings may reference specializations belonging to an AST.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Long> getPersistedInstances(PDOMBinding binding) throws CoreException {
+		final PDOM pdom = binding.getPDOM();
+		final Long key = binding.getRecord() + PDOMCPPLinkage.CACHE_INSTANCES;
+		Object cached = pdom.getDatabaseCachedResult(key);
+		if (cached instanceof Map) {
+			return (Map<String, Long>) cached;
+		}
+
+		Map<String, Long> result = new HashMap<>();
 		PDOMNode parent = binding.getParentNode();
 		if (parent == null) {
 			parent = binding.getLinkage();
@@ -91,10 +120,16 @@ public class PDOMInstanceCache {
 				ICPPTemplateInstance inst = (ICPPTemplateInstance) node;
 				if (binding.equals(inst.getTemplateDefinition())) {
 					ICPPTemplateArgument[] args = inst.getTemplateArguments();
-					addInstance(args, inst);
+					try {
+						result.put(IndexCPPSignatureUtil.getTemplateArgString(args, true), node.getRecord());
+					} catch (DOMException e) {
+						CCorePlugin.log(e);
+					}
 				}
 			}
 		}
+		pdom.putDatabaseCachedResult(key, result);
+		return result;
 	}
 
 	synchronized public ICPPTemplateInstance[] getAllInstances() {
@@ -23,6 +23,7 @@ import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.eclipse.cdt.internal.core.parser.scanner.DirectoryListingCache;
 import org.eclipse.cdt.utils.UNCPathConverter;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
@@ -31,7 +32,8 @@ import org.eclipse.core.runtime.CoreException;
 /**
  * A cache for checking whether a file exists. The cache shall be used for a limited amount of time,
  * only (e.g. one indexer task). It uses as much memory as it needs. To protect against OutOfMemory
- * situations, a soft reference is used.
+ * situations, a soft reference is used. Local directories are looked up in the listings of the shared
+ * {@link DirectoryListingCache}, such that they are listed once rather than once per indexer task.
  * @since 5.0
  */
 public final class FileExistsCache {
@@ -52,15 +54,17 @@ public final class FileExistsCache {
 	// Cache for recent results of isFile calls (bug 471103).
 	private final Map<String, Boolean> fCacheIsFile = new HashMap<>();
 	private final boolean fCaseInSensitive;
+	private final DirectoryListingCache.Session fListings;
 
 	public FileExistsCache(boolean caseInsensitive) {
 		fCaseInSensitive = caseInsensitive;
+		fListings = DirectoryListingCache.getSharedInstance().createSession(caseInsensitive);
 		Map<String, Content> cache = new HashMap<>();
 		// Before running out of memory the entire map will be thrown away.
 		fCache = new SoftReference<>(cache);
 	}
 
-	public boolean isFile(String path) {
+	public synchronized boolean isFile(String path) {
 		// Fast return when path was already queried. The method is potentially called multiple times with
 		// the same path on each return statement the returned value is stored in the cache (bug 471103).
 		Boolean cachedResult = fCacheIsFile.get(path);
@@ -74,39 +78,32 @@ public final class FileExistsCache {
 	}
 
 	private boolean isFileInternal(String path) {
-		String parent;
-		String name;
-		File file = null;
-		IFileStore parentStore = null;
-		IFileStore fileStore = null;
-
-		if (UNCPathConverter.isUNC(path)) {
-			try {
-				URI uri = UNCPathConverter.getInstance().toURI(path);
-				fileStore = EFS.getStore(uri);
-				if (BYPASS_CACHE) {
-					return fileStore != null && !fileStore.fetchInfo().isDirectory();
-				}
-				parentStore = fileStore.getParent();
-				if (parentStore == null) {
-					parentStore = fileStore;
-				}
-				parent = parentStore.toURI().toString();
-				name = fileStore.getName();
-			} catch (CoreException e) {
-				return false;
-			}
-		} else {
-			file = new File(path);
+		if (!UNCPathConverter.isUNC(path)) {
+			File file = new File(path);
 			if (BYPASS_CACHE) {
 				return file.isFile();
 			}
+			return fListings.isFile(file);
+		}
 
-			parent = file.getParent();
-			if (parent == null)
-				return false;
-
-			name = file.getName();
+		String parent;
+		String name;
+		IFileStore parentStore;
+		IFileStore fileStore;
+		try {
+			URI uri = UNCPathConverter.getInstance().toURI(path);
+			fileStore = EFS.getStore(uri);
+			if (BYPASS_CACHE) {
+				return fileStore != null && !fileStore.fetchInfo().isDirectory();
+			}
+			parentStore = fileStore.getParent();
+			if (parentStore == null) {
+				parentStore = fileStore;
+			}
+			parent = parentStore.toURI().toString();
+			name = fileStore.getName();
+		} catch (CoreException e) {
+			return false;
 		}
 		if (fCaseInSensitive)
 			name = name.toUpperCase();
@@ -115,7 +112,7 @@ public final class FileExistsCache {
 		if (avail == null) {
 			String[] files = null;
 			try {
-				files = parentStore == null ? new File(parent).list() : parentStore.childNames(EFS.NONE, null);
+				files = parentStore.childNames(EFS.NONE, null);
 			} catch (CoreException e) {
 				// Ignore
 			}
@@ -143,7 +140,7 @@ public final class FileExistsCache {
 		if (isFileBitset.get(idx + 1))
 			return false;
 
-		if ((file != null && file.isFile()) || (fileStore != null && !fileStore.fetchInfo().isDirectory())) {
+		if (!fileStore.fetchInfo().isDirectory()) {
 			isFileBitset.set(idx);
 			return true;
 		}
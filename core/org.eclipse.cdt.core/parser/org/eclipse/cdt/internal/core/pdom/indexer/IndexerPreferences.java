@@ -71,11 +71,13 @@ public class IndexerPreferences {
 	public static final String KEY_REINDEX_ON_INDEXER_CHANGE = "reindexOnIndexerChange"; //$NON-NLS-1$
 	public static final String KEY_INDEX_ALL_HEADER_VERSIONS = "indexAllHeaderVersions"; //$NON-NLS-1$
 	public static final String KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS = "indexAllVersionsSpecificHeaders"; //$NON-NLS-1$
+	public static final String KEY_WORKER_THREADS = "workerThreads"; //$NON-NLS-1$
 
 	private static final String DEFAULT_INDEX_IMPORT_LOCATION = ".settings/cdt-index.zip"; //$NON-NLS-1$
 	private static final int DEFAULT_UPDATE_POLICY = 0;
 	public static final int DEFAULT_FILE_SIZE_LIMIT_MB = 8;
 	public static final int DEFAULT_INCLUDED_FILE_SIZE_LIMIT_MB = 16;
+	public static final int DEFAULT_WORKER_THREADS = 1;
 
 	private static final String QUALIFIER = CCorePlugin.PLUGIN_ID;
 	private static final String INDEXER_NODE = "indexer"; //$NON-NLS-1$
@@ -335,6 +337,7 @@ public class IndexerPreferences {
 		prefs.putBoolean(KEY_SKIP_MACRO_REFERENCES, false);
 		prefs.put(KEY_INDEX_IMPORT_LOCATION, DEFAULT_INDEX_IMPORT_LOCATION);
 		prefs.putBoolean(KEY_INDEX_ALL_HEADER_VERSIONS, false);
+		prefs.putInt(KEY_WORKER_THREADS, DEFAULT_WORKER_THREADS);
 	}
 
 	public static void setDefaultIndexerId(String defaultId) {
@@ -416,6 +419,32 @@ public class IndexerPreferences {
 		return DEFAULT_UPDATE_POLICY;
 	}
 
+	/**
+	 * Sets the number of threads the indexer uses to parse translation units. With more than one
+	 * thread, sources are parsed concurrently and written to the index one after another.
+	 */
+	public static void setWorkerThreads(int count) {
+		if (count < 1)
+			throw new IllegalArgumentException();
+		// no support for project specific settings, the useful number depends on the machine.
+		getInstancePreferences().putInt(KEY_WORKER_THREADS, count);
+	}
+
+	/**
+	 * Returns the number of threads the indexer uses to parse translation units.
+	 */
+	public static int getWorkerThreads() {
+		String val = Platform.getPreferencesService().get(KEY_WORKER_THREADS, null, getInstancePreferencesArray());
+		if (val != null) {
+			try {
+				return Math.max(1, Integer.parseInt(val));
+			} catch (NumberFormatException e) {
+				CCorePlugin.log(e);
+			}
+		}
+		return DEFAULT_WORKER_THREADS;
+	}
+
 	public static boolean preferDefaultLanguage(IProject project) {
 		IPreferencesService prefService = Platform.getPreferencesService();
 		Preferences[] prefs = IndexerPreferences.getPreferences(project);
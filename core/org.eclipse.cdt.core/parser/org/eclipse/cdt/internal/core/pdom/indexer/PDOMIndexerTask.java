@@ -41,6 +41,7 @@ import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -108,6 +109,7 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		}
 		setUpdateFlags(IIndexManager.UPDATE_CHECK_TIMESTAMPS | IIndexManager.UPDATE_CHECK_CONTENTS_HASH);
 		setForceFirstFiles(forceFiles.length);
+		setWorkerThreads(IndexerPreferences.getWorkerThreads());
 
 		ICProject project = getCProject();
 		String privatePattern = CCorePreferenceConstants.getPreference(CCorePreferenceConstants.INCLUDE_PRIVATE_PATTERN,
@@ -300,6 +302,10 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			if (fStatistics.fTooManyTokensCount > 0)
 				System.out.println(indent + " Tokens: " //$NON-NLS-1$
 						+ fStatistics.fTooManyTokensCount + " TUs with too many tokens."); //$NON-NLS-1$
+			if (fStatistics.fConstexprEvaluationSteps > 0)
+				System.out.println(indent + " Constexpr: " //$NON-NLS-1$
+						+ fStatistics.fConstexprEvaluationSteps + " evaluation steps, " //$NON-NLS-1$
+						+ fStatistics.fConstexprCacheHits + " cached calls."); //$NON-NLS-1$
 
 			NumberFormat nfPercent = NumberFormat.getPercentInstance();
 			nfPercent.setMaximumFractionDigits(2);
@@ -316,7 +322,9 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			System.out.println(indent + " Cache[" //$NON-NLS-1$
 					+ ChunkCache.getSharedInstance().getMaxSize() / 1024 / 1024 + "MB]: " + //$NON-NLS-1$
 					+hits + " hits, " //$NON-NLS-1$
-					+ misses + "(" + nfPercent.format(missPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
+					+ misses + "(" + nfPercent.format(missPct) + ") misses, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ index.getCacheEvictions() + " evictions, " //$NON-NLS-1$
+					+ index.getCachedChunkCount() * (Database.CHUNK_SIZE / 1024) + "KB held by project."); //$NON-NLS-1$
 
 			if (Boolean.parseBoolean(System.getProperty("SHOW_COMPRESSED_INDEXER_INFO"))) { //$NON-NLS-1$
 				Calendar cal = Calendar.getInstance();
@@ -43,6 +43,8 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceProxy;
 import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -108,6 +110,8 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 	private IFile cachedFile = null;
 
 	private boolean deferDeDuplication = false;
+	/** Markers waiting to be created by {@link #flushMarkers()}, {@code null} unless deferred. */
+	private List<ProblemMarkerInfo> pendingMarkers = null;
 
 	private static boolean isCygwin = true;
 
@@ -333,7 +337,8 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 		 * If the tool outputs colored text, it will contain ANSI escape
 		 * sequences. Remove them, since they can confuse the error parsers.
 		 */
-		String lineTrimmed = ANSI_ESCAPE_RE.matcher(line).replaceAll("").trim(); //$NON-NLS-1$
+		String lineTrimmed = line.indexOf('\u001B') >= 0 ? ANSI_ESCAPE_RE.matcher(line).replaceAll("") : line; //$NON-NLS-1$
+		lineTrimmed = lineTrimmed.trim();
 		lineCounter++;
 
 		ProblemMarkerInfo marker = null;
@@ -610,7 +615,14 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 			return;
 		fErrors.add(problemMarkerInfo);
 		problemMarkerInfo.setDeferDeDuplication(deferDeDuplication);
-		fMarkerGenerator.addMarker(problemMarkerInfo);
+		List<ProblemMarkerInfo> pending = pendingMarkers;
+		if (pending != null) {
+			synchronized (pending) {
+				pending.add(problemMarkerInfo);
+			}
+		} else {
+			fMarkerGenerator.addMarker(problemMarkerInfo);
+		}
 		if (problemMarkerInfo.severity == IMarkerGenerator.SEVERITY_ERROR_RESOURCE
 				|| problemMarkerInfo.severity == IMarkerGenerator.SEVERITY_ERROR_BUILD) {
 			hasErrors = true;
@@ -659,6 +671,7 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 		if (nOpens > 0 && --nOpens == 0) {
 			checkLine(true);
 			fDirectoryStack.removeAllElements();
+			flushMarkers();
 		}
 	}
 
@@ -911,6 +924,7 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 				}
 			}
 		}
+		flushMarkers();
 	}
 
 	/**
@@ -927,6 +941,48 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 		return warningCounter;
 	}
 
+	/**
+	 * Defers the creation of problem markers until {@link #flushMarkers()} is called, so that
+	 * markers found in a batch of output are created in a single workspace operation.
+	 * The markers are also created when the manager is closed or shut down.
+	 *
+	 * @since 8.0
+	 */
+	public void deferMarkerCreation() {
+		if (pendingMarkers == null) {
+			pendingMarkers = new ArrayList<>();
+		}
+	}
+
+	/**
+	 * Creates the problem markers deferred since the last call.
+	 *
+	 * @see #deferMarkerCreation()
+	 * @since 8.0
+	 */
+	public void flushMarkers() {
+		List<ProblemMarkerInfo> pending = pendingMarkers;
+		if (pending == null)
+			return;
+		final ProblemMarkerInfo[] markers;
+		synchronized (pending) {
+			if (pending.isEmpty())
+				return;
+			markers = pending.toArray(new ProblemMarkerInfo[pending.size()]);
+			pending.clear();
+		}
+		IWorkspaceRunnable runnable = monitor -> {
+			for (ProblemMarkerInfo marker : markers) {
+				fMarkerGenerator.addMarker(marker);
+			}
+		};
+		try {
+			ResourcesPlugin.getWorkspace().run(runnable, null, IWorkspace.AVOID_UPDATE, null);
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
 	/**
 	 * Flag the marker generator to defer the de-duplication of error markers
 	 * until {@link #deDuplicate()} is called
@@ -946,6 +1002,7 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 	 * @since 6.3
 	 */
 	public void deDuplicate() {
+		flushMarkers();
 		if (deferDeDuplication) {
 			deferDeDuplication = false;
 			((ACBuilder) fMarkerGenerator).deDuplicate();
@@ -14,8 +14,11 @@
  *******************************************************************************/
 package org.eclipse.cdt.core.errorparsers;
 
+import java.util.BitSet;
+
 import org.eclipse.cdt.core.ErrorParserManager;
 import org.eclipse.cdt.core.IErrorParser;
+import org.eclipse.cdt.internal.errorparsers.PatternPrefilter;
 
 /**
  * Abstract Error Parser that implements simple line processing using patterns array
@@ -23,6 +26,7 @@ import org.eclipse.cdt.core.IErrorParser;
  */
 public class AbstractErrorParser implements IErrorParser {
 	private ErrorPattern[] patterns;
+	private PatternPrefilter prefilter;
 
 	protected AbstractErrorParser(ErrorPattern[] patterns) {
 		this.patterns = patterns;
@@ -35,10 +39,22 @@ public class AbstractErrorParser implements IErrorParser {
 	 */
 	@Override
 	public boolean processLine(String line, ErrorParserManager manager) {
-		for (int i = 0; i < patterns.length; ++i) {
+		BitSet candidates = getPrefilter().getCandidates(line);
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
 			if (patterns[i].processLine(line, manager))
 				return true;
 		}
 		return false;
 	}
+
+	private PatternPrefilter getPrefilter() {
+		if (prefilter == null) {
+			String[] regexes = new String[patterns.length];
+			for (int i = 0; i < patterns.length; i++) {
+				regexes[i] = patterns[i].getFilterableRegex();
+			}
+			prefilter = new PatternPrefilter(regexes);
+		}
+		return prefilter;
+	}
 }
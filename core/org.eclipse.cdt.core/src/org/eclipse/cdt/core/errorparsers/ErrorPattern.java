@@ -22,6 +22,7 @@ import java.util.regex.Pattern;
 import org.eclipse.cdt.core.ErrorParserManager;
 import org.eclipse.cdt.core.IMarkerGenerator;
 import org.eclipse.cdt.internal.core.Cygwin;
+import org.eclipse.cdt.internal.errorparsers.PatternPrefilter;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
@@ -221,4 +222,16 @@ public class ErrorPattern {
 		return path;
 	}
 
+	/**
+	 * @return the regular expression of the pattern, or {@code null} if the pattern has to be
+	 * 		tried on every line because a subclass changes the matching.
+	 */
+	String getFilterableRegex() {
+		if (PatternPrefilter.overrides(getClass(), ErrorPattern.class, "processLine", String.class, //$NON-NLS-1$
+				ErrorParserManager.class)
+				|| PatternPrefilter.overrides(getClass(), ErrorPattern.class, "getMatcher", CharSequence.class)) { //$NON-NLS-1$
+			return null;
+		}
+		return pattern.pattern();
+	}
 }
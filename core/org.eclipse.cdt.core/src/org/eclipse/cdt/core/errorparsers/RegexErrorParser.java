@@ -15,12 +15,14 @@
 package org.eclipse.cdt.core.errorparsers;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.ErrorParserManager;
 import org.eclipse.cdt.core.IErrorParser;
 import org.eclipse.cdt.core.IErrorParserNamed;
+import org.eclipse.cdt.internal.errorparsers.PatternPrefilter;
 
 /**
  * {@code RegexerrorParser} is an error parser designed to use regular expressions in order
@@ -38,6 +40,8 @@ public class RegexErrorParser implements IErrorParserNamed {
 	private String fId;
 	private String fName;
 	private final List<RegexErrorPattern> fPatterns = new ArrayList<>();
+	/** Prefilter for the current patterns, rebuilt lazily when the patterns change. */
+	private Prefilter fPrefilter;
 
 	/**
 	 * Default constructor will initialize the error parser with the name of the class
@@ -145,9 +149,11 @@ public class RegexErrorParser implements IErrorParserNamed {
 	 */
 	@Override
 	public boolean processLine(String line, ErrorParserManager epManager) {
-		for (RegexErrorPattern pattern : fPatterns)
+		Prefilter prefilter = getPrefilter();
+		BitSet candidates = prefilter.fFilter.getCandidates(line);
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1))
 			try {
-				if (pattern.processLine(line, epManager))
+				if (prefilter.fPatterns[i].processLine(line, epManager))
 					return true;
 			} catch (Exception e) {
 				String message = "Error parsing line [" + line + "]"; //$NON-NLS-1$//$NON-NLS-2$
@@ -157,6 +163,52 @@ public class RegexErrorParser implements IErrorParserNamed {
 		return false;
 	}
 
+	/**
+	 * Returns the prefilter for the current patterns. The patterns may be added, removed or
+	 * modified at any time, so the prefilter is checked against them on every call.
+	 */
+	private Prefilter getPrefilter() {
+		Prefilter prefilter = fPrefilter;
+		if (prefilter == null || !prefilter.isUpToDate(fPatterns)) {
+			prefilter = new Prefilter(fPatterns.toArray(new RegexErrorPattern[fPatterns.size()]));
+			fPrefilter = prefilter;
+		}
+		return prefilter;
+	}
+
+	private static class Prefilter {
+		final RegexErrorPattern[] fPatterns;
+		final String[] fRegexes;
+		final PatternPrefilter fFilter;
+
+		Prefilter(RegexErrorPattern[] patterns) {
+			fPatterns = patterns;
+			fRegexes = new String[patterns.length];
+			String[] filtered = new String[patterns.length];
+			for (int i = 0; i < patterns.length; i++) {
+				fRegexes[i] = patterns[i].getPattern();
+				// A pattern with its own way of processing lines is tried on every line.
+				if (!PatternPrefilter.overrides(patterns[i].getClass(), RegexErrorPattern.class, "processLine", //$NON-NLS-1$
+						String.class, ErrorParserManager.class)) {
+					filtered[i] = fRegexes[i];
+				}
+			}
+			fFilter = new PatternPrefilter(filtered);
+		}
+
+		boolean isUpToDate(List<RegexErrorPattern> patterns) {
+			if (patterns.size() != fPatterns.length)
+				return false;
+			for (int i = 0; i < fPatterns.length; i++) {
+				RegexErrorPattern pattern = patterns.get(i);
+				// Regular expressions are compiled anew when they are set, compare the strings by identity.
+				if (pattern != fPatterns[i] || pattern.getPattern() != fRegexes[i])
+					return false;
+			}
+			return true;
+		}
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (o instanceof RegexErrorParser) {
@@ -0,0 +1,464 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.ProblemMarkerInfo;
+
+/**
+ * Decouples the threads reading the output of a build process from the processing of the
+ * output, i.e. the console output parsers, the creation of markers and the console.
+ * <p>
+ * The output written to the streams returned by {@link #connect(OutputStream)} is put into a
+ * bounded ring buffer and passed to the target streams by a single consumer thread, in the
+ * order it was written. Writers are blocked while the buffer is full, so a slow consumer
+ * still throttles the build process eventually, but only after the buffer has filled up.
+ * The consumer takes all buffered output at once and calls the batch listener after passing
+ * it on, e.g. to create the markers found in the batch in one workspace operation.
+ * <p>
+ * When the build is canceled, {@link #cancel()} discards the buffered output, such that closing
+ * the streams and the pipeline does not wait for a slow or blocked console.
+ * <p>
+ * The pipeline collects statistics about the stalls of the writers and the time the consumer
+ * spends in the console, see {@link #getStatistics()}.
+ */
+public class BuildOutputPipeline implements Closeable {
+	/** Default capacity of the buffer in bytes. */
+	public static final int DEFAULT_CAPACITY = 1024 * 1024;
+	private static final int MAX_CHUNKS = 4096;
+
+	private static final int DATA = 0;
+	private static final int FLUSH = 1;
+	private static final int CLOSE = 2;
+
+	private static class Chunk {
+		final OutputStream target;
+		final int kind;
+		final byte[] data;
+
+		Chunk(OutputStream target, int kind, byte[] data) {
+			this.target = target;
+			this.kind = kind;
+			this.data = data;
+		}
+	}
+
+	private final int capacity;
+	private final Runnable batchListener;
+	private final Thread consumer;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+	private final Condition drained = lock.newCondition();
+
+	// The ring buffer, guarded by lock.
+	private final Chunk[] ring = new Chunk[MAX_CHUNKS];
+	private int head;
+	private int count;
+	private int bufferedBytes;
+	private boolean processing;
+	private boolean shutdown;
+	// Also read by the consumer without the lock, between the chunks of a batch.
+	private volatile boolean canceled;
+
+	// Statistics, guarded by lock except for consoleNanos which is only written by the consumer.
+	private long totalBytes;
+	private int peakBytes;
+	private int stalls;
+	private long stallNanos;
+	private int batches;
+	private long busyNanos;
+	private volatile long consoleNanos;
+
+	/**
+	 * @param name - name of the consumer thread.
+	 * @param capacity - capacity of the buffer in bytes. A single write larger than the capacity
+	 *    is accepted when the buffer is empty.
+	 * @param batchListener - called by the consumer thread after each batch of output,
+	 *    or {@code null}.
+	 */
+	public BuildOutputPipeline(String name, int capacity, Runnable batchListener) {
+		this.capacity = capacity;
+		this.batchListener = batchListener;
+		consumer = new Thread(this::consume, name);
+		consumer.setDaemon(true);
+		consumer.start();
+	}
+
+	/**
+	 * Returns a stream passing the output written to it to the target stream on the consumer
+	 * thread. Closing the returned stream waits until the output written to it is processed
+	 * and then closes the target stream. After {@link #cancel()} closing the stream has no effect.
+	 *
+	 * @param target - the stream to receive the output.
+	 * @return the stream to write to.
+	 */
+	public OutputStream connect(final OutputStream target) {
+		return new OutputStream() {
+			private boolean closed = false;
+
+			@Override
+			public void write(int b) throws IOException {
+				put(new Chunk(target, DATA, new byte[] { (byte) b }));
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				if (len == 0)
+					return;
+				byte[] data = new byte[len];
+				System.arraycopy(b, off, data, 0, len);
+				put(new Chunk(target, DATA, data));
+			}
+
+			@Override
+			public void flush() throws IOException {
+				put(new Chunk(target, FLUSH, null));
+			}
+
+			@Override
+			public synchronized void close() throws IOException {
+				if (closed || canceled)
+					return;
+				closed = true;
+				put(new Chunk(target, CLOSE, null));
+				drain();
+			}
+		};
+	}
+
+	/**
+	 * Returns a stream measuring the time spent in writing to the console stream. The time is
+	 * reported in the statistics as the time spent in the console.
+	 *
+	 * @param console - the console stream.
+	 * @return the stream to write to the console.
+	 */
+	public OutputStream timeConsole(OutputStream console) {
+		return new TimedConsoleStream(console);
+	}
+
+	private void put(Chunk chunk) throws IOException {
+		int size = chunk.data != null ? chunk.data.length : 0;
+		lock.lock();
+		try {
+			if (canceled)
+				return;
+			if (shutdown)
+				throw new IOException("Build output pipeline is closed"); //$NON-NLS-1$
+			if (count == ring.length || (bufferedBytes > 0 && bufferedBytes + size > capacity)) {
+				stalls++;
+				long start = System.nanoTime();
+				try {
+					while (count == ring.length || (bufferedBytes > 0 && bufferedBytes + size > capacity)) {
+						notFull.await();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException(e);
+				} finally {
+					stallNanos += System.nanoTime() - start;
+				}
+				if (canceled)
+					return;
+			}
+			ring[(head + count) % ring.length] = chunk;
+			count++;
+			bufferedBytes += size;
+			totalBytes += size;
+			peakBytes = Math.max(peakBytes, bufferedBytes);
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Takes all chunks from the ring buffer.
+	 *
+	 * @return the chunks, or {@code null} if the pipeline is shut down and empty.
+	 */
+	private List<Chunk> takeAll() throws InterruptedException {
+		lock.lock();
+		try {
+			processing = false;
+			if (count == 0)
+				drained.signalAll();
+			while (count == 0) {
+				if (shutdown)
+					return null;
+				notEmpty.await();
+			}
+			List<Chunk> batch = new ArrayList<>(count);
+			for (; count > 0; count--) {
+				batch.add(ring[head]);
+				ring[head] = null;
+				head = (head + 1) % ring.length;
+			}
+			bufferedBytes = 0;
+			processing = true;
+			notFull.signalAll();
+			return batch;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void consume() {
+		try {
+			List<Chunk> batch;
+			while ((batch = takeAll()) != null) {
+				long start = System.nanoTime();
+				for (Chunk chunk : batch) {
+					if (canceled)
+						break;
+					try {
+						switch (chunk.kind) {
+						case DATA:
+							chunk.target.write(chunk.data, 0, chunk.data.length);
+							break;
+						case FLUSH:
+							chunk.target.flush();
+							break;
+						case CLOSE:
+							chunk.target.close();
+							break;
+						}
+					} catch (Exception e) {
+						CCorePlugin.log(e);
+					}
+				}
+				if (batchListener != null) {
+					try {
+						batchListener.run();
+					} catch (Exception e) {
+						CCorePlugin.log(e);
+					}
+				}
+				lock.lock();
+				try {
+					batches++;
+					busyNanos += System.nanoTime() - start;
+				} finally {
+					lock.unlock();
+				}
+			}
+		} catch (InterruptedException e) {
+			// Shut down.
+		} finally {
+			lock.lock();
+			try {
+				shutdown = true;
+				processing = false;
+				count = 0;
+				drained.signalAll();
+				notFull.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Waits until all output written so far is processed, or the pipeline is canceled.
+	 */
+	public void drain() throws IOException {
+		if (Thread.currentThread() == consumer)
+			return;
+		lock.lock();
+		try {
+			while (!canceled && (count > 0 || processing)) {
+				drained.await();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until all output written so far is processed, the pipeline is canceled or the timeout
+	 * elapses.
+	 *
+	 * @param timeout - the maximum time to wait.
+	 * @param unit - the unit of the timeout.
+	 * @return {@code true} if all output is processed or discarded, {@code false} if the timeout
+	 *    elapsed.
+	 */
+	public boolean drain(long timeout, TimeUnit unit) throws IOException {
+		if (Thread.currentThread() == consumer)
+			return true;
+		long nanos = unit.toNanos(timeout);
+		lock.lock();
+		try {
+			while (!canceled && (count > 0 || processing)) {
+				if (nanos <= 0)
+					return false;
+				nanos = drained.awaitNanos(nanos);
+			}
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Discards the buffered output and stops the consumer thread after the chunk it is passing on.
+	 * The target streams are not closed, and the output written to the streams of the pipeline
+	 * afterwards is discarded, too. Does not wait for the consumer, which may be blocked by the
+	 * console.
+	 */
+	public void cancel() {
+		lock.lock();
+		try {
+			canceled = true;
+			shutdown = true;
+			for (; count > 0; count--) {
+				ring[head] = null;
+				head = (head + 1) % ring.length;
+			}
+			bufferedBytes = 0;
+			notEmpty.signalAll();
+			notFull.signalAll();
+			drained.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Processes the remaining output and stops the consumer thread. After {@link #cancel()} it
+	 * returns without waiting for the consumer.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			drain();
+		} finally {
+			lock.lock();
+			try {
+				shutdown = true;
+				notEmpty.signalAll();
+			} finally {
+				lock.unlock();
+			}
+			if (!canceled) {
+				try {
+					consumer.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of times a writer had to wait for space in the buffer.
+	 */
+	public int getStallCount() {
+		lock.lock();
+		try {
+			return stalls;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns a summary of the statistics of the pipeline. If the writers stalled for a long time
+	 * and most of the time of the consumer was spent in the console, the console is the bottleneck
+	 * of the build.
+	 */
+	public String getStatistics() {
+		lock.lock();
+		try {
+			return "Build output: " + totalBytes + " bytes in " + batches + " batches, peak buffer " + peakBytes //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ " of " + capacity + " bytes, writers stalled " + stalls + " times for " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ TimeUnit.NANOSECONDS.toMillis(stallNanos) + " ms, consumer busy " //$NON-NLS-1$
+					+ TimeUnit.NANOSECONDS.toMillis(busyNanos) + " ms, of that console " //$NON-NLS-1$
+					+ TimeUnit.NANOSECONDS.toMillis(consoleNanos) + " ms"; //$NON-NLS-1$
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Measures the time spent in writing to the console. Keeps passing the problem markers to the
+	 * console, if it supports them.
+	 */
+	private class TimedConsoleStream extends OutputStream implements IErrorMarkeredOutputStream {
+		private final OutputStream console;
+
+		TimedConsoleStream(OutputStream console) {
+			this.console = console;
+		}
+
+		@Override
+		public void write(String s, ProblemMarkerInfo marker) throws IOException {
+			long start = System.nanoTime();
+			try {
+				if (console instanceof IErrorMarkeredOutputStream) {
+					((IErrorMarkeredOutputStream) console).write(s, marker);
+				} else {
+					byte[] b = s.getBytes();
+					console.write(b, 0, b.length);
+				}
+			} finally {
+				consoleNanos += System.nanoTime() - start;
+			}
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			long start = System.nanoTime();
+			try {
+				console.write(b);
+			} finally {
+				consoleNanos += System.nanoTime() - start;
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			long start = System.nanoTime();
+			try {
+				console.write(b, off, len);
+			} finally {
+				consoleNanos += System.nanoTime() - start;
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			console.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			console.close();
+		}
+	}
+}
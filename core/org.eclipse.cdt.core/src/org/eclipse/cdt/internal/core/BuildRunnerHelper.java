@@ -52,6 +52,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.QualifiedName;
 
 /**
@@ -67,12 +68,17 @@ public class BuildRunnerHelper implements Closeable {
 	private static final int TICKS_STREAM_PROGRESS_MONITOR = 1 * PROGRESS_MONITOR_SCALE;
 	private static final int TICKS_EXECUTE_PROGRAM = 1 * PROGRESS_MONITOR_SCALE;
 	private static final int TICKS_PARSE_OUTPUT = 1 * PROGRESS_MONITOR_SCALE;
+	/** Interval of checking for cancellation while waiting for the output to be processed. */
+	private static final long DRAIN_POLL_MILLIS = 100;
+	private static final boolean TRACE_OUTPUT = Boolean
+			.parseBoolean(Platform.getDebugOption(CCorePlugin.PLUGIN_ID + "/debug/buildOutput")); //$NON-NLS-1$
 
 	private IProject project;
 
 	private IConsole console = null;
 	private ErrorParserManager errorParserManager = null;
 	private StreamProgressMonitor streamProgressMonitor = null;
+	private BuildOutputPipeline outputPipeline = null;
 	private OutputStream stdout = null;
 	private OutputStream stderr = null;
 	private OutputStream consoleOut = null;
@@ -139,14 +145,22 @@ public class BuildRunnerHelper implements Closeable {
 		//                                ^
 		//                         IConsoleParsers (includes EPM + other parsers)
 		//                                ^
-		//    null <- StreamMomitor <= Sniffer <= Process (!!! the flow starts here!)
+		//    null <- StreamMomitor <= Sniffer <= Pipeline <= Process (!!! the flow starts here!)
 		//
+		// The pipeline buffers the output of the process, so that a slow console or many markers
+		// do not hold up the process. Everything after the pipeline runs on its consumer thread.
 
 		isStreamsOpen = true;
 
+		// Markers found in a batch of output are created in one workspace operation.
+		errorParserManager.deferMarkerCreation();
+		String name = "Build Output" + (project != null ? " [" + project.getName() + ']' : ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		outputPipeline = new BuildOutputPipeline(name, BuildOutputPipeline.DEFAULT_CAPACITY,
+				errorParserManager::flushMarkers);
+
 		consoleOut = console.getOutputStream();
 		// stdout/stderr get to the console through ErrorParserManager
-		errorParserManager.setOutputStream(consoleOut);
+		errorParserManager.setOutputStream(outputPipeline.timeConsole(consoleOut));
 
 		List<IConsoleParser> parsers = new ArrayList<>();
 		// Using ErrorParserManager as console parser helps to avoid intermixing buffered streams
@@ -169,8 +183,8 @@ public class BuildRunnerHelper implements Closeable {
 		streamProgressMonitor = new StreamProgressMonitor(monitor, null, lastWork.intValue());
 		ConsoleOutputSniffer sniffer = new ConsoleOutputSniffer(streamProgressMonitor, streamProgressMonitor,
 				parsers.toArray(new IConsoleParser[parsers.size()]));
-		stdout = sniffer.getOutputStream();
-		stderr = sniffer.getErrorStream();
+		stdout = outputPipeline.connect(sniffer.getOutputStream());
+		stderr = outputPipeline.connect(sniffer.getErrorStream());
 	}
 
 	/**
@@ -282,6 +296,15 @@ public class BuildRunnerHelper implements Closeable {
 				}
 
 				status = launcher.waitAndRead(stdout, stderr, monitor);
+				// Let the pipeline catch up with the process. The remaining output is processed when
+				// the streams are closed, unless the build is canceled. Then it is discarded, such
+				// that closing the streams does not wait for a slow console.
+				while (!outputPipeline.drain(DRAIN_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+					if (monitor.isCanceled()) {
+						outputPipeline.cancel();
+						break;
+					}
+				}
 				monitor.worked(TICKS_PARSE_OUTPUT);
 				if (status != ICommandLauncher.OK) {
 					errMsg = launcher.getErrorMessage();
@@ -333,6 +356,7 @@ public class BuildRunnerHelper implements Closeable {
 			} finally {
 				stderr = null;
 				try {
+					closeOutputPipeline();
 					if (streamProgressMonitor != null)
 						streamProgressMonitor.close();
 				} catch (Exception e) {
@@ -353,6 +377,21 @@ public class BuildRunnerHelper implements Closeable {
 		isStreamsOpen = false;
 	}
 
+	private void closeOutputPipeline() {
+		if (outputPipeline == null)
+			return;
+		try {
+			outputPipeline.close();
+			if (TRACE_OUTPUT) {
+				System.out.println(outputPipeline.getStatistics());
+			}
+		} catch (Exception e) {
+			CCorePlugin.log(e);
+		} finally {
+			outputPipeline = null;
+		}
+	}
+
 	/**
 	 * Refresh project in the workspace.
 	 *
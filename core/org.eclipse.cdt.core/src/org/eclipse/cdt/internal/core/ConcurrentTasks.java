@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent tasks on a pool of threads with the calling thread taking part. Used where
+ * the tasks access data the caller must not release before all tasks are completed, e.g. the
+ * index under a read lock, therefore waiting for the tasks cannot be interrupted.
+ */
+public final class ConcurrentTasks {
+	private ConcurrentTasks() {
+	}
+
+	/**
+	 * Creates a pool of daemon threads with the given name, the threads terminate after they
+	 * have been idle for a few seconds.
+	 */
+	public static ThreadPoolExecutor createPool(String name, int threads) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), r -> {
+					Thread thread = new Thread(r, name + " " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
+	}
+
+	/**
+	 * Runs the tasks and returns their results in the order of the tasks. All but the first task
+	 * are handed to the pool, the calling thread runs the tasks the pool has not started, yet.
+	 *
+	 * @param pool the pool to run the tasks on
+	 * @param tasks the tasks to run
+	 * @param whileWaiting called periodically on the calling thread while waiting for tasks
+	 *     running on the pool, or {@code null}
+	 * @throws ExecutionException for the first task that failed, after all tasks are completed.
+	 */
+	public static <T> List<T> invokeAll(Executor pool, List<? extends Callable<T>> tasks, Runnable whileWaiting)
+			throws ExecutionException {
+		final int size = tasks.size();
+		final List<FutureTask<T>> futures = new ArrayList<>(size);
+		for (Callable<T> task : tasks) {
+			futures.add(new FutureTask<>(task));
+		}
+		for (int i = 1; i < size; i++) {
+			pool.execute(futures.get(i));
+		}
+		// Running a task that the pool has already started has no effect.
+		for (FutureTask<T> future : futures) {
+			future.run();
+		}
+
+		final List<T> results = new ArrayList<>(size);
+		ExecutionException failure = null;
+		for (FutureTask<T> future : futures) {
+			try {
+				results.add(await(future, whileWaiting));
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e;
+				}
+				results.add(null);
+			}
+		}
+		if (failure != null)
+			throw failure;
+		return results;
+	}
+
+	/**
+	 * Waits for the completion of the given future. An interruption of the calling thread does not
+	 * end the wait, the interrupted status is restored once the future is done.
+	 *
+	 * @param whileWaiting called periodically while waiting, or {@code null}
+	 */
+	public static <T> T await(Future<T> future, Runnable whileWaiting) throws ExecutionException {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					if (whileWaiting == null)
+						return future.get();
+					return future.get(20, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					whileWaiting.run();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
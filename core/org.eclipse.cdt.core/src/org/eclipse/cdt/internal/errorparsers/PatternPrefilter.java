@@ -0,0 +1,443 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.errorparsers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Determines which of a list of regular expressions can match a line of build output without
+ * running them. For each regular expression a set of literal strings is extracted, such that
+ * every match of the expression contains at least one of them. A single pass of an Aho-Corasick
+ * automaton over the line finds the literals contained in the line and thereby the candidate
+ * expressions. Expressions without such literals are always candidates.
+ */
+public final class PatternPrefilter {
+	private final BitSet alwaysCandidates = new BitSet();
+	/** Maps ASCII characters to the columns of the transition table, 0 for all other characters. */
+	private final int[] charClasses = new int[128];
+	private final int[][] transitions;
+	/** Expressions whose literals end in a given state, or <code>null</code>. */
+	private final BitSet[] outputs;
+
+	/**
+	 * @param regexes the regular expressions, <code>null</code> elements for expressions that
+	 * 		have to be tried on every line.
+	 */
+	public PatternPrefilter(String[] regexes) {
+		List<List<String>> literals = new ArrayList<>(regexes.length);
+		int classCount = 1;
+		for (int i = 0; i < regexes.length; i++) {
+			List<String> required = regexes[i] == null ? null : getRequiredLiterals(regexes[i]);
+			if (required != null) {
+				for (String literal : required) {
+					for (int j = 0; j < literal.length(); j++) {
+						char c = literal.charAt(j);
+						if (c >= charClasses.length) {
+							required = null;
+							break;
+						}
+						if (charClasses[c] == 0)
+							charClasses[c] = classCount++;
+					}
+					if (required == null)
+						break;
+				}
+			}
+			if (required == null)
+				alwaysCandidates.set(i);
+			literals.add(required);
+		}
+
+		// Build the trie of the literals.
+		List<int[]> trie = new ArrayList<>();
+		List<BitSet> trieOutputs = new ArrayList<>();
+		trie.add(newState(classCount));
+		trieOutputs.add(null);
+		for (int i = 0; i < literals.size(); i++) {
+			if (literals.get(i) == null)
+				continue;
+			for (String literal : literals.get(i)) {
+				int state = 0;
+				for (int j = 0; j < literal.length(); j++) {
+					int cls = charClasses[literal.charAt(j)];
+					if (trie.get(state)[cls] < 0) {
+						trie.get(state)[cls] = trie.size();
+						trie.add(newState(classCount));
+						trieOutputs.add(null);
+					}
+					state = trie.get(state)[cls];
+				}
+				if (trieOutputs.get(state) == null)
+					trieOutputs.set(state, new BitSet());
+				trieOutputs.get(state).set(i);
+			}
+		}
+
+		// Turn the trie into a deterministic automaton by following the failure links.
+		transitions = trie.toArray(new int[trie.size()][]);
+		outputs = trieOutputs.toArray(new BitSet[trieOutputs.size()]);
+		int[] failure = new int[transitions.length];
+		Deque<Integer> queue = new ArrayDeque<>();
+		for (int cls = 0; cls < classCount; cls++) {
+			int next = transitions[0][cls];
+			if (next < 0) {
+				transitions[0][cls] = 0;
+			} else {
+				failure[next] = 0;
+				queue.add(next);
+			}
+		}
+		while (!queue.isEmpty()) {
+			int state = queue.remove();
+			BitSet inherited = outputs[failure[state]];
+			if (inherited != null) {
+				if (outputs[state] == null)
+					outputs[state] = new BitSet();
+				outputs[state].or(inherited);
+			}
+			for (int cls = 0; cls < classCount; cls++) {
+				int next = transitions[state][cls];
+				if (next < 0) {
+					transitions[state][cls] = transitions[failure[state]][cls];
+				} else {
+					failure[next] = transitions[failure[state]][cls];
+					queue.add(next);
+				}
+			}
+		}
+	}
+
+	private static int[] newState(int classCount) {
+		int[] state = new int[classCount];
+		Arrays.fill(state, -1);
+		return state;
+	}
+
+	/**
+	 * Returns the indexes of the regular expressions that may match the given line.
+	 *
+	 * @param line the line of output.
+	 * @return the candidate expressions, a new set owned by the caller.
+	 */
+	public BitSet getCandidates(CharSequence line) {
+		BitSet candidates = (BitSet) alwaysCandidates.clone();
+		int state = 0;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			state = transitions[state][c < charClasses.length ? charClasses[c] : 0];
+			if (outputs[state] != null)
+				candidates.or(outputs[state]);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Checks whether a subclass replaces a method of a base class. Lines are prefiltered only
+	 * for the patterns that process them in the way of the base class.
+	 *
+	 * @param cls the class to check.
+	 * @param base the base class declaring the method.
+	 * @param name the name of the method.
+	 * @param parameterTypes the parameter types of the method.
+	 * @return <code>true</code> if the method is declared by a class other than the base class.
+	 */
+	public static boolean overrides(Class<?> cls, Class<?> base, String name, Class<?>... parameterTypes) {
+		for (Class<?> c = cls; c != null && c != base; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod(name, parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// Check the superclass.
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns literal strings such that every match of the regular expression contains at least
+	 * one of them, or <code>null</code> if no such strings could be determined. The expression
+	 * is assumed to be compiled without flags.
+	 *
+	 * @param regex the regular expression.
+	 * @return the required literals or <code>null</code>.
+	 */
+	public static List<String> getRequiredLiterals(String regex) {
+		try {
+			LiteralExtractor extractor = new LiteralExtractor(regex);
+			List<String> literals = extractor.parseAlternation();
+			if (extractor.pos != regex.length() || literals == null || literals.contains("")) //$NON-NLS-1$
+				return null;
+			return literals;
+		} catch (UnsupportedSyntaxException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Thrown for expressions that are not understood by the {@link LiteralExtractor}.
+	 */
+	private static class UnsupportedSyntaxException extends Exception {
+		UnsupportedSyntaxException() {
+			super(null, null, false, false);
+		}
+	}
+
+	/**
+	 * Recursive descent over a regular expression. Constructs that are not understood are
+	 * treated as not requiring any literal, which keeps the result conservative.
+	 */
+	private static class LiteralExtractor {
+		final String regex;
+		int pos;
+
+		LiteralExtractor(String regex) {
+			this.regex = regex;
+		}
+
+		List<String> parseAlternation() throws UnsupportedSyntaxException {
+			List<String> sequence = parseSequence();
+			Set<String> union = sequence == null ? null : new LinkedHashSet<>(sequence);
+			while (pos < regex.length() && regex.charAt(pos) == '|') {
+				pos++;
+				sequence = parseSequence();
+				if (union != null && sequence != null) {
+					union.addAll(sequence);
+				} else {
+					union = null;
+				}
+			}
+			return union == null ? null : new ArrayList<>(union);
+		}
+
+		List<String> parseSequence() throws UnsupportedSyntaxException {
+			List<String> best = null;
+			StringBuilder run = new StringBuilder();
+			while (pos < regex.length()) {
+				char c = regex.charAt(pos);
+				if (c == '|' || c == ')')
+					break;
+				int literal = -1;
+				List<String> group = null;
+				if (c == '\\') {
+					literal = parseEscape();
+				} else if (c == '[') {
+					skipCharacterClass();
+				} else if (c == '(') {
+					group = parseGroup();
+				} else if (c == '.' || c == '^' || c == '$') {
+					pos++;
+				} else {
+					literal = c;
+					pos++;
+				}
+				int min = parseQuantifier();
+				if (literal >= 0 && min > 0) {
+					run.append((char) literal);
+					if (min == Integer.MAX_VALUE)
+						continue;
+				}
+				// The run of literal characters ends at anything but a single required character.
+				best = better(best, run);
+				run.setLength(0);
+				if (group != null && min > 0)
+					best = better(best, group);
+			}
+			return better(best, run);
+		}
+
+		/**
+		 * Parses a quantifier following an atom.
+		 *
+		 * @return 0 if the atom is optional, {@link Integer#MAX_VALUE} if the atom occurs exactly
+		 * 		once, otherwise the minimal number of occurrences.
+		 */
+		private int parseQuantifier() throws UnsupportedSyntaxException {
+			if (pos >= regex.length())
+				return Integer.MAX_VALUE;
+			int min;
+			char c = regex.charAt(pos);
+			if (c == '?' || c == '*') {
+				min = 0;
+				pos++;
+			} else if (c == '+') {
+				min = 1;
+				pos++;
+			} else if (c == '{') {
+				int end = indexOf("}", pos); //$NON-NLS-1$
+				String bounds = regex.substring(pos + 1, end);
+				int comma = bounds.indexOf(',');
+				String lower = (comma < 0 ? bounds : bounds.substring(0, comma)).trim();
+				if (lower.isEmpty())
+					throw new UnsupportedSyntaxException();
+				min = 0;
+				for (int i = 0; i < lower.length(); i++) {
+					char digit = lower.charAt(i);
+					if (digit < '0' || digit > '9')
+						throw new UnsupportedSyntaxException();
+					if (digit != '0')
+						min = 1;
+				}
+				pos = end + 1;
+			} else {
+				return Integer.MAX_VALUE;
+			}
+			// Reluctant and possessive quantifiers.
+			if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+'))
+				pos++;
+			return min;
+		}
+
+		/**
+		 * @return the escaped literal character, or -1 if the escape sequence is not a literal.
+		 */
+		private int parseEscape() throws UnsupportedSyntaxException {
+			char c = charAt(pos + 1);
+			pos += 2;
+			if (!Character.isLetterOrDigit(c))
+				return c;
+			switch (c) {
+			case 't':
+				return '\t';
+			case 'x':
+			case 'p':
+			case 'P':
+			case 'N':
+				if (charAt(pos) == '{') {
+					pos = indexOf("}", pos) + 1; //$NON-NLS-1$
+				} else {
+					pos += c == 'x' ? 2 : 1;
+				}
+				return -1;
+			case 'u':
+				pos += 4;
+				return -1;
+			case 'c':
+				pos++;
+				return -1;
+			case 'k':
+				pos = indexOf(">", pos) + 1; //$NON-NLS-1$
+				return -1;
+			case 'Q':
+				int end = regex.indexOf("\\E", pos); //$NON-NLS-1$
+				pos = end < 0 ? regex.length() : end + 2;
+				return -1;
+			default:
+				// Octal escapes and back references.
+				while (Character.isDigit(c) && pos < regex.length() && Character.isDigit(regex.charAt(pos))) {
+					pos++;
+				}
+				return -1;
+			}
+		}
+
+		private void skipCharacterClass() throws UnsupportedSyntaxException {
+			pos++;
+			if (charAt(pos) == '^')
+				pos++;
+			if (charAt(pos) == ']')
+				pos++;
+			int depth = 1;
+			while (depth > 0) {
+				char c = charAt(pos++);
+				if (c == '\\') {
+					if (charAt(pos) == 'Q') {
+						pos = indexOf("\\E", pos) + 2; //$NON-NLS-1$
+					} else {
+						pos++;
+					}
+				} else if (c == '[') {
+					depth++;
+				} else if (c == ']') {
+					depth--;
+				}
+			}
+		}
+
+		/**
+		 * @return the literals required by the group, or <code>null</code>.
+		 */
+		private List<String> parseGroup() throws UnsupportedSyntaxException {
+			pos++;
+			boolean lookaround = false;
+			if (charAt(pos) == '?') {
+				char kind = charAt(pos + 1);
+				if (kind == ':' || kind == '>') {
+					pos += 2;
+				} else if (kind == '=' || kind == '!') {
+					pos += 2;
+					lookaround = true;
+				} else if (kind == '<' && (charAt(pos + 2) == '=' || charAt(pos + 2) == '!')) {
+					pos += 3;
+					lookaround = true;
+				} else if (kind == '<') {
+					pos = indexOf(">", pos) + 1; //$NON-NLS-1$
+				} else {
+					// Embedded flags, e.g. case insensitive matching.
+					throw new UnsupportedSyntaxException();
+				}
+			}
+			List<String> literals = parseAlternation();
+			if (charAt(pos) != ')')
+				throw new UnsupportedSyntaxException();
+			pos++;
+			return lookaround ? null : literals;
+		}
+
+		private int indexOf(String str, int from) throws UnsupportedSyntaxException {
+			int index = regex.indexOf(str, from);
+			if (index < 0)
+				throw new UnsupportedSyntaxException();
+			return index;
+		}
+
+		private char charAt(int index) throws UnsupportedSyntaxException {
+			if (index >= regex.length())
+				throw new UnsupportedSyntaxException();
+			return regex.charAt(index);
+		}
+
+		/**
+		 * Prefers the literals that are longer and less in number, since they are more selective.
+		 */
+		private static List<String> better(List<String> best, CharSequence run) {
+			if (run.length() == 0)
+				return best;
+			List<String> literals = new ArrayList<>(1);
+			literals.add(run.toString());
+			return better(best, literals);
+		}
+
+		private static List<String> better(List<String> best, List<String> candidate) {
+			if (best == null)
+				return candidate;
+			int bestLength = minLength(best);
+			int candidateLength = minLength(candidate);
+			if (candidateLength > bestLength || candidateLength == bestLength && candidate.size() < best.size())
+				return candidate;
+			return best;
+		}
+
+		private static int minLength(List<String> literals) {
+			int min = Integer.MAX_VALUE;
+			for (String literal : literals) {
+				min = Math.min(min, literal.length());
+			}
+			return min;
+		}
+	}
+}
@@ -0,0 +1,2233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Demangler for names mangled according to the Itanium C++ ABI, as used by gcc and clang. The
+ * names are printed the same way as by the {@code c++filt} of the GNU binutils.
+ * <p>
+ * The mangled name is parsed into a tree of nodes, which is printed afterwards. Types are printed
+ * in two parts, to place the declarator of pointers to functions and arrays in between, e.g.
+ * {@code void (*)(int)}.
+ */
+public final class ItaniumDemangler {
+	private ItaniumDemangler() {
+	}
+
+	/**
+	 * Demangles the given symbol.
+	 *
+	 * @return the demangled name, or {@code null} if the symbol is not a mangled name, or uses
+	 *     constructs that are not supported.
+	 */
+	public static String demangle(String symbol) {
+		if (symbol == null || !symbol.startsWith("_Z")) //$NON-NLS-1$
+			return null;
+		try {
+			Parser parser = new Parser(symbol);
+			Node node = parser.parseEncoding();
+			Printer printer = new Printer();
+			node.print(printer);
+			parser.parseCloneSuffixes(printer);
+			if (parser.pos != symbol.length())
+				return null;
+			return printer.toString();
+		} catch (DemangleException | IndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static final class DemangleException extends RuntimeException {
+		static final DemangleException INSTANCE = new DemangleException();
+
+		private DemangleException() {
+			super(null, null, false, false);
+		}
+	}
+
+	private static DemangleException fail() {
+		return DemangleException.INSTANCE;
+	}
+
+	/**
+	 * Maximum nesting of the parsed constructs and of the printed nodes. Deeper names are not
+	 * demangled, rather than risking a stack overflow.
+	 */
+	private static final int MAX_DEPTH = 256;
+	/**
+	 * Maximum length of a demangled name. Substitutions referring to earlier template arguments
+	 * let the output grow exponentially with the length of the mangled name, longer names are
+	 * not demangled.
+	 */
+	private static final int MAX_LENGTH = 64 * 1024;
+	/** Maximum number of printed nodes, which may print nothing, e.g. empty parameter packs. */
+	private static final int MAX_PRINTED_NODES = 1024 * 1024;
+
+	private static final int CV_CONST = 1;
+	private static final int CV_VOLATILE = 2;
+	private static final int CV_RESTRICT = 4;
+
+	private static final int REF_NONE = 0;
+	private static final int REF_LVALUE = 1;
+	private static final int REF_RVALUE = 2;
+
+	/**
+	 * Output of the printed nodes. Keeps track of the element of a parameter pack printed during
+	 * the expansion of the pack.
+	 */
+	private static final class Printer {
+		final StringBuilder buf = new StringBuilder();
+		int packIndex = -1;
+		int packMax = -1;
+		int depth;
+		int printedNodes;
+
+		void enter() {
+			if (++depth > MAX_DEPTH || ++printedNodes > MAX_PRINTED_NODES)
+				throw fail();
+		}
+
+		void leave() {
+			depth--;
+		}
+
+		Printer append(String s) {
+			if (buf.length() + s.length() > MAX_LENGTH)
+				throw fail();
+			buf.append(s);
+			return this;
+		}
+
+		Printer append(char c) {
+			if (buf.length() >= MAX_LENGTH)
+				throw fail();
+			buf.append(c);
+			return this;
+		}
+
+		char last() {
+			return buf.length() == 0 ? 0 : buf.charAt(buf.length() - 1);
+		}
+
+		int length() {
+			return buf.length();
+		}
+
+		void setLength(int length) {
+			buf.setLength(length);
+		}
+
+		void printList(List<Node> nodes) {
+			boolean first = true;
+			for (Node node : nodes) {
+				int start = length();
+				if (!first)
+					append(", "); //$NON-NLS-1$
+				int before = length();
+				node.print(this);
+				if (length() == before) {
+					// Empty parameter pack.
+					setLength(start);
+				} else {
+					first = false;
+				}
+			}
+		}
+
+		void printCVQualifiers(int cv) {
+			if ((cv & CV_CONST) != 0)
+				append(" const"); //$NON-NLS-1$
+			if ((cv & CV_VOLATILE) != 0)
+				append(" volatile"); //$NON-NLS-1$
+			if ((cv & CV_RESTRICT) != 0)
+				append(" restrict"); //$NON-NLS-1$
+		}
+
+		void printRefQualifier(int ref) {
+			if (ref == REF_LVALUE) {
+				append(" &"); //$NON-NLS-1$
+			} else if (ref == REF_RVALUE) {
+				append(" &&"); //$NON-NLS-1$
+			}
+		}
+
+		@Override
+		public String toString() {
+			return buf.toString();
+		}
+	}
+
+	private static abstract class Node {
+		// The methods traversing the nodes are wrapped to limit the depth of the traversal. The
+		// same nodes may be referenced many times through substitutions and template parameters,
+		// so the depth of the nodes is not limited by the nesting of the mangled name.
+		final void printLeft(Printer p) {
+			p.enter();
+			doPrintLeft(p);
+			p.leave();
+		}
+
+		final void printRight(Printer p) {
+			p.enter();
+			doPrintRight(p);
+			p.leave();
+		}
+
+		final boolean hasRightPart(Printer p) {
+			p.enter();
+			boolean result = doHasRightPart(p);
+			p.leave();
+			return result;
+		}
+
+		final boolean hasArray(Printer p) {
+			p.enter();
+			boolean result = doHasArray(p);
+			p.leave();
+			return result;
+		}
+
+		final boolean hasFunction(Printer p) {
+			p.enter();
+			boolean result = doHasFunction(p);
+			p.leave();
+			return result;
+		}
+
+		abstract void doPrintLeft(Printer p);
+
+		void doPrintRight(Printer p) {
+		}
+
+		boolean doHasRightPart(Printer p) {
+			return false;
+		}
+
+		boolean doHasArray(Printer p) {
+			return false;
+		}
+
+		boolean doHasFunction(Printer p) {
+			return false;
+		}
+
+		void print(Printer p) {
+			printLeft(p);
+			if (hasRightPart(p))
+				printRight(p);
+		}
+
+		/**
+		 * The unqualified name used for constructors and destructors of the entity.
+		 */
+		String getBaseName() {
+			return null;
+		}
+
+		/**
+		 * Whether the node is printed without parentheses as part of an expression.
+		 */
+		boolean isSimpleExpression() {
+			return false;
+		}
+	}
+
+	private static class NameNode extends Node {
+		final String name;
+
+		NameNode(String name) {
+			this.name = name;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append(name);
+		}
+
+		@Override
+		String getBaseName() {
+			return name;
+		}
+
+		@Override
+		boolean isSimpleExpression() {
+			return true;
+		}
+	}
+
+	private static final class SpecialSubstitution extends NameNode {
+		final String baseName;
+
+		SpecialSubstitution(String name, String baseName) {
+			super(name);
+			this.baseName = baseName;
+		}
+
+		@Override
+		String getBaseName() {
+			return baseName;
+		}
+	}
+
+	private static final class NestedName extends Node {
+		final Node qualifier;
+		final Node name;
+
+		NestedName(Node qualifier, Node name) {
+			this.qualifier = qualifier;
+			this.name = name;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			qualifier.print(p);
+			p.append("::"); //$NON-NLS-1$
+			name.print(p);
+		}
+
+		@Override
+		String getBaseName() {
+			String baseName = name.getBaseName();
+			return baseName != null ? baseName : qualifier.getBaseName();
+		}
+
+		@Override
+		boolean isSimpleExpression() {
+			return true;
+		}
+	}
+
+	private static final class LocalName extends Node {
+		final Node encoding;
+		final Node entity;
+
+		LocalName(Node encoding, Node entity) {
+			this.encoding = encoding;
+			this.entity = entity;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			if (encoding instanceof FunctionEncoding) {
+				((FunctionEncoding) encoding).printWithoutReturnType(p);
+			} else {
+				encoding.print(p);
+			}
+			p.append("::"); //$NON-NLS-1$
+			entity.print(p);
+		}
+
+		@Override
+		String getBaseName() {
+			return entity.getBaseName();
+		}
+	}
+
+	private static final class AbiTaggedName extends Node {
+		final Node base;
+		final String tag;
+
+		AbiTaggedName(Node base, String tag) {
+			this.base = base;
+			this.tag = tag;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			base.printLeft(p);
+			p.append("[abi:").append(tag).append(']'); //$NON-NLS-1$
+		}
+
+		@Override
+		String getBaseName() {
+			return base.getBaseName();
+		}
+	}
+
+	private static final class CtorDtorName extends Node {
+		final Node owner;
+		final boolean isDestructor;
+
+		CtorDtorName(Node owner, boolean isDestructor) {
+			this.owner = owner;
+			this.isDestructor = isDestructor;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			if (isDestructor)
+				p.append('~');
+			p.append(owner.getBaseName());
+		}
+	}
+
+	private static final class ConversionOperatorName extends Node {
+		final Node type;
+
+		ConversionOperatorName(Node type) {
+			this.type = type;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append("operator "); //$NON-NLS-1$
+			type.print(p);
+		}
+	}
+
+	private static final class TemplateArgs extends Node {
+		final List<Node> args;
+
+		TemplateArgs(List<Node> args) {
+			this.args = args;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			if (p.last() == '<')
+				p.append(' ');
+			p.append('<');
+			p.printList(args);
+			if (p.last() == '>')
+				p.append(' ');
+			p.append('>');
+		}
+	}
+
+	private static final class NameWithTemplateArgs extends Node {
+		final Node name;
+		final TemplateArgs args;
+
+		NameWithTemplateArgs(Node name, TemplateArgs args) {
+			this.name = name;
+			this.args = args;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			name.print(p);
+			args.print(p);
+		}
+
+		@Override
+		String getBaseName() {
+			return name.getBaseName();
+		}
+	}
+
+	private static final class ClosureTypeName extends Node {
+		final List<Node> params;
+		final int number;
+
+		ClosureTypeName(List<Node> params, int number) {
+			this.params = params;
+			this.number = number;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append("{lambda("); //$NON-NLS-1$
+			p.printList(params);
+			p.append(")#").append(Integer.toString(number)).append('}'); //$NON-NLS-1$
+		}
+	}
+
+	private static final class UnnamedTypeName extends Node {
+		final int number;
+
+		UnnamedTypeName(int number) {
+			this.number = number;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append("{unnamed type#").append(Integer.toString(number)).append('}'); //$NON-NLS-1$
+		}
+	}
+
+	private static final class SpecialName extends Node {
+		final String prefix;
+		final Node child;
+
+		SpecialName(String prefix, Node child) {
+			this.prefix = prefix;
+			this.child = child;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append(prefix);
+			child.print(p);
+		}
+	}
+
+	private static final class ConstructionVtableName extends Node {
+		final Node derived;
+		final Node base;
+
+		ConstructionVtableName(Node derived, Node base) {
+			this.derived = derived;
+			this.base = base;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append("construction vtable for "); //$NON-NLS-1$
+			base.print(p);
+			p.append("-in-"); //$NON-NLS-1$
+			derived.print(p);
+		}
+	}
+
+	private static final class QualifiedType extends Node {
+		final Node child;
+		final int cv;
+
+		QualifiedType(Node child, int cv) {
+			this.child = child;
+			this.cv = cv;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			child.printLeft(p);
+			p.printCVQualifiers(cv);
+		}
+
+		@Override
+		void doPrintRight(Printer p) {
+			child.printRight(p);
+		}
+
+		@Override
+		boolean doHasRightPart(Printer p) {
+			return child.hasRightPart(p);
+		}
+
+		@Override
+		boolean doHasArray(Printer p) {
+			return child.hasArray(p);
+		}
+
+		@Override
+		boolean doHasFunction(Printer p) {
+			return child.hasFunction(p);
+		}
+	}
+
+	private static final class PostfixType extends Node {
+		final Node child;
+		final String postfix;
+
+		PostfixType(Node child, String postfix) {
+			this.child = child;
+			this.postfix = postfix;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			child.print(p);
+			p.append(postfix);
+		}
+	}
+
+	/**
+	 * Pointer, reference or pointer to member.
+	 */
+	private static final class PointerType extends Node {
+		final Node pointee;
+		final String operator;
+		final Node memberOf;
+
+		PointerType(Node pointee, String operator, Node memberOf) {
+			this.pointee = pointee;
+			this.operator = operator;
+			this.memberOf = memberOf;
+		}
+
+		private boolean isReference() {
+			return memberOf == null && operator.charAt(0) == '&';
+		}
+
+		/**
+		 * Returns the pointee of the reference after reference collapsing, which may depend on the
+		 * element of a parameter pack printed. The operator is stored at index 1 of the result.
+		 */
+		private Object[] collapse(Printer p) {
+			Node target = pointee;
+			String op = operator;
+			if (isReference()) {
+				while (true) {
+					if (target instanceof ParameterPack) {
+						target = ((ParameterPack) target).current(p);
+					} else if (target instanceof PointerType && ((PointerType) target).isReference()) {
+						PointerType ref = (PointerType) target;
+						if (!ref.operator.equals(op))
+							op = "&"; //$NON-NLS-1$
+						target = ref.pointee;
+					} else {
+						break;
+					}
+				}
+			}
+			return new Object[] { target, op };
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			Object[] collapsed = collapse(p);
+			Node target = (Node) collapsed[0];
+			if (target == null)
+				return;
+			target.printLeft(p);
+			if (target.hasArray(p))
+				p.append(' ');
+			if (target.hasArray(p) || target.hasFunction(p)) {
+				p.append('(');
+			} else if (memberOf != null) {
+				p.append(' ');
+			}
+			if (memberOf != null) {
+				memberOf.print(p);
+				p.append("::"); //$NON-NLS-1$
+			}
+			p.append((String) collapsed[1]);
+		}
+
+		@Override
+		void doPrintRight(Printer p) {
+			Node target = (Node) collapse(p)[0];
+			if (target == null)
+				return;
+			if (target.hasArray(p) || target.hasFunction(p))
+				p.append(')');
+			target.printRight(p);
+		}
+
+		@Override
+		boolean doHasRightPart(Printer p) {
+			Node target = (Node) collapse(p)[0];
+			return target != null && target.hasRightPart(p);
+		}
+	}
+
+	private static final class FunctionType extends Node {
+		final Node returnType;
+		final List<Node> params;
+		final int cv;
+		final int ref;
+
+		FunctionType(Node returnType, List<Node> params, int cv, int ref) {
+			this.returnType = returnType;
+			this.params = params;
+			this.cv = cv;
+			this.ref = ref;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			returnType.printLeft(p);
+			if (!returnType.hasRightPart(p))
+				p.append(' ');
+		}
+
+		@Override
+		void doPrintRight(Printer p) {
+			p.append('(');
+			p.printList(params);
+			p.append(')');
+			returnType.printRight(p);
+			p.printCVQualifiers(cv);
+			p.printRefQualifier(ref);
+		}
+
+		@Override
+		boolean doHasRightPart(Printer p) {
+			return true;
+		}
+
+		@Override
+		boolean doHasFunction(Printer p) {
+			return true;
+		}
+	}
+
+	private static final class ArrayType extends Node {
+		final Node element;
+		final Node dimension;
+
+		ArrayType(Node element, Node dimension) {
+			this.element = element;
+			this.dimension = dimension;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			element.printLeft(p);
+		}
+
+		@Override
+		void doPrintRight(Printer p) {
+			if (p.last() != ']')
+				p.append(' ');
+			p.append('[');
+			if (dimension != null)
+				dimension.print(p);
+			p.append(']');
+			element.printRight(p);
+		}
+
+		@Override
+		boolean doHasRightPart(Printer p) {
+			return true;
+		}
+
+		@Override
+		boolean doHasArray(Printer p) {
+			return true;
+		}
+	}
+
+	private static final class FunctionEncoding extends Node {
+		final Node returnType;
+		final Node name;
+		final List<Node> params;
+		final int cv;
+		final int ref;
+
+		FunctionEncoding(Node returnType, Node name, List<Node> params, int cv, int ref) {
+			this.returnType = returnType;
+			this.name = name;
+			this.params = params;
+			this.cv = cv;
+			this.ref = ref;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			if (returnType != null) {
+				returnType.printLeft(p);
+				if (!returnType.hasRightPart(p))
+					p.append(' ');
+			}
+			name.print(p);
+		}
+
+		@Override
+		void doPrintRight(Printer p) {
+			p.append('(');
+			p.printList(params);
+			p.append(')');
+			if (returnType != null)
+				returnType.printRight(p);
+			p.printCVQualifiers(cv);
+			p.printRefQualifier(ref);
+		}
+
+		@Override
+		boolean doHasRightPart(Printer p) {
+			return true;
+		}
+
+		@Override
+		boolean doHasFunction(Printer p) {
+			return true;
+		}
+
+		/**
+		 * Prints the function as the scope of a local entity.
+		 */
+		void printWithoutReturnType(Printer p) {
+			name.print(p);
+			p.append('(');
+			p.printList(params);
+			p.append(')');
+			p.printCVQualifiers(cv);
+			p.printRefQualifier(ref);
+		}
+
+		@Override
+		String getBaseName() {
+			return name.getBaseName();
+		}
+	}
+
+	/**
+	 * A template parameter that refers to a template argument pack. Within a pack expansion, the
+	 * element of the current iteration is printed.
+	 */
+	private static final class ParameterPack extends Node {
+		final List<Node> elements;
+
+		ParameterPack(List<Node> elements) {
+			this.elements = elements;
+		}
+
+		private Node current(Printer p) {
+			if (p.packMax == -1) {
+				p.packMax = elements.size();
+				p.packIndex = 0;
+			}
+			return p.packIndex < elements.size() ? elements.get(p.packIndex) : null;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			Node node = current(p);
+			if (node != null)
+				node.printLeft(p);
+		}
+
+		@Override
+		void doPrintRight(Printer p) {
+			Node node = current(p);
+			if (node != null)
+				node.printRight(p);
+		}
+
+		@Override
+		boolean doHasRightPart(Printer p) {
+			Node node = current(p);
+			return node != null && node.hasRightPart(p);
+		}
+
+		@Override
+		boolean doHasArray(Printer p) {
+			Node node = current(p);
+			return node != null && node.hasArray(p);
+		}
+
+		@Override
+		boolean doHasFunction(Printer p) {
+			Node node = current(p);
+			return node != null && node.hasFunction(p);
+		}
+	}
+
+	private static final class TemplateArgumentPack extends Node {
+		final List<Node> elements;
+
+		TemplateArgumentPack(List<Node> elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.printList(elements);
+		}
+	}
+
+	private static final class PackExpansion extends Node {
+		final Node child;
+
+		PackExpansion(Node child) {
+			this.child = child;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			final int savedIndex = p.packIndex;
+			final int savedMax = p.packMax;
+			p.packIndex = -1;
+			p.packMax = -1;
+			try {
+				final int start = p.length();
+				child.print(p);
+				if (p.packMax == -1) {
+					// No parameter pack in the pattern.
+					p.append("..."); //$NON-NLS-1$
+					return;
+				}
+				if (p.packMax == 0) {
+					p.setLength(start);
+					return;
+				}
+				for (int i = 1, n = p.packMax; i < n; i++) {
+					p.append(", "); //$NON-NLS-1$
+					p.packIndex = i;
+					child.print(p);
+				}
+			} finally {
+				p.packIndex = savedIndex;
+				p.packMax = savedMax;
+			}
+		}
+	}
+
+	private static final class IntegerLiteral extends Node {
+		final Node type;
+		final String value;
+		final String suffix;
+
+		IntegerLiteral(Node type, String value, String suffix) {
+			this.type = type;
+			this.value = value;
+			this.suffix = suffix;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			if (suffix != null) {
+				p.append(value).append(suffix);
+			} else if (value.isEmpty()) {
+				type.print(p);
+			} else {
+				p.append('(');
+				type.print(p);
+				p.append(')').append(value);
+			}
+		}
+	}
+
+	private static final class BoolLiteral extends Node {
+		final boolean value;
+
+		BoolLiteral(boolean value) {
+			this.value = value;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append(value ? "true" : "false"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private static final class FunctionParam extends NameNode {
+		FunctionParam(String name) {
+			super(name);
+		}
+	}
+
+	private static final class DecltypeType extends Node {
+		final Node expression;
+
+		DecltypeType(Node expression) {
+			this.expression = expression;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append("decltype ("); //$NON-NLS-1$
+			expression.print(p);
+			p.append(')');
+		}
+	}
+
+	private static void printSubexpression(Printer p, Node node) {
+		if (node.isSimpleExpression()) {
+			node.print(p);
+		} else {
+			p.append('(');
+			node.print(p);
+			p.append(')');
+		}
+	}
+
+	private static final class PrefixExpression extends Node {
+		final String operator;
+		final Node operand;
+
+		PrefixExpression(String operator, Node operand) {
+			this.operator = operator;
+			this.operand = operand;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append(operator);
+			printSubexpression(p, operand);
+		}
+	}
+
+	private static final class PostfixExpression extends Node {
+		final Node operand;
+		final String operator;
+
+		PostfixExpression(Node operand, String operator) {
+			this.operand = operand;
+			this.operator = operator;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			printSubexpression(p, operand);
+			p.append(operator);
+		}
+	}
+
+	private static final class SizeofTypeExpression extends Node {
+		final String operator;
+		final Node type;
+
+		SizeofTypeExpression(String operator, Node type) {
+			this.operator = operator;
+			this.type = type;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append(operator).append('(');
+			type.print(p);
+			p.append(')');
+		}
+	}
+
+	private static final class CastExpression extends Node {
+		final Node type;
+		final Node operand;
+
+		CastExpression(Node type, Node operand) {
+			this.type = type;
+			this.operand = operand;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			p.append('(');
+			type.print(p);
+			p.append(')');
+			printSubexpression(p, operand);
+		}
+	}
+
+	private static final class BinaryExpression extends Node {
+		final Node left;
+		final String operator;
+		final Node right;
+
+		BinaryExpression(Node left, String operator, Node right) {
+			this.left = left;
+			this.operator = operator;
+			this.right = right;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			// Avoid confusion with the end of template arguments.
+			final boolean parens = operator.equals(">"); //$NON-NLS-1$
+			if (parens)
+				p.append('(');
+			printSubexpression(p, left);
+			p.append(operator);
+			printSubexpression(p, right);
+			if (parens)
+				p.append(')');
+		}
+	}
+
+	private static final class MemberExpression extends Node {
+		final Node object;
+		final String operator;
+		final Node member;
+
+		MemberExpression(Node object, String operator, Node member) {
+			this.object = object;
+			this.operator = operator;
+			this.member = member;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			printSubexpression(p, object);
+			p.append(operator);
+			printSubexpression(p, member);
+		}
+	}
+
+	private static final class ArraySubscriptExpression extends Node {
+		final Node array;
+		final Node index;
+
+		ArraySubscriptExpression(Node array, Node index) {
+			this.array = array;
+			this.index = index;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			printSubexpression(p, array);
+			p.append('[');
+			index.print(p);
+			p.append(']');
+		}
+	}
+
+	private static final class CallExpression extends Node {
+		final Node function;
+		final List<Node> args;
+
+		CallExpression(Node function, List<Node> args) {
+			this.function = function;
+			this.args = args;
+		}
+
+		@Override
+		void doPrintLeft(Printer p) {
+			printSubexpression(p, function);
+			p.append('(');
+			p.printList(args);
+			p.append(')');
+		}
+	}
+
+	/**
+	 * Properties of the name of an encoding, which determine how the function type is mangled.
+	 */
+	private static final class NameState {
+		boolean endsWithTemplateArgs;
+		boolean isCtorDtorConversion;
+		int cv;
+		int ref;
+	}
+
+	private static final String[][] OPERATORS = {
+			// code, name, kind: 1 unary, 2 binary, 0 other
+			{ "nw", "new", "0" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "na", "new[]", "0" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "dl", "delete", "0" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "da", "delete[]", "0" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "ps", "+", "1" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "ng", "-", "1" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "ad", "&", "1" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "de", "*", "1" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "co", "~", "1" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "pl", "+", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "mi", "-", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "ml", "*", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "dv", "/", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "rm", "%", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "an", "&", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "or", "|", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "eo", "^", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "aS", "=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "pL", "+=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "mI", "-=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "mL", "*=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "dV", "/=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "rM", "%=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "aN", "&=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "oR", "|=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "eO", "^=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "ls", "<<", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "rs", ">>", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "lS", "<<=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "rS", ">>=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "eq", "==", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "ne", "!=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "lt", "<", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "gt", ">", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "le", "<=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "ge", ">=", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "ss", "<=>", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "nt", "!", "1" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "aa", "&&", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "oo", "||", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "pp", "++", "1" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "mm", "--", "1" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "cm", ",", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "pm", "->*", "2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "pt", "->", "0" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "cl", "()", "0" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "ix", "[]", "0" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "qu", "?", "0" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			{ "aw", "co_await", "1" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	};
+
+	private static String[] findOperator(String s, int pos) {
+		if (pos + 2 > s.length())
+			return null;
+		for (String[] op : OPERATORS) {
+			if (s.startsWith(op[0], pos))
+				return op;
+		}
+		return null;
+	}
+
+	private static final class Parser {
+		final String s;
+		int pos;
+		final List<Node> substitutions = new ArrayList<>();
+		List<Node> templateParams;
+		int depth;
+
+		Parser(String s) {
+			this.s = s;
+		}
+
+		char look() {
+			return pos < s.length() ? s.charAt(pos) : 0;
+		}
+
+		char look(int i) {
+			return pos + i < s.length() ? s.charAt(pos + i) : 0;
+		}
+
+		boolean consume(char c) {
+			if (look() == c) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		boolean consume(String prefix) {
+			if (s.startsWith(prefix, pos)) {
+				pos += prefix.length();
+				return true;
+			}
+			return false;
+		}
+
+		void expect(char c) {
+			if (!consume(c))
+				throw fail();
+		}
+
+		boolean atEnd() {
+			return pos >= s.length();
+		}
+
+		void enter() {
+			if (++depth > MAX_DEPTH)
+				throw fail();
+		}
+
+		void leave() {
+			depth--;
+		}
+
+		/**
+		 * <number> ::= [n] <non-negative decimal integer>
+		 */
+		String parseNumber(boolean allowNegative) {
+			final int start = pos;
+			if (allowNegative)
+				consume('n');
+			final int digits = pos;
+			while (Character.isDigit(look())) {
+				pos++;
+			}
+			if (pos == digits)
+				throw fail();
+			return s.substring(start, pos);
+		}
+
+		int parsePositiveNumber() {
+			String number = parseNumber(false);
+			if (number.length() > 9)
+				throw fail();
+			return Integer.parseInt(number);
+		}
+
+		/**
+		 * <seq-id> in base 36, followed by '_'. Returns 0 for just '_', otherwise the number plus 1.
+		 */
+		int parseSeqId() {
+			if (consume('_'))
+				return 0;
+			int value = 0;
+			while (!consume('_')) {
+				char c = look();
+				int digit;
+				if (c >= '0' && c <= '9') {
+					digit = c - '0';
+				} else if (c >= 'A' && c <= 'Z') {
+					digit = c - 'A' + 10;
+				} else {
+					throw fail();
+				}
+				value = value * 36 + digit;
+				if (value > 1000000)
+					throw fail();
+				pos++;
+			}
+			return value + 1;
+		}
+
+		/**
+		 * Parses the optional number before '_', as used for lambdas, unnamed types and
+		 * function parameters. Returns 0 for just '_', otherwise the number plus 1.
+		 */
+		int parseOptionalNumber() {
+			if (consume('_'))
+				return 0;
+			int n = parsePositiveNumber();
+			expect('_');
+			return n + 1;
+		}
+
+		void parseCloneSuffixes(Printer p) {
+			while (look() == '.' && (Character.isLowerCase(look(1)) || look(1) == '_' || Character.isDigit(look(1)))) {
+				final int start = pos;
+				pos++;
+				if (Character.isLowerCase(look()) || look() == '_') {
+					while (Character.isLowerCase(look()) || look() == '_') {
+						pos++;
+					}
+				}
+				while (look() == '.' && Character.isDigit(look(1))) {
+					pos++;
+					while (Character.isDigit(look())) {
+						pos++;
+					}
+				}
+				p.append(" [clone ").append(s.substring(start, pos)).append(']'); //$NON-NLS-1$
+			}
+		}
+
+		/**
+		 * <encoding> ::= <name> <bare-function-type> | <name> | <special-name>
+		 */
+		Node parseEncoding() {
+			if (!consume("_Z")) //$NON-NLS-1$
+				throw fail();
+			return parseEncodingBody();
+		}
+
+		Node parseEncodingBody() {
+			enter();
+			Node node = doParseEncodingBody();
+			leave();
+			return node;
+		}
+
+		private Node doParseEncodingBody() {
+			if (look() == 'G' || look() == 'T')
+				return parseSpecialName();
+
+			// The template parameters of an encoding are unrelated to those of the enclosing context.
+			final List<Node> savedTemplateParams = templateParams;
+			templateParams = null;
+			try {
+				NameState state = new NameState();
+				Node name = parseName(state);
+				if (atEnd() || look() == 'E' || look() == '.')
+					return name;
+
+				Node returnType = null;
+				if (state.endsWithTemplateArgs && !state.isCtorDtorConversion)
+					returnType = parseType();
+				List<Node> params = parseBareFunctionParams();
+				return new FunctionEncoding(returnType, name, params, state.cv, state.ref);
+			} finally {
+				templateParams = savedTemplateParams;
+			}
+		}
+
+		private List<Node> parseBareFunctionParams() {
+			if (consume('v'))
+				return Collections.emptyList();
+			List<Node> params = new ArrayList<>();
+			do {
+				params.add(parseType());
+			} while (!atEnd() && look() != 'E' && look() != '.');
+			return params;
+		}
+
+		/**
+		 * <special-name>
+		 */
+		Node parseSpecialName() {
+			if (consume('T')) {
+				char c = look();
+				pos++;
+				switch (c) {
+				case 'V':
+					return new SpecialName("vtable for ", parseType()); //$NON-NLS-1$
+				case 'T':
+					return new SpecialName("VTT for ", parseType()); //$NON-NLS-1$
+				case 'I':
+					return new SpecialName("typeinfo for ", parseType()); //$NON-NLS-1$
+				case 'S':
+					return new SpecialName("typeinfo name for ", parseType()); //$NON-NLS-1$
+				case 'h':
+					parseNumber(true);
+					expect('_');
+					return new SpecialName("non-virtual thunk to ", parseEncodingBody()); //$NON-NLS-1$
+				case 'v':
+					parseNumber(true);
+					expect('_');
+					parseNumber(true);
+					expect('_');
+					return new SpecialName("virtual thunk to ", parseEncodingBody()); //$NON-NLS-1$
+				case 'c':
+					parseCallOffset();
+					parseCallOffset();
+					return new SpecialName("covariant return thunk to ", parseEncodingBody()); //$NON-NLS-1$
+				case 'C': {
+					Node derived = parseType();
+					parseNumber(true);
+					expect('_');
+					Node base = parseType();
+					return new ConstructionVtableName(derived, base);
+				}
+				case 'W':
+					return new SpecialName("TLS wrapper function for ", parseName(null)); //$NON-NLS-1$
+				case 'H':
+					return new SpecialName("TLS init function for ", parseName(null)); //$NON-NLS-1$
+				default:
+					throw fail();
+				}
+			}
+			expect('G');
+			if (consume('V'))
+				return new SpecialName("guard variable for ", parseName(null)); //$NON-NLS-1$
+			if (consume("Tt")) //$NON-NLS-1$
+				return new SpecialName("transaction clone for ", parseEncodingBody()); //$NON-NLS-1$
+			if (consume("Tn")) //$NON-NLS-1$
+				return new SpecialName("non-transaction clone for ", parseEncodingBody()); //$NON-NLS-1$
+			if (consume('A'))
+				return new SpecialName("hidden alias for ", parseEncodingBody()); //$NON-NLS-1$
+			throw fail();
+		}
+
+		private void parseCallOffset() {
+			if (consume('h')) {
+				parseNumber(true);
+				expect('_');
+			} else if (consume('v')) {
+				parseNumber(true);
+				expect('_');
+				parseNumber(true);
+				expect('_');
+			} else {
+				throw fail();
+			}
+		}
+
+		/**
+		 * <name> ::= <nested-name> | <local-name> | <unscoped-template-name> <template-args>
+		 *        ::= <unscoped-name>
+		 */
+		Node parseName(NameState state) {
+			enter();
+			Node node = doParseName(state);
+			leave();
+			return node;
+		}
+
+		private Node doParseName(NameState state) {
+			if (look() == 'N')
+				return parseNestedName(state);
+			if (look() == 'Z')
+				return parseLocalName(state);
+
+			Node result;
+			boolean isSubstitution = false;
+			if (look() == 'S' && look(1) != 't') {
+				result = parseSubstitution();
+				isSubstitution = true;
+				if (look() != 'I')
+					throw fail();
+			} else {
+				result = parseUnscopedName(state);
+			}
+			if (look() == 'I') {
+				if (!isSubstitution)
+					substitutions.add(result);
+				TemplateArgs args = parseTemplateArgs(state != null);
+				if (state != null)
+					state.endsWithTemplateArgs = true;
+				result = new NameWithTemplateArgs(result, args);
+			}
+			return result;
+		}
+
+		/**
+		 * <local-name> ::= Z <encoding> E <entity name> [<discriminator>]
+		 *              ::= Z <encoding> E s [<discriminator>]
+		 */
+		private Node parseLocalName(NameState state) {
+			expect('Z');
+			Node encoding = parseEncodingBody();
+			expect('E');
+			Node entity;
+			if (consume('s')) {
+				entity = new NameNode("string literal"); //$NON-NLS-1$
+			} else {
+				entity = parseName(state);
+			}
+			parseDiscriminator();
+			return new LocalName(encoding, entity);
+		}
+
+		private void parseDiscriminator() {
+			if (look() != '_')
+				return;
+			if (Character.isDigit(look(1))) {
+				pos += 2;
+			} else if (look(1) == '_') {
+				pos += 2;
+				parsePositiveNumber();
+				expect('_');
+			}
+		}
+
+		private Node parseUnscopedName(NameState state) {
+			if (consume("St")) //$NON-NLS-1$
+				return new NestedName(new NameNode("std"), parseUnqualifiedName(state)); //$NON-NLS-1$
+			return parseUnqualifiedName(state);
+		}
+
+		/**
+		 * <nested-name> ::= N [<CV-qualifiers>] [<ref-qualifier>] <prefix> <unqualified-name> E
+		 *               ::= N [<CV-qualifiers>] [<ref-qualifier>] <template-prefix> <template-args> E
+		 */
+		private Node parseNestedName(NameState state) {
+			expect('N');
+			int cv = parseCVQualifiers();
+			int ref = REF_NONE;
+			if (consume('O')) {
+				ref = REF_RVALUE;
+			} else if (consume('R')) {
+				ref = REF_LVALUE;
+			}
+			if (state != null) {
+				state.cv = cv;
+				state.ref = ref;
+			}
+
+			Node soFar = null;
+			if (consume("St")) //$NON-NLS-1$
+				soFar = new NameNode("std"); //$NON-NLS-1$
+			while (!consume('E')) {
+				if (state != null)
+					state.endsWithTemplateArgs = false;
+				final char c = look();
+				if (c == 'M') {
+					// Prefix of a closure in the initializer of a data member.
+					if (soFar == null)
+						throw fail();
+					pos++;
+					continue;
+				}
+				if (c == 'T') {
+					if (soFar != null)
+						throw fail();
+					soFar = parseTemplateParam();
+					substitutions.add(soFar);
+					continue;
+				}
+				if (c == 'I') {
+					if (soFar == null)
+						throw fail();
+					TemplateArgs args = parseTemplateArgs(state != null);
+					soFar = new NameWithTemplateArgs(soFar, args);
+					if (state != null)
+						state.endsWithTemplateArgs = true;
+					substitutions.add(soFar);
+					continue;
+				}
+				if (c == 'D' && (look(1) == 't' || look(1) == 'T')) {
+					if (soFar != null)
+						throw fail();
+					soFar = parseDecltype();
+					substitutions.add(soFar);
+					continue;
+				}
+				if (c == 'S' && look(1) != 't') {
+					if (soFar != null)
+						throw fail();
+					soFar = parseSubstitution();
+					continue;
+				}
+				Node component;
+				if (c == 'C' || (c == 'D' && look(1) != 'C')) {
+					if (soFar == null)
+						throw fail();
+					component = parseCtorDtorName(soFar, state);
+					while (look() == 'B') {
+						component = parseAbiTag(component);
+					}
+				} else {
+					component = parseUnqualifiedName(state);
+				}
+				soFar = soFar == null ? component : new NestedName(soFar, component);
+				substitutions.add(soFar);
+			}
+			if (soFar == null || substitutions.isEmpty())
+				throw fail();
+			substitutions.remove(substitutions.size() - 1);
+			return soFar;
+		}
+
+		private Node parseCtorDtorName(Node owner, NameState state) {
+			if (owner.getBaseName() == null)
+				throw fail();
+			if (consume('C')) {
+				boolean inheriting = consume('I');
+				char variant = look();
+				if (variant < '1' || variant > '5')
+					throw fail();
+				pos++;
+				if (inheriting)
+					parseName(null);
+				if (state != null)
+					state.isCtorDtorConversion = true;
+				return new CtorDtorName(owner, false);
+			}
+			expect('D');
+			char variant = look();
+			if (variant != '0' && variant != '1' && variant != '2' && variant != '4' && variant != '5')
+				throw fail();
+			pos++;
+			if (state != null)
+				state.isCtorDtorConversion = true;
+			return new CtorDtorName(owner, true);
+		}
+
+		/**
+		 * <unqualified-name> ::= <operator-name> [<abi-tags>] | <source-name> [<abi-tags>]
+		 *                    ::= <unnamed-type-name> [<abi-tags>]
+		 */
+		private Node parseUnqualifiedName(NameState state) {
+			Node result;
+			final char c = look();
+			if (c == 'U') {
+				result = parseUnnamedTypeName();
+			} else if (Character.isDigit(c)) {
+				result = parseSourceName();
+			} else if (c == 'L' && Character.isDigit(look(1))) {
+				// Internal linkage, gcc extension.
+				pos++;
+				result = parseSourceName();
+				parseDiscriminator();
+			} else {
+				result = parseOperatorName(state);
+			}
+			while (look() == 'B') {
+				result = parseAbiTag(result);
+			}
+			return result;
+		}
+
+		private Node parseAbiTag(Node base) {
+			expect('B');
+			return new AbiTaggedName(base, parseSourceNameString());
+		}
+
+		private Node parseUnnamedTypeName() {
+			if (consume("Ut")) { //$NON-NLS-1$
+				return new UnnamedTypeName(parseOptionalNumber() + 1);
+			}
+			if (consume("Ul")) { //$NON-NLS-1$
+				List<Node> params = parseBareFunctionParamsUntilEnd();
+				return new ClosureTypeName(params, parseOptionalNumber() + 1);
+			}
+			throw fail();
+		}
+
+		private List<Node> parseBareFunctionParamsUntilEnd() {
+			if (consume('v')) {
+				expect('E');
+				return Collections.emptyList();
+			}
+			List<Node> params = new ArrayList<>();
+			while (!consume('E')) {
+				params.add(parseType());
+			}
+			return params;
+		}
+
+		private String parseSourceNameString() {
+			int length = parsePositiveNumber();
+			if (length == 0 || pos + length > s.length())
+				throw fail();
+			String name = s.substring(pos, pos + length);
+			pos += length;
+			return name;
+		}
+
+		private Node parseSourceName() {
+			String name = parseSourceNameString();
+			if (name.length() >= 10 && name.startsWith("_GLOBAL_") //$NON-NLS-1$
+					&& (name.charAt(8) == '.' || name.charAt(8) == '_' || name.charAt(8) == '$')
+					&& name.charAt(9) == 'N') {
+				return new NameNode("(anonymous namespace)"); //$NON-NLS-1$
+			}
+			return new NameNode(name);
+		}
+
+		private Node parseOperatorName(NameState state) {
+			if (consume("cv")) { //$NON-NLS-1$
+				Node type = parseType();
+				if (state != null)
+					state.isCtorDtorConversion = true;
+				return new ConversionOperatorName(type);
+			}
+			if (consume("li")) //$NON-NLS-1$
+				return new NameNode("operator\"\" " + parseSourceNameString()); //$NON-NLS-1$
+			if (look() == 'v' && Character.isDigit(look(1))) {
+				pos += 2;
+				return new NameNode("operator " + parseSourceNameString()); //$NON-NLS-1$
+			}
+			String[] op = findOperator(s, pos);
+			if (op == null)
+				throw fail();
+			pos += 2;
+			final String name = op[1];
+			if (Character.isLowerCase(name.charAt(0)))
+				return new NameNode("operator " + name); //$NON-NLS-1$
+			return new NameNode("operator" + name); //$NON-NLS-1$
+		}
+
+		/**
+		 * <substitution> ::= S_ | S <seq-id> _ | Sa | Sb | Ss | Si | So | Sd
+		 */
+		private Node parseSubstitution() {
+			expect('S');
+			final char c = look();
+			if (Character.isLowerCase(c)) {
+				pos++;
+				switch (c) {
+				case 'a':
+					return new SpecialSubstitution("std::allocator", "allocator"); //$NON-NLS-1$ //$NON-NLS-2$
+				case 'b':
+					return new SpecialSubstitution("std::basic_string", "basic_string"); //$NON-NLS-1$ //$NON-NLS-2$
+				case 's':
+					return new SpecialSubstitution(
+							"std::basic_string<char, std::char_traits<char>, std::allocator<char> >", //$NON-NLS-1$
+							"basic_string"); //$NON-NLS-1$
+				case 'i':
+					return new SpecialSubstitution("std::basic_istream<char, std::char_traits<char> >", //$NON-NLS-1$
+							"basic_istream"); //$NON-NLS-1$
+				case 'o':
+					return new SpecialSubstitution("std::basic_ostream<char, std::char_traits<char> >", //$NON-NLS-1$
+							"basic_ostream"); //$NON-NLS-1$
+				case 'd':
+					return new SpecialSubstitution("std::basic_iostream<char, std::char_traits<char> >", //$NON-NLS-1$
+							"basic_iostream"); //$NON-NLS-1$
+				default:
+					throw fail();
+				}
+			}
+			int index = parseSeqId();
+			if (index >= substitutions.size())
+				throw fail();
+			return substitutions.get(index);
+		}
+
+		/**
+		 * <template-param> ::= T_ | T <number> _
+		 */
+		private Node parseTemplateParam() {
+			expect('T');
+			int index = parseOptionalNumber();
+			if (templateParams == null || index >= templateParams.size())
+				throw fail();
+			return templateParams.get(index);
+		}
+
+		/**
+		 * <template-args> ::= I <template-arg>+ E
+		 *
+		 * @param isOfEncoding whether the arguments are the ones of the name of the encoding,
+		 *     which are referenced by the template parameters.
+		 */
+		private TemplateArgs parseTemplateArgs(boolean isOfEncoding) {
+			expect('I');
+			List<Node> args = new ArrayList<>();
+			List<Node> params = isOfEncoding ? new ArrayList<>() : null;
+			while (!consume('E')) {
+				Node arg = parseTemplateArg();
+				args.add(arg);
+				if (params != null) {
+					if (arg instanceof TemplateArgumentPack) {
+						params.add(new ParameterPack(((TemplateArgumentPack) arg).elements));
+					} else {
+						params.add(arg);
+					}
+				}
+			}
+			if (params != null)
+				templateParams = params;
+			return new TemplateArgs(args);
+		}
+
+		private Node parseTemplateArg() {
+			enter();
+			Node node = doParseTemplateArg();
+			leave();
+			return node;
+		}
+
+		private Node doParseTemplateArg() {
+			switch (look()) {
+			case 'X': {
+				pos++;
+				Node expression = parseExpression();
+				expect('E');
+				return expression;
+			}
+			case 'J': {
+				pos++;
+				List<Node> elements = new ArrayList<>();
+				while (!consume('E')) {
+					elements.add(parseTemplateArg());
+				}
+				return new TemplateArgumentPack(elements);
+			}
+			case 'L':
+				return parseExprPrimary();
+			default:
+				return parseType();
+			}
+		}
+
+		/**
+		 * <expr-primary> ::= L <type> <value number> E | L <mangled-name> E
+		 */
+		private Node parseExprPrimary() {
+			expect('L');
+			if (look() == '_' && look(1) == 'Z') {
+				pos++;
+			}
+			if (consume('Z')) {
+				Node encoding = parseEncodingBody();
+				expect('E');
+				return encoding;
+			}
+			final int typeStart = pos;
+			Node type = parseType();
+			final String typeCode = s.substring(typeStart, pos);
+			final int valueStart = pos;
+			while (look() != 'E') {
+				if (atEnd())
+					throw fail();
+				pos++;
+			}
+			String value = s.substring(valueStart, pos);
+			pos++;
+			boolean negative = value.startsWith("n"); //$NON-NLS-1$
+			if (negative)
+				value = '-' + value.substring(1);
+			switch (typeCode) {
+			case "b": //$NON-NLS-1$
+				if (value.equals("0")) //$NON-NLS-1$
+					return new BoolLiteral(false);
+				if (value.equals("1")) //$NON-NLS-1$
+					return new BoolLiteral(true);
+				break;
+			case "i": //$NON-NLS-1$
+				return new IntegerLiteral(type, value, ""); //$NON-NLS-1$
+			case "j": //$NON-NLS-1$
+				return new IntegerLiteral(type, value, "u"); //$NON-NLS-1$
+			case "l": //$NON-NLS-1$
+				return new IntegerLiteral(type, value, "l"); //$NON-NLS-1$
+			case "m": //$NON-NLS-1$
+				return new IntegerLiteral(type, value, "ul"); //$NON-NLS-1$
+			case "x": //$NON-NLS-1$
+				return new IntegerLiteral(type, value, "ll"); //$NON-NLS-1$
+			case "y": //$NON-NLS-1$
+				return new IntegerLiteral(type, value, "ull"); //$NON-NLS-1$
+			default:
+				break;
+			}
+			return new IntegerLiteral(type, value, null);
+		}
+
+		/**
+		 * <decltype> ::= Dt <expression> E | DT <expression> E
+		 */
+		private Node parseDecltype() {
+			expect('D');
+			if (!consume('t') && !consume('T'))
+				throw fail();
+			Node expression = parseExpression();
+			expect('E');
+			return new DecltypeType(expression);
+		}
+
+		/**
+		 * Supports the commonly used subset of expressions.
+		 */
+		private Node parseExpression() {
+			enter();
+			Node node = doParseExpression();
+			leave();
+			return node;
+		}
+
+		private Node doParseExpression() {
+			final char c = look();
+			if (c == 'L')
+				return parseExprPrimary();
+			if (c == 'T')
+				return parseTemplateParam();
+			if (Character.isDigit(c)) {
+				Node name = parseSourceName();
+				if (look() == 'I')
+					name = new NameWithTemplateArgs(name, parseTemplateArgs(false));
+				return name;
+			}
+			if (consume("fp")) { //$NON-NLS-1$
+				if (consume('T'))
+					return new NameNode("this"); //$NON-NLS-1$
+				parseCVQualifiers();
+				return new FunctionParam("{parm#" + (parseOptionalNumber() + 1) + '}'); //$NON-NLS-1$
+			}
+			if (consume("fL")) { //$NON-NLS-1$
+				parsePositiveNumber();
+				expect('p');
+				parseCVQualifiers();
+				return new FunctionParam("{parm#" + (parseOptionalNumber() + 1) + '}'); //$NON-NLS-1$
+			}
+			if (consume("st")) //$NON-NLS-1$
+				return new SizeofTypeExpression("sizeof ", parseType()); //$NON-NLS-1$
+			if (consume("at")) //$NON-NLS-1$
+				return new SizeofTypeExpression("alignof ", parseType()); //$NON-NLS-1$
+			if (consume("sz")) //$NON-NLS-1$
+				return new PrefixExpression("sizeof ", parseExpression()); //$NON-NLS-1$
+			if (consume("az")) //$NON-NLS-1$
+				return new PrefixExpression("alignof ", parseExpression()); //$NON-NLS-1$
+			if (consume("cv")) { //$NON-NLS-1$
+				Node type = parseType();
+				if (look() == '_')
+					throw fail();
+				return new CastExpression(type, parseExpression());
+			}
+			if (consume("cl")) { //$NON-NLS-1$
+				Node function = parseExpression();
+				List<Node> args = new ArrayList<>();
+				while (!consume('E')) {
+					args.add(parseExpression());
+				}
+				return new CallExpression(function, args);
+			}
+			if (consume("dt")) //$NON-NLS-1$
+				return new MemberExpression(parseExpression(), ".", parseExpression()); //$NON-NLS-1$
+			if (consume("pt")) //$NON-NLS-1$
+				return new MemberExpression(parseExpression(), "->", parseExpression()); //$NON-NLS-1$
+			if (consume("ix")) { //$NON-NLS-1$
+				Node array = parseExpression();
+				return new ArraySubscriptExpression(array, parseExpression());
+			}
+			if ((c == 'p' || c == 'm') && look(1) == c) {
+				// Prefix increment or decrement is followed by '_'.
+				final String operator = c == 'p' ? "++" : "--"; //$NON-NLS-1$ //$NON-NLS-2$
+				pos += 2;
+				if (consume('_'))
+					return new PrefixExpression(operator, parseExpression());
+				return new PostfixExpression(parseExpression(), operator);
+			}
+			String[] op = findOperator(s, pos);
+			if (op != null) {
+				if (op[2].equals("1")) { //$NON-NLS-1$
+					pos += 2;
+					return new PrefixExpression(op[1], parseExpression());
+				}
+				if (op[2].equals("2")) { //$NON-NLS-1$
+					pos += 2;
+					Node left = parseExpression();
+					return new BinaryExpression(left, op[1], parseExpression());
+				}
+			}
+			throw fail();
+		}
+
+		private int parseCVQualifiers() {
+			int cv = 0;
+			if (consume('r'))
+				cv |= CV_RESTRICT;
+			if (consume('V'))
+				cv |= CV_VOLATILE;
+			if (consume('K'))
+				cv |= CV_CONST;
+			return cv;
+		}
+
+		/**
+		 * <type>
+		 */
+		Node parseType() {
+			enter();
+			Node node = doParseType();
+			leave();
+			return node;
+		}
+
+		private Node doParseType() {
+			final Node result;
+			final char c = look();
+			switch (c) {
+			case 'r':
+			case 'V':
+			case 'K': {
+				final int cv = parseCVQualifiers();
+				if (look() == 'F' || (look() == 'D' && "oOwx".indexOf(look(1)) >= 0)) { //$NON-NLS-1$
+					result = parseFunctionType(cv);
+				} else {
+					result = new QualifiedType(parseType(), cv);
+				}
+				break;
+			}
+			case 'F':
+				result = parseFunctionType(0);
+				break;
+			case 'A':
+				result = parseArrayType();
+				break;
+			case 'M': {
+				pos++;
+				Node classType = parseType();
+				Node memberType = parseType();
+				result = new PointerType(memberType, "*", classType); //$NON-NLS-1$
+				break;
+			}
+			case 'T':
+				if (look(1) == 's' || look(1) == 'u' || look(1) == 'e') {
+					pos += 2;
+					result = parseName(null);
+					break;
+				}
+				Node param = parseTemplateParam();
+				if (look() == 'I') {
+					substitutions.add(param);
+					result = new NameWithTemplateArgs(param, parseTemplateArgs(false));
+				} else {
+					result = param;
+				}
+				break;
+			case 'P':
+				pos++;
+				result = new PointerType(parseType(), "*", null); //$NON-NLS-1$
+				break;
+			case 'R':
+				pos++;
+				result = createReference(parseType(), false);
+				break;
+			case 'O':
+				pos++;
+				result = createReference(parseType(), true);
+				break;
+			case 'C':
+				pos++;
+				result = new PostfixType(parseType(), " _Complex"); //$NON-NLS-1$
+				break;
+			case 'G':
+				pos++;
+				result = new PostfixType(parseType(), " _Imaginary"); //$NON-NLS-1$
+				break;
+			case 'S':
+				if (look(1) == 't') {
+					result = parseName(null);
+					break;
+				}
+				Node substitution = parseSubstitution();
+				if (look() != 'I')
+					return substitution;
+				result = new NameWithTemplateArgs(substitution, parseTemplateArgs(false));
+				break;
+			case 'D':
+				switch (look(1)) {
+				case 'p':
+					pos += 2;
+					result = new PackExpansion(parseType());
+					break;
+				case 't':
+				case 'T':
+					result = parseDecltype();
+					break;
+				case 'v': {
+					pos += 2;
+					String size = parseNumber(false);
+					expect('_');
+					result = new PostfixType(parseType(), " __vector(" + size + ')'); //$NON-NLS-1$
+					break;
+				}
+				case 'o':
+				case 'O':
+				case 'w':
+				case 'x':
+					result = parseFunctionType(0);
+					break;
+				case 'F': {
+					pos += 2;
+					String bits = parseNumber(false);
+					expect('_');
+					return new NameNode("_Float" + bits); //$NON-NLS-1$
+				}
+				default:
+					String builtin = builtinDType(look(1));
+					if (builtin == null)
+						throw fail();
+					pos += 2;
+					return new NameNode(builtin);
+				}
+				break;
+			case 'u': {
+				pos++;
+				Node name = parseSourceName();
+				if (look() == 'I')
+					name = new NameWithTemplateArgs(name, parseTemplateArgs(false));
+				result = name;
+				break;
+			}
+			default:
+				String builtin = builtinType(c);
+				if (builtin != null) {
+					pos++;
+					return new NameNode(builtin);
+				}
+				if (Character.isDigit(c) || c == 'N' || c == 'Z') {
+					result = parseName(null);
+					break;
+				}
+				throw fail();
+			}
+			substitutions.add(result);
+			return result;
+		}
+
+		private Node createReference(Node pointee, boolean rvalue) {
+			// References to references are collapsed when printed.
+			return new PointerType(pointee, rvalue ? "&&" : "&", null); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		/**
+		 * <function-type> ::= [<CV-qualifiers>] [Dx] [<exception-spec>] F [Y] <bare-function-type> [<ref-qualifier>] E
+		 */
+		private Node parseFunctionType(int cv) {
+			consume("Dx"); //$NON-NLS-1$
+			if (consume("Do")) { //$NON-NLS-1$
+				// noexcept
+			} else if (consume("DO")) { //$NON-NLS-1$
+				parseExpression();
+				expect('E');
+			} else if (consume("Dw")) { //$NON-NLS-1$
+				while (!consume('E')) {
+					parseType();
+				}
+			}
+			expect('F');
+			consume('Y');
+			Node returnType = parseType();
+			List<Node> params = new ArrayList<>();
+			int ref = REF_NONE;
+			while (true) {
+				if (consume('E'))
+					break;
+				if (look() == 'v' && look(1) == 'E') {
+					pos += 2;
+					break;
+				}
+				if (look() == 'R' && look(1) == 'E') {
+					pos += 2;
+					ref = REF_LVALUE;
+					break;
+				}
+				if (look() == 'O' && look(1) == 'E') {
+					pos += 2;
+					ref = REF_RVALUE;
+					break;
+				}
+				params.add(parseType());
+			}
+			return new FunctionType(returnType, params, cv, ref);
+		}
+
+		/**
+		 * <array-type> ::= A <dimension number> _ <element type> | A [<dimension expression>] _ <element type>
+		 */
+		private Node parseArrayType() {
+			expect('A');
+			Node dimension = null;
+			if (Character.isDigit(look())) {
+				dimension = new NameNode(parseNumber(false));
+			} else if (look() != '_') {
+				dimension = parseExpression();
+			}
+			expect('_');
+			return new ArrayType(parseType(), dimension);
+		}
+
+		private static String builtinType(char c) {
+			switch (c) {
+			case 'v':
+				return "void"; //$NON-NLS-1$
+			case 'w':
+				return "wchar_t"; //$NON-NLS-1$
+			case 'b':
+				return "bool"; //$NON-NLS-1$
+			case 'c':
+				return "char"; //$NON-NLS-1$
+			case 'a':
+				return "signed char"; //$NON-NLS-1$
+			case 'h':
+				return "unsigned char"; //$NON-NLS-1$
+			case 's':
+				return "short"; //$NON-NLS-1$
+			case 't':
+				return "unsigned short"; //$NON-NLS-1$
+			case 'i':
+				return "int"; //$NON-NLS-1$
+			case 'j':
+				return "unsigned int"; //$NON-NLS-1$
+			case 'l':
+				return "long"; //$NON-NLS-1$
+			case 'm':
+				return "unsigned long"; //$NON-NLS-1$
+			case 'x':
+				return "long long"; //$NON-NLS-1$
+			case 'y':
+				return "unsigned long long"; //$NON-NLS-1$
+			case 'n':
+				return "__int128"; //$NON-NLS-1$
+			case 'o':
+				return "unsigned __int128"; //$NON-NLS-1$
+			case 'f':
+				return "float"; //$NON-NLS-1$
+			case 'd':
+				return "double"; //$NON-NLS-1$
+			case 'e':
+				return "long double"; //$NON-NLS-1$
+			case 'g':
+				return "__float128"; //$NON-NLS-1$
+			case 'z':
+				return "..."; //$NON-NLS-1$
+			default:
+				return null;
+			}
+		}
+
+		private static String builtinDType(char c) {
+			switch (c) {
+			case 'd':
+				return "decimal64"; //$NON-NLS-1$
+			case 'e':
+				return "decimal128"; //$NON-NLS-1$
+			case 'f':
+				return "decimal32"; //$NON-NLS-1$
+			case 'h':
+				return "half"; //$NON-NLS-1$
+			case 'i':
+				return "char32_t"; //$NON-NLS-1$
+			case 's':
+				return "char16_t"; //$NON-NLS-1$
+			case 'u':
+				return "char8_t"; //$NON-NLS-1$
+			case 'a':
+				return "auto"; //$NON-NLS-1$
+			case 'c':
+				return "decltype(auto)"; //$NON-NLS-1$
+			case 'n':
+				return "decltype(nullptr)"; //$NON-NLS-1$
+			default:
+				return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import org.eclipse.cdt.core.CCorePlugin;
+
+/**
+ * Unmaps memory mapped buffers explicitly. A mapped file cannot be truncated or deleted on
+ * Windows as long as it is mapped, and the garbage collector may release a mapping much later
+ * than the file is closed.
+ */
+public final class MappedBuffers {
+	// sun.misc.Unsafe and its invokeCleaner method for unmapping buffers, or null if not accessible.
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe"); //$NON-NLS-1$
+			Field field = unsafeClass.getDeclaredField("theUnsafe"); //$NON-NLS-1$
+			field.setAccessible(true);
+			unsafe = field.get(null);
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class); //$NON-NLS-1$
+		} catch (Exception | LinkageError e) {
+			unsafe = null;
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	private MappedBuffers() {
+	}
+
+	/**
+	 * Returns whether {@link #unmap(MappedByteBuffer)} releases mappings right away.
+	 */
+	public static boolean canUnmap() {
+		return INVOKE_CLEANER != null;
+	}
+
+	/**
+	 * Unmaps a buffer right away rather than when it is garbage collected. If this is not
+	 * possible the buffer is left to the garbage collector. The buffer and all views of it must
+	 * not be accessed afterwards.
+	 *
+	 * @param buffer a buffer returned by {@link java.nio.channels.FileChannel#map}, not a view of it.
+	 */
+	public static void unmap(MappedByteBuffer buffer) {
+		if (INVOKE_CLEANER == null)
+			return;
+		try {
+			INVOKE_CLEANER.invoke(UNSAFE, buffer);
+		} catch (ReflectiveOperationException e) {
+			CCorePlugin.log(e);
+		}
+	}
+}
@@ -18,13 +18,31 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.internal.core.ItaniumDemangler;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfLineTable;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfLineTable.LineInfo;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfReader;
+import org.eclipse.cdt.utils.elf.Elf;
 import org.eclipse.cdt.utils.spawner.ProcessFactory;
 
+/**
+ * Finds the source file and line of addresses of a binary, either by piping them through the
+ * {@code addr2line} command or, for instances created with {@link #createInProcess(String)}, from
+ * the DWARF line table of the binary.
+ */
 public class Addr2line {
+	/**
+	 * The default command, for which the in-process line table is used by the tool factories.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_COMMAND = "addr2line"; //$NON-NLS-1$
+
 	private String[] args;
 	private Process addr2line;
 	private BufferedReader stdout;
@@ -33,6 +51,14 @@ public class Addr2line {
 	private static final Pattern OUTPUT_PATTERN = Pattern.compile("(.*)( \\(discriminator.*\\))"); //$NON-NLS-1$
 	//private boolean isDisposed = false;
 
+	// Line table and function symbols of the binary, for the in-process instances.
+	private DwarfLineTable lineTable;
+	private long[] functionAddresses;
+	private long[] functionSizes;
+	private String[] functionNames;
+	// The demangled names of the functions looked up so far, demangling all of them is expensive.
+	private String[] demangledNames;
+
 	public Addr2line(String command, String[] params, String file) throws IOException {
 		init(command, params, file);
 	}
@@ -42,7 +68,60 @@ public class Addr2line {
 	}
 
 	public Addr2line(String file) throws IOException {
-		this("addr2line", file); //$NON-NLS-1$
+		this(DEFAULT_COMMAND, file);
+	}
+
+	private Addr2line() {
+	}
+
+	/**
+	 * Creates an instance that reads the lines of the addresses from the DWARF line table of the
+	 * given ELF file, and the functions from its symbol table, without starting an external
+	 * process. The tables are read once, such that many addresses can be looked up quickly.
+	 *
+	 * @throws IOException if the file is not an ELF file.
+	 * @since 8.0
+	 */
+	public static Addr2line createInProcess(String file) throws IOException {
+		Addr2line result = new Addr2line();
+		try (Elf elf = new Elf(file)) {
+			try (DwarfReader reader = new DwarfReader(elf)) {
+				result.lineTable = reader.getLineTable();
+			}
+			elf.loadSymbols();
+			List<Elf.Symbol> functions = new ArrayList<>();
+			Elf.Symbol[] symbols = elf.getSymbols();
+			if (symbols != null) {
+				for (Elf.Symbol symbol : symbols) {
+					if (symbol.st_type() == Elf.Symbol.STT_FUNC && symbol.st_size > 0)
+						functions.add(symbol);
+				}
+			}
+			functions.sort((a, b) -> a.st_value.compareTo(b.st_value));
+			final int size = functions.size();
+			result.functionAddresses = new long[size];
+			result.functionSizes = new long[size];
+			result.functionNames = new String[size];
+			result.demangledNames = new String[size];
+			for (int i = 0; i < size; i++) {
+				Elf.Symbol symbol = functions.get(i);
+				result.functionAddresses[i] = symbol.st_value.getValue().longValue();
+				result.functionSizes[i] = symbol.st_size;
+				result.functionNames[i] = symbol.toString();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the DWARF line table of the binary for the in-process instances, which allows to
+	 * look up the lines of many addresses at once with {@link DwarfLineTable#getLineInfos(long[])}.
+	 *
+	 * @return the line table, or {@code null} if the instance runs the addr2line command.
+	 * @since 8.0
+	 */
+	public DwarfLineTable getLineTable() {
+		return lineTable;
 	}
 
 	protected void init(String command, String[] params, String file) throws IOException {
@@ -59,6 +138,21 @@ public class Addr2line {
 	}
 
 	protected void getOutput(String address) throws IOException {
+		if (lineTable != null) {
+			if (!address.equals(lastaddr)) {
+				long value = Long.parseUnsignedLong(address, 16);
+				lastsymbol = findFunction(value);
+				LineInfo info = lineTable.getLineInfo(value);
+				// Same output as addr2line for addresses without line information.
+				if (info == null || info.getFileName() == null) {
+					lastline = "??:?"; //$NON-NLS-1$
+				} else {
+					lastline = info.getFileName() + ':' + info.getLineNumber();
+				}
+				lastaddr = address;
+			}
+			return;
+		}
 		if (address.equals(lastaddr) == false) {
 			stdin.write(address + "\n"); //$NON-NLS-1$
 			stdin.flush();
@@ -135,7 +229,36 @@ public class Addr2line {
 		return -1;
 	}
 
+	private String findFunction(long address) {
+		int low = 0;
+		int high = functionAddresses.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (Long.compareUnsigned(functionAddresses[mid], address) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		if (high >= 0 && Long.compareUnsigned(address - functionAddresses[high], functionSizes[high]) < 0) {
+			String demangled = demangledNames[high];
+			if (demangled == null) {
+				String name = functionNames[high];
+				demangled = ItaniumDemangler.demangle(name);
+				if (demangled == null)
+					demangled = name;
+				demangledNames[high] = demangled;
+			}
+			return demangled;
+		}
+		return "??"; //$NON-NLS-1$
+	}
+
 	public void dispose() {
+		if (addr2line == null) {
+			// Nothing to release for the in-process instances.
+			return;
+		}
 		try {
 			stdout.close();
 			stdin.close();
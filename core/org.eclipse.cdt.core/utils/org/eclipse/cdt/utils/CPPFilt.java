@@ -19,12 +19,31 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 
+import org.eclipse.cdt.internal.core.ItaniumDemangler;
+import org.eclipse.cdt.internal.core.parser.util.LRUCache;
 import org.eclipse.cdt.utils.spawner.ProcessFactory;
 
 /**
+ * Demangles C++ symbols, either by piping them through the {@code c++filt} command or, for
+ * instances created with {@link #createInProcess()}, within the current process.
+ *
  * @noextend This class is not intended to be subclassed by clients.
  */
 public class CPPFilt {
+	/**
+	 * The default command, for which the in-process demangler is used by the tool factories.
+	 * @since 8.0
+	 */
+	public static final String DEFAULT_COMMAND = "c++filt"; //$NON-NLS-1$
+
+	/**
+	 * Demangled names, shared by the in-process instances. The same library symbols are usually
+	 * referenced by many binaries.
+	 */
+	private static final LRUCache<String, String> sharedDemangledNames = new LRUCache<>(10000);
+
+	/** The demangled names of an in-process instance, {@code null} for instances using the command. */
+	private final LRUCache<String, String> demangledNames;
 	private String[] args;
 	private Process cppfilt;
 	private BufferedReader stdout;
@@ -32,6 +51,7 @@ public class CPPFilt {
 	//private boolean isDisposed = false;
 
 	public CPPFilt(String command, String[] params) throws IOException {
+		demangledNames = null;
 		init(command, params);
 	}
 
@@ -40,7 +60,20 @@ public class CPPFilt {
 	}
 
 	public CPPFilt() throws IOException {
-		this("c++filt"); //$NON-NLS-1$
+		this(DEFAULT_COMMAND);
+	}
+
+	private CPPFilt(LRUCache<String, String> demangledNames) {
+		this.demangledNames = demangledNames;
+	}
+
+	/**
+	 * Creates an instance that demangles the symbols within the current process, in the same way
+	 * as the {@code c++filt} of the GNU binutils, without starting an external process.
+	 * @since 8.0
+	 */
+	public static CPPFilt createInProcess() {
+		return new CPPFilt(sharedDemangledNames);
 	}
 
 	protected void init(String command, String[] params) throws IOException {
@@ -57,6 +90,8 @@ public class CPPFilt {
 	}
 
 	public String getFunction(String symbol) throws IOException {
+		if (demangledNames != null)
+			return demangle(symbol);
 		stdin.write(symbol + "\n"); //$NON-NLS-1$
 		stdin.flush();
 		String str = stdout.readLine();
@@ -66,7 +101,33 @@ public class CPPFilt {
 		throw new IOException();
 	}
 
+	private String demangle(String symbol) {
+		synchronized (demangledNames) {
+			String result = demangledNames.get(symbol);
+			if (result != null)
+				return result;
+		}
+		String result;
+		// Keep the version of the symbol, e.g. _ZNSsC1Ev@GLIBCXX_3.4
+		final int at = symbol.indexOf('@');
+		if (at > 0) {
+			result = ItaniumDemangler.demangle(symbol.substring(0, at));
+			if (result != null)
+				result += symbol.substring(at);
+		} else {
+			result = ItaniumDemangler.demangle(symbol.trim());
+		}
+		if (result == null)
+			result = symbol.trim();
+		synchronized (demangledNames) {
+			demangledNames.put(symbol, result);
+		}
+		return result;
+	}
+
 	public void dispose() {
+		if (cppfilt == null)
+			return;
 		try {
 			//stdin.write(-1);
 			stdout.close();
@@ -17,6 +17,7 @@ import java.io.IOException;
 
 import org.eclipse.cdt.core.ICExtension;
 import org.eclipse.cdt.core.settings.model.ICConfigExtensionReference;
+import org.eclipse.cdt.utils.elf.parser.GNUElfParser;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 
@@ -31,7 +32,14 @@ public class DefaultGnuToolFactory implements IGnuToolFactory {
 	public Addr2line getAddr2line(IPath path) {
 		IPath addr2LinePath = getAddr2linePath();
 		Addr2line addr2line = null;
-		if (addr2LinePath != null && !addr2LinePath.isEmpty()) {
+		if (addr2LinePath != null && addr2LinePath.toString().equals(Addr2line.DEFAULT_COMMAND)) {
+			// The default command is replaced by the line table of the binary, unless it is no ELF file.
+			try {
+				addr2line = Addr2line.createInProcess(path.toOSString());
+			} catch (IOException e) {
+			}
+		}
+		if (addr2line == null && addr2LinePath != null && !addr2LinePath.isEmpty()) {
 			try {
 				addr2line = new Addr2line(addr2LinePath.toOSString(), path.toOSString());
 			} catch (IOException e1) {
@@ -44,7 +52,13 @@ public class DefaultGnuToolFactory implements IGnuToolFactory {
 	public CPPFilt getCPPFilt() {
 		IPath cppFiltPath = getCPPFiltPath();
 		CPPFilt cppfilt = null;
-		if (cppFiltPath != null && !cppFiltPath.isEmpty()) {
+		if (cppFiltPath != null && cppFiltPath.toString().equals(CPPFilt.DEFAULT_COMMAND)
+				&& fExtension instanceof GNUElfParser) {
+			// For ELF binaries the default command is replaced by the demangler, which avoids a
+			// process per binary. Other formats may prefix the symbols, e.g. with an underscore
+			// on Windows, which is handled by the c++filt of their toolchain.
+			cppfilt = CPPFilt.createInProcess();
+		} else if (cppFiltPath != null && !cppFiltPath.isEmpty()) {
 			try {
 				cppfilt = new CPPFilt(cppFiltPath.toOSString());
 			} catch (IOException e2) {
@@ -85,7 +99,7 @@ public class DefaultGnuToolFactory implements IGnuToolFactory {
 		ICConfigExtensionReference ref = fExtension.getConfigExtensionReference();
 		String value = ref.getExtensionData("addr2line"); //$NON-NLS-1$
 		if (value == null || value.length() == 0) {
-			value = "addr2line"; //$NON-NLS-1$
+			value = Addr2line.DEFAULT_COMMAND;
 		}
 		return new Path(value);
 	}
@@ -112,7 +126,7 @@ public class DefaultGnuToolFactory implements IGnuToolFactory {
 		ICConfigExtensionReference ref = fExtension.getConfigExtensionReference();
 		String value = ref.getExtensionData("c++filt"); //$NON-NLS-1$
 		if (value == null || value.length() == 0) {
-			value = "c++filt"; //$NON-NLS-1$
+			value = CPPFilt.DEFAULT_COMMAND;
 		}
 		return new Path(value);
 	}
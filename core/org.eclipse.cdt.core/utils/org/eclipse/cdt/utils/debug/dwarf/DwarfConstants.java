@@ -211,6 +211,14 @@ public class DwarfConstants {
 	 * @since 5.7
 	 */
 	public final static int DW_FORM_ref_sig8 = 0x20;
+	/**
+	 * @since 8.0
+	 */
+	public final static int DW_FORM_data16 = 0x1e;
+	/**
+	 * @since 8.0
+	 */
+	public final static int DW_FORM_line_strp = 0x1f;
 	/* Extensions for Fission. See http://gcc.gnu.org/wiki/DebugFission. */
 	/**
 	 * @since 5.7
@@ -479,6 +487,16 @@ public class DwarfConstants {
 	public final static int DW_LNE_set_address = 2;
 	public final static int DW_LNE_define_file = 3;
 
+	/* DWARF line number header entry format content type encodings. */
+	/**
+	 * @since 8.0
+	 */
+	public final static int DW_LNCT_path = 1;
+	/**
+	 * @since 8.0
+	 */
+	public final static int DW_LNCT_directory_index = 2;
+
 	/* DWARF macinfo type encodings. */
 	public final static int DW_MACINFO_define = 1;
 	public final static int DW_MACINFO_undef = 2;
@@ -0,0 +1,577 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils.debug.dwarf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Source lines of the addresses of a binary, read from the line number programs in the
+ * .debug_line section. The rows of all programs are sorted by address, such that the line of
+ * an address is found with a binary search.
+ *
+ * @see DwarfReader#getLineTable()
+ * @since 8.0
+ */
+public class DwarfLineTable {
+	/**
+	 * Source file and line of an address.
+	 */
+	public static final class LineInfo {
+		private final long fAddress;
+		private final String fFileName;
+		private final int fLineNumber;
+
+		LineInfo(long address, String fileName, int lineNumber) {
+			fAddress = address;
+			fFileName = fileName;
+			fLineNumber = lineNumber;
+		}
+
+		/**
+		 * Returns the start address of the row of the line table the address belongs to.
+		 */
+		public long getAddress() {
+			return fAddress;
+		}
+
+		public String getFileName() {
+			return fFileName;
+		}
+
+		/**
+		 * Returns the line number, or 0 if the address is not attributed to a source line.
+		 */
+		public int getLineNumber() {
+			return fLineNumber;
+		}
+
+		@Override
+		public String toString() {
+			return fFileName + ':' + fLineNumber;
+		}
+	}
+
+	// Index of a file that marks the end of a sequence of rows.
+	private static final int END_SEQUENCE = -1;
+
+	private final long[] fAddresses;
+	private final int[] fFiles;
+	private final int[] fLines;
+	private final String[] fFileNames;
+
+	private DwarfLineTable(long[] addresses, int[] files, int[] lines, String[] fileNames) {
+		fAddresses = addresses;
+		fFiles = files;
+		fLines = lines;
+		fFileNames = fileNames;
+	}
+
+	/**
+	 * Returns the number of rows of the table.
+	 */
+	public int size() {
+		return fAddresses.length;
+	}
+
+	/**
+	 * Returns the source line of the given address, or {@code null} if the address is not covered
+	 * by the table.
+	 */
+	public LineInfo getLineInfo(long address) {
+		int row = findRow(address);
+		if (row < 0)
+			return null;
+		return new LineInfo(fAddresses[row], fFileNames[fFiles[row]], fLines[row]);
+	}
+
+	/**
+	 * Returns the source lines of the given addresses, with {@code null} for the addresses that are
+	 * not covered by the table.
+	 */
+	public LineInfo[] getLineInfos(long[] addresses) {
+		LineInfo[] result = new LineInfo[addresses.length];
+		for (int i = 0; i < addresses.length; i++) {
+			result[i] = getLineInfo(addresses[i]);
+		}
+		return result;
+	}
+
+	private int findRow(long address) {
+		// Find the last row with a start address less or equal to the address.
+		int low = 0;
+		int high = fAddresses.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (Long.compareUnsigned(fAddresses[mid], address) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		if (high < 0 || fFiles[high] == END_SEQUENCE)
+			return -1;
+		return high;
+	}
+
+	/**
+	 * Rows of one sequence of a line number program, in the order of the program.
+	 */
+	private static class Sequence {
+		long[] addresses = new long[16];
+		int[] files = new int[16];
+		int[] lines = new int[16];
+		int size;
+
+		void add(long address, int file, int line) {
+			if (size == addresses.length) {
+				addresses = Arrays.copyOf(addresses, size * 2);
+				files = Arrays.copyOf(files, size * 2);
+				lines = Arrays.copyOf(lines, size * 2);
+			}
+			addresses[size] = address;
+			files[size] = file;
+			lines[size] = line;
+			size++;
+		}
+	}
+
+	/**
+	 * The sequences of a line number program, with the file indexes referring to its file names.
+	 */
+	private static class Program {
+		final List<Sequence> sequences = new ArrayList<>();
+		final List<String> fileNames = new ArrayList<>();
+	}
+
+	/**
+	 * Reads the line number programs of a .debug_line section. Programs that cannot be read are
+	 * skipped.
+	 *
+	 * @param debugLine the .debug_line section
+	 * @param debugLineStr the .debug_line_str section, may be {@code null}
+	 * @param debugStr the .debug_str section, may be {@code null}
+	 * @param isLE whether the data is little endian
+	 * @param compDirs the compilation directories of the compilation units, by the offset of their
+	 *     line number programs
+	 */
+	static DwarfLineTable read(ByteBuffer debugLine, ByteBuffer debugLineStr, ByteBuffer debugStr, boolean isLE,
+			Map<Integer, String> compDirs) {
+		if (debugLine == null)
+			return new DwarfLineTable(new long[0], new int[0], new int[0], new String[0]);
+		final ByteOrder order = isLE ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+
+		// Find the start offsets of the programs.
+		List<Integer> offsets = new ArrayList<>();
+		ByteBuffer data = debugLine.duplicate().order(order);
+		int offset = 0;
+		while (offset + 4 <= data.limit()) {
+			long length = data.getInt(offset) & 0xffffffffL;
+			int headerSize = 4;
+			if (length == 0xffffffffL) {
+				if (offset + 12 > data.limit())
+					break;
+				length = data.getLong(offset + 4);
+				headerSize = 12;
+			}
+			if (length <= 0 || offset + headerSize + length > data.limit())
+				break;
+			offsets.add(Integer.valueOf(offset));
+			offset += (int) (headerSize + length);
+		}
+
+		// The programs do not depend on each other, many of them are decoded on the line table reader
+		// threads of DwarfReader.
+		final Program[] programs = new Program[offsets.size()];
+		List<Integer> indices = new ArrayList<>(programs.length);
+		for (int i = 0; i < programs.length; i++) {
+			indices.add(Integer.valueOf(i));
+		}
+		DwarfReader.forEachConcurrently(indices, i -> {
+			int programOffset = offsets.get(i).intValue();
+			try {
+				programs[i] = readProgram(debugLine.duplicate().order(order),
+						debugLineStr == null ? null : debugLineStr.duplicate().order(order),
+						debugStr == null ? null : debugStr.duplicate().order(order), programOffset,
+						compDirs.get(Integer.valueOf(programOffset)));
+			} catch (IOException | RuntimeException e) {
+				CCorePlugin.log("Failed to read line number program at offset " + programOffset, e); //$NON-NLS-1$
+			}
+		});
+		return merge(programs);
+	}
+
+	private static DwarfLineTable merge(Program[] programs) {
+		List<Sequence> sequences = new ArrayList<>();
+		List<int[]> fileMaps = new ArrayList<>();
+		Map<String, Integer> fileIndexes = new HashMap<>();
+		List<String> fileNames = new ArrayList<>();
+		int rows = 0;
+		for (Program program : programs) {
+			if (program == null)
+				continue;
+			int[] fileMap = new int[program.fileNames.size()];
+			for (int i = 0; i < fileMap.length; i++) {
+				String fileName = program.fileNames.get(i);
+				Integer index = fileIndexes.get(fileName);
+				if (index == null) {
+					index = Integer.valueOf(fileNames.size());
+					fileIndexes.put(fileName, index);
+					fileNames.add(fileName);
+				}
+				fileMap[i] = index.intValue();
+			}
+			for (Sequence sequence : program.sequences) {
+				if (sequence.size > 1) {
+					sequences.add(sequence);
+					fileMaps.add(fileMap);
+					rows += sequence.size;
+				}
+			}
+		}
+
+		// Sort the sequences by their start address, the rows within a sequence are already sorted.
+		Integer[] order = new Integer[sequences.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(order,
+				(a, b) -> Long.compareUnsigned(sequences.get(a.intValue()).addresses[0],
+						sequences.get(b.intValue()).addresses[0]));
+
+		long[] addresses = new long[rows];
+		int[] files = new int[rows];
+		int[] lines = new int[rows];
+		int row = 0;
+		for (Integer i : order) {
+			Sequence sequence = sequences.get(i.intValue());
+			int[] fileMap = fileMaps.get(i.intValue());
+			for (int j = 0; j < sequence.size; j++) {
+				// Skip the rows of sequences that overlap with the previous one, which happens for
+				// the code of functions that were discarded by the linker.
+				if (row > 0 && Long.compareUnsigned(sequence.addresses[j], addresses[row - 1]) < 0)
+					continue;
+				int file = sequence.files[j];
+				if (file != END_SEQUENCE) {
+					file = file >= 0 && file < fileMap.length ? fileMap[file] : END_SEQUENCE;
+				}
+				if (row > 0 && addresses[row - 1] == sequence.addresses[j]) {
+					// Several rows for the same address, the last one applies.
+					row--;
+				}
+				addresses[row] = sequence.addresses[j];
+				files[row] = file;
+				lines[row] = sequence.lines[j];
+				row++;
+			}
+		}
+		if (row < rows) {
+			addresses = Arrays.copyOf(addresses, row);
+			files = Arrays.copyOf(files, row);
+			lines = Arrays.copyOf(lines, row);
+		}
+		return new DwarfLineTable(addresses, files, lines, fileNames.toArray(new String[fileNames.size()]));
+	}
+
+	/**
+	 * Reads the header and runs the line number program at the given offset, see chapter 6.2 of
+	 * the DWARF standard.
+	 */
+	private static Program readProgram(ByteBuffer data, ByteBuffer lineStr, ByteBuffer str, int offset,
+			String compDir) throws IOException {
+		Program program = new Program();
+		data.position(offset);
+		long length = data.getInt() & 0xffffffffL;
+		boolean dwarf64Bit = false;
+		if (length == 0xffffffffL) {
+			length = data.getLong();
+			dwarf64Bit = true;
+		}
+		final int end = (int) (data.position() + length);
+		final int version = data.getShort();
+		if (version < 2 || version > 5)
+			throw new IOException(CCorePlugin.getResourceString("Util.unknownFormat")); //$NON-NLS-1$
+		if (version >= 5) {
+			data.get(); // address_size
+			data.get(); // segment_selector_size
+		}
+		final long headerLength = dwarf64Bit ? data.getLong() : data.getInt() & 0xffffffffL;
+		final int programStart = (int) (data.position() + headerLength);
+		final int minInstructionLength = data.get() & 0xff;
+		if (version >= 4)
+			data.get(); // maximum_operations_per_instruction
+		data.get(); // default_is_stmt
+		final int lineBase = data.get();
+		final int lineRange = data.get() & 0xff;
+		final int opcodeBase = data.get() & 0xff;
+		final int[] standardOpcodeLengths = new int[opcodeBase];
+		for (int i = 1; i < opcodeBase; i++) {
+			standardOpcodeLengths[i] = data.get() & 0xff;
+		}
+		if (lineRange == 0)
+			throw new IOException(CCorePlugin.getResourceString("Util.unknownFormat")); //$NON-NLS-1$
+
+		if (version >= 5) {
+			// The first directory is the compilation directory.
+			List<String> dirs = new ArrayList<>();
+			readEntries(data, lineStr, str, dwarf64Bit, null, dirs);
+			readEntries(data, lineStr, str, dwarf64Bit, dirs, program.fileNames);
+		} else {
+			List<String> dirs = new ArrayList<>();
+			dirs.add(compDir);
+			while (true) {
+				String dir = readString(data);
+				if (dir.isEmpty())
+					break;
+				dirs.add(joinPath(compDir, dir));
+			}
+			// File numbers start at 1.
+			program.fileNames.add(null);
+			while (true) {
+				String name = readString(data);
+				if (name.isEmpty())
+					break;
+				int dir = (int) readUnsignedLeb128(data);
+				readUnsignedLeb128(data); // modification time
+				readUnsignedLeb128(data); // file size
+				program.fileNames.add(joinPath(dir < dirs.size() ? dirs.get(dir) : null, name));
+			}
+		}
+
+		data.position(programStart);
+		Sequence sequence = new Sequence();
+		long address = 0;
+		int file = 1;
+		int line = 1;
+		while (data.position() < end) {
+			final int opcode = data.get() & 0xff;
+			if (opcode >= opcodeBase) {
+				final int adjusted = opcode - opcodeBase;
+				address += (adjusted / lineRange) * minInstructionLength;
+				line += lineBase + adjusted % lineRange;
+				sequence.add(address, file, line);
+				continue;
+			}
+			switch (opcode) {
+			case 0: {
+				final int size = (int) readUnsignedLeb128(data);
+				final int next = data.position() + size;
+				final int extended = size > 0 ? data.get() & 0xff : 0;
+				switch (extended) {
+				case DwarfConstants.DW_LNE_end_sequence:
+					sequence.add(address, END_SEQUENCE, 0);
+					program.sequences.add(sequence);
+					sequence = new Sequence();
+					address = 0;
+					file = 1;
+					line = 1;
+					break;
+				case DwarfConstants.DW_LNE_set_address:
+					address = size - 1 == 8 ? data.getLong() : data.getInt() & 0xffffffffL;
+					break;
+				case DwarfConstants.DW_LNE_define_file: {
+					String name = readString(data);
+					readUnsignedLeb128(data); // directory, only the compilation directory is known here
+					program.fileNames.add(joinPath(compDir, name));
+					break;
+				}
+				default:
+					break;
+				}
+				data.position(next);
+				break;
+			}
+			case DwarfConstants.DW_LNS_copy:
+				sequence.add(address, file, line);
+				break;
+			case DwarfConstants.DW_LNS_advance_pc:
+				address += readUnsignedLeb128(data) * minInstructionLength;
+				break;
+			case DwarfConstants.DW_LNS_advance_line:
+				line += (int) readSignedLeb128(data);
+				break;
+			case DwarfConstants.DW_LNS_set_file:
+				file = (int) readUnsignedLeb128(data);
+				break;
+			case DwarfConstants.DW_LNS_const_add_pc:
+				address += ((255 - opcodeBase) / lineRange) * minInstructionLength;
+				break;
+			case DwarfConstants.DW_LNS_fixed_advance_pc:
+				address += data.getShort() & 0xffff;
+				break;
+			default:
+				// Skip the operands of the opcodes that do not affect the address or line.
+				for (int i = 0; i < standardOpcodeLengths[opcode]; i++) {
+					readUnsignedLeb128(data);
+				}
+				break;
+			}
+		}
+		return program;
+	}
+
+	/**
+	 * Reads the directory or file name entries of a version 5 line number program header.
+	 *
+	 * @param dirs the directories, or {@code null} if the directories are read.
+	 */
+	private static void readEntries(ByteBuffer data, ByteBuffer lineStr, ByteBuffer str, boolean dwarf64Bit,
+			List<String> dirs, List<String> result) throws IOException {
+		final int formatCount = data.get() & 0xff;
+		final int[] contentTypes = new int[formatCount];
+		final int[] forms = new int[formatCount];
+		for (int i = 0; i < formatCount; i++) {
+			contentTypes[i] = (int) readUnsignedLeb128(data);
+			forms[i] = (int) readUnsignedLeb128(data);
+		}
+		final long count = readUnsignedLeb128(data);
+		for (long n = 0; n < count; n++) {
+			String path = null;
+			int dir = 0;
+			for (int i = 0; i < formatCount; i++) {
+				switch (contentTypes[i]) {
+				case DwarfConstants.DW_LNCT_path:
+					path = readStringForm(data, lineStr, str, dwarf64Bit, forms[i]);
+					break;
+				case DwarfConstants.DW_LNCT_directory_index:
+					dir = (int) readUnsignedForm(data, forms[i]);
+					break;
+				default:
+					skipForm(data, dwarf64Bit, forms[i]);
+					break;
+				}
+			}
+			if (path == null)
+				path = ""; //$NON-NLS-1$
+			if (dirs == null) {
+				result.add(result.isEmpty() ? path : joinPath(result.get(0), path));
+			} else {
+				result.add(joinPath(dir < dirs.size() ? dirs.get(dir) : null, path));
+			}
+		}
+	}
+
+	/**
+	 * Prepends the directory to a relative path, in the same way as addr2line.
+	 */
+	private static String joinPath(String dir, String path) {
+		if (dir == null || dir.isEmpty() || new Path(path).isAbsolute())
+			return path;
+		return dir + '/' + path;
+	}
+
+	private static String readStringForm(ByteBuffer data, ByteBuffer lineStr, ByteBuffer str, boolean dwarf64Bit,
+			int form) throws IOException {
+		switch (form) {
+		case DwarfConstants.DW_FORM_string:
+			return readString(data);
+		case DwarfConstants.DW_FORM_line_strp:
+		case DwarfConstants.DW_FORM_strp: {
+			long offset = dwarf64Bit ? data.getLong() : data.getInt() & 0xffffffffL;
+			ByteBuffer strings = form == DwarfConstants.DW_FORM_line_strp ? lineStr : str;
+			if (strings == null || offset >= strings.limit())
+				throw new IOException(CCorePlugin.getResourceString("Util.exception.noData")); //$NON-NLS-1$
+			strings.position((int) offset);
+			return readString(strings);
+		}
+		default:
+			throw new IOException(CCorePlugin.getResourceString("Util.unknownFormat")); //$NON-NLS-1$
+		}
+	}
+
+	private static long readUnsignedForm(ByteBuffer data, int form) throws IOException {
+		switch (form) {
+		case DwarfConstants.DW_FORM_data1:
+			return data.get() & 0xff;
+		case DwarfConstants.DW_FORM_data2:
+			return data.getShort() & 0xffff;
+		case DwarfConstants.DW_FORM_data4:
+			return data.getInt() & 0xffffffffL;
+		case DwarfConstants.DW_FORM_data8:
+			return data.getLong();
+		case DwarfConstants.DW_FORM_udata:
+			return readUnsignedLeb128(data);
+		default:
+			throw new IOException(CCorePlugin.getResourceString("Util.unknownFormat")); //$NON-NLS-1$
+		}
+	}
+
+	private static void skipForm(ByteBuffer data, boolean dwarf64Bit, int form) throws IOException {
+		switch (form) {
+		case DwarfConstants.DW_FORM_string:
+			readString(data);
+			break;
+		case DwarfConstants.DW_FORM_line_strp:
+		case DwarfConstants.DW_FORM_strp:
+			data.position(data.position() + (dwarf64Bit ? 8 : 4));
+			break;
+		case DwarfConstants.DW_FORM_data16:
+			data.position(data.position() + 16);
+			break;
+		case DwarfConstants.DW_FORM_block:
+			data.position(data.position() + (int) readUnsignedLeb128(data));
+			break;
+		default:
+			readUnsignedForm(data, form);
+			break;
+		}
+	}
+
+	private static String readString(ByteBuffer data) {
+		final int start = data.position();
+		int end = start;
+		while (data.get(end) != 0) {
+			end++;
+		}
+		byte[] bytes = new byte[end - start];
+		data.get(bytes);
+		data.get(); // the terminating zero
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static long readUnsignedLeb128(ByteBuffer data) {
+		long result = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = data.get();
+			if (shift < 64)
+				result |= (long) (b & 0x7f) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return result;
+	}
+
+	private static long readSignedLeb128(ByteBuffer data) {
+		long result = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = data.get();
+			if (shift < 64)
+				result |= (long) (b & 0x7f) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		if (shift < 64 && (b & 0x40) != 0)
+			result |= -1L << shift;
+		return result;
+	}
+}
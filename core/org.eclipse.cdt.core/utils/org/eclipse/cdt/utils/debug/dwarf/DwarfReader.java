@@ -27,10 +27,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.ICompileOptionsFinder;
 import org.eclipse.cdt.core.ISymbolReader;
+import org.eclipse.cdt.internal.core.ConcurrentTasks;
 import org.eclipse.cdt.utils.coff.Coff64.SectionHeader;
 import org.eclipse.cdt.utils.coff.PE64;
 import org.eclipse.cdt.utils.debug.IDebugEntryRequestor;
@@ -49,7 +54,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	// These are sections that need be parsed to get the source file list.
 	final static String[] DWARF_SectionsToParse = { DWARF_DEBUG_INFO, DWARF_DEBUG_LINE, DWARF_DEBUG_ABBREV,
 			DWARF_DEBUG_STR, // this is optional. Some compilers don't generate it.
-			DWARF_DEBUG_MACRO, };
+			DWARF_DEBUG_MACRO, DWARF_DEBUG_LINE_STR, };
 
 	final static String[] DWARF_ALT_SectionsToParse = { DWARF_DEBUG_STR, DWARF_DEBUG_MACRO };
 
@@ -59,8 +64,37 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	private String[] m_fileNames = null;
 	private boolean m_parsed = false;
 	private boolean m_macros_parsed = false;
-	private final ArrayList<Integer> m_parsedLineTableOffsets = new ArrayList<>();
+	private final Set<Integer> m_parsedLineTableOffsets = new HashSet<>();
 	private long m_parsedLineTableSize = 0;
+	private final List<CULineTable> m_pendingLineTables = new ArrayList<>();
+	private final Map<Integer, String> m_lineTableCompDirs = new HashMap<>();
+	private DwarfLineTable m_lineTable;
+
+	// Minimum number of line tables that are decoded on the line table reader threads, also used
+	// for the line number programs decoded by DwarfLineTable.
+	private static final int MIN_CONCURRENT_LINE_TABLES = 16;
+	// Maximum number of line table reader threads, in addition to the calling thread.
+	private static final int MAX_LINE_TABLE_THREADS = Math.min(3, Runtime.getRuntime().availableProcessors() - 1);
+	private static ThreadPoolExecutor s_lineTableReaders;
+
+	/*
+	 * A compilation unit and its line table. The line tables are read after all compilation
+	 * units have been found, independently of each other.
+	 */
+	private static class CULineTable {
+		final String compDir; // compilation directory of the CU
+		final String name; // name of the CU
+		final int offset; // offset of the CU line table in .debug_line section, or -1
+		final List<String[]> sourceFiles = new ArrayList<>(); // directory and name of the source files
+		boolean parse; // whether the line table is parsed, it may be shared with previous CUs
+		long size;
+
+		CULineTable(String compDir, String name, int offset) {
+			this.compDir = compDir;
+			this.name = name;
+			this.offset = offset;
+		}
+	}
 
 	public DwarfReader(String file) throws IOException {
 		super(file);
@@ -287,16 +321,17 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 
 	/*
 	 * Parse line table data of a compilation unit to get names of all source files
-	 * that contribute to the compilation unit.
+	 * that contribute to the compilation unit. Can be called for several line tables
+	 * concurrently, the results are stored in the given line table.
 	 */
-	void parseSourceInCULineInfo(String cuCompDir, // compilation directory of the CU
-			int cuStmtList) // offset of the CU line table in .debug_line section
-	{
+	private void parseSourceInCULineInfo(CULineTable lineTable) {
 		ByteBuffer data = dwarfSections.get(DWARF_DEBUG_LINE);
 		if (data != null) {
+			// Each line table is read with its own position in the section.
+			data = data.duplicate();
 			try {
 				try {
-					data.position(cuStmtList);
+					data.position(lineTable.offset);
 				} catch (IllegalArgumentException e) {
 					throw new IOException(CCorePlugin.getResourceString("Util.exception.noData")); //$NON-NLS-1$
 				}
@@ -315,22 +350,10 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 				 *  standard_opcode_lengths:	(value of opcode_base)
 				 */
 
-				// Remember the CU line tables we've parsed.
-				Integer cuOffset = Integer.valueOf(cuStmtList);
-
-				boolean dwarf64Bit = false;
-				if (!m_parsedLineTableOffsets.contains(cuOffset)) {
-					m_parsedLineTableOffsets.add(cuOffset);
-
-					// Note the length does not including the "length" field(s) itself.
-					InitialLengthValue length = readInitialLengthField(data);
-					dwarf64Bit = length.offsetSize == 8;
-					m_parsedLineTableSize += length.length + (dwarf64Bit ? 12 : 4);
-				} else {
-					// Compiler like ARM RVCT may produce several CUs for the
-					// same source files.
-					return;
-				}
+				// Note the length does not including the "length" field(s) itself.
+				InitialLengthValue length = readInitialLengthField(data);
+				boolean dwarf64Bit = length.offsetSize == 8;
+				lineTable.size = length.length + (dwarf64Bit ? 12 : 4);
 
 				short version = read_2_bytes(data);
 				// Skip the following till "opcode_base"
@@ -348,6 +371,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 				ArrayList<String> dirList = new ArrayList<>();
 
 				// Put the compilation directory of the CU as the first dir
+				String cuCompDir = lineTable.compDir;
 				dirList.add(cuCompDir);
 
 				String str, fileName;
@@ -374,7 +398,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 					// dir index
 					leb128 = read_unsigned_leb128(data);
 
-					addSourceFile(dirList.get((int) leb128), fileName);
+					lineTable.sourceFiles.add(new String[] { dirList.get((int) leb128), fileName });
 
 					// Skip the followings
 					//
@@ -390,6 +414,78 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 		}
 	}
 
+	/*
+	 * Get the source files from the compilation units found in .debug_info section
+	 * and from their line tables.
+	 */
+	private void parseSourceInCULineInfos() {
+		List<CULineTable> lineTables = new ArrayList<>(m_pendingLineTables.size());
+		for (CULineTable lineTable : m_pendingLineTables) {
+			// Compiler like ARM RVCT may produce several CUs for the
+			// same source files.
+			if (lineTable.offset > -1 && m_parsedLineTableOffsets.add(Integer.valueOf(lineTable.offset))) {
+				lineTable.parse = true;
+				lineTables.add(lineTable);
+			}
+		}
+
+		parseSourceInCULineInfos(lineTables);
+
+		// Add the source files in the order of the compilation units, each unit followed by
+		// the files of its line table.
+		for (CULineTable lineTable : m_pendingLineTables) {
+			addSourceFileWithStmt(lineTable.compDir, lineTable.name, lineTable.offset);
+			if (lineTable.parse) {
+				m_parsedLineTableSize += lineTable.size;
+				for (String[] sourceFile : lineTable.sourceFiles) {
+					addSourceFile(sourceFile[0], sourceFile[1]);
+				}
+			}
+		}
+		m_pendingLineTables.clear();
+	}
+
+	/*
+	 * Parse the given line tables. The line tables do not depend on each other.
+	 */
+	private void parseSourceInCULineInfos(List<CULineTable> lineTables) {
+		forEachConcurrently(lineTables, this::parseSourceInCULineInfo);
+	}
+
+	/*
+	 * Runs the action for each of the given independent items. Many items are processed on a few
+	 * line table reader threads in addition to the calling thread.
+	 */
+	static <T> void forEachConcurrently(List<T> items, Consumer<T> action) {
+		final int threads = Math.min(MAX_LINE_TABLE_THREADS, items.size() / MIN_CONCURRENT_LINE_TABLES);
+		if (threads < 1) {
+			items.forEach(action);
+			return;
+		}
+
+		final int slices = threads + 1;
+		List<Callable<Void>> tasks = new ArrayList<>(slices);
+		for (int i = 0; i < slices; i++) {
+			final List<T> slice = items.subList(i * items.size() / slices, (i + 1) * items.size() / slices);
+			tasks.add(() -> {
+				slice.forEach(action);
+				return null;
+			});
+		}
+		try {
+			ConcurrentTasks.invokeAll(getLineTableReaders(), tasks, null);
+		} catch (ExecutionException e) {
+			CCorePlugin.log("Failed to parse part of dwarf header", e.getCause()); //$NON-NLS-1$
+		}
+	}
+
+	private static synchronized ThreadPoolExecutor getLineTableReaders() {
+		if (s_lineTableReaders == null) {
+			s_lineTableReaders = ConcurrentTasks.createPool("DWARF Line Table Reader", MAX_LINE_TABLE_THREADS); //$NON-NLS-1$
+		}
+		return s_lineTableReaders;
+	}
+
 	/*
 	 * Check if there are any line tables in .debug_line section that are
 	 * not referenced by any TAG_compile_units. If yes, add source files
@@ -562,6 +658,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 		// This will parse the data in .debug_info section which
 		// will call this->processCompileUnit() to get source files.
 		parse(null);
+		parseSourceInCULineInfos();
 	}
 
 	private String addSourceFileWithStmt(String dir, String name, int stmt) {
@@ -596,6 +693,31 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 		return fullName;
 	}
 
+	// Override parent: only the first entry of a CU is parsed, which is the
+	// TAG_Compile_Unit. The other entries are not needed to get the source files.
+	@Override
+	void parseDebugInfoEntry(IDebugEntryRequestor requestor, ByteBuffer in, Map<Long, AbbreviationEntry> abbrevs,
+			CompilationUnitHeader header) throws IOException {
+		if (in.remaining() > 0) {
+			long code = read_unsigned_leb128(in);
+			AbbreviationEntry entry = abbrevs.get(Long.valueOf(code));
+			if (entry != null) {
+				int len = entry.attributes.size();
+				List<AttributeValue> list = new ArrayList<>(len);
+				try {
+					for (int i = 0; i < len; i++) {
+						Attribute attr = entry.attributes.get(i);
+						Object obj = readAttribute((int) attr.form, in, header);
+						list.add(new AttributeValue(attr, obj));
+					}
+				} catch (IOException e) {
+					//break;
+				}
+				processDebugInfoEntry(requestor, entry, list);
+			}
+		}
+	}
+
 	// Override parent: only handle TAG_Compile_Unit.
 	@Override
 	void processDebugInfoEntry(IDebugEntryRequestor requestor, AbbreviationEntry entry,
@@ -642,9 +764,27 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 			}
 		}
 
-		addSourceFileWithStmt(cuCompDir, cuName, stmtList);
+		// The source file of the CU is added together with the files of its line table.
+		m_pendingLineTables.add(new CULineTable(cuCompDir, cuName, stmtList));
 		if (stmtList > -1) // this CU has "stmt_list" attribute
-			parseSourceInCULineInfo(cuCompDir, stmtList);
+			m_lineTableCompDirs.put(Integer.valueOf(stmtList), cuCompDir);
+	}
+
+	/**
+	 * Returns the source lines of the addresses of the binary. The line number programs in the
+	 * .debug_line section are run once, on the first call.
+	 *
+	 * @since 8.0
+	 */
+	public synchronized DwarfLineTable getLineTable() {
+		if (m_lineTable == null) {
+			// Finds the compilation directories of the line number programs.
+			getSourceFiles();
+			m_lineTable = DwarfLineTable.read(dwarfSections.get(DWARF_DEBUG_LINE),
+					dwarfSections.get(DWARF_DEBUG_LINE_STR), dwarfSections.get(DWARF_DEBUG_STR), isLE,
+					m_lineTableCompDirs);
+		}
+		return m_lineTable;
 	}
 
 	/**
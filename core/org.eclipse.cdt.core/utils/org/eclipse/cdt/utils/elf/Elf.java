@@ -22,18 +22,22 @@ import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel.MapMode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.core.IAddressFactory;
 import org.eclipse.cdt.core.ISymbolReader;
+import org.eclipse.cdt.internal.core.MappedBuffers;
 import org.eclipse.cdt.utils.Addr32;
 import org.eclipse.cdt.utils.Addr32Factory;
 import org.eclipse.cdt.utils.Addr64;
@@ -48,6 +52,11 @@ public class Elf implements AutoCloseable {
 	public static final int ELF64_OFF_SIZE = 8;
 
 	protected ERandomAccessFile efile;
+	/**
+	 * Guards the mapped data of the sections. The data is read with the read lock held, and
+	 * unmapped by {@link #dispose()} with the write lock held. Reading unmapped data crashes the VM.
+	 */
+	private final ReadWriteLock mappingLock = new ReentrantReadWriteLock();
 
 	protected ELFhdr ehdr;
 	protected Section[] sections;
@@ -333,12 +342,52 @@ public class Elf implements AutoCloseable {
 		public long sh_addralign;
 		public long sh_entsize;
 
+		private MappedByteBuffer mapping;
+		private volatile ByteBuffer mappedData;
+
 		/**
 		 * @since 5.1
 		 */
 		public ByteBuffer mapSectionData() throws IOException {
 			makeSureNotCompressed();
-			return efile.getChannel().map(MapMode.READ_ONLY, sh_offset, sh_size).load().asReadOnlyBuffer();
+			// The pages of the section are read on first access, such that large sections do not
+			// have to be read completely when only parts of them are used.
+			return efile.getChannel().map(MapMode.READ_ONLY, elfOffset + sh_offset, sh_size).asReadOnlyBuffer();
+		}
+
+		/**
+		 * Returns the mapped data of the section, shared by all callers. The buffer must only be
+		 * read with absolute positions while holding the read lock of {@link Elf#mappingLock}, it
+		 * is released by {@link Elf#dispose()}.
+		 */
+		private ByteBuffer getMappedData() throws IOException {
+			ByteBuffer data = mappedData;
+			if (data == null) {
+				synchronized (this) {
+					data = mappedData;
+					if (data == null) {
+						if (efile == null)
+							throw new ClosedChannelException();
+						makeSureNotCompressed();
+						mapping = efile.getChannel().map(MapMode.READ_ONLY, elfOffset + sh_offset, sh_size);
+						data = mapping.asReadOnlyBuffer().order(efile.order());
+						mappedData = data;
+					}
+				}
+			}
+			return data;
+		}
+
+		/**
+		 * Unmaps the data of the section, such that the file is no longer locked on Windows.
+		 * Must be called with the write lock of {@link Elf#mappingLock} held.
+		 */
+		private void releaseMappedData() {
+			if (mapping != null) {
+				mappedData = null;
+				MappedBuffers.unmap(mapping);
+				mapping = null;
+			}
 		}
 
 		public byte[] loadSectionData() throws IOException {
@@ -385,30 +434,27 @@ public class Elf implements AutoCloseable {
 	}
 
 	protected String string_from_elf_section(Elf.Section section, int index) throws IOException {
-		if (index > section.sh_size) {
+		if (index < 0 || index > section.sh_size) {
 			return EMPTY_STRING;
 		}
 
-		section.makeSureNotCompressed();
-		StringBuilder str = new StringBuilder();
-		//Most string symbols will be less than 50 bytes in size
-		byte[] tmp = new byte[50];
-		efile.seek(section.sh_offset + index);
-		while (true) {
-			int len = efile.read(tmp);
-			for (int i = 0; i < len; i++) {
-				if (tmp[i] == 0) {
-					len = 0;
+		mappingLock.readLock().lock();
+		try {
+			final ByteBuffer data = section.getMappedData();
+			final int limit = data.limit();
+			//Most string symbols will be less than 50 bytes in size
+			StringBuilder str = new StringBuilder(50);
+			for (int i = index; i < limit; i++) {
+				final byte b = data.get(i);
+				if (b == 0) {
 					break;
 				}
-				str.append((char) tmp[i]);
-			}
-			if (len <= 0) {
-				break;
+				str.append((char) b);
 			}
+			return str.toString();
+		} finally {
+			mappingLock.readLock().unlock();
 		}
-
-		return str.toString();
 	}
 
 	public class Symbol implements Comparable<Object> {
@@ -981,12 +1027,23 @@ public class Elf implements AutoCloseable {
 	}
 
 	public void dispose() {
+		// Wait for the readers of the mapped data, the data must not be unmapped while it is read.
+		mappingLock.writeLock().lock();
 		try {
-			if (efile != null) {
-				efile.close();
-				efile = null;
+			if (sections != null) {
+				for (Section section : sections) {
+					section.releaseMappedData();
+				}
 			}
-		} catch (IOException e) {
+			try {
+				if (efile != null) {
+					efile.close();
+					efile = null;
+				}
+			} catch (IOException e) {
+			}
+		} finally {
+			mappingLock.writeLock().unlock();
 		}
 	}
 
@@ -1094,23 +1151,17 @@ public class Elf implements AutoCloseable {
 	private class ElfSectionIterator implements Iterator<Symbol>, Closeable {
 
 		private final int nbSymbols;
-		private final ERandomAccessFile innerEfile;
 		private final Section section;
 		private final byte arch;
 		private int position = 0;
 
-		public ElfSectionIterator(ERandomAccessFile eFile, byte b, Section sectionToRead, byte architecture)
-				throws IOException {
+		public ElfSectionIterator(Section sectionToRead, byte architecture) throws IOException {
 			int numSyms = 1;
 			section = sectionToRead;
 			if (section.sh_entsize != 0) {
 				numSyms = (int) section.sh_size / (int) section.sh_entsize;
 			}
-			section.makeSureNotCompressed();
 			nbSymbols = numSyms;
-			innerEfile = new ERandomAccessFile(eFile.getPath(), "r"); //$NON-NLS-1$
-			innerEfile.setFileOffset(elfOffset);
-			innerEfile.setEndian(efile.order() == ByteOrder.LITTLE_ENDIAN);
 			arch = architecture;
 		}
 
@@ -1121,54 +1172,55 @@ public class Elf implements AutoCloseable {
 
 		@Override
 		public Symbol next() {
-			long innerOffset = section.sh_entsize * position + section.sh_offset;
+			final int offset = (int) (section.sh_entsize * position);
 			position++;
 			try {
-				innerEfile.seek(innerOffset);
-				Symbol symbol = new Symbol(section);
-
-				switch (arch) {
-				case ELFhdr.ELFCLASS32: {
-					byte[] addrArray = new byte[ELF32_ADDR_SIZE];
-
-					symbol.st_name = innerEfile.readIntE();
-					innerEfile.readFullyE(addrArray);
-					symbol.st_value = new Addr32(addrArray);
-					symbol.st_size = innerEfile.readIntE();
-					symbol.st_info = innerEfile.readByte();
-					symbol.st_other = innerEfile.readByte();
-					symbol.st_shndx = innerEfile.readShortE();
-					break;
-				}
-				case ELFhdr.ELFCLASS64: {
-					byte[] addrArray = new byte[ELF64_ADDR_SIZE];
-
-					symbol.st_name = innerEfile.readIntE();
-					symbol.st_info = innerEfile.readByte();
-					symbol.st_other = innerEfile.readByte();
-					symbol.st_shndx = innerEfile.readShortE();
-					innerEfile.readFullyE(addrArray);
-					symbol.st_value = new Addr64(addrArray);
-					symbol.st_size = innerEfile.readLongE();
-					if (symbol.st_size < 0) {
-						throw new NoSuchElementException("Maximal file offset is " + Long.toHexString(Long.MAX_VALUE) + //$NON-NLS-1$
-								" given offset is " + Long.toHexString(symbol.st_size)); //$NON-NLS-1$
+				// The symbols are decoded from the mapped section, rather than reading each field from
+				// the file. The mapping is looked up for each symbol under the read lock, it is
+				// released when the file is disposed.
+				mappingLock.readLock().lock();
+				try {
+					final ByteBuffer data = section.getMappedData();
+					Symbol symbol = new Symbol(section);
+
+					switch (arch) {
+					case ELFhdr.ELFCLASS32: {
+						symbol.st_name = data.getInt(offset) & 0xffffffffL;
+						symbol.st_value = new Addr32(data.getInt(offset + 4) & 0xffffffffL);
+						symbol.st_size = data.getInt(offset + 8) & 0xffffffffL;
+						symbol.st_info = data.get(offset + 12);
+						symbol.st_other = data.get(offset + 13);
+						symbol.st_shndx = data.getShort(offset + 14);
+						break;
 					}
-					break;
-				}
-				case ELFhdr.ELFCLASSNONE:
-				default:
-					throw new NoSuchElementException("Unknown ELF class " + arch); //$NON-NLS-1$
+					case ELFhdr.ELFCLASS64: {
+						symbol.st_name = data.getInt(offset) & 0xffffffffL;
+						symbol.st_info = data.get(offset + 4);
+						symbol.st_other = data.get(offset + 5);
+						symbol.st_shndx = data.getShort(offset + 6);
+						symbol.st_value = new Addr64(data.getLong(offset + 8));
+						symbol.st_size = data.getLong(offset + 16);
+						if (symbol.st_size < 0) {
+							throw new NoSuchElementException("Maximal file offset is " + Long.toHexString(Long.MAX_VALUE) + //$NON-NLS-1$
+									" given offset is " + Long.toHexString(symbol.st_size)); //$NON-NLS-1$
+						}
+						break;
+					}
+					case ELFhdr.ELFCLASSNONE:
+					default:
+						throw new NoSuchElementException("Unknown ELF class " + arch); //$NON-NLS-1$
+					}
+					return symbol;
+				} finally {
+					mappingLock.readLock().unlock();
 				}
-				return symbol;
-			} catch (IOException e) {
+			} catch (IOException | IndexOutOfBoundsException e) {
 				throw new NoSuchElementException(e.getMessage());
 			}
 		}
 
 		@Override
 		public void close() throws IOException {
-			innerEfile.close();
 		}
 
 	}
@@ -1201,7 +1253,7 @@ public class Elf implements AutoCloseable {
 	 * @since 7.0
 	 */
 	public ElfSectionIterator symbolIterator(Section section) throws IOException {
-		return new ElfSectionIterator(efile, ehdr.e_ident[ELFhdr.EI_CLASS], section, ehdr.e_ident[ELFhdr.EI_CLASS]);
+		return new ElfSectionIterator(section, ehdr.e_ident[ELFhdr.EI_CLASS]);
 	}
 
 	public void loadSymbols() throws IOException {
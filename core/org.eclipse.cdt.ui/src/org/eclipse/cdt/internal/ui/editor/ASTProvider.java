@@ -245,9 +245,11 @@ public final class ASTProvider {
 		}
 
 		synchronized (this) {
+			// The cache keeps the AST of the previous editor, together with the state of its document.
+			fCache.setModificationStamp(fTimeStamp);
 			fActiveEditor = editor;
-			fTimeStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 			fCache.setActiveElement(tu);
+			fTimeStamp = fCache.getModificationStamp();
 		}
 
 		// Increase indexing priority of the translation unit of the active editor.